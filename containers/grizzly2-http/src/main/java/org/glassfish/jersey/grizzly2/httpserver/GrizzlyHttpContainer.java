@@ -40,6 +40,7 @@
 package org.glassfish.jersey.grizzly2.httpserver;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -49,17 +50,21 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
+import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriBuilder;
 
 import org.glassfish.jersey.internal.inject.ReferencingFactory;
 import org.glassfish.jersey.internal.util.ExtendedLogger;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.internal.util.collection.Ref;
+import org.glassfish.jersey.message.internal.SpooledEntityBuffer;
 import org.glassfish.jersey.process.internal.RequestScoped;
 import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ContainerException;
@@ -79,6 +84,8 @@ import org.glassfish.hk2.utilities.Binder;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
 import org.glassfish.grizzly.CompletionHandler;
+import org.glassfish.grizzly.ReadHandler;
+import org.glassfish.grizzly.http.io.NIOInputStream;
 import org.glassfish.grizzly.http.server.HttpHandler;
 import org.glassfish.grizzly.http.server.Request;
 import org.glassfish.grizzly.http.server.Response;
@@ -159,9 +166,27 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
 
         private final String name;
         private final Response grizzlyResponse;
+        /**
+         * Non-blocking I/O buffer size, {@code 0} if the blocking I/O is used.
+         */
+        private final int nonBlockingBufferSize;
+        /**
+         * Buffer of the request entity read in the non-blocking mode, {@code null} if the blocking I/O is used.
+         */
+        private final SpooledEntityBuffer entityBuffer;
+
+        private volatile boolean suspendedForIo;
+        private volatile TimeoutHandler timeoutHandler;
+        private volatile NonBlockingOutputStream nonBlockingStream;
 
         ResponseWriter(final Response response) {
+            this(response, 0, null);
+        }
+
+        ResponseWriter(final Response response, final int nonBlockingBufferSize, final SpooledEntityBuffer entityBuffer) {
             this.grizzlyResponse = response;
+            this.nonBlockingBufferSize = nonBlockingBufferSize;
+            this.entityBuffer = entityBuffer;
 
             if (logger.isDebugLoggable()) {
                 this.name = "ResponseWriter {" + "id=" + UUID.randomUUID().toString() + ", grizzlyResponse=" + grizzlyResponse.hashCode() + '}';
@@ -179,16 +204,88 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         @Override
         public void commit() {
             try {
-                if (grizzlyResponse.isSuspended()) {
-                    grizzlyResponse.resume();
+                final NonBlockingOutputStream stream = nonBlockingStream;
+                if (stream != null) {
+                    // the response is complete, but the stream need not have been written to or closed
+                    // (e.g. the entity has not been written or the stream has been discarded)
+                    try {
+                        stream.close();
+                    } catch (IOException e) {
+                        logger.log(Level.FINE, "Unable to close the response stream.", e);
+                    }
+                    // resume once all the response data have been handed over to Grizzly
+                    stream.whenDrained(new Runnable() {
+                        @Override
+                        public void run() {
+                            resume();
+                        }
+                    });
+                } else {
+                    resume();
                 }
             } finally {
                 logger.debugLog("{0} - commit() called", name);
             }
         }
 
+        /**
+         * Resume the Grizzly response if it is suspended and release the buffered request entity.
+         */
+        private synchronized void resume() {
+            if (entityBuffer != null) {
+                entityBuffer.release();
+            }
+            if (grizzlyResponse.isSuspended()) {
+                grizzlyResponse.resume();
+            }
+        }
+
+        /**
+         * Suspend the Grizzly response for the non-blocking mode. The response remains suspended while the request
+         * entity is being read and until the response is {@link #commit() committed} and all the response data
+         * are written to Grizzly; a later
+         * {@link #suspend(long, java.util.concurrent.TimeUnit, TimeoutHandler) asynchronous suspend} only updates
+         * the timeout and the timeout handler.
+         *
+         * @param readTimeout      maximal time (in milliseconds) to wait for the request entity.
+         * @param readTimeoutTask  task run if the request entity has not been received in time.
+         */
+        private void suspendForIo(final long readTimeout, final Runnable readTimeoutTask) {
+            grizzlyResponse.suspend(readTimeout, TimeUnit.MILLISECONDS, EMPTY_COMPLETION_HANDLER,
+                    new org.glassfish.grizzly.http.server.TimeoutHandler() {
+
+                        @Override
+                        public boolean onTimeout(Response response) {
+                            final TimeoutHandler handler = timeoutHandler;
+                            if (handler != null) {
+                                handler.onTimeout(ResponseWriter.this);
+                            } else {
+                                readTimeoutTask.run();
+                            }
+                            return false;
+                        }
+                    });
+            suspendedForIo = true;
+        }
+
+        /**
+         * Cancel the request entity read timeout once the request has been dispatched to the application.
+         */
+        private void cancelReadTimeout() {
+            grizzlyResponse.getSuspendContext().setTimeout(-1, TimeUnit.MILLISECONDS);
+        }
+
         @Override
         public boolean suspend(final long timeOut, final TimeUnit timeUnit, final TimeoutHandler timeoutHandler) {
+            if (suspendedForIo) {
+                try {
+                    this.timeoutHandler = timeoutHandler;
+                    grizzlyResponse.getSuspendContext().setTimeout(timeOut, timeUnit);
+                    return true;
+                } finally {
+                    logger.debugLog("{0} - suspend(...) called", name);
+                }
+            }
             try {
                 grizzlyResponse.suspend(timeOut, timeUnit, EMPTY_COMPLETION_HANDLER,
                         new org.glassfish.grizzly.http.server.TimeoutHandler() {
@@ -242,6 +339,12 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
                     }
                 }
 
+                if (nonBlockingBufferSize > 0 && contentLength != 0
+                        && !HttpMethod.HEAD.equals(context.getRequestContext().getMethod())) {
+                    nonBlockingStream = new NonBlockingOutputStream(grizzlyResponse.getNIOOutputStream(),
+                            nonBlockingBufferSize);
+                    return nonBlockingStream;
+                }
                 return grizzlyResponse.getOutputStream();
             } finally {
                 logger.debugLog("{0} - writeResponseStatusAndHeaders() called", name);
@@ -257,6 +360,9 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
             } catch (IOException e) {
                 logger.log(Level.SEVERE, "Unable to send 500 error response.", e);
             } finally {
+                if (suspendedForIo) {
+                    resume();
+                }
                 logger.debugLog("{0} - failure(...) called", name);
                 rethrow(error);
             }
@@ -281,8 +387,103 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         }
     }
 
+    /**
+     * Reads the request entity in the non-blocking mode and dispatches the request to the Jersey application once
+     * the whole entity has been read. The entity is read only when Grizzly notifies the handler about available
+     * data, so no worker thread waits for the client; the data are buffered in a {@link SpooledEntityBuffer}.
+     */
+    private final class EntityReadHandler implements ReadHandler {
+
+        private final Request request;
+        private final Response response;
+        private final ResponseWriter responseWriter;
+        private final NIOInputStream entityStream;
+        private final SpooledEntityBuffer entityBuffer;
+        private final byte[] chunk;
+        private final AtomicBoolean dispatched = new AtomicBoolean(false);
+
+        private EntityReadHandler(final Request request, final Response response, final ResponseWriter responseWriter,
+                                  final SpooledEntityBuffer entityBuffer, final int bufferSize) {
+            this.request = request;
+            this.response = response;
+            this.responseWriter = responseWriter;
+            this.entityStream = request.getNIOInputStream();
+            this.entityBuffer = entityBuffer;
+            this.chunk = new byte[Math.min(bufferSize, 8192)];
+        }
+
+        @Override
+        public void onDataAvailable() throws Exception {
+            if (dispatched.get()) {
+                return;
+            }
+            readAvailableData();
+            entityStream.notifyAvailable(this);
+        }
+
+        @Override
+        public void onAllDataRead() throws Exception {
+            if (dispatched.get()) {
+                return;
+            }
+            readAvailableData();
+            dispatch(entityBuffer.getInputStream());
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (dispatched.compareAndSet(false, true)) {
+                logger.log(Level.FINE, "Unable to read the request entity.", t);
+                responseWriter.resume();
+            }
+        }
+
+        /**
+         * Reject the request if the client has not sent the request entity in time.
+         */
+        private void onReadTimeout() {
+            if (dispatched.compareAndSet(false, true)) {
+                logger.debugLog("Request entity has not been received in time.");
+                response.setStatus(javax.ws.rs.core.Response.Status.REQUEST_TIMEOUT.getStatusCode());
+                responseWriter.resume();
+            }
+        }
+
+        private void readAvailableData() throws IOException {
+            int ready;
+            while ((ready = entityStream.readyData()) > 0) {
+                final int read = entityStream.read(chunk, 0, Math.min(chunk.length, ready));
+                if (read < 0) {
+                    return;
+                }
+                entityBuffer.write(chunk, 0, read);
+            }
+        }
+
+        private void dispatch(final InputStream entity) {
+            if (dispatched.compareAndSet(false, true)) {
+                responseWriter.cancelReadTimeout();
+                try {
+                    handle(request, response, responseWriter, entity);
+                } catch (RuntimeException e) {
+                    // the error has already been reported to the client by the response writer
+                    logger.log(Level.FINE, "Request processing failed.", e);
+                    responseWriter.resume();
+                }
+            }
+        }
+    }
+
     private volatile ApplicationHandler appHandler;
     private volatile ContainerLifecycleListener containerListener;
+    /**
+     * Non-blocking I/O buffer size, {@code 0} if the blocking I/O is used.
+     */
+    private volatile int nonBlockingBufferSize;
+    /**
+     * Non-blocking I/O request entity read timeout in milliseconds.
+     */
+    private volatile long nonBlockingReadTimeout;
 
     /**
      * Creates a new Grizzly container.
@@ -292,6 +493,8 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
     GrizzlyHttpContainer(final ApplicationHandler application) {
         this.appHandler = application;
         this.containerListener = ConfigHelper.getContainerLifecycleListener(application);
+        this.nonBlockingBufferSize = getNonBlockingBufferSize(application.getConfiguration());
+        this.nonBlockingReadTimeout = getNonBlockingReadTimeout(application.getConfiguration());
 
         this.appHandler.registerAdditionalBinders(new HashSet<Binder>() {{
             add(new GrizzlyBinder());
@@ -306,17 +509,41 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
 
     @Override
     public void service(final Request request, final Response response) {
-        final ResponseWriter responseWriter = new ResponseWriter(response);
+        final int bufferSize = nonBlockingBufferSize;
+        if (bufferSize > 0) {
+            final SpooledEntityBuffer entityBuffer = new SpooledEntityBuffer(bufferSize);
+            final ResponseWriter responseWriter = new ResponseWriter(response, bufferSize, entityBuffer);
+            final EntityReadHandler readHandler = new EntityReadHandler(request, response, responseWriter,
+                    entityBuffer, bufferSize);
+            // the response is resumed once all the response data are handed over to Grizzly
+            responseWriter.suspendForIo(nonBlockingReadTimeout, new Runnable() {
+                @Override
+                public void run() {
+                    readHandler.onReadTimeout();
+                }
+            });
+            final NIOInputStream entityStream = request.getNIOInputStream();
+            if (entityStream.isFinished()) {
+                // no entity to wait for
+                readHandler.dispatch(request.getInputStream());
+            } else {
+                entityStream.notifyAvailable(readHandler);
+            }
+        } else {
+            handle(request, response, new ResponseWriter(response), request.getInputStream());
+        }
+    }
+
+    private void handle(final Request request, final Response response, final ResponseWriter responseWriter,
+                        final InputStream entityStream) {
         try {
             logger.debugLog("GrizzlyHttpContainer.service(...) started");
             URI baseUri = getBaseUri(request);
             ContainerRequest requestContext = new ContainerRequest(baseUri,
                     getRequestUri(baseUri, request), request.getMethod().getMethodString(),
                     getSecurityContext(request), new GrizzlyRequestPropertiesDelegate(request));
-            requestContext.setEntityStream(request.getInputStream());
-            for (String headerName : request.getHeaderNames()) {
-                requestContext.headers(headerName, request.getHeaders(headerName));
-            }
+            requestContext.setEntityStream(entityStream);
+            requestContext.headers(new GrizzlyRequestHeaders(request));
             requestContext.setWriter(responseWriter);
             requestContext.setRequestScopedInitializer(new RequestScopedInitializer() {
                 @Override
@@ -334,6 +561,24 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         }
     }
 
+    private static int getNonBlockingBufferSize(final ResourceConfig configuration) {
+        final Map<String, Object> properties = configuration.getProperties();
+        if (!PropertiesHelper.isProperty(properties, GrizzlyHttpContainerProperties.NON_BLOCKING_IO)) {
+            return 0;
+        }
+        final int bufferSize = PropertiesHelper.getValue(properties,
+                GrizzlyHttpContainerProperties.NON_BLOCKING_IO_BUFFER_SIZE,
+                GrizzlyHttpContainerProperties.DEFAULT_NON_BLOCKING_IO_BUFFER_SIZE, Integer.class);
+        return bufferSize > 0 ? bufferSize : GrizzlyHttpContainerProperties.DEFAULT_NON_BLOCKING_IO_BUFFER_SIZE;
+    }
+
+    private static long getNonBlockingReadTimeout(final ResourceConfig configuration) {
+        final long readTimeout = PropertiesHelper.getValue(configuration.getProperties(),
+                GrizzlyHttpContainerProperties.NON_BLOCKING_IO_READ_TIMEOUT,
+                GrizzlyHttpContainerProperties.DEFAULT_NON_BLOCKING_IO_READ_TIMEOUT, Integer.class);
+        return readTimeout > 0 ? readTimeout : GrizzlyHttpContainerProperties.DEFAULT_NON_BLOCKING_IO_READ_TIMEOUT;
+    }
+
     @Override
     public ResourceConfig getConfiguration() {
         return appHandler.getConfiguration();
@@ -351,6 +596,8 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
             add(new GrizzlyBinder());
         }});
         this.containerListener = ConfigHelper.getContainerLifecycleListener(appHandler);
+        this.nonBlockingBufferSize = getNonBlockingBufferSize(configuration);
+        this.nonBlockingReadTimeout = getNonBlockingReadTimeout(configuration);
         containerListener.onReload(this);
     }
 
@@ -0,0 +1,123 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.grizzly2.httpserver;
+
+/**
+ * Jersey Grizzly HTTP container configuration properties.
+ */
+public final class GrizzlyHttpContainerProperties {
+
+    /**
+     * If set to {@code true}, the {@link GrizzlyHttpContainer Grizzly HTTP container} reads request entities
+     * and writes response entities using Grizzly non-blocking I/O.
+     * <p>
+     * In the non-blocking mode, the request entity is read asynchronously (using a Grizzly
+     * {@link org.glassfish.grizzly.ReadHandler read handler}) and the request is dispatched to the Jersey
+     * application only once the whole entity has been received. Up to {@link #NON_BLOCKING_IO_BUFFER_SIZE buffer size}
+     * bytes of the entity are kept in memory, the rest of a larger entity is spooled to a temporary file.
+     * A request whose entity is not received within the {@link #NON_BLOCKING_IO_READ_TIMEOUT read timeout} is
+     * rejected with the {@code 408 Request Timeout} status. Response data are queued to the non-blocking Grizzly output stream
+     * when the stream can accept them; otherwise they are kept in a pending buffer that is written out from
+     * a Grizzly {@link org.glassfish.grizzly.WriteHandler write handler} once the client is ready to receive data.
+     * A thread writing a response entity blocks only if the pending buffer exceeds the buffer size. As a result,
+     * Grizzly worker threads are not held by slow clients sending request entities of any size or receiving small
+     * to medium sized response entities.
+     * </p>
+     * <p>
+     * The non-blocking mode requires Grizzly to run the read and write handlers on worker threads (which is
+     * the default {@code WorkerThreadIOStrategy} behavior), since the Jersey application is invoked from
+     * the read handler.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String NON_BLOCKING_IO = "jersey.config.grizzly.io.nonBlocking";
+
+    /**
+     * An integer value that defines the size (in bytes) of request and response buffers used in the
+     * {@link #NON_BLOCKING_IO non-blocking I/O mode}.
+     * <p>
+     * At most the given number of request entity bytes is buffered in memory; the rest of a larger entity is
+     * spooled to a temporary file before the request is dispatched to the Jersey application.
+     * A thread writing the response entity is blocked once more than the given number of response bytes
+     * are waiting to be written to the client.
+     * </p>
+     * <p>
+     * The default value is {@value #DEFAULT_NON_BLOCKING_IO_BUFFER_SIZE}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String NON_BLOCKING_IO_BUFFER_SIZE = "jersey.config.grizzly.io.bufferSize";
+
+    /**
+     * Default {@link #NON_BLOCKING_IO_BUFFER_SIZE non-blocking I/O buffer size}.
+     */
+    public static final int DEFAULT_NON_BLOCKING_IO_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * An integer value that defines the maximal time (in milliseconds) the container waits for the request entity
+     * in the {@link #NON_BLOCKING_IO non-blocking I/O mode}. If the whole request entity has not been received in
+     * time, the request is not dispatched to the Jersey application and the {@code 408 Request Timeout} response
+     * is sent to the client instead.
+     * <p>
+     * The default value is {@value #DEFAULT_NON_BLOCKING_IO_READ_TIMEOUT}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String NON_BLOCKING_IO_READ_TIMEOUT = "jersey.config.grizzly.io.readTimeout";
+
+    /**
+     * Default {@link #NON_BLOCKING_IO_READ_TIMEOUT non-blocking I/O request entity read timeout}.
+     */
+    public static final int DEFAULT_NON_BLOCKING_IO_READ_TIMEOUT = 30000;
+
+    private GrizzlyHttpContainerProperties() {
+        // prevents instantiation
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.grizzly2.httpserver;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.LinkedList;
+import java.util.Queue;
+
+import org.glassfish.grizzly.WriteHandler;
+import org.glassfish.grizzly.http.io.NIOOutputStream;
+
+/**
+ * Output stream writing to a Grizzly {@link NIOOutputStream} without blocking.
+ * <p>
+ * Data are written to the underlying stream only if the stream {@link NIOOutputStream#canWrite() can accept}
+ * them without blocking. Otherwise the data are kept in a pending queue and written later from a
+ * {@link WriteHandler write handler} once the underlying stream becomes writable. A writing thread is blocked
+ * only if the size of the pending data exceeds the configured limit.
+ * </p>
+ * <p>
+ * Closing the stream does not block either; a {@link #whenDrained(Runnable) drain callback} can be used to get
+ * notified once all the pending data have been handed over to the underlying stream.
+ * </p>
+ */
+final class NonBlockingOutputStream extends OutputStream {
+
+    private final NIOOutputStream out;
+    private final int maxPendingBytes;
+    private final Object lock = new Object();
+    private final Queue<byte[]> pending = new LinkedList<byte[]>();
+    private final WriteHandler writeHandler = new WriteHandler() {
+        @Override
+        public void onWritePossible() throws Exception {
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            fail(t);
+        }
+    };
+
+    private int pendingBytes;
+    private boolean drainScheduled;
+    private boolean closed;
+    private Throwable failure;
+    private Runnable drainCallback;
+
+    /**
+     * Create new non-blocking output stream.
+     *
+     * @param out             Grizzly non-blocking output stream.
+     * @param maxPendingBytes maximum number of pending bytes; a writing thread is blocked if the limit is exceeded.
+     */
+    NonBlockingOutputStream(final NIOOutputStream out, final int maxPendingBytes) {
+        this.out = out;
+        this.maxPendingBytes = maxPendingBytes;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return;
+        }
+        synchronized (lock) {
+            checkState();
+            if (pending.isEmpty() && out.canWrite()) {
+                out.write(b, off, len);
+                return;
+            }
+
+            final byte[] chunk = new byte[len];
+            System.arraycopy(b, off, chunk, 0, len);
+            pending.add(chunk);
+            pendingBytes += len;
+            scheduleDrain();
+
+            while (pendingBytes > maxPendingBytes && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            checkState();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        synchronized (lock) {
+            checkState();
+            if (pending.isEmpty() && out.canWrite()) {
+                out.flush();
+            }
+            // otherwise the data are flushed once the pending data are written
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        drain();
+    }
+
+    /**
+     * Register a callback invoked once the stream is closed and all the pending data have been written
+     * to the underlying stream (or writing failed). If the stream is already drained, the callback
+     * is invoked immediately.
+     *
+     * @param callback drain callback.
+     */
+    void whenDrained(final Runnable callback) {
+        synchronized (lock) {
+            if (!isDrained()) {
+                drainCallback = callback;
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    private boolean isDrained() {
+        return failure != null || (closed && pending.isEmpty());
+    }
+
+    private void scheduleDrain() {
+        if (!drainScheduled) {
+            drainScheduled = true;
+            out.notifyCanWrite(writeHandler);
+        }
+    }
+
+    private void drain() throws IOException {
+        final Runnable callback;
+        synchronized (lock) {
+            drainScheduled = false;
+            while (!pending.isEmpty() && failure == null) {
+                if (!out.canWrite()) {
+                    scheduleDrain();
+                    return;
+                }
+                final byte[] chunk = pending.poll();
+                pendingBytes -= chunk.length;
+                out.write(chunk);
+                lock.notifyAll();
+            }
+            if (failure == null) {
+                out.flush();
+            }
+            if (!isDrained()) {
+                return;
+            }
+            callback = drainCallback;
+            drainCallback = null;
+        }
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    private void fail(final Throwable t) {
+        final Runnable callback;
+        synchronized (lock) {
+            failure = t;
+            pending.clear();
+            pendingBytes = 0;
+            lock.notifyAll();
+
+            callback = drainCallback;
+            drainCallback = null;
+        }
+        if (callback != null) {
+            callback.run();
+        }
+    }
+
+    private void checkState() throws IOException {
+        if (failure != null) {
+            throw new IOException(failure);
+        }
+        if (closed) {
+            throw new IOException("Stream is closed.");
+        }
+    }
+}
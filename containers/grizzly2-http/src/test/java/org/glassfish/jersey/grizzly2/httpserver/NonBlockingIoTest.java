@@ -0,0 +1,218 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.grizzly2.httpserver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.Arrays;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests of the {@link GrizzlyHttpContainerProperties#NON_BLOCKING_IO non-blocking I/O mode} of the Grizzly
+ * HTTP container. Every request is sent with a read timeout so that a response that is never completed
+ * fails the test instead of blocking it.
+ */
+public class NonBlockingIoTest extends AbstractGrizzlyServerTester {
+
+    private static final int BUFFER_SIZE = 1024;
+    private static final int LARGE_ENTITY_SIZE = 1024 * 1024;
+    private static final int READ_TIMEOUT = 1000;
+
+    @Path("/")
+    public static class Resource {
+
+        @GET
+        @Path("entity")
+        public String getEntity() {
+            return "entity";
+        }
+
+        @GET
+        @Path("empty")
+        public void getEmpty() {
+            // 204 No Content
+        }
+
+        @POST
+        @Path("echo")
+        public String echo(final String entity) {
+            return entity;
+        }
+
+        @GET
+        @Path("large")
+        @Produces(MediaType.APPLICATION_OCTET_STREAM)
+        public StreamingOutput getLarge() {
+            return new StreamingOutput() {
+                @Override
+                public void write(OutputStream output) throws IOException, WebApplicationException {
+                    final byte[] chunk = new byte[BUFFER_SIZE / 4];
+                    for (int written = 0; written < LARGE_ENTITY_SIZE; written += chunk.length) {
+                        Arrays.fill(chunk, (byte) ('a' + (written / chunk.length) % 26));
+                        output.write(chunk);
+                    }
+                }
+            };
+        }
+    }
+
+    private WebTarget target;
+
+    @Before
+    public void setUp() {
+        startServer(new ResourceConfig(Resource.class)
+                .property(GrizzlyHttpContainerProperties.NON_BLOCKING_IO, true)
+                .property(GrizzlyHttpContainerProperties.NON_BLOCKING_IO_BUFFER_SIZE, BUFFER_SIZE)
+                .property(GrizzlyHttpContainerProperties.NON_BLOCKING_IO_READ_TIMEOUT, READ_TIMEOUT));
+
+        final Client client = ClientBuilder.newClient(new ClientConfig().property(ClientProperties.READ_TIMEOUT, 5000));
+        target = client.target(getUri().path("/").build());
+    }
+
+    @Test
+    public void testEntity() {
+        final Response response = target.path("entity").request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("entity", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testNoContent() {
+        for (int i = 0; i < 3; i++) {
+            final Response response = target.path("empty").request().get();
+            assertEquals(204, response.getStatus());
+            assertFalse(response.hasEntity());
+        }
+    }
+
+    @Test
+    public void testHead() {
+        for (int i = 0; i < 3; i++) {
+            final Response response = target.path("entity").request().head();
+            assertEquals(200, response.getStatus());
+            assertEquals("6", response.getHeaderString(HttpHeaders.CONTENT_LENGTH));
+            assertFalse(response.hasEntity());
+        }
+    }
+
+    @Test
+    public void testRequestEntity() {
+        final Response response = target.path("echo").request().post(Entity.text("request"));
+        assertEquals(200, response.getStatus());
+        assertEquals("request", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testLargeRequestEntity() {
+        final char[] chars = new char[LARGE_ENTITY_SIZE];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + (i / 100) % 26);
+        }
+        final String entity = new String(chars);
+
+        // the entity exceeds the buffer size and is partially spooled to a file
+        final Response response = target.path("echo").request().post(Entity.text(entity));
+        assertEquals(200, response.getStatus());
+        assertEquals(entity, response.readEntity(String.class));
+    }
+
+    @Test
+    public void testStalledRequestEntity() throws IOException {
+        final Socket socket = new Socket("localhost", getPort());
+        try {
+            socket.setSoTimeout(5 * READ_TIMEOUT);
+            final OutputStream out = socket.getOutputStream();
+            // the client sends only a part of the announced entity
+            out.write(("POST /echo HTTP/1.1\r\nHost: localhost\r\nContent-Type: text/plain\r\n"
+                    + "Content-Length: 100\r\n\r\nrequest").getBytes("US-ASCII"));
+            out.flush();
+
+            final BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), "US-ASCII"));
+            final String statusLine = in.readLine();
+            assertEquals("HTTP/1.1 408", statusLine.substring(0, "HTTP/1.1 408".length()));
+        } finally {
+            socket.close();
+        }
+
+        // the container is still able to process requests
+        testRequestEntity();
+    }
+
+    @Test
+    public void testLargeStreamedEntity() {
+        final Response response = target.path("large").request().get();
+        assertEquals(200, response.getStatus());
+
+        final byte[] entity = response.readEntity(byte[].class);
+        assertEquals(LARGE_ENTITY_SIZE, entity.length);
+
+        final byte[] expected = new byte[BUFFER_SIZE / 4];
+        for (int position = 0; position < LARGE_ENTITY_SIZE; position += expected.length) {
+            Arrays.fill(expected, (byte) ('a' + (position / expected.length) % 26));
+            assertArrayEquals(expected, Arrays.copyOfRange(entity, position, position + expected.length));
+        }
+    }
+}
@@ -47,6 +47,9 @@ import java.net.URISyntaxException;
 import java.security.Principal;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
@@ -68,6 +71,8 @@ import org.glassfish.jersey.server.spi.Container;
 import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
@@ -84,6 +89,10 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
 
     private volatile ApplicationHandler appHandler;
     private volatile ContainerLifecycleListener containerListener;
+    /**
+     * Scheduler of suspend time-outs, created lazily when a response is suspended with a time-out.
+     */
+    private ScheduledExecutorService timeoutScheduler;
 
     /**
      * Creates a new Container connected to given {@link ApplicationHandler Jersey application}.
@@ -153,7 +162,7 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
 
         final URI requestUri = baseUri.resolve(exchangeUri);
 
-        final ResponseWriter responseWriter = new ResponseWriter(exchange);
+        final ResponseWriter responseWriter = new ResponseWriter(exchange, this);
         ContainerRequest requestContext = new ContainerRequest(baseUri, requestUri,
                 exchange.getRequestMethod(), getSecurityContext(exchange.getPrincipal(), isSecure),
                 new MapPropertiesDelegate());
@@ -164,8 +173,10 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
             appHandler.handle(requestContext);
         } finally {
             // if the response was not committed yet by the JerseyApplication
-            // then commit it and log warning
-            responseWriter.closeAndLogWarning();
+            // and the response is not suspended then commit it and log warning
+            if (!responseWriter.isSuspended()) {
+                responseWriter.closeAndLogWarning();
+            }
         }
     }
 
@@ -227,20 +238,48 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
      */
     void onServerStop() {
         this.containerListener.onShutdown(this);
+
+        synchronized (this) {
+            if (timeoutScheduler != null) {
+                timeoutScheduler.shutdownNow();
+                timeoutScheduler = null;
+            }
+        }
+    }
+
+    /**
+     * Get the scheduler of suspend time-outs.
+     *
+     * @return suspend time-out scheduler.
+     */
+    private synchronized ScheduledExecutorService getTimeoutScheduler() {
+        if (timeoutScheduler == null) {
+            timeoutScheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("jdk-http-server-timeout-%d").setDaemon(true).build());
+        }
+        return timeoutScheduler;
     }
 
     private final static class ResponseWriter implements ContainerResponseWriter {
 
         private final HttpExchange exchange;
         private final AtomicBoolean closed;
+        private final JdkHttpHandlerContainer container;
+
+        private final Object suspendLock = new Object();
+        private volatile boolean suspended;
+        private TimeoutHandler timeoutHandler;
+        private ScheduledFuture<?> timeoutTask;
 
         /**
          * Creates a new ResponseWriter for given {@link HttpExchange HTTP Exchange}.
          *
-         * @param exchange Exchange of the {@link HttpServer JDK Http Server}
+         * @param exchange  Exchange of the {@link HttpServer JDK Http Server}
+         * @param container container handling the exchange.
          */
-        ResponseWriter(HttpExchange exchange) {
+        ResponseWriter(HttpExchange exchange, JdkHttpHandlerContainer container) {
             this.exchange = exchange;
+            this.container = container;
             this.closed = new AtomicBoolean(false);
         }
 
@@ -283,12 +322,62 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
 
         @Override
         public boolean suspend(long timeOut, TimeUnit timeUnit, TimeoutHandler timeoutHandler) {
-            throw new UnsupportedOperationException("Method suspend is not support by the container.");
+            synchronized (suspendLock) {
+                if (suspended || closed.get()) {
+                    return false;
+                }
+                // the exchange is kept open until the response is committed
+                this.suspended = true;
+                this.timeoutHandler = timeoutHandler;
+                scheduleTimeout(timeOut, timeUnit);
+                return true;
+            }
         }
 
         @Override
         public void setSuspendTimeout(long timeOut, TimeUnit timeUnit) throws IllegalStateException {
-            throw new UnsupportedOperationException("Method suspend is not support by the container.");
+            synchronized (suspendLock) {
+                if (!suspended) {
+                    throw new IllegalStateException("The response is not suspended.");
+                }
+                cancelTimeout();
+                scheduleTimeout(timeOut, timeUnit);
+            }
+        }
+
+        /**
+         * Check whether the response is suspended.
+         *
+         * @return {@code true} if the response has been suspended.
+         */
+        boolean isSuspended() {
+            return suspended;
+        }
+
+        private void scheduleTimeout(final long timeOut, final TimeUnit timeUnit) {
+            if (timeOut <= 0 || closed.get()) {
+                return;
+            }
+            timeoutTask = container.getTimeoutScheduler().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    final TimeoutHandler handler;
+                    synchronized (suspendLock) {
+                        timeoutTask = null;
+                        handler = timeoutHandler;
+                    }
+                    if (handler != null && !closed.get()) {
+                        handler.onTimeout(ResponseWriter.this);
+                    }
+                }
+            }, timeOut, timeUnit);
+        }
+
+        private void cancelTimeout() {
+            if (timeoutTask != null) {
+                timeoutTask.cancel(false);
+                timeoutTask = null;
+            }
         }
 
         @Override
@@ -311,6 +400,9 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
         @Override
         public void commit() {
             if (closed.compareAndSet(false, true)) {
+                synchronized (suspendLock) {
+                    cancelTimeout();
+                }
                 exchange.close();
             }
         }
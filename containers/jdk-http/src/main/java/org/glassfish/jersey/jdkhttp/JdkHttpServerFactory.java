@@ -98,7 +98,63 @@ public class JdkHttpServerFactory {
         return createHttpServer(uri, new JdkHttpHandlerContainer(appHandler));
     }
 
+    /**
+     * Creates and starts the {@link HttpServer JDK HttpServer} with the Jersey
+     * application deployed on the given {@link URI}.
+     *
+     * <p>The returned {@link HttpServer JDK HttpServer} is started.</p>
+     *
+     * @param uri           The {@link URI uri} on which the Jersey application will be deployed.
+     * @param configuration The Jersey server-side application configuration.
+     * @param executor      The executor used to handle requests (e.g. a bounded thread pool). If {@code null},
+     *                      a new {@link Executors#newCachedThreadPool() cached thread pool} is used. The executor
+     *                      is not shut down when the server is stopped.
+     * @param backlog       The maximum number of queued incoming connections. If the value is less or equal
+     *                      to {@code 0}, a system default value is used.
+     * @return Newly created {@link HttpServer}.
+     * @throws ProcessingException Thrown when problems during server creation
+     * occurs.
+     */
+    public static HttpServer createHttpServer(final URI uri,
+                                              final ResourceConfig configuration,
+                                              final Executor executor,
+                                              final int backlog) throws ProcessingException {
+        final JdkHttpHandlerContainer handler = ContainerFactory.createContainer(JdkHttpHandlerContainer.class, configuration);
+        return createHttpServer(uri, handler, executor, backlog);
+    }
+
+    /**
+     * Creates and starts the {@link HttpServer JDK HttpServer} with the
+     * Jersey application deployed on the given {@link URI}.
+     *
+     * <p>The returned {@link HttpServer JDK HttpServer} is started.</p>
+     *
+     * @param uri        The {@link URI uri} on which the Jersey application will be deployed.
+     * @param appHandler The Jersey server-side application handler.
+     * @param executor   The executor used to handle requests (e.g. a bounded thread pool). If {@code null},
+     *                   a new {@link Executors#newCachedThreadPool() cached thread pool} is used. The executor
+     *                   is not shut down when the server is stopped.
+     * @param backlog    The maximum number of queued incoming connections. If the value is less or equal
+     *                   to {@code 0}, a system default value is used.
+     * @return Newly created {@link HttpServer}.
+     * @throws ProcessingException Thrown when problems during server creation
+     * occurs.
+     */
+    public static HttpServer createHttpServer(final URI uri,
+                                              final ApplicationHandler appHandler,
+                                              final Executor executor,
+                                              final int backlog) throws ProcessingException {
+        return createHttpServer(uri, new JdkHttpHandlerContainer(appHandler), executor, backlog);
+    }
+
     private static HttpServer createHttpServer(final URI uri, final JdkHttpHandlerContainer handler) throws ProcessingException {
+        return createHttpServer(uri, handler, null, 0);
+    }
+
+    private static HttpServer createHttpServer(final URI uri,
+                                               final JdkHttpHandlerContainer handler,
+                                               final Executor executor,
+                                               final int backlog) throws ProcessingException {
 
         if (uri == null) {
             throw new IllegalArgumentException(LocalizationMessages.ERROR_CONTAINER_URI_NULL());
@@ -122,13 +178,13 @@ public class JdkHttpServerFactory {
         final HttpServer server;
         try {
             server = (scheme.equalsIgnoreCase("http"))
-                    ? HttpServer.create(new InetSocketAddress(port), 0)
-                    : HttpsServer.create(new InetSocketAddress(port), 0);
+                    ? HttpServer.create(new InetSocketAddress(port), backlog)
+                    : HttpsServer.create(new InetSocketAddress(port), backlog);
         } catch (IOException ioe) {
             throw new ProcessingException(LocalizationMessages.ERROR_CONTAINER_EXCEPTION_IO(), ioe);
         }
 
-        server.setExecutor(Executors.newCachedThreadPool());
+        server.setExecutor(executor != null ? executor : Executors.newCachedThreadPool());
         server.createContext(path, handler);
 
         final HttpServer wrapper = new HttpServer() {
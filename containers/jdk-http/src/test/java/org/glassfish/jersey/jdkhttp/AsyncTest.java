@@ -0,0 +1,125 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.jdkhttp;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Asynchronous (suspend/resume) processing support test.
+ */
+public class AsyncTest extends AbstractJdkHttpServerTester {
+
+    @Path("async")
+    public static class AsyncResource {
+
+        @GET
+        @Path("resume")
+        public void resume(@Suspended final AsyncResponse asyncResponse) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    asyncResponse.resume("resumed");
+                }
+            }).start();
+        }
+
+        @GET
+        @Path("timeout")
+        public void timeout(@Suspended final AsyncResponse asyncResponse) {
+            asyncResponse.setTimeout(100, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Test
+    public void testResume() {
+        startServer(AsyncResource.class);
+
+        final Response response = ClientBuilder.newClient().target(getUri().path("async/resume").build()).request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("resumed", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testTimeout() {
+        startServer(AsyncResource.class);
+
+        final Response response = ClientBuilder.newClient().target(getUri().path("async/timeout").build()).request().get();
+        assertEquals(503, response.getStatus());
+    }
+
+    @Test
+    public void testCustomExecutor() {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final HttpServer server = JdkHttpServerFactory.createHttpServer(getBaseUri(),
+                new ResourceConfig(AsyncResource.class), executor, 16);
+        try {
+            assertEquals(executor, server.getExecutor());
+
+            final Response response = ClientBuilder.newClient().target(getUri().path("async/resume").build())
+                    .request().get();
+            assertEquals("resumed", response.readEntity(String.class));
+        } finally {
+            server.stop(0);
+            executor.shutdown();
+        }
+    }
+}
@@ -144,6 +144,49 @@ public final class ServletProperties {
      */
     public static final String PROVIDER_WEB_APP = "jersey.config.servlet.provider.webapp";
 
+    /**
+     * If set to {@code true} and the Servlet container supports Servlet 3.1 non-blocking I/O, the Jersey
+     * servlet container reads request entities and writes response entities using
+     * {@code javax.servlet.ReadListener} and {@code javax.servlet.WriteListener}.
+     * <p></p>
+     * In the non-blocking mode, every request is put into the asynchronous mode and dispatched to the Jersey
+     * application only once the whole request entity has been received by the read listener. Up to
+     * {@link #NON_BLOCKING_IO_BUFFER_SIZE buffer size} bytes of the entity are kept in memory, the rest of a larger
+     * entity is spooled to a temporary file. Response data are written to the servlet output stream only when
+     * the stream {@code isReady()}; otherwise they are kept in a pending buffer that is written out once the
+     * container notifies the write listener. The asynchronous context is completed after all pending response
+     * data have been written.
+     * <p></p>
+     * The non-blocking mode requires the {@code jersey-container-servlet} module (Servlet 3.x support) to be
+     * present. The property is ignored on Servlet containers that do not support Servlet 3.1 and also when the
+     * {@link #FILTER_FORWARD_ON_404} property is enabled, since forwarding requires the response status to be
+     * known before the filter returns.
+     * <p></p>
+     * The default value is {@code false}.
+     * <p></p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     */
+    public static final String NON_BLOCKING_IO = "jersey.config.servlet.io.nonBlocking";
+
+    /**
+     * An integer value that defines the size (in bytes) of request and response buffers used in the
+     * {@link #NON_BLOCKING_IO non-blocking I/O mode}.
+     * <p></p>
+     * At most the given number of request entity bytes is buffered in memory; the rest of a larger entity is
+     * spooled to a temporary file before the request is dispatched to the Jersey application. A thread writing the response entity is blocked once more
+     * than the given number of response bytes are waiting to be written to the client.
+     * <p></p>
+     * The default value is {@value #DEFAULT_NON_BLOCKING_IO_BUFFER_SIZE}.
+     * <p></p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     */
+    public static final String NON_BLOCKING_IO_BUFFER_SIZE = "jersey.config.servlet.io.bufferSize";
+
+    /**
+     * Default {@link #NON_BLOCKING_IO_BUFFER_SIZE non-blocking I/O buffer size}.
+     */
+    public static final int DEFAULT_NON_BLOCKING_IO_BUFFER_SIZE = 256 * 1024;
+
     private ServletProperties() {
         // prevents instantiation
     }
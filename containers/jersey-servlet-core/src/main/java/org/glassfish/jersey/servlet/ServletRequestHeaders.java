@@ -0,0 +1,95 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.servlet;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Iterator;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.glassfish.jersey.message.internal.ReadThroughHeaders;
+
+import com.google.common.collect.Iterators;
+
+/**
+ * Servlet request headers {@link ReadThroughHeaders.Source source}. Request headers are read directly
+ * from the {@link HttpServletRequest servlet request} instead of being copied into the container request.
+ */
+class ServletRequestHeaders implements ReadThroughHeaders.Source {
+    private final HttpServletRequest request;
+
+    /**
+     * Create new servlet request headers source.
+     *
+     * @param request servlet request.
+     */
+    ServletRequestHeaders(HttpServletRequest request) {
+        this.request = request;
+    }
+
+    @Override
+    public Iterable<String> getHeaderNames() {
+        return new Iterable<String>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Iterator<String> iterator() {
+                return forEnumeration(request.getHeaderNames());
+            }
+        };
+    }
+
+    @Override
+    public Iterable<String> getHeaderValues(final String name) {
+        return new Iterable<String>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Iterator<String> iterator() {
+                return forEnumeration(request.getHeaders(name));
+            }
+        };
+    }
+
+    private static Iterator<String> forEnumeration(final Enumeration<String> enumeration) {
+        // servlet container may not allow access to the request headers
+        return enumeration == null ? Collections.<String>emptyList().iterator() : Iterators.forEnumeration(enumeration);
+    }
+}
@@ -41,8 +41,10 @@ package org.glassfish.jersey.servlet;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.MalformedURLException;
 import java.util.Deque;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
@@ -52,9 +54,14 @@ import org.glassfish.jersey.server.ResourceFinder;
 import org.glassfish.jersey.server.internal.scanning.JarFileScanner;
 import org.glassfish.jersey.server.internal.scanning.ResourceFinderException;
 import org.glassfish.jersey.server.internal.scanning.ResourceFinderStack;
+import org.glassfish.jersey.server.internal.scanning.ResourceIndex;
 
 /**
  * A scanner that recursively scans resources within a Web application.
+ * <p>
+ * If {@code WEB-INF/classes} contains a {@link ResourceIndex resource index}, the directory is not scanned and
+ * only the indexed classes are returned.
+ * </p>
  *
  * @author Paul Sandoz
  */
@@ -63,7 +70,8 @@ class WebAppResourcesScanner implements ResourceFinder {
 //    private final String[] paths;
     private final ServletContext sc;
     private ResourceFinderStack resourceFinderStack = new ResourceFinderStack();
-    private static String[] paths = new String[]{"/WEB-INF/lib/", "/WEB-INF/classes/"};
+    private static final String CLASSES_PATH = "/WEB-INF/classes/";
+    private static String[] paths = new String[]{"/WEB-INF/lib/", CLASSES_PATH};
 
     /**
      * Scan from a set of web resource paths.
@@ -80,6 +88,10 @@ class WebAppResourcesScanner implements ResourceFinder {
     private void processPaths(String... paths) {
         for (final String path : paths) {
 
+            if (CLASSES_PATH.equals(path) && processIndex(path)) {
+                continue;
+            }
+
             final Set<String> resourcePaths = sc.getResourcePaths(path);
             if (resourcePaths == null) {
                 break;
@@ -151,6 +163,71 @@ class WebAppResourcesScanner implements ResourceFinder {
         }
     }
 
+    private boolean processIndex(final String path) {
+        final InputStream in = sc.getResourceAsStream(path + ResourceIndex.LOCATION);
+        if (in == null) {
+            return false;
+        }
+
+        final List<String> classNames;
+        try {
+            classNames = ResourceIndex.read(in).getClassNames();
+        } catch (IOException e) {
+            // unreadable index - scan the directory
+            return false;
+        }
+
+        resourceFinderStack.push(new ResourceFinder() {
+
+            private int position = 0;
+            private String current;
+            private String next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && position < classNames.size()) {
+                    next = path + classNames.get(position++).replace('.', '/') + ".class";
+                    try {
+                        if (sc.getResource(next) == null) {
+                            // stale index entry
+                            next = null;
+                        }
+                    } catch (MalformedURLException e) {
+                        next = null;
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public String next() {
+                if (next != null || hasNext()) {
+                    current = next;
+                    next = null;
+                    return current;
+                }
+
+                throw new NoSuchElementException();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public InputStream open() {
+                return sc.getResourceAsStream(current);
+            }
+
+            @Override
+            public void reset() {
+                throw new UnsupportedOperationException();
+            }
+        });
+        return true;
+    }
+
     @Override
     public boolean hasNext() {
         return resourceFinderStack.hasNext();
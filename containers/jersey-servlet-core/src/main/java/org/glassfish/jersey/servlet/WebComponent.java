@@ -72,6 +72,7 @@ import javax.servlet.http.HttpServletResponse;
 import org.glassfish.jersey.internal.ServiceFinderBinder;
 import org.glassfish.jersey.internal.inject.Providers;
 import org.glassfish.jersey.internal.inject.ReferencingFactory;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.internal.util.ReflectionHelper;
 import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.internal.util.collection.Value;
@@ -92,6 +93,8 @@ import org.glassfish.jersey.servlet.internal.ServletContainerProviderFactory;
 import org.glassfish.jersey.servlet.internal.spi.ServletContainerProvider;
 import org.glassfish.jersey.servlet.spi.AsyncContextDelegate;
 import org.glassfish.jersey.servlet.spi.AsyncContextDelegateProvider;
+import org.glassfish.jersey.servlet.spi.NonBlockingIoDelegate;
+import org.glassfish.jersey.servlet.spi.NonBlockingIoDelegateProvider;
 
 import org.glassfish.hk2.api.Factory;
 import org.glassfish.hk2.api.PerLookup;
@@ -148,6 +151,39 @@ public class WebComponent {
         };
     }
 
+    /**
+     * Return the first found {@link NonBlockingIoDelegateProvider} if the {@link ServletProperties#NON_BLOCKING_IO
+     * non-blocking I/O} mode is enabled.
+     *
+     * @param properties application configuration properties.
+     * @return non-blocking I/O delegate provider or {@code null} if the non-blocking mode is disabled or not available.
+     */
+    private NonBlockingIoDelegateProvider getNonBlockingIoDelegate(final Map<String, Object> properties) {
+        if (forwardOn404 || !PropertiesHelper.isProperty(properties, ServletProperties.NON_BLOCKING_IO)) {
+            return null;
+        }
+        final Iterator<NonBlockingIoDelegateProvider> providers = Providers.getAllProviders(appHandler.getServiceLocator(),
+                NonBlockingIoDelegateProvider.class).iterator();
+        if (providers.hasNext()) {
+            return providers.next();
+        }
+
+        LOGGER.config(LocalizationMessages.NON_BLOCKING_IO_NOT_AVAILABLE());
+        return null;
+    }
+
+    /**
+     * Get the size of buffers used in the {@link ServletProperties#NON_BLOCKING_IO non-blocking I/O} mode.
+     *
+     * @param properties application configuration properties.
+     * @return non-blocking I/O buffer size.
+     */
+    private static int getNonBlockingIoBufferSize(final Map<String, Object> properties) {
+        final int bufferSize = PropertiesHelper.getValue(properties, ServletProperties.NON_BLOCKING_IO_BUFFER_SIZE,
+                ServletProperties.DEFAULT_NON_BLOCKING_IO_BUFFER_SIZE, Integer.class);
+        return bufferSize > 0 ? bufferSize : ServletProperties.DEFAULT_NON_BLOCKING_IO_BUFFER_SIZE;
+    }
+
     @SuppressWarnings("JavaDoc")
     private static class HttpServletRequestReferencingFactory extends ReferencingFactory<HttpServletRequest> {
         @Inject
@@ -252,6 +288,8 @@ public class WebComponent {
 
             install(new ServiceFinderBinder<AsyncContextDelegateProvider>(AsyncContextDelegateProvider.class,
                     applicationProperties, RuntimeType.SERVER));
+            install(new ServiceFinderBinder<NonBlockingIoDelegateProvider>(NonBlockingIoDelegateProvider.class,
+                    applicationProperties, RuntimeType.SERVER));
         }
     }
 
@@ -275,6 +313,14 @@ public class WebComponent {
      * Asynchronous context delegate provider.
      */
     private final AsyncContextDelegateProvider asyncExtensionDelegate;
+    /**
+     * Non-blocking I/O delegate provider, {@code null} if the non-blocking I/O mode is not used.
+     */
+    private final NonBlockingIoDelegateProvider nonBlockingIoDelegate;
+    /**
+     * Size of the buffers used in the non-blocking I/O mode.
+     */
+    private final int nonBlockingIoBufferSize;
 
     /**
      * Create and initialize new web component instance.
@@ -299,6 +345,8 @@ public class WebComponent {
         this.asyncExtensionDelegate = getAsyncExtensionDelegate();
         this.forwardOn404 = webConfig.getConfigType().equals(WebConfig.ConfigType.FilterConfig) &&
                 resourceConfig.isProperty(ServletProperties.FILTER_FORWARD_ON_404);
+        this.nonBlockingIoDelegate = getNonBlockingIoDelegate(resourceConfig.getProperties());
+        this.nonBlockingIoBufferSize = getNonBlockingIoBufferSize(resourceConfig.getProperties());
 
         this.backgroundTaskScheduler = appHandler.getServiceLocator()
                 .getService(ScheduledExecutorService.class, new RuntimeExecutorsBinder.BackgroundSchedulerLiteral());
@@ -328,10 +376,12 @@ public class WebComponent {
             final HttpServletRequest servletRequest,
             final HttpServletResponse servletResponse) throws ServletException, IOException {
 
-        ContainerRequest requestContext = new ContainerRequest(baseUri, requestUri,
+        final ContainerRequest requestContext = new ContainerRequest(baseUri, requestUri,
                 servletRequest.getMethod(), getSecurityContext(servletRequest), new ServletPropertiesDelegate(servletRequest));
-        requestContext.setEntityStream(servletRequest.getInputStream());
-        addRequestHeaders(servletRequest, requestContext);
+        final NonBlockingIoDelegate nonBlockingIo = nonBlockingIoDelegate == null ? null
+                : nonBlockingIoDelegate.createDelegate(servletRequest, servletResponse, nonBlockingIoBufferSize);
+        requestContext.setEntityStream(nonBlockingIo == null ? servletRequest.getInputStream() : nonBlockingIo.getInputStream());
+        requestContext.headers(new ServletRequestHeaders(servletRequest));
 
         try {
             // Check if any servlet filters have consumed a request entity
@@ -342,7 +392,7 @@ public class WebComponent {
             final ResponseWriter responseWriter = new ResponseWriter(
                     forwardOn404,
                     servletResponse,
-                    asyncExtensionDelegate.createDelegate(servletRequest, servletResponse),
+                    nonBlockingIo == null ? asyncExtensionDelegate.createDelegate(servletRequest, servletResponse) : nonBlockingIo,
                     backgroundTaskScheduler);
 
             requestContext.setRequestScopedInitializer(new RequestScopedInitializer() {
@@ -356,7 +406,16 @@ public class WebComponent {
             });
             requestContext.setWriter(responseWriter);
 
-            appHandler.handle(requestContext);
+            if (nonBlockingIo == null) {
+                appHandler.handle(requestContext);
+            } else {
+                nonBlockingIo.dispatch(new Runnable() {
+                    @Override
+                    public void run() {
+                        appHandler.handle(requestContext);
+                    }
+                });
+            }
 
             return Values.lazy(new Value<Integer>() {
                 @Override
@@ -465,25 +524,6 @@ public class WebComponent {
         }
     }
 
-    /**
-     * Copy request headers present in {@code request} into {@code requestContext} ignoring {@code null} values.
-     *
-     * @param request http servlet request to copy headers from.
-     * @param requestContext container request to copy headers to.
-     */
-    @SuppressWarnings("unchecked")
-    private void addRequestHeaders(HttpServletRequest request, ContainerRequest requestContext) {
-        for (Enumeration<String> names = request.getHeaderNames(); names.hasMoreElements(); ) {
-            String name = names.nextElement();
-            for (Enumeration<String> values = request.getHeaders(name); values.hasMoreElements(); ) {
-                final String value = values.nextElement();
-                if (value != null) { // filter out null values
-                    requestContext.header(name, value);
-                }
-            }
-        }
-    }
-
     /**
      * Extract init params from {@link WebConfig}.
      *
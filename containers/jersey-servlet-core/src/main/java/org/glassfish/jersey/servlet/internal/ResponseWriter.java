@@ -59,12 +59,15 @@ import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.internal.JerseyRequestTimeoutHandler;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 import org.glassfish.jersey.servlet.spi.AsyncContextDelegate;
+import org.glassfish.jersey.servlet.spi.NonBlockingIoDelegate;
 
 import com.google.common.util.concurrent.SettableFuture;
 
 /**
  * An internal implementation of {@link ContainerResponseWriter} for Servlet containers.
- * The writer depends on provided {@link AsyncContextDelegate} to support async functionality.
+ * The writer depends on provided {@link AsyncContextDelegate} to support async functionality. If the delegate
+ * is a {@link NonBlockingIoDelegate}, the response entity is written using the non-blocking output stream
+ * provided by the delegate.
  *
  * @author Paul Sandoz (paul.sandoz at oracle.com)
  * @author Jakub Podlesak (jakub.podlesak at oracle.com)
@@ -161,7 +164,8 @@ public class ResponseWriter implements ContainerResponseWriter {
             return null;
         } else {
             try {
-                return response.getOutputStream();
+                return (asyncExt instanceof NonBlockingIoDelegate)
+                        ? ((NonBlockingIoDelegate) asyncExt).getOutputStream() : response.getOutputStream();
             } catch (IOException e) {
                 throw new ContainerException(e);
             }
@@ -207,6 +211,9 @@ public class ResponseWriter implements ContainerResponseWriter {
                 } finally {
                     asyncExt.complete();
                 }
+            } else {
+                // the async context (if any) still needs to be completed, e.g. in the non-blocking I/O mode.
+                asyncExt.complete();
             }
         } finally {
             rethrow(error);
@@ -0,0 +1,86 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.servlet.spi;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Extension of the {@link AsyncContextDelegate} that reads request entities and writes response entities
+ * using the non-blocking I/O features added in Servlet version 3.1.
+ * Individual instances are created by {@link NonBlockingIoDelegateProvider}.
+ * <p>
+ * The request is put into the asynchronous mode as soon as it is {@link #dispatch(Runnable) dispatched}, hence
+ * {@link #suspend()} does not need to do anything, and {@link #complete()} completes the asynchronous context only
+ * once all pending response data have been written to the client.
+ * </p>
+ *
+ * @see NonBlockingIoDelegateProvider
+ * @see org.glassfish.jersey.servlet.ServletProperties#NON_BLOCKING_IO
+ */
+public interface NonBlockingIoDelegate extends AsyncContextDelegate {
+
+    /**
+     * Start the asynchronous processing of the request and run the given request processing task once the request
+     * entity (or at least the configured number of bytes of the entity) has been received.
+     *
+     * @param task request processing task.
+     * @throws IllegalStateException if underlying {@link javax.servlet.ServletRequest servlet request} throws an exception.
+     */
+    public void dispatch(Runnable task) throws IllegalStateException;
+
+    /**
+     * Get the request entity stream. The stream must not be read before the request processing task
+     * {@link #dispatch(Runnable) has been dispatched}.
+     *
+     * @return request entity stream.
+     */
+    public InputStream getInputStream();
+
+    /**
+     * Get the response entity stream. The stream never blocks the writing thread unless the amount of response data
+     * not yet written to the client exceeds the configured limit.
+     *
+     * @return response entity stream.
+     * @throws IOException if the underlying servlet output stream cannot be retrieved.
+     */
+    public OutputStream getOutputStream() throws IOException;
+}
@@ -0,0 +1,66 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.servlet.spi;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Factory to create {@link NonBlockingIoDelegate} to deal with the non-blocking I/O
+ * features added in Servlet version 3.1.
+ * The factory is only used if the {@link org.glassfish.jersey.servlet.ServletProperties#NON_BLOCKING_IO non-blocking I/O}
+ * mode is enabled. If no such a factory is registered via the {@code META-INF/services} mechanism, or if the factory
+ * does not create a delegate, the request is processed using blocking I/O.
+ */
+public interface NonBlockingIoDelegateProvider {
+
+    /**
+     * Factory method to create instances of Servlet container non-blocking I/O extension,
+     * {@link NonBlockingIoDelegate}, for request and response processing.
+     *
+     * @param request original request.
+     * @param response original response.
+     * @param bufferSize size (in bytes) of the request and response buffers.
+     * @return an instance to be used throughout a single request processing, or {@code null} if the
+     *         Servlet container does not support non-blocking I/O.
+     */
+    public NonBlockingIoDelegate createDelegate(final HttpServletRequest request, final HttpServletResponse response,
+                                                final int bufferSize);
+}
@@ -0,0 +1,173 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.servlet.async;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.glassfish.jersey.servlet.spi.NonBlockingIoDelegate;
+
+/**
+ * Servlet 3.1 non-blocking I/O delegate.
+ * <p>
+ * The request processing task is run using {@link AsyncContext#start(Runnable)} once the whole request entity has
+ * been buffered, so that the container thread notifying the {@link javax.servlet.ReadListener read listener} is never
+ * blocked by the application and the application never waits for the client to send the entity.
+ * </p>
+ */
+final class NonBlockingIoDelegateImpl implements NonBlockingIoDelegate {
+
+    private static final Logger LOGGER = Logger.getLogger(NonBlockingIoDelegateImpl.class.getName());
+
+    private static final int NEVER_TIMEOUT_VALUE = -1;
+
+    private final HttpServletRequest request;
+    private final HttpServletResponse response;
+    private final int bufferSize;
+    private final NonBlockingServletInputStream inputStream;
+    private final AtomicBoolean completed;
+
+    private volatile AsyncContext asyncContext;
+    private NonBlockingServletOutputStream outputStream;
+
+    /**
+     * Create a Servlet 3.1 {@link NonBlockingIoDelegate} with given {@code request} and {@code response}.
+     *
+     * @param request request to be processed.
+     * @param response response to be written.
+     * @param bufferSize size of request and response buffers.
+     */
+    NonBlockingIoDelegateImpl(final HttpServletRequest request, final HttpServletResponse response, final int bufferSize) {
+        this.request = request;
+        this.response = response;
+        this.bufferSize = bufferSize;
+        this.inputStream = new NonBlockingServletInputStream(bufferSize);
+        this.completed = new AtomicBoolean(false);
+    }
+
+    @Override
+    public void dispatch(final Runnable task) throws IllegalStateException {
+        final AsyncContext context = request.startAsync(request, response);
+
+        // Tell underlying asycContext to never time out.
+        context.setTimeout(NEVER_TIMEOUT_VALUE);
+        asyncContext = context;
+
+        final Runnable safeTask = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, "Request processing failed.", e);
+                    complete();
+                }
+            }
+        };
+
+        try {
+            inputStream.start(request.getInputStream(), new Runnable() {
+                @Override
+                public void run() {
+                    context.start(safeTask);
+                }
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return inputStream;
+    }
+
+    @Override
+    public synchronized OutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            final ServletOutputStream out = response.getOutputStream();
+            outputStream = new NonBlockingServletOutputStream(out, bufferSize);
+            out.setWriteListener(outputStream);
+        }
+        return outputStream;
+    }
+
+    @Override
+    public void suspend() throws IllegalStateException {
+        // the request is always processed in the async mode
+    }
+
+    @Override
+    public void complete() {
+        if (!completed.compareAndSet(false, true)) {
+            return;
+        }
+        inputStream.release();
+
+        final NonBlockingServletOutputStream out;
+        synchronized (this) {
+            out = outputStream;
+        }
+
+        final Runnable completeTask = new Runnable() {
+            @Override
+            public void run() {
+                final AsyncContext context = asyncContext;
+                if (context != null) {
+                    context.complete();
+                }
+            }
+        };
+        if (out == null) {
+            completeTask.run();
+        } else {
+            out.whenDrained(completeTask);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.servlet.async;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+
+import org.glassfish.jersey.message.internal.SpooledEntityBuffer;
+
+/**
+ * Request entity stream reading the entity from a {@link ServletInputStream} in the Servlet 3.1 non-blocking mode.
+ * <p>
+ * Once {@link #start(ServletInputStream, Runnable) started}, the stream reads the incoming entity data only from
+ * the {@link ReadListener} callbacks, while the servlet input stream {@link ServletInputStream#isReady() is ready},
+ * and runs the dispatch task once the whole entity has been received. No thread therefore waits for the client to
+ * send the entity. Up to the configured number of bytes are kept in memory, the rest of a larger entity is spooled
+ * to a temporary file (see {@link SpooledEntityBuffer}).
+ * </p>
+ */
+final class NonBlockingServletInputStream extends InputStream implements ReadListener {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final SpooledEntityBuffer buffer;
+    private final byte[] chunk;
+
+    private ServletInputStream in;
+    private Runnable dispatchTask;
+    private volatile InputStream entity;
+    private volatile IOException error;
+
+    /**
+     * Create new non-blocking request entity stream.
+     *
+     * @param bufferSize maximal number of entity bytes kept in memory.
+     */
+    NonBlockingServletInputStream(final int bufferSize) {
+        this.buffer = new SpooledEntityBuffer(bufferSize);
+        this.chunk = new byte[Math.min(bufferSize, CHUNK_SIZE)];
+    }
+
+    /**
+     * Start reading the entity from the servlet input stream.
+     *
+     * @param in servlet input stream.
+     * @param dispatchTask task to be run once the whole entity has been received.
+     */
+    void start(final ServletInputStream in, final Runnable dispatchTask) {
+        synchronized (this) {
+            this.in = in;
+            this.dispatchTask = dispatchTask;
+        }
+        in.setReadListener(this);
+    }
+
+    @Override
+    public void onDataAvailable() throws IOException {
+        synchronized (this) {
+            if (dispatchTask == null) {
+                return;
+            }
+            while (in.isReady() && !in.isFinished()) {
+                final int n = in.read(chunk, 0, chunk.length);
+                if (n < 0) {
+                    break;
+                }
+                buffer.write(chunk, 0, n);
+            }
+        }
+        // the container invokes onAllDataRead() once the entity has been read
+    }
+
+    @Override
+    public void onAllDataRead() throws IOException {
+        final Runnable task;
+        synchronized (this) {
+            task = dispatchTask;
+            dispatchTask = null;
+            if (task != null) {
+                try {
+                    entity = buffer.getInputStream();
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+        }
+        if (task != null) {
+            task.run();
+        }
+    }
+
+    @Override
+    public void onError(final Throwable t) {
+        final Runnable task;
+        synchronized (this) {
+            error = (t instanceof IOException) ? (IOException) t : new IOException(t);
+            task = dispatchTask;
+            dispatchTask = null;
+        }
+        release();
+        if (task != null) {
+            task.run();
+        }
+    }
+
+    /**
+     * Release the buffered entity data.
+     */
+    void release() {
+        buffer.release();
+    }
+
+    private InputStream getEntity() throws IOException {
+        final IOException e = error;
+        if (e != null) {
+            throw e;
+        }
+        final InputStream stream = entity;
+        if (stream == null) {
+            throw new IOException("The request entity has not been received.");
+        }
+        return stream;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return getEntity().read();
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        return getEntity().read(b, off, len);
+    }
+
+    @Override
+    public int available() throws IOException {
+        return getEntity().available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        final InputStream stream = entity;
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
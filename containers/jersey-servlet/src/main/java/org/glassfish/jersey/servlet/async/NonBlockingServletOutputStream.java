@@ -0,0 +1,193 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.servlet.async;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.LinkedList;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+/**
+ * Response entity stream writing to a {@link ServletOutputStream} in the Servlet 3.1 non-blocking mode.
+ * <p>
+ * Data are written to the servlet output stream only when it {@link ServletOutputStream#isReady() is ready};
+ * otherwise they are queued and written out once the container notifies the {@link WriteListener write listener}.
+ * A writing thread blocks only if the amount of queued data exceeds the configured limit.
+ * </p>
+ */
+final class NonBlockingServletOutputStream extends OutputStream implements WriteListener {
+
+    private final ServletOutputStream out;
+    private final int maxPendingBytes;
+    private final Object lock = new Object();
+    private final LinkedList<byte[]> pending = new LinkedList<byte[]>();
+
+    private int pendingBytes;
+    private boolean flushPending;
+    private IOException error;
+    private Runnable drainedTask;
+
+    /**
+     * Create new non-blocking response entity stream. The stream must be registered as the
+     * {@link ServletOutputStream#setWriteListener(WriteListener) write listener} of the servlet output stream.
+     *
+     * @param out servlet output stream.
+     * @param maxPendingBytes maximal number of queued bytes before a writing thread is blocked.
+     */
+    NonBlockingServletOutputStream(final ServletOutputStream out, final int maxPendingBytes) {
+        this.out = out;
+        this.maxPendingBytes = maxPendingBytes;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return;
+        }
+        synchronized (lock) {
+            checkError();
+            if (pending.isEmpty() && out.isReady()) {
+                out.write(b, off, len);
+                return;
+            }
+
+            pending.add(Arrays.copyOfRange(b, off, off + len));
+            pendingBytes += len;
+            while (pendingBytes > maxPendingBytes && error == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+            }
+            checkError();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        synchronized (lock) {
+            checkError();
+            if (pending.isEmpty() && out.isReady()) {
+                out.flush();
+            } else {
+                flushPending = true;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // the servlet output stream is closed when the async context is completed
+        flush();
+    }
+
+    /**
+     * Run the task once all queued data have been written to the servlet output stream
+     * (or writing has failed).
+     *
+     * @param task task to be run.
+     */
+    void whenDrained(final Runnable task) {
+        synchronized (lock) {
+            if (!pending.isEmpty() && error == null) {
+                drainedTask = task;
+                return;
+            }
+        }
+        task.run();
+    }
+
+    @Override
+    public void onWritePossible() throws IOException {
+        Runnable task = null;
+        synchronized (lock) {
+            while (!pending.isEmpty() && out.isReady()) {
+                final byte[] chunk = pending.removeFirst();
+                pendingBytes -= chunk.length;
+                out.write(chunk);
+            }
+            if (pending.isEmpty()) {
+                if (flushPending && out.isReady()) {
+                    flushPending = false;
+                    out.flush();
+                }
+                task = drainedTask;
+                drainedTask = null;
+            }
+            lock.notifyAll();
+        }
+        if (task != null) {
+            task.run();
+        }
+    }
+
+    @Override
+    public void onError(final Throwable t) {
+        Runnable task;
+        synchronized (lock) {
+            error = (t instanceof IOException) ? (IOException) t : new IOException(t);
+            pending.clear();
+            pendingBytes = 0;
+            task = drainedTask;
+            drainedTask = null;
+            lock.notifyAll();
+        }
+        if (task != null) {
+            task.run();
+        }
+    }
+
+    private void checkError() throws IOException {
+        if (error != null) {
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,456 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.servlet.async;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.servlet.internal.ResponseWriter;
+import org.glassfish.jersey.servlet.spi.NonBlockingIoDelegate;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the Servlet 3.1 non-blocking I/O mode ({@link NonBlockingIoDelegateImpl}) used by the servlet
+ * container {@link ResponseWriter response writer}. The servlet request, response and asynchronous context are
+ * simulated; the simulated servlet output stream accepts only a limited number of bytes before it stops
+ * being {@link ServletOutputStream#isReady() ready} until a container thread notifies the write listener.
+ */
+public class NonBlockingIoTest {
+
+    private static final int BUFFER_SIZE = 1024;
+    private static final int LARGE_ENTITY_SIZE = 256 * 1024;
+
+    @Path("/")
+    public static class Resource {
+
+        @GET
+        @Path("entity")
+        public String getEntity() {
+            return "entity";
+        }
+
+        @GET
+        @Path("empty")
+        public void getEmpty() {
+            // 204 No Content
+        }
+
+        @POST
+        @Path("echo")
+        public String echo(final String entity) {
+            return entity;
+        }
+
+        @GET
+        @Path("large")
+        public StreamingOutput getLarge() {
+            return new StreamingOutput() {
+                @Override
+                public void write(OutputStream output) throws IOException, WebApplicationException {
+                    output.write(largeEntity());
+                }
+            };
+        }
+    }
+
+    private static byte[] largeEntity() {
+        final byte[] entity = new byte[LARGE_ENTITY_SIZE];
+        for (int i = 0; i < entity.length; i++) {
+            entity[i] = (byte) ('a' + (i / 100) % 26);
+        }
+        return entity;
+    }
+
+    /**
+     * Servlet input stream that makes the request entity available in chunks. Once a chunk has been read,
+     * the stream is not {@link ServletInputStream#isReady() ready} until a container thread notifies the read
+     * listener about the next chunk.
+     */
+    private static class TestInputStream extends ServletInputStream {
+
+        private final byte[] data;
+        private final int chunkSize;
+        private ReadListener listener;
+        private int position;
+        private int available;
+        private int chunks;
+
+        private TestInputStream(final byte[] data) {
+            this(data, Math.max(1, data.length));
+        }
+
+        private TestInputStream(final byte[] data, final int chunkSize) {
+            this.data = data;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        public synchronized boolean isFinished() {
+            return position == data.length;
+        }
+
+        @Override
+        public synchronized boolean isReady() {
+            if (available > 0 || isFinished()) {
+                return true;
+            }
+            deliverChunk();
+            return false;
+        }
+
+        @Override
+        public synchronized void setReadListener(final ReadListener listener) {
+            this.listener = listener;
+            deliverChunk();
+        }
+
+        private void deliverChunk() {
+            runOnContainerThread(new Task() {
+                @Override
+                public void run() throws IOException {
+                    final int delivered;
+                    final boolean last;
+                    synchronized (TestInputStream.this) {
+                        delivered = available = Math.min(chunkSize, data.length - position);
+                        last = position + delivered == data.length;
+                        chunks++;
+                    }
+                    if (delivered > 0) {
+                        listener.onDataAvailable();
+                    }
+                    if (last) {
+                        listener.onAllDataRead();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public synchronized int read(final byte[] b, final int off, final int len) throws IOException {
+            if (isFinished()) {
+                return -1;
+            }
+            if (available == 0) {
+                throw new IllegalStateException("Read from a stream that is not ready.");
+            }
+            final int n = Math.min(len, available);
+            System.arraycopy(data, position, b, off, n);
+            position += n;
+            available -= n;
+            return n;
+        }
+    }
+
+    /**
+     * Servlet output stream that is ready to accept at most {@code BUFFER_SIZE / 2} bytes at a time.
+     */
+    private static class TestOutputStream extends ServletOutputStream {
+
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        private WriteListener listener;
+        private int accepted;
+        private int notReadyCount;
+
+        @Override
+        public synchronized boolean isReady() {
+            if (accepted < BUFFER_SIZE / 2) {
+                return true;
+            }
+            notReadyCount++;
+            // the container notifies the write listener once the client has received the data
+            runOnContainerThread(new Task() {
+                @Override
+                public void run() throws IOException {
+                    synchronized (TestOutputStream.this) {
+                        accepted = 0;
+                    }
+                    listener.onWritePossible();
+                }
+            });
+            return false;
+        }
+
+        @Override
+        public void setWriteListener(final WriteListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public synchronized void write(final int b) throws IOException {
+            data.write(b);
+            accepted++;
+        }
+
+        @Override
+        public synchronized void write(final byte[] b, final int off, final int len) throws IOException {
+            data.write(b, off, len);
+            accepted += len;
+        }
+    }
+
+    private interface Task {
+
+        void run() throws IOException;
+    }
+
+    private static void runOnContainerThread(final Task task) {
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    task.run();
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }).start();
+    }
+
+    private ApplicationHandler application;
+    private ScheduledExecutorService scheduler;
+
+    private CountDownLatch completed;
+    private TestOutputStream outputStream;
+    private volatile int status;
+
+    @Before
+    public void setUp() {
+        application = new ApplicationHandler(new ResourceConfig(Resource.class));
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private void process(final String method, final String path, final byte[] entity) throws Exception {
+        process(method, path, new TestInputStream(entity));
+    }
+
+    private void process(final String method, final String path, final ServletInputStream inputStream)
+            throws Exception {
+        completed = new CountDownLatch(1);
+        outputStream = new TestOutputStream();
+        status = 0;
+
+        final AsyncContext asyncContext = mock(AsyncContext.class, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+                if (m.getName().equals("start")) {
+                    new Thread((Runnable) args[0]).start();
+                } else if (m.getName().equals("complete")) {
+                    completed.countDown();
+                }
+                return null;
+            }
+        });
+        final HttpServletRequest request = mock(HttpServletRequest.class, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+                if (m.getName().equals("startAsync")) {
+                    return asyncContext;
+                } else if (m.getName().equals("getInputStream")) {
+                    return inputStream;
+                } else if (m.getName().equals("isAsyncSupported")) {
+                    return true;
+                }
+                return defaultValue(m);
+            }
+        });
+        final HttpServletResponse response = mock(HttpServletResponse.class, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+                if (m.getName().equals("getOutputStream")) {
+                    return outputStream;
+                } else if (m.getName().equals("setStatus")) {
+                    status = (Integer) args[0];
+                }
+                return defaultValue(m);
+            }
+        });
+
+        final NonBlockingIoDelegate delegate = new NonBlockingIoDelegateProviderImpl()
+                .createDelegate(request, response, BUFFER_SIZE);
+        assertNotNull(delegate);
+
+        final ContainerRequest requestContext = new ContainerRequest(URI.create("http://localhost/"),
+                URI.create("http://localhost" + path), method, mock(SecurityContext.class, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method m, Object[] args) throws Throwable {
+                        return defaultValue(m);
+                    }
+                }), new MapPropertiesDelegate());
+        requestContext.setEntityStream(delegate.getInputStream());
+        requestContext.setWriter(new ResponseWriter(false, response, delegate, scheduler));
+
+        delegate.dispatch(new Runnable() {
+            @Override
+            public void run() {
+                application.handle(requestContext);
+            }
+        });
+
+        assertTrue("Async context has not been completed.", completed.await(5, TimeUnit.SECONDS));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T mock(final Class<T> type, final InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(NonBlockingIoTest.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object defaultValue(final Method method) {
+        final Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        }
+        return null;
+    }
+
+    @Test
+    public void testEntity() throws Exception {
+        process("GET", "/entity", new byte[0]);
+
+        assertEquals(200, status);
+        assertEquals("entity", outputStream.data.toString("UTF-8"));
+    }
+
+    @Test
+    public void testNoEntity() throws Exception {
+        process("GET", "/empty", new byte[0]);
+
+        assertEquals(204, status);
+        assertEquals(0, outputStream.data.size());
+    }
+
+    @Test
+    public void testRequestEntity() throws Exception {
+        final byte[] entity = new byte[3 * BUFFER_SIZE];
+        Arrays.fill(entity, (byte) 'x');
+        process("POST", "/echo", entity);
+
+        assertEquals(200, status);
+        assertArrayEquals(entity, outputStream.data.toByteArray());
+    }
+
+    @Test
+    public void testChunkedRequestEntity() throws Exception {
+        final byte[] entity = largeEntity();
+        final TestInputStream inputStream = new TestInputStream(entity, BUFFER_SIZE / 4);
+        process("POST", "/echo", inputStream);
+
+        // the entity has been read only from the read listener notifications, a part of it has been spooled
+        assertEquals(200, status);
+        assertEquals(LARGE_ENTITY_SIZE / (BUFFER_SIZE / 4), inputStream.chunks);
+        assertArrayEquals(entity, outputStream.data.toByteArray());
+    }
+
+    @Test
+    public void testLargeEntity() throws Exception {
+        process("GET", "/large", new byte[0]);
+
+        assertEquals(200, status);
+        assertArrayEquals(largeEntity(), outputStream.data.toByteArray());
+        // the data have been written from the write listener as well
+        assertTrue(outputStream.notReadyCount > 0);
+    }
+
+    @Test
+    public void testFallbackWithoutServlet31() {
+        assertTrue(NonBlockingIoDelegateProviderImpl.isNonBlockingIoSupported(ServletInputStream.class));
+        // Servlet 3.0 input stream does not provide the non-blocking API
+        assertFalse(NonBlockingIoDelegateProviderImpl.isNonBlockingIoSupported(InputStream.class));
+
+        final HttpServletRequest request = mock(HttpServletRequest.class, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                return defaultValue(method);
+            }
+        });
+        // asynchronous processing not supported -> blocking I/O is used
+        assertNull(new NonBlockingIoDelegateProviderImpl().createDelegate(request, null, BUFFER_SIZE));
+    }
+}
@@ -62,9 +62,11 @@ import org.glassfish.jersey.model.internal.ComponentBag;
 
 import org.glassfish.hk2.api.DynamicConfiguration;
 import org.glassfish.hk2.api.ServiceLocator;
-import org.glassfish.hk2.api.ServiceLocatorFactory;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
 /**
  * Jersey externalized implementation of client-side JAX-RS {@link javax.ws.rs.core.Configurable
  * configurable} contract.
@@ -183,7 +185,10 @@ public class ClientConfig implements Configurable<ClientConfig>, Configuration {
         }
 
         void markAsShared() {
-            strategy = COPY_ON_CHANGE;
+            // avoid the volatile write when taking repeated snapshots of an already shared state
+            if (strategy != COPY_ON_CHANGE) {
+                strategy = COPY_ON_CHANGE;
+            }
         }
 
         State preInitialize() {
@@ -347,8 +352,21 @@ public class ClientConfig implements Configurable<ClientConfig>, Configuration {
              */
             markAsShared();
 
-            final CommonConfig runtimeConfig = new CommonConfig(this.commonConfig);
+            final RuntimeFingerprint fingerprint = new RuntimeFingerprint(this);
+            return client.getRuntimeRegistry().acquire(this, fingerprint, fingerprint.toString(),
+                    new Value<ClientRuntime>() {
+                        @Override
+                        public ClientRuntime get() {
+                            return createRuntime(new CommonConfig(commonConfig), connector);
+                        }
+                    });
+        }
 
+        /**
+         * Create a new client runtime. The runtime must not reference the configuration state, so that
+         * the state can be garbage collected while the runtime is shared with other configuration states.
+         */
+        private static ClientRuntime createRuntime(final CommonConfig runtimeConfig, final Connector connector) {
             final ServiceLocator locator = Injections.createLocator(
                     new ClientBinder(runtimeConfig.getProperties(), RuntimeType.CLIENT));
             locator.setDefaultClassAnalyzerName(JerseyClassAnalyzer.NAME);
@@ -377,19 +395,7 @@ public class ClientConfig implements Configurable<ClientConfig>, Configuration {
             // Bind providers.
             ProviderBinder.bindProviders(runtimeConfig.getComponentBag(), RuntimeType.CLIENT, null, locator);
 
-            final ClientRuntime crt = new ClientRuntime(configuration, connector, locator);
-            client.addListener(new JerseyClient.LifecycleListener() {
-                @Override
-                public void onClose() {
-                    try {
-                        crt.close();
-                    } finally {
-                        ServiceLocatorFactory.getInstance().destroy(locator.getName());
-                    }
-                }
-            });
-
-            return crt;
+            return new ClientRuntime(configuration, connector, locator);
         }
 
         @Override
@@ -415,6 +421,75 @@ public class ClientConfig implements Configurable<ClientConfig>, Configuration {
         }
     }
 
+    /**
+     * Client runtime fingerprint of a configuration state.
+     * <p>
+     * Configuration states with equal fingerprints (the same registered components and their contracts, the same
+     * properties and the same connector) share a single client runtime.
+     * </p>
+     */
+    private static final class RuntimeFingerprint {
+
+        private final RuntimeType runtimeType;
+        private final Map<String, Object> properties;
+        private final Set<Class<?>> classes;
+        private final Set<Object> instances;
+        private final Map<Class<?>, Map<Class<?>, Integer>> contracts;
+        private final Connector connector;
+        private final int hash;
+
+        private RuntimeFingerprint(final State state) {
+            this.runtimeType = state.getRuntimeType();
+            this.properties = Maps.newHashMap(state.getProperties());
+            this.classes = Sets.newHashSet(state.getClasses());
+            this.instances = Sets.newIdentityHashSet();
+            this.instances.addAll(state.getInstances());
+            this.connector = state.getConnector();
+
+            this.contracts = Maps.newHashMap();
+            for (final Class<?> componentClass : classes) {
+                contracts.put(componentClass, state.getContracts(componentClass));
+            }
+            for (final Object instance : instances) {
+                contracts.put(instance.getClass(), state.getContracts(instance.getClass()));
+            }
+
+            int result = runtimeType.hashCode();
+            result = 31 * result + properties.hashCode();
+            result = 31 * result + classes.hashCode();
+            result = 31 * result + instances.hashCode();
+            result = 31 * result + contracts.hashCode();
+            result = 31 * result + (connector != null ? System.identityHashCode(connector) : 0);
+            this.hash = result;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof RuntimeFingerprint)) return false;
+
+            final RuntimeFingerprint that = (RuntimeFingerprint) o;
+
+            return hash == that.hash
+                    && runtimeType == that.runtimeType
+                    && connector == that.connector
+                    && properties.equals(that.properties)
+                    && classes.equals(that.classes)
+                    && instances.equals(that.instances)
+                    && contracts.equals(that.contracts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%08x", hash);
+        }
+    }
+
     /**
      * Construct a new Jersey configuration instance with the default features
      * and property values.
@@ -669,6 +744,24 @@ public class ClientConfig implements Configurable<ClientConfig>, Configuration {
         return state.runtime.get();
     }
 
+    /**
+     * Get the client runtime fingerprint of the current configuration.
+     * <p>
+     * Client runtimes (HK2 service locators, filtering stages and executors) are expensive to create. All the
+     * configurations derived from a single {@link JerseyClient client} instance that have the same fingerprint, i.e. the same
+     * registered providers and features, the same property values and the same connector, share a single client runtime.
+     * A configuration with a new fingerprint creates a new runtime once it is used to invoke a request. Applications
+     * can log the fingerprint of configurations used in requests (e.g. {@code target.getConfiguration()}) to detect
+     * configuration changes that cause a repeated runtime creation, such as registering a new provider instance
+     * for each request.
+     * </p>
+     *
+     * @return runtime fingerprint of the current configuration.
+     */
+    public String getRuntimeFingerprint() {
+        return new RuntimeFingerprint(state).toString();
+    }
+
     /**
      * Get the parent Jersey client this configuration is bound to.
      *
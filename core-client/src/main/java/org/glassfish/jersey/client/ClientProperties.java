@@ -299,7 +299,8 @@ public final class ClientProperties {
 	/**
 	 * The property defines the size of digest cache in the
      * {@link org.glassfish.jersey.client.filter.HttpDigestAuthFilter}. Cache contains authentication
-     * schemes for different request URIs.
+     * schemes for different protection spaces (server root URI and realm) and the request URI
+     * paths known to belong to them.
 	 * <p>
 	 * The value MUST be an instance of {@link java.lang.Integer} and it must be
 	 * higher or equal to 1.
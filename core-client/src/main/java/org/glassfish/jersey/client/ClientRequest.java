@@ -116,6 +116,10 @@ public class ClientRequest extends OutboundMessageContext implements ClientReque
 
     /**
      * Copy constructor.
+     * <p>
+     * The request properties and configuration are shared with the original request
+     * and copied lazily once either of the requests modifies them.
+     * </p>
      *
      * @param original original instance.
      */
@@ -128,7 +132,14 @@ public class ClientRequest extends OutboundMessageContext implements ClientReque
         this.asynchronous = original.isAsynchronous();
         this.readerInterceptors = original.readerInterceptors;
         this.writerInterceptors = original.writerInterceptors;
-        this.propertiesDelegate = new MapPropertiesDelegate(original.propertiesDelegate);
+        this.propertiesDelegate = copyOf(original.propertiesDelegate);
+    }
+
+    private static PropertiesDelegate copyOf(PropertiesDelegate propertiesDelegate) {
+        if (propertiesDelegate instanceof CopyOnWritePropertiesDelegate) {
+            return ((CopyOnWritePropertiesDelegate) propertiesDelegate).snapshot();
+        }
+        return new MapPropertiesDelegate(propertiesDelegate);
     }
 
     @Override
@@ -77,6 +77,10 @@ public class ClientResponse extends InboundMessageContext implements ClientRespo
 
     /**
      * Create new Jersey client response context initialized from a JAX-RS {@link Response response}.
+     * <p>
+     * An {@link InputStream} entity of the response is used directly as the entity stream of the response context,
+     * other entities are serialized using the message body workers of the request context.
+     * </p>
      *
      * @param requestContext associated request context.
      * @param response       JAX-RS response to be used to initialize the response context.
@@ -86,7 +90,10 @@ public class ClientResponse extends InboundMessageContext implements ClientRespo
         this.headers(OutboundJaxrsResponse.from(response).getContext().getStringHeaders());
 
         final Object entity = response.getEntity();
-        if (entity != null) {
+        if (entity instanceof InputStream) {
+            // already a stream of the entity bytes, e.g. a cached entity - no need to serialize it again
+            setEntityStream((InputStream) entity);
+        } else if (entity != null) {
             InputStream entityStream = new InputStream() {
 
                 private ByteArrayInputStream byteArrayInputStream = null;
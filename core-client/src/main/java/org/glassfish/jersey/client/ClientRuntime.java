@@ -250,6 +250,24 @@ class ClientRuntime {
         connector.close();
     }
 
+    /**
+     * Get the connector used by this runtime.
+     *
+     * @return runtime connector.
+     */
+    Connector getConnector() {
+        return connector;
+    }
+
+    /**
+     * Get the HK2 service locator of this runtime.
+     *
+     * @return runtime service locator.
+     */
+    ServiceLocator getServiceLocator() {
+        return locator;
+    }
+
     /**
      * Pre-initialize the client runtime.
      */
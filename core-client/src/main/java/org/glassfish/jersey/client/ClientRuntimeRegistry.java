@@ -0,0 +1,191 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.internal.util.collection.Value;
+
+import org.glassfish.hk2.api.ServiceLocatorFactory;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+/**
+ * Registry of {@link ClientRuntime client runtimes} of a single {@link JerseyClient Jersey client} instance.
+ * <p>
+ * Client runtimes (together with their HK2 service locators, filtering stages and executors) are shared by all the
+ * client configuration states that have an equal {@link ClientConfig#getRuntimeFingerprint() runtime fingerprint},
+ * i.e. the same registered providers and features, the same properties and the same connector. Each configuration
+ * state that uses a shared runtime holds a reference to it. Once all the configuration states that used the runtime
+ * are garbage collected, the runtime service locator is destroyed. All the remaining runtimes and connectors are
+ * closed when the parent client is closed.
+ * </p>
+ */
+class ClientRuntimeRegistry implements JerseyClient.LifecycleListener {
+
+    private static final Logger LOGGER = Logger.getLogger(ClientRuntimeRegistry.class.getName());
+
+    private final Map<Object, Entry> entries = Maps.newHashMap();
+    private final Set<OwnerReference> owners = Sets.newHashSet();
+    private final ReferenceQueue<Object> ownerQueue = new ReferenceQueue<Object>();
+    private final Set<Connector> releasedConnectors = Sets.newIdentityHashSet();
+    private boolean closed = false;
+
+    /**
+     * Shared client runtime together with the count of its owners.
+     */
+    private static class Entry {
+        private final ClientRuntime runtime;
+        private final String fingerprint;
+        private int references = 0;
+
+        private Entry(final ClientRuntime runtime, final String fingerprint) {
+            this.runtime = runtime;
+            this.fingerprint = fingerprint;
+        }
+    }
+
+    /**
+     * Reference to an owner of a shared client runtime; enqueued once the owner is garbage collected.
+     */
+    private static class OwnerReference extends PhantomReference<Object> {
+        private final Object key;
+
+        private OwnerReference(final Object owner, final Object key, final ReferenceQueue<Object> queue) {
+            super(owner, queue);
+            this.key = key;
+        }
+    }
+
+    /**
+     * Get a client runtime for the given runtime key. If there is no runtime registered for the key yet,
+     * a new runtime is created using the supplied factory.
+     *
+     * @param owner          owner of the runtime reference (configuration state). The reference is released once
+     *                       the owner is garbage collected.
+     * @param key            runtime key. Owners with equal keys share the same runtime.
+     * @param fingerprint    string representation of the runtime key used for logging.
+     * @param runtimeFactory factory creating a new client runtime.
+     * @return client runtime registered for the key.
+     * @throws IllegalStateException in case the parent client has been closed already.
+     */
+    synchronized ClientRuntime acquire(final Object owner, final Object key, final String fingerprint,
+                                       final Value<ClientRuntime> runtimeFactory) throws IllegalStateException {
+        if (closed) {
+            throw new IllegalStateException(LocalizationMessages.CLIENT_INSTANCE_CLOSED());
+        }
+        expungeReleasedOwners();
+
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry(runtimeFactory.get(), fingerprint);
+            entries.put(key, entry);
+
+            LOGGER.log(Level.FINE, LocalizationMessages.CLIENT_RUNTIME_CREATED(fingerprint));
+        }
+
+        entry.references++;
+        owners.add(new OwnerReference(owner, key, ownerQueue));
+
+        return entry.runtime;
+    }
+
+    /**
+     * Get the number of client runtimes currently registered.
+     *
+     * @return number of live client runtimes.
+     */
+    synchronized int size() {
+        expungeReleasedOwners();
+        return entries.size();
+    }
+
+    private void expungeReleasedOwners() {
+        Reference<?> reference;
+        while ((reference = ownerQueue.poll()) != null) {
+            final OwnerReference ownerReference = (OwnerReference) reference;
+            owners.remove(ownerReference);
+
+            final Entry entry = entries.get(ownerReference.key);
+            if (entry != null && --entry.references == 0) {
+                entries.remove(ownerReference.key);
+
+                // The connector may be shared with other runtimes, it is closed together with the client.
+                final Connector connector = entry.runtime.getConnector();
+                if (connector != null) {
+                    releasedConnectors.add(connector);
+                }
+                ServiceLocatorFactory.getInstance().destroy(entry.runtime.getServiceLocator().getName());
+
+                LOGGER.log(Level.FINE, LocalizationMessages.CLIENT_RUNTIME_RELEASED(entry.fingerprint));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onClose() {
+        closed = true;
+
+        for (final Entry entry : entries.values()) {
+            releasedConnectors.remove(entry.runtime.getConnector());
+            try {
+                entry.runtime.close();
+            } finally {
+                ServiceLocatorFactory.getInstance().destroy(entry.runtime.getServiceLocator().getName());
+            }
+        }
+        for (final Connector connector : releasedConnectors) {
+            connector.close();
+        }
+
+        entries.clear();
+        owners.clear();
+        releasedConnectors.clear();
+    }
+}
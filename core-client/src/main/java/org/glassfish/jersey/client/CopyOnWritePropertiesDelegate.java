@@ -0,0 +1,117 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.glassfish.jersey.internal.PropertiesDelegate;
+
+/**
+ * Map-based properties delegate that shares its property store with the delegates
+ * {@link #snapshot() copied} from it until one of them is modified.
+ * <p>
+ * The delegate is used by client requests to make the copying of a request configured by
+ * an {@link JerseyInvocation.Builder invocation builder} cheap. The property store is copied
+ * only once either the original or the copied delegate is modified.
+ * </p>
+ */
+final class CopyOnWritePropertiesDelegate implements PropertiesDelegate {
+
+    private Map<String, Object> store;
+    // true if the store instance is shared with another delegate
+    private boolean shared;
+
+    /**
+     * Create new empty copy-on-write properties delegate.
+     */
+    CopyOnWritePropertiesDelegate() {
+        this.store = new HashMap<String, Object>();
+        this.shared = false;
+    }
+
+    private CopyOnWritePropertiesDelegate(Map<String, Object> store) {
+        this.store = store;
+        this.shared = true;
+    }
+
+    /**
+     * Create a copy of this properties delegate. The property store is shared by both
+     * delegates until any of them is modified.
+     *
+     * @return properties delegate copy.
+     */
+    CopyOnWritePropertiesDelegate snapshot() {
+        shared = true;
+        return new CopyOnWritePropertiesDelegate(store);
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        return store.get(name);
+    }
+
+    @Override
+    public Collection<String> getPropertyNames() {
+        return Collections.unmodifiableCollection(store.keySet());
+    }
+
+    @Override
+    public void setProperty(String name, Object value) {
+        writableStore().put(name, value);
+    }
+
+    @Override
+    public void removeProperty(String name) {
+        if (store.containsKey(name)) {
+            writableStore().remove(name);
+        }
+    }
+
+    private Map<String, Object> writableStore() {
+        if (shared) {
+            store = new HashMap<String, Object>(store);
+            shared = false;
+        }
+        return store;
+    }
+}
@@ -75,6 +75,7 @@ public class JerseyClient implements javax.ws.rs.client.Client {
     private final HostnameVerifier hostnameVerifier;
     private final UnsafeValue<SSLContext, IllegalStateException> sslContext;
     private final LinkedBlockingDeque<LifecycleListener> listeners = new LinkedBlockingDeque<LifecycleListener>();
+    private final ClientRuntimeRegistry runtimeRegistry = new ClientRuntimeRegistry();
 
     /**
      * Client life-cycle event listener contract.
@@ -119,6 +120,7 @@ public class JerseyClient implements javax.ws.rs.client.Client {
         this.config = config == null ? new ClientConfig(this) : new ClientConfig(this, config);
         this.sslContext = Values.lazy(sslContextProvider != null ? sslContextProvider : createSslContextProvider());
         this.hostnameVerifier = verifier;
+        this.listeners.push(runtimeRegistry);
     }
 
     private UnsafeValue<SSLContext, IllegalStateException> createSslContextProvider() {
@@ -154,6 +156,15 @@ public class JerseyClient implements javax.ws.rs.client.Client {
         listeners.push(listener);
     }
 
+    /**
+     * Get the registry of client runtimes shared by the configurations derived from this client.
+     *
+     * @return client runtime registry.
+     */
+    ClientRuntimeRegistry getRuntimeRegistry() {
+        return runtimeRegistry;
+    }
+
     /**
      * Check client state.
      *
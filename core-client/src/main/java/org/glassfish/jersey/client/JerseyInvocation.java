@@ -73,7 +73,6 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 
 import org.glassfish.jersey.client.internal.LocalizationMessages;
-import org.glassfish.jersey.internal.MapPropertiesDelegate;
 import org.glassfish.jersey.internal.util.Producer;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.internal.util.ReflectionHelper;
@@ -162,7 +161,7 @@ public class JerseyInvocation implements javax.ws.rs.client.Invocation {
          * @param configuration Jersey client configuration.
          */
         protected Builder(URI uri, ClientConfig configuration) {
-            this.requestContext = new ClientRequest(uri, configuration, new MapPropertiesDelegate());
+            this.requestContext = new ClientRequest(uri, configuration, new CopyOnWritePropertiesDelegate());
         }
 
         /**
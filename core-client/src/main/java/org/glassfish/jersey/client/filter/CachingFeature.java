@@ -0,0 +1,100 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.filter;
+
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+/**
+ * Feature that enables HTTP caching of responses on the client side.
+ * <p>
+ * Responses to {@code GET} requests are cached in a bounded in-memory {@link ClientCache} according to the
+ * {@code Cache-Control}, {@code Expires} and {@code Vary} response headers. Fresh cached responses are returned
+ * without invoking the {@link org.glassfish.jersey.client.spi.Connector connector}. Stale cached responses are
+ * revalidated using a conditional request ({@code If-None-Match}, {@code If-Modified-Since}); the cached entity is
+ * returned if the server answers with {@code 304 Not Modified}. Cached responses of a request URI are invalidated
+ * after a successful unsafe request ({@code PUT}, {@code POST}, {@code DELETE}, ...) to the same URI.
+ * </p>
+ * <p>
+ * The cache instance can be shared among several clients and provides per-target hit, miss and revalidation
+ * {@link ClientCache#getStatistics() statistics}:
+ * <pre>
+ * final ClientCache cache = new ClientCache(5 * 1024 * 1024);
+ * final Client client = ClientBuilder.newClient().register(new CachingFeature(cache));
+ * ...
+ * final ClientCache.Statistics statistics = cache.getStatistics(URI.create("http://example.com"));
+ * </pre>
+ * </p>
+ */
+public class CachingFeature implements Feature {
+
+    private final ClientCache cache;
+
+    /**
+     * Create new caching feature using a new cache of the {@link ClientCache#DEFAULT_MAX_SIZE default size}.
+     */
+    public CachingFeature() {
+        this(new ClientCache());
+    }
+
+    /**
+     * Create new caching feature using the given cache.
+     *
+     * @param cache response cache.
+     */
+    public CachingFeature(final ClientCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Get the response cache used by the feature.
+     *
+     * @return response cache.
+     */
+    public ClientCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        context.register(new CachingFilter(cache));
+        return true;
+    }
+}
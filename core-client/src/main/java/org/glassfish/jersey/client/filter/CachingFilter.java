@@ -0,0 +1,319 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.text.ParseException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import javax.annotation.Priority;
+
+import org.glassfish.jersey.message.internal.CacheHeaders;
+import org.glassfish.jersey.message.internal.HttpDateFormat;
+import org.glassfish.jersey.message.internal.ReaderWriter;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Client filter caching responses to {@code GET} requests in a {@link ClientCache}.
+ * <p>
+ * Fresh cached responses are returned without sending the request to the target. Stale cached responses with
+ * validators ({@code ETag} or {@code Last-Modified} headers) are revalidated with a conditional request; if the
+ * target answers with {@code 304 Not Modified}, the cached entity is returned.
+ * </p>
+ * <p>
+ * Responses to requests containing an {@code Authorization} header are stored, and cached responses are used for
+ * such requests, only if the responses are marked as {@code public} or contain an {@code s-maxage} directive.
+ * </p>
+ *
+ * @see CachingFeature
+ */
+@Priority(Priorities.USER + 1000) // request filtering must go after filters adding request headers the responses vary on
+final class CachingFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    /**
+     * Request property containing the stale cached response being revalidated or the {@link #HIT} marker.
+     */
+    private static final String CACHED_RESPONSE_PROPERTY = CachingFilter.class.getName() + ".cachedResponse";
+    /**
+     * Value of the {@link #CACHED_RESPONSE_PROPERTY} of requests answered with a fresh cached response.
+     */
+    private static final Object HIT = new Object();
+
+    private final ClientCache cache;
+
+    /**
+     * Create new caching filter.
+     *
+     * @param cache response cache.
+     */
+    CachingFilter(final ClientCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request) throws IOException {
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return;
+        }
+        final String cacheControl = request.getHeaderString(HttpHeaders.CACHE_CONTROL);
+        if (CacheHeaders.containsDirective(cacheControl, "no-store")) {
+            return;
+        }
+
+        final ClientCache.CachedResponse cached = cache.get(request);
+        if (cached == null || !isCacheableFor(request, cached.getHeaders().get(HttpHeaders.CACHE_CONTROL))) {
+            return;
+        }
+
+        if (cached.isFresh() && !CacheHeaders.containsDirective(cacheControl, "no-cache")
+                && !CacheHeaders.containsDirective(request.getHeaderString("Pragma"), "no-cache")) {
+            request.setProperty(CACHED_RESPONSE_PROPERTY, HIT);
+            request.abortWith(cached.toResponse());
+            return;
+        }
+
+        final MultivaluedMap<String, Object> headers = request.getHeaders();
+        if (headers.containsKey(HttpHeaders.IF_NONE_MATCH) || headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE)) {
+            // conditional request sent by the application - the application handles 304 responses
+            return;
+        }
+        final String eTag = cached.getHeaders().getFirst(HttpHeaders.ETAG);
+        final String lastModified = cached.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+        if (eTag != null) {
+            headers.putSingle(HttpHeaders.IF_NONE_MATCH, eTag);
+        }
+        if (lastModified != null) {
+            headers.putSingle(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+        if (eTag != null || lastModified != null) {
+            request.setProperty(CACHED_RESPONSE_PROPERTY, cached);
+        }
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request, final ClientResponseContext response) throws IOException {
+        final String method = request.getMethod();
+        if (!HttpMethod.GET.equals(method)) {
+            if (!HttpMethod.HEAD.equals(method) && !HttpMethod.OPTIONS.equals(method) && response.getStatus() < 400) {
+                cache.invalidate(request.getUri());
+            }
+            return;
+        }
+
+        final Object cached = request.getProperty(CACHED_RESPONSE_PROPERTY);
+        if (cached == HIT) {
+            cache.getStatistics(request.getUri()).hit();
+            return;
+        }
+
+        if (cached != null && response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+            cache.getStatistics(request.getUri()).revalidation();
+            revalidated(request, response, (ClientCache.CachedResponse) cached);
+            return;
+        }
+
+        cache.getStatistics(request.getUri()).miss();
+        if (response.getStatus() == Response.Status.OK.getStatusCode() && response.hasEntity()
+                && !CacheHeaders.containsDirective(request.getHeaderString(HttpHeaders.CACHE_CONTROL), "no-store")) {
+            store(request, response);
+        }
+    }
+
+    /**
+     * Replace the {@code 304 Not Modified} response with the cached response and update the cached response headers.
+     */
+    private void revalidated(final ClientRequestContext request,
+                             final ClientResponseContext response,
+                             final ClientCache.CachedResponse cached) {
+        final MultivaluedMap<String, String> headers = response.getHeaders();
+        // the entity of the 304 response is empty
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        for (Map.Entry<String, List<String>> header : cached.getHeaders().entrySet()) {
+            if (!headers.containsKey(header.getKey())) {
+                headers.put(header.getKey(), Lists.newArrayList(header.getValue()));
+            }
+        }
+        response.setStatus(Response.Status.OK.getStatusCode());
+        response.setEntityStream(new ByteArrayInputStream(cached.getEntity()));
+
+        final long freshness = getFreshness(response);
+        if (freshness >= 0 && isCacheableFor(request, headers.get(HttpHeaders.CACHE_CONTROL))) {
+            cache.store(request, cached.getVaryHeaders(), Response.Status.OK.getStatusCode(), headers,
+                    cached.getEntity(), freshness);
+        }
+    }
+
+    private void store(final ClientRequestContext request, final ClientResponseContext response) throws IOException {
+        final long freshness = getFreshness(response);
+        if (freshness < 0 || !isCacheableFor(request, response.getHeaders().get(HttpHeaders.CACHE_CONTROL))) {
+            return;
+        }
+        final String[] varyHeaders = CacheHeaders.getVaryHeaders(response.getHeaders());
+        if (varyHeaders == null) {
+            return;
+        }
+        final long limit = cache.getMaxEntrySize();
+        if (response.getLength() > limit) {
+            return;
+        }
+
+        final InputStream entityStream = response.getEntityStream();
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final byte[] bytes = new byte[ReaderWriter.BUFFER_SIZE];
+        int read;
+        while ((read = entityStream.read(bytes)) != -1) {
+            buffer.write(bytes, 0, read);
+            if (buffer.size() > limit) {
+                // too large to be cached - pass the rest of the entity through
+                response.setEntityStream(
+                        new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), entityStream));
+                return;
+            }
+        }
+        entityStream.close();
+
+        final byte[] entity = buffer.toByteArray();
+        response.setEntityStream(new ByteArrayInputStream(entity));
+        cache.store(request, varyHeaders, response.getStatus(), response.getHeaders(), entity, freshness);
+    }
+
+    /**
+     * Get the number of milliseconds the response is fresh for.
+     *
+     * @param response response.
+     * @return freshness lifetime of the response ({@code 0} if the response has to be revalidated before it is
+     *         used) or {@code -1} if the response must not be cached.
+     */
+    private static long getFreshness(final ClientResponseContext response) {
+        long maxAge = -1;
+
+        final String cacheControlHeader = response.getHeaderString(HttpHeaders.CACHE_CONTROL);
+        if (cacheControlHeader != null) {
+            final CacheControl cacheControl;
+            try {
+                cacheControl = CacheControl.valueOf(cacheControlHeader);
+            } catch (IllegalArgumentException e) {
+                return -1;
+            }
+            if (cacheControl.isNoStore()) {
+                return -1;
+            }
+            if (cacheControl.isNoCache()) {
+                maxAge = 0;
+            } else if (cacheControl.getMaxAge() >= 0) {
+                maxAge = cacheControl.getMaxAge() * 1000L;
+            }
+        }
+
+        if (maxAge < 0) {
+            final String expires = response.getHeaderString(HttpHeaders.EXPIRES);
+            if (expires != null) {
+                try {
+                    final Date date = response.getDate();
+                    final long now = date == null ? System.currentTimeMillis() : date.getTime();
+                    maxAge = Math.max(0, HttpDateFormat.readDate(expires).getTime() - now);
+                } catch (ParseException e) {
+                    // invalid dates represent a time in the past
+                    maxAge = 0;
+                } catch (IllegalArgumentException e) {
+                    maxAge = 0;
+                }
+            }
+        }
+
+        if (maxAge > 0) {
+            final String age = response.getHeaderString("Age");
+            if (age != null) {
+                try {
+                    maxAge = Math.max(0, maxAge - Long.parseLong(age.trim()) * 1000L);
+                } catch (NumberFormatException e) {
+                    // ignore invalid Age header
+                }
+            }
+            return maxAge;
+        }
+
+        // responses without freshness information are cached only if they can be revalidated
+        final boolean revalidable = response.getHeaderString(HttpHeaders.ETAG) != null
+                || response.getHeaderString(HttpHeaders.LAST_MODIFIED) != null;
+        return revalidable ? 0 : -1;
+    }
+
+    /**
+     * Check whether a response can be stored for (or a cached response can be used to answer) the given request.
+     * Responses to requests containing an {@code Authorization} header are specific to the credentials and can be
+     * shared only if they are explicitly marked as {@code public} or contain an {@code s-maxage} directive.
+     *
+     * @param request      request.
+     * @param cacheControl {@code Cache-Control} header values of the response.
+     * @return {@code true} if the response can be stored for or used to answer the request.
+     */
+    private static boolean isCacheableFor(final ClientRequestContext request, final List<String> cacheControl) {
+        if (request.getHeaderString(HttpHeaders.AUTHORIZATION) == null) {
+            return true;
+        }
+        if (cacheControl != null) {
+            for (String value : cacheControl) {
+                if (CacheHeaders.containsDirective(value, "public") || CacheHeaders.containsDirective(value, "s-maxage")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,428 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.filter;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.internal.util.collection.StringKeyIgnoreCaseMultivaluedMap;
+
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Bounded in-memory store of responses cached by the {@link CachingFeature client caching feature}.
+ * <p>
+ * Responses are stored per request URI and values of the request headers listed in the {@code Vary} response header.
+ * The total size of the stored responses (entity bytes plus an estimate of the memory occupied by response
+ * headers) is limited; the least recently used responses are evicted first. A single response larger than
+ * one sixteenth of the limit is never stored.
+ * </p>
+ * <p>
+ * The store also collects cache {@link Statistics statistics} for every target (scheme, host and port)
+ * the cached requests were sent to.
+ * </p>
+ */
+public final class ClientCache {
+
+    /**
+     * Default maximum size of the cached responses (10 MB).
+     */
+    public static final long DEFAULT_MAX_SIZE = 10 * 1024 * 1024;
+
+    /**
+     * Maximum number of cached representation variants of a single request URI.
+     */
+    private static final int MAX_VARIANTS = 8;
+
+    private final long maxEntrySize;
+    private final Cache<String, Variants> cache;
+    private final ConcurrentMap<String, Statistics> statistics = Maps.newConcurrentMap();
+
+    /**
+     * Create new cache limited to {@link #DEFAULT_MAX_SIZE default size}.
+     */
+    public ClientCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Create new cache.
+     *
+     * @param maxSize maximum total size (in bytes) of the cached responses.
+     */
+    public ClientCache(final long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum cache size must be positive.");
+        }
+        this.maxEntrySize = Math.max(1, maxSize / 16);
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxSize)
+                .weigher(new Weigher<String, Variants>() {
+                    @Override
+                    public int weigh(final String key, final Variants value) {
+                        return value.size;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Invalidate all cached responses of the given request URI.
+     *
+     * @param uri request URI.
+     */
+    public void invalidate(final URI uri) {
+        cache.invalidate(uri.toString());
+    }
+
+    /**
+     * Invalidate all cached responses.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Get the number of request URIs with cached responses.
+     *
+     * @return number of cached request URIs.
+     */
+    public long size() {
+        return cache.size();
+    }
+
+    /**
+     * Get cache statistics of all targets the cacheable requests were sent to.
+     *
+     * @return unmodifiable map of cache statistics keyed by target URI ({@code scheme://host:port}).
+     */
+    public Map<String, Statistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * Get cache statistics of the target identified by the given URI.
+     *
+     * @param uri any URI of the target (only the scheme, host and port are taken into account).
+     * @return cache statistics of the target.
+     */
+    public Statistics getStatistics(final URI uri) {
+        final String target = getTarget(uri);
+        Statistics targetStatistics = statistics.get(target);
+        if (targetStatistics == null) {
+            final Statistics newStatistics = new Statistics();
+            targetStatistics = statistics.putIfAbsent(target, newStatistics);
+            if (targetStatistics == null) {
+                targetStatistics = newStatistics;
+            }
+        }
+        return targetStatistics;
+    }
+
+    private static String getTarget(final URI uri) {
+        return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() < 0 ? "" : ":" + uri.getPort());
+    }
+
+    /**
+     * Get the maximum size of a response entity that can be cached.
+     *
+     * @return maximum entity size in bytes.
+     */
+    long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    /**
+     * Get the cached response for the given request.
+     *
+     * @param request request.
+     * @return cached response (fresh or stale) or {@code null} if no response is cached for the request.
+     */
+    CachedResponse get(final ClientRequestContext request) {
+        final Variants variants = cache.getIfPresent(request.getUri().toString());
+        if (variants != null) {
+            for (CachedResponse response : variants.responses) {
+                if (response.matches(request)) {
+                    return response;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Store a response.
+     *
+     * @param request      request.
+     * @param varyHeaders  names of the request headers listed in the {@code Vary} response header.
+     * @param status       response status code.
+     * @param headers      response headers.
+     * @param entity       response entity bytes.
+     * @param freshness    number of milliseconds the response is fresh for.
+     * @return the stored response or {@code null} if the response is too large to be cached.
+     */
+    CachedResponse store(final ClientRequestContext request,
+                         final String[] varyHeaders,
+                         final int status,
+                         final MultivaluedMap<String, String> headers,
+                         final byte[] entity,
+                         final long freshness) {
+        if (entity.length > maxEntrySize) {
+            return null;
+        }
+
+        final String[] varyValues = new String[varyHeaders.length];
+        for (int i = 0; i < varyHeaders.length; i++) {
+            varyValues[i] = request.getHeaderString(varyHeaders[i]);
+        }
+        final CachedResponse response = new CachedResponse(varyHeaders, varyValues, status, headers, entity, freshness);
+
+        final String uri = request.getUri().toString();
+        final Variants variants = cache.getIfPresent(uri);
+        cache.put(uri, variants == null ? new Variants(response) : variants.with(response));
+        return response;
+    }
+
+    /**
+     * Immutable list of cached representation variants of a single request URI.
+     */
+    private static final class Variants {
+
+        private final CachedResponse[] responses;
+        private final int size;
+
+        private Variants(final CachedResponse... responses) {
+            this.responses = responses;
+            int size = 0;
+            for (CachedResponse response : responses) {
+                size += response.size;
+            }
+            this.size = size;
+        }
+
+        private Variants with(final CachedResponse response) {
+            final List<CachedResponse> updated = Lists.newArrayListWithCapacity(responses.length + 1);
+            for (CachedResponse current : responses) {
+                if (!current.isSameVariant(response)) {
+                    updated.add(current);
+                }
+            }
+            if (updated.size() >= MAX_VARIANTS) {
+                updated.remove(0);
+            }
+            updated.add(response);
+            return new Variants(updated.toArray(new CachedResponse[updated.size()]));
+        }
+    }
+
+    /**
+     * Cached response.
+     */
+    static final class CachedResponse {
+
+        private final String[] varyHeaders;
+        private final String[] varyValues;
+
+        private final int status;
+        private final MultivaluedMap<String, String> headers;
+        private final byte[] entity;
+
+        private final long created;
+        private final long expires;
+        private final int size;
+
+        private CachedResponse(final String[] varyHeaders,
+                               final String[] varyValues,
+                               final int status,
+                               final MultivaluedMap<String, String> headers,
+                               final byte[] entity,
+                               final long freshness) {
+            this.varyHeaders = varyHeaders;
+            this.varyValues = varyValues;
+            this.status = status;
+            this.headers = new StringKeyIgnoreCaseMultivaluedMap<String>();
+            int headersSize = 0;
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                for (String value : header.getValue()) {
+                    this.headers.add(header.getKey(), value);
+                    headersSize += header.getKey().length() + value.length();
+                }
+            }
+            this.entity = entity;
+
+            this.created = System.currentTimeMillis();
+            this.expires = created + freshness;
+            // rough estimate of the memory occupied by the entry
+            this.size = entity.length + 2 * headersSize + 128;
+        }
+
+        private boolean matches(final ClientRequestContext request) {
+            for (int i = 0; i < varyHeaders.length; i++) {
+                if (!Objects.equal(varyValues[i], request.getHeaderString(varyHeaders[i]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isSameVariant(final CachedResponse other) {
+            if (varyHeaders.length != other.varyHeaders.length) {
+                return false;
+            }
+            for (int i = 0; i < varyHeaders.length; i++) {
+                if (!varyHeaders[i].equalsIgnoreCase(other.varyHeaders[i])
+                        || !Objects.equal(varyValues[i], other.varyValues[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isFresh() {
+            return System.currentTimeMillis() < expires;
+        }
+
+        String[] getVaryHeaders() {
+            return varyHeaders;
+        }
+
+        MultivaluedMap<String, String> getHeaders() {
+            return headers;
+        }
+
+        byte[] getEntity() {
+            return entity;
+        }
+
+        /**
+         * Create a response containing the cached status, headers and entity. The entity is provided as a stream
+         * of the cached bytes so that it is not serialized again when the response is returned to the client.
+         *
+         * @return new response.
+         */
+        Response toResponse() {
+            final Response.ResponseBuilder builder = Response.status(status);
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                for (String value : header.getValue()) {
+                    builder.header(header.getKey(), value);
+                }
+            }
+            final long age = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - created);
+            return builder.header("Age", age).entity(new ByteArrayInputStream(entity)).build();
+        }
+    }
+
+    /**
+     * Cache statistics of a single target.
+     */
+    public static final class Statistics {
+
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong revalidations = new AtomicLong();
+
+        private Statistics() {
+        }
+
+        /**
+         * Get the number of requests answered with a fresh cached response without contacting the target.
+         *
+         * @return number of cache hits.
+         */
+        public long getHitCount() {
+            return hits.get();
+        }
+
+        /**
+         * Get the number of cacheable requests whose response has been received from the target.
+         *
+         * @return number of cache misses.
+         */
+        public long getMissCount() {
+            return misses.get();
+        }
+
+        /**
+         * Get the number of requests answered with a stale cached response after the target confirmed
+         * ({@code 304 Not Modified}) the response is still valid.
+         *
+         * @return number of successful revalidations.
+         */
+        public long getRevalidationCount() {
+            return revalidations.get();
+        }
+
+        void hit() {
+            hits.incrementAndGet();
+        }
+
+        void miss() {
+            misses.incrementAndGet();
+        }
+
+        void revalidation() {
+            revalidations.incrementAndGet();
+        }
+
+        @Override
+        public String toString() {
+            return Objects.toStringHelper(this)
+                    .add("hits", hits)
+                    .add("misses", misses)
+                    .add("revalidations", revalidations)
+                    .toString();
+        }
+    }
+}
@@ -46,10 +46,11 @@ import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
-import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -67,6 +68,7 @@ import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -76,6 +78,10 @@ import org.glassfish.jersey.client.ClientProperties;
 import org.glassfish.jersey.client.internal.LocalizationMessages;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * Client filter providing HTTP Digest Authentication with preemptive
  * authentication support.
@@ -100,8 +106,11 @@ import org.glassfish.jersey.internal.util.PropertiesHelper;
  * Filter firstly tries to perform request without authentication. If authentication is needed and
  * 401 status code is returned, filter use information from {@code WWW-Authenticate} header to
  * construct the digest header and retries the request with {@code Authentication} header. The
- * {@code Authentication} header will be stored for the current URI and used next time with {@code nonce}
- * value increased (if nonce is defined). The number of cached URIs can be defined by a
+ * digest scheme will be stored for the protection space (the server root URI and realm) of the current
+ * URI and used next time with {@code nonce} count increased (if nonce is defined) for all URIs at or
+ * deeper than the last symbolic element of the current URI path, as well as for the URIs listed in the
+ * {@code domain} attribute of the challenge. Requests to such URIs are therefore authenticated preemptively
+ * without an additional {@code 401} round trip. The number of cached protection spaces can be defined by a
  * property {@link ClientProperties#DIGESTAUTH_URI_CACHE_SIZELIMIT}.
  * </p>
  *
@@ -125,6 +134,8 @@ public class HttpDigestAuthFilter implements ClientRequestFilter, ClientResponse
     private static final Charset CHARACTER_SET = Charset.forName("iso-8859-1");
 
     private static final String HEADER_DIGEST_SCHEME = "jersey-digest-filter-digest-scheme";
+    private static final String PROPERTY_DIGEST_SCHEME = "jersey.digest.filter.digest.scheme";
+    private static final String PROPERTY_DIGEST_RETRY = "jersey.digest.filter.retry";
     private static final char[] HEX_ARRAY = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
     private static final Pattern KEY_VALUE_PAIR_PATTERN = Pattern.compile("(\\w+)\\s*=\\s*(\"([^\"]+)\"|(\\w+))\\s*,?\\s*");
     private static final int CLIENT_NONCE_BYTE_COUNT = 4;
@@ -134,7 +145,17 @@ public class HttpDigestAuthFilter implements ClientRequestFilter, ClientResponse
     private final String username;
     private final byte[] password;
 
-    private final Map<URI, DigestScheme> digestCache;
+    /**
+     * Digest schemes keyed by protection space (canonical root URI and realm).
+     */
+    private final Cache<String, DigestScheme> digestCache;
+    /**
+     * Protection space keys keyed by canonical root URI and path prefix.
+     */
+    private final Cache<String, String> protectionSpaceCache;
+
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
 
     /**
      * Create a new HTTP Basic Authentication filter using provided {@code username}
@@ -178,17 +199,8 @@ public class HttpDigestAuthFilter implements ClientRequestFilter, ClientResponse
             }
         }
 
-        final int mapSize = limit;
-        digestCache = Collections.synchronizedMap(
-                new LinkedHashMap<URI, DigestScheme>(mapSize) {
-                    // use id as it is an anonymous inner class with changed behaviour
-                    private static final long serialVersionUID = 2546245625L;
-
-                    @Override
-                    protected boolean removeEldestEntry(Map.Entry eldest) {
-                        return size() > mapSize;
-                    }
-                });
+        digestCache = CacheBuilder.newBuilder().maximumSize(limit).build();
+        protectionSpaceCache = CacheBuilder.newBuilder().maximumSize(limit).build();
 
         try {
             randomGenerator = SecureRandom.getInstance("SHA1PRNG");
@@ -211,14 +223,21 @@ public class HttpDigestAuthFilter implements ClientRequestFilter, ClientResponse
                 digestScheme = (DigestScheme) digestHeaderObject;
             }
             requestContext.getHeaders().remove(HEADER_DIGEST_SCHEME);
+            requestContext.setProperty(PROPERTY_DIGEST_RETRY, Boolean.TRUE);
         }
 
         if (digestScheme == null) {
-            // There is already a digest scheme for this URI -> we try to use it
-            digestScheme = digestCache.get(requestContext.getUri());
+            // There may already be a digest scheme for the protection space of this URI -> we try to use it
+            digestScheme = getDigestScheme(requestContext.getUri());
+            if (digestScheme != null) {
+                cacheHits.incrementAndGet();
+            } else {
+                cacheMisses.incrementAndGet();
+            }
         }
 
         if (digestScheme != null) {
+            requestContext.setProperty(PROPERTY_DIGEST_SCHEME, digestScheme);
             String authLine = createNextAuthToken(digestScheme, requestContext); // increments nc
             requestContext.getHeaders().add(HttpHeaders.AUTHORIZATION, authLine);
         }
@@ -247,9 +266,21 @@ public class HttpDigestAuthFilter implements ClientRequestFilter, ClientResponse
                 return;
             }
 
-            if (digestScheme.isStale() || !digestCache.containsKey(requestContext.getUri())) {
+            if (requestContext.getProperty(PROPERTY_DIGEST_RETRY) != null) {
+                // the request already is a retry initiated by this filter -> give up
+                return;
+            }
+
+            final Object usedSchemeObject = requestContext.getProperty(PROPERTY_DIGEST_SCHEME);
+            final DigestScheme usedScheme = (usedSchemeObject instanceof DigestScheme)
+                    ? (DigestScheme) usedSchemeObject : null;
+
+            // retry unless the request was already authenticated using the very same challenge
+            if (usedScheme == null
+                    || !Objects.equal(usedScheme.getRealm(), digestScheme.getRealm())
+                    || !Objects.equal(usedScheme.getNonce(), digestScheme.getNonce())) {
 
-                digestCache.put(requestContext.getUri(), digestScheme);
+                putDigestScheme(requestContext.getUri(), digestScheme);
 
                 // assemble authentication request and resend it
 
@@ -267,7 +298,14 @@ public class HttpDigestAuthFilter implements ClientRequestFilter, ClientResponse
                 WebTarget resourceTarget = client.target(lUri);
 
                 Invocation.Builder builder = resourceTarget.request(mediaType);
-                builder.headers(requestContext.getHeaders());
+                // the authorization sent with the original request is stale -> the filter computes a new one
+                final MultivaluedMap<String, Object> newHeaders = new MultivaluedHashMap<String, Object>();
+                for (Map.Entry<String, List<Object>> entry : requestContext.getHeaders().entrySet()) {
+                    if (!HttpHeaders.AUTHORIZATION.equalsIgnoreCase(entry.getKey())) {
+                        newHeaders.put(entry.getKey(), new ArrayList<Object>(entry.getValue()));
+                    }
+                }
+                builder.headers(newHeaders);
                 builder.header(HEADER_DIGEST_SCHEME, digestScheme);
                 Invocation invocation = builder.build(method);
 
@@ -287,6 +325,97 @@ public class HttpDigestAuthFilter implements ClientRequestFilter, ClientResponse
         }
     }
 
+    /**
+     * Get the number of requests for which a cached digest scheme was found and used to authenticate
+     * the request preemptively.
+     *
+     * @return number of digest cache hits.
+     */
+    public long getCacheHitCount() {
+        return cacheHits.get();
+    }
+
+    /**
+     * Get the number of requests for which no cached digest scheme was found.
+     *
+     * @return number of digest cache misses.
+     */
+    public long getCacheMissCount() {
+        return cacheMisses.get();
+    }
+
+    /**
+     * Find the cached digest scheme of the protection space the given URI belongs to. The path
+     * of the URI is matched against the known protection space paths from the deepest to the root one.
+     *
+     * @param uri request URI.
+     * @return digest scheme or {@code null} if the URI is not under any known protection space.
+     */
+    private DigestScheme getDigestScheme(final URI uri) {
+        final String root = getCanonicalRoot(uri);
+        final String path = getPath(uri);
+
+        int slash = path.lastIndexOf('/');
+        while (slash >= 0) {
+            final String protectionSpace = protectionSpaceCache.getIfPresent(root + path.substring(0, slash + 1));
+            if (protectionSpace != null) {
+                final DigestScheme digestScheme = digestCache.getIfPresent(protectionSpace);
+                if (digestScheme != null) {
+                    return digestScheme;
+                }
+            }
+            slash = path.lastIndexOf('/', slash - 1);
+        }
+        return null;
+    }
+
+    /**
+     * Store the digest scheme for the protection space of the given URI. All URIs at or deeper than the last
+     * symbolic element of the URI path and all URIs listed in the {@code domain} attribute of the challenge
+     * are assumed to be in the same protection space.
+     *
+     * @param uri request URI the challenge was received for.
+     * @param digestScheme digest scheme parsed from the challenge.
+     */
+    private void putDigestScheme(final URI uri, final DigestScheme digestScheme) {
+        final String root = getCanonicalRoot(uri);
+        final String protectionSpace = root + ' ' + digestScheme.getRealm();
+
+        digestCache.put(protectionSpace, digestScheme);
+
+        final String path = getPath(uri);
+        protectionSpaceCache.put(root + path.substring(0, path.lastIndexOf('/') + 1), protectionSpace);
+
+        if (digestScheme.getDomain() != null) {
+            for (String domainUri : digestScheme.getDomain().trim().split("\\s+")) {
+                if (domainUri.isEmpty()) {
+                    continue;
+                }
+                final URI resolved;
+                try {
+                    resolved = uri.resolve(domainUri);
+                } catch (IllegalArgumentException e) {
+                    logger.log(Level.FINEST, "Ignoring invalid digest domain URI: {0}", domainUri);
+                    continue;
+                }
+                final String domainPath = getPath(resolved);
+                protectionSpaceCache.put(getCanonicalRoot(resolved)
+                        + domainPath.substring(0, domainPath.lastIndexOf('/') + 1), protectionSpace);
+            }
+        }
+    }
+
+    private static String getCanonicalRoot(final URI uri) {
+        final String scheme = uri.getScheme();
+        return (scheme == null ? "" : scheme.toLowerCase()) + "://"
+                + (uri.getRawAuthority() == null ? "" : uri.getRawAuthority().toLowerCase());
+    }
+
+    private static String getPath(final URI uri) {
+        final String path = uri.getRawPath();
+        return (path == null || path.isEmpty()) ? "/" : path;
+    }
+
     /**
      * Parse digest header.
      *
@@ -316,6 +445,7 @@ public class HttpDigestAuthFilter implements ClientRequestFilter, ClientResponse
             String realm = null;
             String nonce = null;
             String opaque = null;
+            String domain = null;
             QOP qop = QOP.UNSPECIFIED;
             Algorithm algorithm = Algorithm.UNSPECIFIED;
             boolean stale = false;
@@ -339,13 +469,15 @@ public class HttpDigestAuthFilter implements ClientRequestFilter, ClientResponse
                     nonce = val;
                 } else if (key.equals("opaque")) {
                     opaque = val;
+                } else if (key.equals("domain")) {
+                    domain = val;
                 } else if (key.equals("stale")) {
                     stale = Boolean.parseBoolean(val);
                 } else if (key.equals("algorithm")) {
                     algorithm = Algorithm.parse(val);
                 }
             }
-            return new DigestScheme(realm, nonce, opaque, qop, algorithm, stale);
+            return new DigestScheme(realm, nonce, opaque, domain, qop, algorithm, stale);
         }
         return null;
     }
@@ -569,28 +701,31 @@ public class HttpDigestAuthFilter implements ClientRequestFilter, ClientResponse
         private final String realm;
         private final String nonce;
         private final String opaque;
+        private final String domain;
         private final Algorithm algorithm;
         private final QOP qop;
         private final boolean stale;
-        private volatile int nc;
+        private final AtomicInteger nc;
 
         public DigestScheme(String realm,
                             String nonce,
                             String opaque,
+                            String domain,
                             QOP qop,
                             Algorithm algorithm,
                             boolean stale) {
             this.realm = realm;
             this.nonce = nonce;
             this.opaque = opaque;
+            this.domain = domain;
             this.qop = qop;
             this.algorithm = algorithm;
             this.stale = stale;
-            this.nc = 0;
+            this.nc = new AtomicInteger();
         }
 
         public int incrementCounter() {
-            return nc++;
+            return nc.getAndIncrement();
         }
 
         public String getNonce() {
@@ -605,6 +740,10 @@ public class HttpDigestAuthFilter implements ClientRequestFilter, ClientResponse
             return opaque;
         }
 
+        public String getDomain() {
+            return domain;
+        }
+
         public Algorithm getAlgorithm() {
             return algorithm;
         }
@@ -618,7 +757,7 @@ public class HttpDigestAuthFilter implements ClientRequestFilter, ClientResponse
         }
 
         public int getNc() {
-            return nc;
+            return nc.get();
         }
     }
 }
@@ -0,0 +1,145 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.io.IOException;
+
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests sharing of client runtimes among configurations with equal runtime fingerprints.
+ */
+public class ClientRuntimeSharingTest {
+
+    private JerseyClient client;
+
+    public static class FilterA implements ClientRequestFilter {
+        @Override
+        public void filter(final ClientRequestContext requestContext) throws IOException {
+        }
+    }
+
+    public static class FilterB implements ClientRequestFilter {
+        @Override
+        public void filter(final ClientRequestContext requestContext) throws IOException {
+        }
+    }
+
+    @Before
+    public void setUp() {
+        client = (JerseyClient) ClientBuilder.newClient();
+    }
+
+    @After
+    public void tearDown() {
+        client.close();
+    }
+
+    private static ClientRuntime runtime(final JerseyWebTarget target) {
+        return target.getConfiguration().getRuntime();
+    }
+
+    @Test
+    public void testTargetsShareRuntime() {
+        final JerseyWebTarget first = client.target("http://localhost/first");
+        final JerseyWebTarget second = client.target("http://localhost/second").path("path");
+
+        assertSame(runtime(first), runtime(second));
+        assertEquals(first.getConfiguration().getRuntimeFingerprint(), second.getConfiguration().getRuntimeFingerprint());
+    }
+
+    @Test
+    public void testEquivalentRegistrationsShareRuntime() {
+        final JerseyWebTarget first = client.target("http://localhost").register(FilterA.class).property("p", "v");
+        final JerseyWebTarget second = client.target("http://localhost").register(FilterA.class).property("p", "v");
+
+        assertSame(runtime(first), runtime(second));
+        assertNotSame(runtime(client.target("http://localhost")), runtime(first));
+    }
+
+    @Test
+    public void testDifferentConfigurationsDoNotShareRuntime() {
+        final JerseyWebTarget filterA = client.target("http://localhost").register(FilterA.class);
+        final JerseyWebTarget filterB = client.target("http://localhost").register(FilterB.class);
+        final JerseyWebTarget property = client.target("http://localhost").register(FilterA.class).property("p", "v");
+        final JerseyWebTarget instance = client.target("http://localhost").register(new FilterA());
+
+        assertNotSame(runtime(filterA), runtime(filterB));
+        assertNotSame(runtime(filterA), runtime(property));
+        assertNotSame(runtime(filterA), runtime(instance));
+        assertNotEquals(filterA.getConfiguration().getRuntimeFingerprint(),
+                filterB.getConfiguration().getRuntimeFingerprint());
+        assertEquals(4, client.getRuntimeRegistry().size());
+    }
+
+    @Test
+    public void testSameInstanceSharesRuntime() {
+        final FilterA filter = new FilterA();
+
+        final JerseyWebTarget first = client.target("http://localhost").register(filter);
+        final JerseyWebTarget second = client.target("http://localhost").register(filter);
+
+        assertSame(runtime(first), runtime(second));
+    }
+
+    @Test
+    public void testClosedClient() {
+        final JerseyWebTarget target = client.target("http://localhost").register(FilterA.class);
+        client.close();
+
+        try {
+            runtime(target);
+            fail("IllegalStateException expected if a runtime is requested from a closed client instance.");
+        } catch (IllegalStateException expected) {
+            // passed
+        }
+    }
+}
@@ -93,6 +93,23 @@ public class JerseyInvocationTest {
         assertTrue(invocation.request().getHeaders().isEmpty());
     }
 
+    @Test
+    public void testBuilderPropertyChangesDoNotAffectBuiltInvocation() {
+        Client c = ClientBuilder.newClient();
+        Invocation.Builder builder = c.target("http://localhost:8080/mypath").request().property("a-property", "a");
+        JerseyInvocation first = (JerseyInvocation) builder.buildGet();
+
+        builder.property("a-property", "b");
+        JerseyInvocation second = (JerseyInvocation) builder.buildGet();
+
+        assertEquals("a", first.request().getProperty("a-property"));
+        assertEquals("b", second.request().getProperty("a-property"));
+
+        first.property("a-property", "c");
+        assertEquals("b", second.request().getProperty("a-property"));
+        assertEquals("b", ((JerseyInvocation) builder.buildGet()).request().getProperty("a-property"));
+    }
+
     private JerseyInvocation buildInvocationWithHeaders(MultivaluedMap<String, Object> headers) {
         Client c = ClientBuilder.newClient();
         Invocation.Builder builder = c.target("http://localhost:8080/mypath").request();
@@ -0,0 +1,242 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.filter;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.collect.Lists;
+
+/**
+ * {@link CachingFeature} tests.
+ */
+public class CachingFeatureTest {
+
+    private static final URI TARGET = URI.create("http://localhost:8080");
+
+    private TestConnector connector;
+    private ClientCache cache;
+    private Client client;
+
+    @Before
+    public void setUp() {
+        connector = new TestConnector();
+        cache = new ClientCache();
+        client = ClientBuilder.newClient(new ClientConfig().connector(connector).register(new CachingFeature(cache)));
+    }
+
+    private WebTarget target(final String path) {
+        return client.target(TARGET).path(path);
+    }
+
+    @Test
+    public void testFreshResponseIsCached() {
+        connector.cacheControl = "max-age=60";
+
+        assertEquals("1", target("fresh").request().get(String.class));
+        assertEquals("1", target("fresh").request().get(String.class));
+        assertEquals(1, connector.requests.size());
+
+        final ClientCache.Statistics statistics = cache.getStatistics(TARGET);
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(0, statistics.getRevalidationCount());
+    }
+
+    @Test
+    public void testStaleResponseIsRevalidated() {
+        connector.cacheControl = "no-cache";
+        connector.eTag = "\"1\"";
+
+        assertEquals("1", target("stale").request().get(String.class));
+
+        connector.notModified = true;
+        final Response response = target("stale").request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals(MediaType.TEXT_PLAIN_TYPE, response.getMediaType());
+        assertEquals("1", response.readEntity(String.class));
+        assertEquals(2, connector.requests.size());
+        assertEquals("\"1\"", connector.requests.get(1).getHeaderString(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(1, cache.getStatistics(TARGET).getRevalidationCount());
+
+        // the resource has been modified
+        connector.notModified = false;
+        connector.eTag = "\"3\"";
+        assertEquals("3", target("stale").request().get(String.class));
+        assertEquals(2, cache.getStatistics(TARGET).getMissCount());
+    }
+
+    @Test
+    public void testVaryHeaders() {
+        connector.cacheControl = "max-age=60";
+        connector.vary = HttpHeaders.ACCEPT_LANGUAGE;
+
+        assertEquals("1", target("vary").request().acceptLanguage("en").get(String.class));
+        assertEquals("2", target("vary").request().acceptLanguage("cs").get(String.class));
+        assertEquals("1", target("vary").request().acceptLanguage("en").get(String.class));
+        assertEquals("2", target("vary").request().acceptLanguage("cs").get(String.class));
+        assertEquals(2, connector.requests.size());
+    }
+
+    @Test
+    public void testNotCacheableResponses() {
+        connector.cacheControl = "no-store";
+        assertEquals("1", target("no-store").request().get(String.class));
+        assertEquals("2", target("no-store").request().get(String.class));
+
+        connector.cacheControl = null;
+        assertEquals("3", target("no-validators").request().get(String.class));
+        assertEquals("4", target("no-validators").request().get(String.class));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testUnsafeRequestInvalidatesCache() {
+        connector.cacheControl = "max-age=60";
+
+        assertEquals("1", target("resource").request().get(String.class));
+        target("resource").request().put(Entity.text("update"));
+        assertEquals("3", target("resource").request().get(String.class));
+        assertEquals(3, connector.requests.size());
+    }
+
+    @Test
+    public void testNoCacheRequest() {
+        connector.cacheControl = "max-age=60";
+
+        assertEquals("1", target("resource").request().get(String.class));
+        assertEquals("2", target("resource").request().header(HttpHeaders.CACHE_CONTROL, "no-cache").get(String.class));
+        assertEquals("2", target("resource").request().get(String.class));
+        assertNull(connector.requests.get(1).getHeaderString(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    @Test
+    public void testAuthorizedRequests() {
+        connector.cacheControl = "max-age=60";
+
+        assertEquals("1", target("private").request().header(HttpHeaders.AUTHORIZATION, "Basic YTph").get(String.class));
+        assertEquals("2", target("private").request().header(HttpHeaders.AUTHORIZATION, "Basic Yjpi").get(String.class));
+        assertEquals("3", target("private").request().header(HttpHeaders.AUTHORIZATION, "Basic YTph").get(String.class));
+        assertEquals(0, cache.size());
+
+        connector.cacheControl = "public, max-age=60";
+        assertEquals("4", target("public").request().header(HttpHeaders.AUTHORIZATION, "Basic YTph").get(String.class));
+        assertEquals("4", target("public").request().header(HttpHeaders.AUTHORIZATION, "Basic Yjpi").get(String.class));
+        assertEquals(4, connector.requests.size());
+
+        // only the directive names are matched
+        connector.cacheControl = "max-age=60, community=\"public\"";
+        assertEquals("5", target("community").request().header(HttpHeaders.AUTHORIZATION, "Basic YTph").get(String.class));
+        assertEquals("6", target("community").request().header(HttpHeaders.AUTHORIZATION, "Basic Yjpi").get(String.class));
+        assertEquals(6, connector.requests.size());
+    }
+
+    private static class TestConnector implements Connector {
+
+        private final List<ClientRequest> requests = Lists.newArrayList();
+
+        private volatile String cacheControl;
+        private volatile String eTag;
+        private volatile String vary;
+        private volatile boolean notModified;
+
+        @Override
+        public ClientResponse apply(ClientRequest requestContext) {
+            requests.add(requestContext);
+
+            if (notModified) {
+                final ClientResponse response = new ClientResponse(Response.Status.NOT_MODIFIED, requestContext);
+                response.header(HttpHeaders.ETAG, eTag);
+                return response;
+            }
+
+            final ClientResponse response = new ClientResponse(Response.Status.OK, requestContext);
+            response.header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN);
+            if (cacheControl != null) {
+                response.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+            }
+            if (eTag != null) {
+                response.header(HttpHeaders.ETAG, eTag);
+            }
+            if (vary != null) {
+                response.header(HttpHeaders.VARY, vary);
+            }
+            response.setEntityStream(new ByteArrayInputStream(String.valueOf(requests.size()).getBytes()));
+            return response;
+        }
+
+        @Override
+        public Future<?> apply(ClientRequest clientRequest, AsyncConnectorCallback callback) {
+            throw new UnsupportedOperationException("Asynchronous execution not supported.");
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+
+        @Override
+        public String getName() {
+            return null;
+        }
+    }
+}
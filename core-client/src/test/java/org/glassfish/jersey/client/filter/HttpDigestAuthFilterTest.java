@@ -40,10 +40,22 @@
 package org.glassfish.jersey.client.filter;
 
 import java.lang.reflect.Method;
+import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Future;
 
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
 import org.glassfish.jersey.client.filter.HttpDigestAuthFilter.DigestScheme;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -134,4 +146,108 @@ public class HttpDigestAuthFilterTest {
         Assert.assertEquals("foo, bar", ds.getNonce());
         Assert.assertEquals("bar", ds.getOpaque());
     }
+
+    @Test
+    public void testParseHeadersDomain() throws Exception {
+        HttpDigestAuthFilter f = new HttpDigestAuthFilter("foo", "bar");
+        DigestScheme ds = parse(f, "Digest realm=\"tata\", nonce=\"foo\", domain=\"/a/ /b/c\"");
+
+        Assert.assertNotNull(ds);
+        Assert.assertEquals("/a/ /b/c", ds.getDomain());
+    }
+
+    @Test
+    public void testProtectionSpace() throws Exception {
+        HttpDigestAuthFilter f = new HttpDigestAuthFilter("foo", "bar");
+        DigestScheme ds = parse(f, "Digest realm=\"tata\", nonce=\"foo\", domain=\"/other/\"");
+
+        Method put = HttpDigestAuthFilter.class.getDeclaredMethod("putDigestScheme", URI.class, DigestScheme.class);
+        put.setAccessible(true);
+        put.invoke(f, URI.create("http://localhost:8080/app/users/adam"), ds);
+
+        Method get = HttpDigestAuthFilter.class.getDeclaredMethod("getDigestScheme", URI.class);
+        get.setAccessible(true);
+
+        // same path and paths at or deeper than the last symbolic element
+        Assert.assertSame(ds, get.invoke(f, URI.create("http://localhost:8080/app/users/adam")));
+        Assert.assertSame(ds, get.invoke(f, URI.create("http://LOCALHOST:8080/app/users/eve")));
+        Assert.assertSame(ds, get.invoke(f, URI.create("http://localhost:8080/app/users/eve/age?q=1")));
+        // domain attribute
+        Assert.assertSame(ds, get.invoke(f, URI.create("http://localhost:8080/other/resource")));
+
+        // outside of the protection space
+        Assert.assertNull(get.invoke(f, URI.create("http://localhost:8080/app/groups")));
+        Assert.assertNull(get.invoke(f, URI.create("http://localhost:8081/app/users/adam")));
+        Assert.assertNull(get.invoke(f, URI.create("https://localhost:8080/app/users/adam")));
+    }
+
+    @Test
+    public void testNonceCount() throws Exception {
+        HttpDigestAuthFilter f = new HttpDigestAuthFilter("foo", "bar");
+        DigestScheme ds = parse(f, "Digest realm=\"tata\", nonce=\"foo\"");
+
+        Assert.assertEquals(0, ds.incrementCounter());
+        Assert.assertEquals(1, ds.incrementCounter());
+        Assert.assertEquals(2, ds.getNc());
+    }
+
+    @Test
+    public void testRetryReplacesStaleAuthorization() throws Exception {
+        final TestConnector connector = new TestConnector();
+        final Client client = ClientBuilder.newClient(new ClientConfig(new HttpDigestAuthFilter("foo", "bar"))
+                .connector(connector));
+
+        Response response = client.target("http://localhost:8080/app/users").request().get();
+        Assert.assertEquals(200, response.getStatus());
+        Assert.assertEquals("1", response.getHeaderString(TestConnector.AUTHORIZATION_COUNT));
+
+        // the cached scheme is sent preemptively with a nonce the server does not accept any more
+        connector.nonce = "second";
+        response = client.target("http://localhost:8080/app/users").request().get();
+        Assert.assertEquals(200, response.getStatus());
+        Assert.assertEquals("1", response.getHeaderString(TestConnector.AUTHORIZATION_COUNT));
+    }
+
+    private static class TestConnector implements Connector {
+
+        private static final String AUTHORIZATION_COUNT = "X-Authorization-Count";
+
+        private volatile String nonce = "first";
+
+        @Override
+        public ClientResponse apply(ClientRequest requestContext) {
+            final List<Object> authorization = requestContext.getHeaders().get(HttpHeaders.AUTHORIZATION);
+
+            if (authorization == null || !authorization.get(0).toString().contains("nonce=\"" + nonce + "\"")) {
+                final ClientResponse responseContext = new ClientResponse(Response.Status.UNAUTHORIZED, requestContext);
+                responseContext.header(HttpHeaders.WWW_AUTHENTICATE, "Digest realm=\"test\", nonce=\"" + nonce + "\"");
+                return responseContext;
+            }
+
+            final ClientResponse responseContext = new ClientResponse(Response.Status.OK, requestContext);
+            responseContext.header(AUTHORIZATION_COUNT, String.valueOf(authorization.size()));
+            return responseContext;
+        }
+
+        @Override
+        public Future<?> apply(ClientRequest clientRequest, AsyncConnectorCallback callback) {
+            throw new UnsupportedOperationException("Asynchronous execution not supported.");
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+
+        @Override
+        public String getName() {
+            return null;
+        }
+    }
+
+    private static DigestScheme parse(HttpDigestAuthFilter f, String header) throws Exception {
+        Method method = HttpDigestAuthFilter.class.getDeclaredMethod("parseAuthHeaders", List.class);
+        method.setAccessible(true);
+        return (DigestScheme) method.invoke(f, Arrays.asList(header));
+    }
 }
@@ -323,6 +323,50 @@ public class Errors {
         throw caught;
     }
 
+    /**
+     * Invoke given task in a new, detached error processing scope and gather errors.
+     * <p/>
+     * Unlike the {@code process(...)} methods, the gathered errors are neither logged nor processed
+     * after the task is complete. Instead, the errors are added to the supplied {@code issues} list
+     * (even if the task fails) so that they can be {@link #reportAll(java.util.Collection) reported}
+     * later in an outer error processing scope, typically one active on a different thread.
+     * Any error processing scope active on the current thread is left intact.
+     *
+     * @param task   task to be invoked.
+     * @param issues list the errors gathered during the task invocation are added to.
+     * @return the result produced by the task.
+     * @throws Exception exception thrown by the task.
+     */
+    public static <T> T collect(final Callable<T> task, final List<ErrorMessage> issues) throws Exception {
+        final Errors previous = errors.get();
+        final Errors instance = new Errors();
+        instance.preProcess();
+        errors.set(instance);
+
+        try {
+            return task.call();
+        } finally {
+            issues.addAll(instance.issues);
+            if (previous == null) {
+                errors.remove();
+            } else {
+                errors.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Add all the error messages to the current error processing scope.
+     * <p/>
+     * The method is intended to report errors previously {@link #collect(java.util.concurrent.Callable, java.util.List)
+     * collected} in a detached error processing scope.
+     *
+     * @param messages error messages to be added.
+     */
+    public static void reportAll(final Collection<ErrorMessage> messages) {
+        getInstance().issues.addAll(messages);
+    }
+
     private static Errors getInstance() {
         final Errors instance = errors.get();
         // No error processing in scope
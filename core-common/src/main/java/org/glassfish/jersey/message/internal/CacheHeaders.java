@@ -0,0 +1,132 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.util.List;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Utility methods for processing of the HTTP caching related headers shared by the client and server side
+ * response caches.
+ */
+public final class CacheHeaders {
+
+    /**
+     * Get names of the request headers listed in the {@code Vary} header of a response.
+     *
+     * @param headers response headers.
+     * @return names of the request headers or {@code null} if the response varies on more than request headers
+     *         ({@code Vary: *}).
+     */
+    public static String[] getVaryHeaders(final MultivaluedMap<String, String> headers) {
+        final List<String> varyHeaders = Lists.newArrayList();
+        final List<String> varyValues = headers.get(HttpHeaders.VARY);
+        if (varyValues != null) {
+            for (String value : varyValues) {
+                for (String header : value.split(",")) {
+                    header = header.trim();
+                    if ("*".equals(header)) {
+                        return null;
+                    } else if (!header.isEmpty()) {
+                        varyHeaders.add(header);
+                    }
+                }
+            }
+        }
+        return varyHeaders.toArray(new String[varyHeaders.size()]);
+    }
+
+    /**
+     * Check whether a header value (e.g. a {@code Cache-Control} or {@code Pragma} header value) contains
+     * the given directive.
+     * <p>
+     * The header value is parsed as a comma separated list of directives optionally followed by {@code =value}
+     * (commas within quoted values do not separate directives). Only the directive names are compared with the given
+     * directive, ignoring the case, i.e. neither an extension directive containing the directive name nor a directive
+     * value matches.
+     * </p>
+     *
+     * @param header    header value, may be {@code null}.
+     * @param directive directive name.
+     * @return {@code true} if the header value contains the directive.
+     */
+    public static boolean containsDirective(final String header, final String directive) {
+        if (header == null) {
+            return false;
+        }
+
+        final int length = header.length();
+        int start = 0;
+        while (start < length) {
+            // find the end of the directive name
+            int end = start;
+            while (end < length && header.charAt(end) != ',' && header.charAt(end) != '=') {
+                end++;
+            }
+            if (header.substring(start, end).trim().equalsIgnoreCase(directive)) {
+                return true;
+            }
+
+            // skip the directive value
+            boolean quoted = false;
+            while (end < length && (quoted || header.charAt(end) != ',')) {
+                final char c = header.charAt(end);
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (c == '\\' && quoted) {
+                    end++;
+                }
+                end++;
+            }
+            start = end + 1;
+        }
+        return false;
+    }
+
+    /**
+     * Prevents instantiation.
+     */
+    private CacheHeaders() {
+    }
+}
@@ -66,7 +66,7 @@ public class DateProvider implements HeaderDelegateProvider<Date> {
     @Override
     public String toString(Date header) {
         throwIllegalArgumentExceptionIfNull(header, LocalizationMessages.DATE_IS_NULL());
-        return HttpDateFormat.getPreferedDateFormat().format(header);
+        return HttpDateFormat.formatDate(header);
     }
 
     @Override
@@ -0,0 +1,106 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.message.internal;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Bounded, thread-safe cache of parsed header values keyed by the raw header value.
+ * <p>
+ * Clients typically send only a handful of distinct values of headers like {@code Accept} or {@code Content-Type}.
+ * Caching the (immutable) parse results allows sharing them across requests instead of parsing the same header
+ * value again for every request. Header values longer than {@value #MAX_VALUE_LENGTH} characters are not cached.
+ * </p>
+ *
+ * @param <T> parsed header value type. Cached values must be immutable.
+ */
+final class HeaderValueCache<T> {
+
+    /**
+     * Default maximum number of cached header values.
+     */
+    static final int DEFAULT_SIZE = 256;
+    /**
+     * Maximum length of a cached header value.
+     */
+    static final int MAX_VALUE_LENGTH = 512;
+
+    private final Cache<String, T> cache;
+
+    /**
+     * Create new header value cache of the {@link #DEFAULT_SIZE default size}.
+     */
+    HeaderValueCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Create new header value cache.
+     *
+     * @param size maximum number of cached header values.
+     */
+    HeaderValueCache(final int size) {
+        this.cache = CacheBuilder.newBuilder().maximumSize(size).build();
+    }
+
+    /**
+     * Get the cached parsed header value.
+     *
+     * @param value raw header value.
+     * @return parsed header value or {@code null} if the value is not cached.
+     */
+    T get(final String value) {
+        return cache.getIfPresent(value);
+    }
+
+    /**
+     * Cache the parsed header value.
+     *
+     * @param value  raw header value.
+     * @param parsed immutable parsed header value.
+     */
+    void put(final String value, final T parsed) {
+        if (value.length() <= MAX_VALUE_LENGTH) {
+            cache.put(value, parsed);
+        }
+    }
+}
@@ -120,8 +120,39 @@ public class HttpDateFormat {
         return dateFormats.get().get(0);
     }
 
+    /**
+     * Format the date using the preferred HTTP date format (RFC 1123), e.g. {@code Sun, 06 Nov 1994 08:49:37 GMT}.
+     * <p>
+     * The formatted value of the most recently formatted second is cached, so formatting the current time
+     * (e.g. for the {@code Date} response header) many times per second does not repeat the work.
+     * </p>
+     *
+     * @param date the date to be formatted.
+     * @return the formatted date.
+     */
+    public static String formatDate(Date date) {
+        final long time = date.getTime();
+        if (time < MIN_FAST_TIME || time >= MAX_FAST_TIME) {
+            return getPreferedDateFormat().format(date);
+        }
+
+        final long second = time >= 0 ? time / 1000 : (time - 999) / 1000;
+        final FormattedSecond cached = lastFormattedSecond;
+        if (cached != null && cached.second == second) {
+            return cached.text;
+        }
+
+        final String text = formatRfc1123(second);
+        lastFormattedSecond = new FormattedSecond(second, text);
+        return text;
+    }
+
     /**
      * Read a date.
+     * <p>
+     * Dates in the RFC 1123, RFC 1036 and ANSI C asctime() formats with the {@code GMT} time zone are parsed
+     * directly; other values are parsed using the {@link #getDateFormats() date formats}.
+     * </p>
      *
      * @param date the date as a string.
      *
@@ -129,6 +160,11 @@ public class HttpDateFormat {
      * @throws java.text.ParseException
      */
     public static Date readDate(String date) throws ParseException {
+        final long time = parseDate(date);
+        if (time != INVALID_TIME) {
+            return new Date(time);
+        }
+
         ParseException pe = null;
         for (SimpleDateFormat f : HttpDateFormat.getDateFormats()) {
             try {
@@ -140,4 +176,232 @@ public class HttpDateFormat {
 
         throw pe;
     }
+
+    /**
+     * Formatted RFC 1123 value of a single second.
+     */
+    private static final class FormattedSecond {
+        private final long second;
+        private final String text;
+
+        private FormattedSecond(long second, String text) {
+            this.second = second;
+            this.text = text;
+        }
+    }
+
+    private static final String[] DAY_NAMES = {"Thu", "Fri", "Sat", "Sun", "Mon", "Tue", "Wed"};
+    private static final String[] MONTH_NAMES =
+            {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+    private static final long INVALID_TIME = Long.MIN_VALUE;
+    /**
+     * Lower bound (inclusive) of the time range handled without {@link SimpleDateFormat}: 1600-01-01T00:00:00Z.
+     * Older dates are formatted using the Julian calendar by {@code SimpleDateFormat}.
+     */
+    private static final long MIN_FAST_TIME = -11676096000000L;
+    /**
+     * Upper bound (exclusive) of the time range handled without {@link SimpleDateFormat}: 10000-01-01T00:00:00Z.
+     */
+    private static final long MAX_FAST_TIME = 253402300800000L;
+
+    private static volatile FormattedSecond lastFormattedSecond;
+
+    private static String formatRfc1123(long second) {
+        final long days = second / (24 * 60 * 60) - (second % (24 * 60 * 60) < 0 ? 1 : 0);
+        final int secondOfDay = (int) (second - days * 24 * 60 * 60);
+
+        // civil date from days since epoch (proleptic Gregorian calendar)
+        final long z = days + 719468;
+        final long era = (z >= 0 ? z : z - 146096) / 146097;
+        final int dayOfEra = (int) (z - era * 146097);
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int mp = (5 * dayOfYear + 2) / 153;
+        final int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        final int month = mp < 10 ? mp + 3 : mp - 9;
+        final int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+
+        final char[] buf = new char[29];
+        final String dayName = DAY_NAMES[(int) (((days % 7) + 7) % 7)];
+        buf[0] = dayName.charAt(0);
+        buf[1] = dayName.charAt(1);
+        buf[2] = dayName.charAt(2);
+        buf[3] = ',';
+        buf[4] = ' ';
+        put2Digits(buf, 5, day);
+        buf[7] = ' ';
+        final String monthName = MONTH_NAMES[month - 1];
+        buf[8] = monthName.charAt(0);
+        buf[9] = monthName.charAt(1);
+        buf[10] = monthName.charAt(2);
+        buf[11] = ' ';
+        put2Digits(buf, 12, year / 100);
+        put2Digits(buf, 14, year % 100);
+        buf[16] = ' ';
+        put2Digits(buf, 17, secondOfDay / 3600);
+        buf[19] = ':';
+        put2Digits(buf, 20, (secondOfDay / 60) % 60);
+        buf[22] = ':';
+        put2Digits(buf, 23, secondOfDay % 60);
+        buf[25] = ' ';
+        buf[26] = 'G';
+        buf[27] = 'M';
+        buf[28] = 'T';
+        return new String(buf);
+    }
+
+    private static void put2Digits(char[] buf, int offset, int value) {
+        buf[offset] = (char) ('0' + value / 10);
+        buf[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    /**
+     * Parse a date in one of the HTTP date formats with the {@code GMT} time zone.
+     *
+     * @param date the date as a string.
+     * @return milliseconds since epoch or {@link #INVALID_TIME} if the date is not in one of the directly supported
+     *         formats.
+     */
+    private static long parseDate(String date) {
+        if (date == null) {
+            return INVALID_TIME;
+        }
+        final int comma = date.indexOf(',');
+        if (comma == 3) {
+            // RFC 1123: Sun, 06 Nov 1994 08:49:37 GMT
+            return parseRfc1123(date);
+        } else if (comma > 3) {
+            // RFC 1036: Sunday, 06-Nov-94 08:49:37 GMT
+            return parseRfc1036(date, comma);
+        } else if (comma == -1) {
+            // ANSI C asctime(): Sun Nov  6 08:49:37 1994
+            return parseAsctime(date);
+        }
+        return INVALID_TIME;
+    }
+
+    private static long parseRfc1123(String date) {
+        if (date.length() != 29 || date.charAt(4) != ' ' || date.charAt(7) != ' ' || date.charAt(11) != ' '
+                || date.charAt(16) != ' ' || date.charAt(25) != ' ' || !date.startsWith("GMT", 26)) {
+            return INVALID_TIME;
+        }
+        return toTime(parseNumber(date, 12, 4), parseMonth(date, 8), parseNumber(date, 5, 2), date, 17);
+    }
+
+    private static long parseRfc1036(String date, int comma) {
+        final int i = comma + 2;
+        if (date.length() != i + 22 || date.charAt(comma + 1) != ' ' || date.charAt(i + 2) != '-'
+                || date.charAt(i + 6) != '-' || date.charAt(i + 9) != ' ' || date.charAt(i + 18) != ' '
+                || !date.startsWith("GMT", i + 19)) {
+            return INVALID_TIME;
+        }
+        final int twoDigitYear = parseNumber(date, i + 7, 2);
+        if (twoDigitYear < 0) {
+            return INVALID_TIME;
+        }
+        // the same interpretation as by SimpleDateFormat: within 80 years before and 20 years after now
+        final int centuryStart = currentYear() - 80;
+        int year = (centuryStart / 100) * 100 + twoDigitYear;
+        if (year < centuryStart) {
+            year += 100;
+        }
+        if (year - centuryStart <= 1 || year - centuryStart >= 99) {
+            // close to the century start the exact day matters -> let SimpleDateFormat decide
+            return INVALID_TIME;
+        }
+        return toTime(year, parseMonth(date, i + 3), parseNumber(date, i, 2), date, i + 10);
+    }
+
+    private static long parseAsctime(String date) {
+        // day of month is either space padded, two digits or a single digit
+        final int length = date.length();
+        if ((length != 24 && length != 23) || date.charAt(3) != ' ' || date.charAt(7) != ' ') {
+            return INVALID_TIME;
+        }
+        final int day;
+        if (length == 23) {
+            day = parseNumber(date, 8, 1);
+        } else if (date.charAt(8) == ' ') {
+            day = parseNumber(date, 9, 1);
+        } else {
+            day = parseNumber(date, 8, 2);
+        }
+        // i is the offset of the space following the day of month
+        final int i = length - 14;
+        if (date.charAt(i) != ' ' || date.charAt(i + 9) != ' ') {
+            return INVALID_TIME;
+        }
+        return toTime(parseNumber(date, i + 10, 4), parseMonth(date, 4), day, date, i + 1);
+    }
+
+    /**
+     * Compute the time from the date fields and the {@code HH:mm:ss} time starting at the given offset.
+     */
+    private static long toTime(int year, int month, int day, String date, int timeOffset) {
+        if (date.charAt(timeOffset + 2) != ':' || date.charAt(timeOffset + 5) != ':') {
+            return INVALID_TIME;
+        }
+        final int hour = parseNumber(date, timeOffset, 2);
+        final int minute = parseNumber(date, timeOffset + 3, 2);
+        final int second = parseNumber(date, timeOffset + 6, 2);
+
+        if (year < 1600 || month < 1 || day < 1 || day > daysInMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            // let the lenient SimpleDateFormat deal with it
+            return INVALID_TIME;
+        }
+
+        // days since epoch from civil date (proleptic Gregorian calendar)
+        final int y = month <= 2 ? year - 1 : year;
+        final int era = y / 400;
+        final int yearOfEra = y - era * 400;
+        final int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        final long days = era * 146097L + dayOfEra - 719468;
+
+        return days * MILLIS_PER_DAY + ((hour * 60L + minute) * 60 + second) * 1000;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return ((year % 4 == 0 && year % 100 != 0) || year % 400 == 0) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static int parseNumber(String date, int offset, int length) {
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            final char c = date.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int parseMonth(String date, int offset) {
+        for (int i = 0; i < MONTH_NAMES.length; i++) {
+            if (date.regionMatches(true, offset, MONTH_NAMES[i], 0, 3)) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static int currentYear() {
+        final long days = System.currentTimeMillis() / MILLIS_PER_DAY;
+        // average length of a Gregorian year is good enough for the two-digit year window
+        return 1970 + (int) (days * 400 / 146097);
+    }
 }
@@ -94,13 +94,96 @@ public class InboundMessageContext {
         }
     };
     private static final Annotation[] EMPTY_ANNOTATIONS = new Annotation[0];
+    private static final List<AcceptableMediaType> WILDCARD_ACCEPTABLE_TYPES =
+            Collections.unmodifiableList(MediaTypes.GENERAL_ACCEPT_MEDIA_TYPE_LIST);
+    private static final List<AcceptableLanguageTag> WILDCARD_ACCEPTABLE_LANGUAGES =
+            Collections.singletonList(new AcceptableLanguageTag("*", null));
 
-    private final MultivaluedMap<String, String> headers;
+    /**
+     * Global caches of parsed header values shared by all messages.
+     */
+    private static final HeaderValueCache<MediaType> MEDIA_TYPE_CACHE = new HeaderValueCache<MediaType>();
+    private static final HeaderValueCache<List<AcceptableMediaType>> ACCEPT_CACHE =
+            new HeaderValueCache<List<AcceptableMediaType>>();
+    private static final HeaderValueCache<List<AcceptableLanguageTag>> ACCEPT_LANGUAGE_CACHE =
+            new HeaderValueCache<List<AcceptableLanguageTag>>();
+    private static final HeaderValueCache<List<AcceptableToken>> ACCEPT_TOKEN_CACHE =
+            new HeaderValueCache<List<AcceptableToken>>();
+
+    private static final HeaderParser<List<AcceptableMediaType>> ACCEPT_PARSER =
+            new HeaderParser<List<AcceptableMediaType>>() {
+                @Override
+                public List<AcceptableMediaType> parse(String value) throws ParseException {
+                    return Collections.unmodifiableList(HttpHeaderReader.readAcceptMediaType(value));
+                }
+            };
+    private static final HeaderParser<List<AcceptableLanguageTag>> ACCEPT_LANGUAGE_PARSER =
+            new HeaderParser<List<AcceptableLanguageTag>>() {
+                @Override
+                public List<AcceptableLanguageTag> parse(String value) throws ParseException {
+                    return Collections.unmodifiableList(HttpHeaderReader.readAcceptLanguage(value));
+                }
+            };
+    private static final HeaderParser<List<AcceptableToken>> ACCEPT_TOKEN_PARSER =
+            new HeaderParser<List<AcceptableToken>>() {
+                @Override
+                public List<AcceptableToken> parse(String value) throws ParseException {
+                    return Collections.unmodifiableList(HttpHeaderReader.readAcceptToken(value));
+                }
+            };
+
+    private MultivaluedMap<String, String> headers;
     private final EntityContent entityContent;
     private final boolean translateNce;
     private MessageBodyWorkers workers;
     private Value<Iterable<ReaderInterceptor>> readerInterceptors;
 
+    /**
+     * Header values parsed by this message, re-parsed only if the raw header value changes.
+     */
+    private ParsedHeader<MediaType> mediaType;
+    private ParsedHeader<List<AcceptableMediaType>> acceptableMediaTypes;
+    private ParsedHeader<List<AcceptableLanguageTag>> acceptableLanguages;
+    private ParsedHeader<List<AcceptableToken>> acceptCharset;
+    private ParsedHeader<List<AcceptableToken>> acceptEncoding;
+
+    /**
+     * Header value parser.
+     *
+     * @param <T> parsed header value type.
+     */
+    private static interface HeaderParser<T> {
+
+        /**
+         * Parse the header value.
+         *
+         * @param value raw header value.
+         * @return immutable parsed header value.
+         * @throws ParseException in case the header value cannot be parsed.
+         */
+        public T parse(String value) throws ParseException;
+    }
+
+    /**
+     * Raw header value together with the parsed header value.
+     *
+     * @param <T> parsed header value type.
+     */
+    private static final class ParsedHeader<T> {
+
+        private final String value;
+        private final T parsed;
+
+        private ParsedHeader(final String value, final T parsed) {
+            this.value = value;
+            this.parsed = parsed;
+        }
+
+        private boolean isParsedFrom(final String value) {
+            return this.value == value || this.value.equals(value);
+        }
+    }
+
     /**
      * Input stream and its state. State is represented by the {@link Type Type enum} and
      * is used to control the execution of interceptors.
@@ -226,6 +309,47 @@ public class InboundMessageContext {
         return this;
     }
 
+    /**
+     * Add headers of a native container header store.
+     * <p>
+     * If the context does not contain any headers yet, the headers are not copied; instead, they are
+     * {@link ReadThroughHeaders read lazily} from the header source when requested and copied into the context
+     * only when the headers are modified. Otherwise all the headers of the source are added to the existing
+     * headers.
+     * </p>
+     *
+     * @param headerSource native header store.
+     * @return updated context.
+     */
+    public InboundMessageContext headers(ReadThroughHeaders.Source headerSource) {
+        if (headers.isEmpty()) {
+            headers = new ReadThroughHeaders(headerSource);
+        } else {
+            for (String name : headerSource.getHeaderNames()) {
+                for (String value : headerSource.getHeaderValues(name)) {
+                    if (value != null) {
+                        headers.add(name, value);
+                    }
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Copy all the headers still {@link ReadThroughHeaders read lazily} from a native container header store
+     * into the context so that the header store is no longer accessed.
+     * <p>
+     * The method should be invoked before the native container request may be recycled or accessed from
+     * a different thread, e.g. when the request processing is suspended.
+     * </p>
+     */
+    public void detachHeaders() {
+        if (headers instanceof ReadThroughHeaders) {
+            ((ReadThroughHeaders) headers).detach();
+        }
+    }
+
     /**
      * Remove a header.
      *
@@ -272,6 +396,9 @@ public class InboundMessageContext {
         if (values.isEmpty()) {
             return "";
         }
+        if (values.size() == 1) {
+            return values.get(0);
+        }
 
         final Iterator<String> valuesIterator = values.iterator();
         StringBuilder buffer = new StringBuilder(valuesIterator.next());
@@ -428,11 +555,20 @@ public class InboundMessageContext {
         return singleHeader(HttpHeaders.CONTENT_TYPE, new Function<String, MediaType>() {
             @Override
             public MediaType apply(String input) {
-                try {
-                    return MediaType.valueOf(input);
-                } catch (IllegalArgumentException iae) {
-                    throw new ProcessingException(iae);
+                ParsedHeader<MediaType> parsedHeader = mediaType;
+                if (parsedHeader == null || !parsedHeader.isParsedFrom(input)) {
+                    MediaType type = MEDIA_TYPE_CACHE.get(input);
+                    if (type == null) {
+                        try {
+                            type = MediaType.valueOf(input);
+                        } catch (IllegalArgumentException iae) {
+                            throw new ProcessingException(iae);
+                        }
+                        MEDIA_TYPE_CACHE.put(input, type);
+                    }
+                    parsedHeader = mediaType = new ParsedHeader<MediaType>(input, type);
                 }
+                return parsedHeader.parsed;
             }
         }, false);
     }
@@ -447,14 +583,14 @@ public class InboundMessageContext {
         final String value = getHeaderString(HttpHeaders.ACCEPT);
 
         if (value == null || value.length() == 0) {
-            return Collections.unmodifiableList(MediaTypes.GENERAL_ACCEPT_MEDIA_TYPE_LIST);
+            return WILDCARD_ACCEPTABLE_TYPES;
         }
 
-        try {
-            return Collections.unmodifiableList(HttpHeaderReader.readAcceptMediaType(value));
-        } catch (ParseException e) {
-            throw exception(HttpHeaders.ACCEPT, value, e);
+        ParsedHeader<List<AcceptableMediaType>> parsedHeader = acceptableMediaTypes;
+        if (parsedHeader == null || !parsedHeader.isParsedFrom(value)) {
+            parsedHeader = acceptableMediaTypes = parse(HttpHeaders.ACCEPT, value, ACCEPT_CACHE, ACCEPT_PARSER);
         }
+        return parsedHeader.parsed;
     }
 
     /**
@@ -467,14 +603,15 @@ public class InboundMessageContext {
         final String value = getHeaderString(HttpHeaders.ACCEPT_LANGUAGE);
 
         if (value == null || value.length() == 0) {
-            return Collections.singletonList(new AcceptableLanguageTag("*", null));
+            return WILDCARD_ACCEPTABLE_LANGUAGES;
         }
 
-        try {
-            return Collections.unmodifiableList(HttpHeaderReader.readAcceptLanguage(value));
-        } catch (ParseException e) {
-            throw exception(HttpHeaders.ACCEPT_LANGUAGE, value, e);
+        ParsedHeader<List<AcceptableLanguageTag>> parsedHeader = acceptableLanguages;
+        if (parsedHeader == null || !parsedHeader.isParsedFrom(value)) {
+            parsedHeader = acceptableLanguages =
+                    parse(HttpHeaders.ACCEPT_LANGUAGE, value, ACCEPT_LANGUAGE_CACHE, ACCEPT_LANGUAGE_PARSER);
         }
+        return parsedHeader.parsed;
     }
 
     /**
@@ -484,15 +621,16 @@ public class InboundMessageContext {
      *         is ordered with the highest quality acceptable charset occurring first.
      */
     public List<AcceptableToken> getQualifiedAcceptCharset() {
-        final String acceptCharset = getHeaderString(HttpHeaders.ACCEPT_CHARSET);
-        try {
-            if (acceptCharset == null || acceptCharset.length() == 0) {
-                return Collections.singletonList(new AcceptableToken("*"));
-            }
-            return HttpHeaderReader.readAcceptToken(acceptCharset);
-        } catch (java.text.ParseException e) {
-            throw exception(HttpHeaders.ACCEPT_CHARSET, acceptCharset, e);
+        final String value = getHeaderString(HttpHeaders.ACCEPT_CHARSET);
+        if (value == null || value.length() == 0) {
+            return wildcardAcceptableTokens(HttpHeaders.ACCEPT_CHARSET);
+        }
+
+        ParsedHeader<List<AcceptableToken>> parsedHeader = acceptCharset;
+        if (parsedHeader == null || !parsedHeader.isParsedFrom(value)) {
+            parsedHeader = acceptCharset = parse(HttpHeaders.ACCEPT_CHARSET, value, ACCEPT_TOKEN_CACHE, ACCEPT_TOKEN_PARSER);
         }
+        return parsedHeader.parsed;
     }
 
     /**
@@ -502,15 +640,47 @@ public class InboundMessageContext {
      *         is ordered with the highest quality acceptable charset occurring first.
      */
     public List<AcceptableToken> getQualifiedAcceptEncoding() {
-        final String acceptEncoding = getHeaderString(HttpHeaders.ACCEPT_ENCODING);
+        final String value = getHeaderString(HttpHeaders.ACCEPT_ENCODING);
+        if (value == null || value.length() == 0) {
+            return wildcardAcceptableTokens(HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        ParsedHeader<List<AcceptableToken>> parsedHeader = acceptEncoding;
+        if (parsedHeader == null || !parsedHeader.isParsedFrom(value)) {
+            parsedHeader = acceptEncoding = parse(HttpHeaders.ACCEPT_ENCODING, value, ACCEPT_TOKEN_CACHE, ACCEPT_TOKEN_PARSER);
+        }
+        return parsedHeader.parsed;
+    }
+
+    private static List<AcceptableToken> wildcardAcceptableTokens(final String name) {
         try {
-            if (acceptEncoding == null || acceptEncoding.length() == 0) {
-                return Collections.singletonList(new AcceptableToken("*"));
+            return Collections.singletonList(new AcceptableToken("*"));
+        } catch (ParseException e) {
+            throw exception(name, "*", e);
+        }
+    }
+
+    /**
+     * Parse the header value using the global cache of parsed header values.
+     *
+     * @param name   header name.
+     * @param value  raw header value.
+     * @param cache  cache of parsed header values.
+     * @param parser header value parser.
+     * @return parsed header value.
+     */
+    private static <T> ParsedHeader<T> parse(final String name, final String value,
+                                             final HeaderValueCache<T> cache, final HeaderParser<T> parser) {
+        T parsed = cache.get(value);
+        if (parsed == null) {
+            try {
+                parsed = parser.parse(value);
+            } catch (ParseException e) {
+                throw exception(name, value, e);
             }
-            return HttpHeaderReader.readAcceptToken(acceptEncoding);
-        } catch (java.text.ParseException e) {
-            throw exception("Accept-Encoding", acceptEncoding, e);
+            cache.put(value, parsed);
         }
+        return new ParsedHeader<T>(value, parsed);
     }
 
     /**
@@ -43,6 +43,8 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
 
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.InterceptorContext;
@@ -51,6 +53,8 @@ import javax.ws.rs.ext.WriterInterceptorContext;
 
 import org.glassfish.jersey.internal.PropertiesDelegate;
 
+import com.google.common.collect.Lists;
+
 /**
  * Abstract class with implementation of {@link InterceptorContext} which is common for {@link ReaderInterceptorContext}
  * and {@link WriterInterceptorContext} implementations.
@@ -85,6 +89,21 @@ abstract class InterceptorExecutor implements InterceptorContext {
         this.propertiesDelegate = propertiesDelegate;
     }
 
+    /**
+     * Get the interceptors as a list with a fast indexed access. Lists with a random access (such as the
+     * interceptor lists precomputed by the client and server runtime) are used directly, other iterables are copied.
+     *
+     * @param interceptors interceptors.
+     * @param <T>          interceptor type.
+     * @return interceptors in a list supporting a fast indexed access.
+     */
+    static <T> List<T> asRandomAccessList(final Iterable<T> interceptors) {
+        if (interceptors instanceof List && interceptors instanceof RandomAccess) {
+            return (List<T>) interceptors;
+        }
+        return Lists.newArrayList(interceptors);
+    }
+
     @Override
     public Object getProperty(String name) {
         return propertiesDelegate.getProperty(name);
@@ -48,6 +48,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -983,6 +984,12 @@ public class MessageBodyFactory implements MessageBodyWorkers {
                            Iterable<ReaderInterceptor> readerInterceptors,
                            boolean translateNce) throws WebApplicationException, IOException {
 
+        if (isEmpty(readerInterceptors)) {
+            // no interceptors - read the entity directly without creating the interceptor chain
+            return ReaderInterceptorExecutor.readEntity(this, rawType, type, annotations, mediaType, httpHeaders,
+                    entityStream, translateNce);
+        }
+
         ReaderInterceptorExecutor executor = new ReaderInterceptorExecutor(rawType, type, annotations, mediaType,
                 httpHeaders, propertiesDelegate, entityStream, this, readerInterceptors, translateNce);
         return executor.proceed();
@@ -1000,10 +1007,21 @@ public class MessageBodyFactory implements MessageBodyWorkers {
                                 Iterable<WriterInterceptor> writerInterceptors)
             throws IOException, WebApplicationException {
 
+        if (isEmpty(writerInterceptors)) {
+            // no interceptors - write the entity directly without creating the interceptor chain
+            WriterInterceptorExecutor.writeEntity(this, t, rawType, type, annotations, mediaType, httpHeaders, entityStream);
+            return entityStream;
+        }
+
         WriterInterceptorExecutor executor = new WriterInterceptorExecutor(t, rawType, type, annotations, mediaType,
                 httpHeaders, propertiesDelegate, entityStream, this, writerInterceptors);
         executor.proceed();
 
         return executor.getOutputStream();
     }
+
+    private static boolean isEmpty(final Iterable<?> interceptors) {
+        return (interceptors instanceof Collection) ? ((Collection<?>) interceptors).isEmpty()
+                : !interceptors.iterator().hasNext();
+    }
 }
@@ -0,0 +1,276 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.message.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.glassfish.jersey.internal.util.collection.StringKeyIgnoreCaseMultivaluedMap;
+
+/**
+ * Inbound message headers that are read lazily from a native header store of an underlying
+ * container (e.g. Grizzly request headers or {@code HttpServletRequest} headers).
+ * <p>
+ * Headers are looked up in the {@link Source header source} only when a particular header is requested
+ * via {@link #get(Object)}, {@link #getFirst(Object)} or {@link #containsKey(Object)}. A requested header
+ * is copied into an internal case-insensitive map so that the returned value list can be modified as usual.
+ * Any mutation of the map or any operation that needs all the headers (e.g. {@link #keySet()},
+ * {@link #entrySet()} or {@link #size()}) copies all remaining headers from the source; from that moment
+ * on the source is not used anymore.
+ * </p>
+ * <p>
+ * The header source must be case-insensitive with respect to header names and must not change while
+ * the headers are in use. Instances of this class are not thread-safe; the headers should be
+ * {@link #detach() detached} from the source before they are handed over to another thread.
+ * </p>
+ */
+public final class ReadThroughHeaders implements MultivaluedMap<String, String> {
+
+    /**
+     * Native header store of a container.
+     */
+    public static interface Source {
+
+        /**
+         * Get names of all headers in the store.
+         *
+         * @return header names.
+         */
+        public Iterable<String> getHeaderNames();
+
+        /**
+         * Get values of the header of a given (case-insensitive) name.
+         *
+         * @param name header name.
+         * @return header values, empty iterable if the header is not present.
+         */
+        public Iterable<String> getHeaderValues(String name);
+    }
+
+    private final MultivaluedMap<String, String> headers = new StringKeyIgnoreCaseMultivaluedMap<String>();
+    private Source source;
+
+    /**
+     * Create new read-through headers.
+     *
+     * @param source native header store to read the headers from.
+     */
+    public ReadThroughHeaders(final Source source) {
+        this.source = source;
+    }
+
+    /**
+     * Check whether all the headers have been copied from the header source.
+     *
+     * @return {@code true} if the headers are no longer read from the header source.
+     */
+    public boolean isMaterialized() {
+        return source == null;
+    }
+
+    /**
+     * Copy all the remaining headers from the header source and stop reading from it.
+     * <p>
+     * The method must be invoked before the header source is released (recycled) by the container or before
+     * the headers are accessed from a thread other than the container thread, e.g. when the request processing
+     * is suspended.
+     * </p>
+     */
+    public void detach() {
+        materialize();
+    }
+
+    private List<String> read(final Object key) {
+        if (source != null && key instanceof String && !headers.containsKey(key)) {
+            final List<String> values = values(source, (String) key);
+            if (values != null) {
+                headers.put((String) key, values);
+            }
+            return values;
+        }
+        return headers.get(key);
+    }
+
+    private MultivaluedMap<String, String> materialize() {
+        if (source != null) {
+            for (String name : source.getHeaderNames()) {
+                if (!headers.containsKey(name)) {
+                    final List<String> values = values(source, name);
+                    if (values != null) {
+                        headers.put(name, values);
+                    }
+                }
+            }
+            source = null;
+        }
+        return headers;
+    }
+
+    private static List<String> values(final Source source, final String name) {
+        List<String> result = null;
+        for (String value : source.getHeaderValues(name)) {
+            if (value != null) { // filter out null values
+                if (result == null) {
+                    result = new ArrayList<String>(1);
+                }
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> get(Object key) {
+        return read(key);
+    }
+
+    @Override
+    public String getFirst(String key) {
+        final List<String> values = read(key);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return read(key) != null || headers.containsKey(key);
+    }
+
+    @Override
+    public void putSingle(String key, String value) {
+        materialize().putSingle(key, value);
+    }
+
+    @Override
+    public void add(String key, String value) {
+        materialize().add(key, value);
+    }
+
+    @Override
+    public void addAll(String key, String... newValues) {
+        materialize().addAll(key, newValues);
+    }
+
+    @Override
+    public void addAll(String key, List<String> valueList) {
+        materialize().addAll(key, valueList);
+    }
+
+    @Override
+    public void addFirst(String key, String value) {
+        materialize().addFirst(key, value);
+    }
+
+    @Override
+    public boolean equalsIgnoreValueOrder(MultivaluedMap<String, String> otherMap) {
+        return materialize().equalsIgnoreValueOrder(otherMap);
+    }
+
+    @Override
+    public int size() {
+        return materialize().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return materialize().isEmpty();
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return materialize().containsValue(value);
+    }
+
+    @Override
+    public List<String> put(String key, List<String> value) {
+        return materialize().put(key, value);
+    }
+
+    @Override
+    public List<String> remove(Object key) {
+        return materialize().remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends List<String>> m) {
+        materialize().putAll(m);
+    }
+
+    @Override
+    public void clear() {
+        source = null;
+        headers.clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return materialize().keySet();
+    }
+
+    @Override
+    public Collection<List<String>> values() {
+        return materialize().values();
+    }
+
+    @Override
+    public Set<Entry<String, List<String>>> entrySet() {
+        return materialize().entrySet();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || materialize().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return materialize().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return materialize().toString();
+    }
+}
@@ -43,12 +43,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.util.Iterator;
 import java.util.List;
 
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.ProcessingException;
-import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
@@ -61,13 +59,11 @@ import org.glassfish.jersey.internal.LocalizationMessages;
 import org.glassfish.jersey.internal.PropertiesDelegate;
 import org.glassfish.jersey.message.MessageBodyWorkers;
 
-import com.google.common.collect.Lists;
-
 /**
  * Represents reader interceptor chain executor for both client and server side.
- * It constructs wrapped interceptor chain and invokes it. At the end of the chain
- * a {@link MessageBodyReader message body reader} execution interceptor is inserted,
- * which finally reads an entity from the output stream provided by the chain.
+ * It invokes the interceptors one by one and once the end of the chain is reached,
+ * a {@link MessageBodyReader message body reader} is resolved and used to finally read
+ * an entity from the input stream provided by the chain.
  *
  * @author Miroslav Fuksa (miroslav.fuksa at oracle.com)
  * @author Jakub Podlesak (jakub.podlesak at oracle.com)
@@ -77,9 +73,10 @@ public final class ReaderInterceptorExecutor extends InterceptorExecutor impleme
     private InputStream inputStream;
     private final MultivaluedMap<String, String> headers;
 
-    private final Iterator<ReaderInterceptor> interceptors;
+    private final List<ReaderInterceptor> interceptors;
     private final MessageBodyWorkers workers;
     private final boolean translateNce;
+    private int index;
 
     /**
      * Constructs a new executor to read given type from provided {@link InputStream entityStream}.
@@ -113,10 +110,7 @@ public final class ReaderInterceptorExecutor extends InterceptorExecutor impleme
         this.workers = workers;
         this.translateNce = translateNce;
 
-        final List<ReaderInterceptor> effectiveInterceptors = Lists.newArrayList(readerInterceptors);
-        effectiveInterceptors.add(new TerminalReaderInterceptor());
-
-        this.interceptors = effectiveInterceptors.iterator();
+        this.interceptors = asRandomAccessList(readerInterceptors);
     }
 
     /**
@@ -127,11 +121,17 @@ public final class ReaderInterceptorExecutor extends InterceptorExecutor impleme
     @Override
     @SuppressWarnings("unchecked")
     public Object proceed() throws IOException {
-        if (!interceptors.hasNext()) {
+        final int current = index++;
+        final int size = interceptors.size();
+
+        if (current < size) {
+            return interceptors.get(current).aroundReadFrom(this);
+        } else if (current == size) {
+            return readEntity(workers, getType(), getGenericType(), getAnnotations(), getMediaType(), headers, inputStream,
+                    translateNce);
+        } else {
             throw new ProcessingException(LocalizationMessages.ERROR_INTERCEPTOR_READER_PROCEED());
         }
-
-        return interceptors.next().aroundReadFrom(this);
     }
 
     @Override
@@ -151,48 +151,56 @@ public final class ReaderInterceptorExecutor extends InterceptorExecutor impleme
     }
 
     /**
-     * Terminal reader interceptor which choose the appropriate {@link MessageBodyReader}
-     * and reads the entity from the input stream. The order of actions is the following: <br>
-     * 1. choose the appropriate {@link MessageBodyReader} <br>
-     * 3. reads the entity from the output stream <br>
+     * Choose the appropriate {@link MessageBodyReader} and read the entity from the input stream. This is the
+     * terminal step of the reader interceptor chain, it is invoked directly if there are no reader interceptors
+     * to be executed.
+     *
+     * @param workers      message body workers.
+     * @param rawType      raw Java entity type.
+     * @param type         generic Java entity type.
+     * @param annotations  annotations on the declaration of the artifact that will be initialized with the entity.
+     * @param mediaType    media type of the HTTP entity.
+     * @param headers      message headers.
+     * @param inputStream  entity input stream.
+     * @param translateNce if {@code true}, the {@link NoContentException} thrown by a selected message body
+     *                     reader will be translated into a {@link BadRequestException}.
+     * @return an entity read from the stream.
+     * @throws IOException in case of an I/O error while reading the entity.
      */
-    private class TerminalReaderInterceptor implements ReaderInterceptor {
-
-        @Override
-        @SuppressWarnings("unchecked")
-        public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException, WebApplicationException {
-            final MessageBodyReader bodyReader = workers.getMessageBodyReader(context.getType(), context.getGenericType(),
-                    context.getAnnotations(), context.getMediaType());
-
-            final EntityInputStream input = new EntityInputStream(context.getInputStream());
-
-            if (bodyReader == null) {
-                if (input.isEmpty() && !context.getHeaders().containsKey(HttpHeaders.CONTENT_TYPE)) {
-                    return null;
-                } else {
-                    throw new MessageBodyProviderNotFoundException(LocalizationMessages.ERROR_NOTFOUND_MESSAGEBODYREADER(
-                            context.getMediaType(), context.getType(), context.getGenericType()));
-                }
-            }
+    @SuppressWarnings("unchecked")
+    static Object readEntity(final MessageBodyWorkers workers, final Class<?> rawType, final Type type,
+                             final Annotation[] annotations, final MediaType mediaType,
+                             final MultivaluedMap<String, String> headers, final InputStream inputStream,
+                             final boolean translateNce) throws IOException {
+
+        final MessageBodyReader bodyReader = workers.getMessageBodyReader(rawType, type, annotations, mediaType);
 
-            Object entity;
-            if (translateNce) {
-                try {
-                    entity = bodyReader.readFrom(context.getType(), context.getGenericType(), context.getAnnotations(),
-                            context.getMediaType(), context.getHeaders(), input);
-                } catch (NoContentException ex) {
-                    throw new BadRequestException(ex);
-                }
+        final EntityInputStream input = new EntityInputStream(inputStream);
 
+        if (bodyReader == null) {
+            if (input.isEmpty() && !headers.containsKey(HttpHeaders.CONTENT_TYPE)) {
+                return null;
             } else {
-                entity = bodyReader.readFrom(context.getType(), context.getGenericType(), context.getAnnotations(),
-                        context.getMediaType(), context.getHeaders(), input);
+                throw new MessageBodyProviderNotFoundException(LocalizationMessages.ERROR_NOTFOUND_MESSAGEBODYREADER(
+                        mediaType, rawType, type));
             }
+        }
 
-            if (bodyReader instanceof CompletableReader) {
-                entity = ((CompletableReader) bodyReader).complete(entity);
+        Object entity;
+        if (translateNce) {
+            try {
+                entity = bodyReader.readFrom(rawType, type, annotations, mediaType, headers, input);
+            } catch (NoContentException ex) {
+                throw new BadRequestException(ex);
             }
-            return entity;
+
+        } else {
+            entity = bodyReader.readFrom(rawType, type, annotations, mediaType, headers, input);
+        }
+
+        if (bodyReader instanceof CompletableReader) {
+            entity = ((CompletableReader) bodyReader).complete(entity);
         }
+        return entity;
     }
 }
@@ -0,0 +1,210 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+
+/**
+ * Buffer of an entity received in chunks, e.g. by a non-blocking container I/O callback.
+ * <p>
+ * Data up to the configured memory threshold are kept in memory, the rest of the entity is spooled to
+ * a temporary file. Once all the data have been {@link #write(byte[], int, int) written} and the buffer has been
+ * {@link #close() closed}, the buffered entity can be read from the {@link #getInputStream() entity input stream}.
+ * The temporary file is deleted when the entity input stream is closed or when the buffer is {@link #release()
+ * released}, whichever comes first.
+ * </p>
+ * <p>
+ * The entity is expected to be written by one thread at a time and read only after it has been completely
+ * written; the buffer may be {@link #release() released} from any thread.
+ * </p>
+ */
+public final class SpooledEntityBuffer extends OutputStream {
+
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+
+    private final int memoryThreshold;
+
+    private byte[] buffer = new byte[0];
+    private int count;
+    private File file;
+    private OutputStream fileStream;
+    private boolean closed;
+    private boolean released;
+
+    /**
+     * Create new entity buffer.
+     *
+     * @param memoryThreshold maximal number of bytes kept in memory.
+     */
+    public SpooledEntityBuffer(final int memoryThreshold) {
+        this.memoryThreshold = memoryThreshold;
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public synchronized void write(final byte[] b, int off, int len) throws IOException {
+        if (closed || released) {
+            throw new IOException("Entity buffer has already been closed.");
+        }
+
+        final int inMemory = Math.min(len, memoryThreshold - count);
+        if (inMemory > 0) {
+            if (count + inMemory > buffer.length) {
+                buffer = Arrays.copyOf(buffer,
+                        Math.min(memoryThreshold, Math.max(count + inMemory, Math.max(INITIAL_BUFFER_SIZE, count * 2))));
+            }
+            System.arraycopy(b, off, buffer, count, inMemory);
+            count += inMemory;
+            off += inMemory;
+            len -= inMemory;
+        }
+
+        if (len > 0) {
+            spool(b, off, len);
+        }
+    }
+
+    private void spool(final byte[] b, final int off, final int len) throws IOException {
+        if (fileStream == null) {
+            file = File.createTempFile("jersey-entity", null);
+            fileStream = new BufferedOutputStream(new FileOutputStream(file));
+        }
+        fileStream.write(b, off, len);
+    }
+
+    /**
+     * Get the number of bytes kept in memory.
+     *
+     * @return number of buffered bytes that have not been spooled to a file.
+     */
+    public synchronized int getMemorySize() {
+        return count;
+    }
+
+    /**
+     * Get information whether a part of the entity has been spooled to a temporary file.
+     *
+     * @return {@code true} if the entity exceeded the memory threshold.
+     */
+    public synchronized boolean isSpooled() {
+        return file != null;
+    }
+
+    /**
+     * Finish writing the entity.
+     *
+     * @throws IOException in case the spooled data cannot be written to the temporary file.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (fileStream != null) {
+            fileStream.close();
+        }
+    }
+
+    /**
+     * Get the input stream of the buffered entity. Closing the returned stream releases the buffer.
+     *
+     * @return buffered entity input stream.
+     * @throws IOException in case the spooled data cannot be read.
+     */
+    public synchronized InputStream getInputStream() throws IOException {
+        if (released) {
+            throw new IOException("Entity buffer has already been released.");
+        }
+        close();
+
+        final InputStream memoryStream = new ByteArrayInputStream(buffer, 0, count);
+        if (file == null) {
+            return memoryStream;
+        }
+
+        return new FilterInputStream(new SequenceInputStream(memoryStream, new FileInputStream(file))) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    release();
+                }
+            }
+        };
+    }
+
+    /**
+     * Release the buffered data and delete the temporary file the entity has been spooled to, if any.
+     */
+    public synchronized void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        buffer = new byte[0];
+        count = 0;
+        if (fileStream != null) {
+            try {
+                fileStream.close();
+            } catch (IOException e) {
+                // ignored, the file is deleted
+            }
+        }
+        if (file != null) {
+            file.delete();
+        }
+    }
+}
@@ -44,7 +44,6 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.util.Iterator;
 import java.util.List;
 
 import javax.ws.rs.ProcessingException;
@@ -59,13 +58,11 @@ import org.glassfish.jersey.internal.LocalizationMessages;
 import org.glassfish.jersey.internal.PropertiesDelegate;
 import org.glassfish.jersey.message.MessageBodyWorkers;
 
-import com.google.common.collect.Lists;
-
 /**
  * Represents writer interceptor chain executor for both client and server side.
- * It constructs wrapped interceptor chain and invokes it. At the end of the chain
- * a {@link MessageBodyWriter message body writer} execution interceptor is inserted,
- * which writes entity to the output stream provided by the chain.
+ * It invokes the interceptors one by one and once the end of the chain is reached,
+ * a {@link MessageBodyWriter message body writer} is resolved and used to write
+ * the entity to the output stream provided by the chain.
  *
  * @author Miroslav Fuksa (miroslav.fuksa at oracle.com)
  * @author Jakub Podlesak (jakub.podlesak at oracle.com)
@@ -76,7 +73,9 @@ public final class WriterInterceptorExecutor extends InterceptorExecutor impleme
     private final MultivaluedMap<String, Object> headers;
     private Object entity;
 
-    private final Iterator<WriterInterceptor> iterator;
+    private final List<WriterInterceptor> interceptors;
+    private final MessageBodyWorkers workers;
+    private int index;
 
     /**
      * Constructs a new executor to write given type to provided {@link InputStream entityStream}.
@@ -108,35 +107,44 @@ public final class WriterInterceptorExecutor extends InterceptorExecutor impleme
         this.headers = headers;
         this.outputStream = entityStream;
 
-        final List<WriterInterceptor> effectiveInterceptors = Lists.newArrayList(writerInterceptors);
-        effectiveInterceptors.add(new TerminalWriterInterceptor(workers));
-
-        this.iterator = effectiveInterceptors.iterator();
+        this.workers = workers;
+        this.interceptors = asRandomAccessList(writerInterceptors);
     }
 
     /**
      * Returns next {@link WriterInterceptor interceptor} in the chain. Stateful method.
      *
-     * @return Next interceptor.
+     * @return Next interceptor or {@code null} if there are no more interceptors in the chain.
      */
     public WriterInterceptor getNextInterceptor() {
-        if (!iterator.hasNext()) {
+        final int current = index++;
+        final int size = interceptors.size();
+
+        if (current < size) {
+            return interceptors.get(current);
+        } else if (current == size) {
+            return new TerminalWriterInterceptor(workers);
+        } else {
             return null;
         }
-        return iterator.next();
     }
 
     /**
      * Starts the interceptor chain execution.
      */
     @Override
-    @SuppressWarnings("unchecked")
     public void proceed() throws IOException {
-        WriterInterceptor nextInterceptor = getNextInterceptor();
-        if (nextInterceptor == null) {
+        final int current = index++;
+        final int size = interceptors.size();
+
+        if (current < size) {
+            interceptors.get(current).aroundWriteTo(this);
+        } else if (current == size) {
+            writeEntity(workers, entity, getType(), getGenericType(), getAnnotations(), getMediaType(), headers,
+                    outputStream);
+        } else {
             throw new ProcessingException(LocalizationMessages.ERROR_INTERCEPTOR_WRITER_PROCEED());
         }
-        nextInterceptor.aroundWriteTo(this);
     }
 
     @Override
@@ -166,12 +174,38 @@ public final class WriterInterceptorExecutor extends InterceptorExecutor impleme
     }
 
     /**
-     * Terminal writer interceptor which choose the appropriate {@link MessageBodyWriter}
-     * and writes the entity to the output stream. The order of actions is the following: <br>
-     * 1. choose the appropriate {@link MessageBodyWriter} <br>
-     * 2. if callback is defined then it retrieves size and passes it to the callback <br>
-     * 3. writes the entity to the output stream <br>
+     * Choose the appropriate {@link MessageBodyWriter} and write the entity to the output stream. This is the
+     * terminal step of the writer interceptor chain, it is invoked directly if there are no writer interceptors
+     * to be executed.
      *
+     * @param workers      message body workers.
+     * @param entity       entity to be written.
+     * @param rawType      raw Java entity type.
+     * @param type         generic Java entity type.
+     * @param annotations  annotations attached to the entity.
+     * @param mediaType    media type of the HTTP entity.
+     * @param headers      mutable HTTP headers associated with HTTP entity.
+     * @param outputStream entity output stream.
+     * @throws IOException in case of an I/O error while writing the entity.
+     */
+    @SuppressWarnings("unchecked")
+    static void writeEntity(final MessageBodyWorkers workers, final Object entity, final Class<?> rawType, final Type type,
+                            final Annotation[] annotations, final MediaType mediaType,
+                            final MultivaluedMap<String, Object> headers, final OutputStream outputStream)
+            throws IOException {
+
+        final MessageBodyWriter writer = workers.getMessageBodyWriter(rawType, type, annotations, mediaType);
+        if (writer == null) {
+            throw new MessageBodyProviderNotFoundException(LocalizationMessages.ERROR_NOTFOUND_MESSAGEBODYWRITER(
+                    mediaType, rawType, type));
+        }
+        writer.writeTo(entity, rawType, type, annotations, mediaType, headers, outputStream);
+    }
+
+    /**
+     * Terminal writer interceptor which writes the entity using the appropriate {@link MessageBodyWriter}.
+     * It is only returned from {@link #getNextInterceptor()}, the chain execution itself invokes
+     * {@link #writeEntity} directly.
      */
     private static class TerminalWriterInterceptor implements WriterInterceptor {
         private final MessageBodyWorkers workers;
@@ -182,18 +216,9 @@ public final class WriterInterceptorExecutor extends InterceptorExecutor impleme
         }
 
         @Override
-        @SuppressWarnings("unchecked")
         public void aroundWriteTo(WriterInterceptorContext context) throws WebApplicationException, IOException {
-
-            final MessageBodyWriter writer = workers.getMessageBodyWriter(context.getType(), context.getGenericType(),
-                    context.getAnnotations(), context.getMediaType());
-            if (writer == null) {
-                throw new MessageBodyProviderNotFoundException(LocalizationMessages.ERROR_NOTFOUND_MESSAGEBODYWRITER(
-                        context.getMediaType(), context.getType(), context.getGenericType()));
-            }
-            writer.writeTo(context.getEntity(), context.getType(), context.getGenericType(), context.getAnnotations(),
+            writeEntity(workers, context.getEntity(), context.getType(), context.getGenericType(), context.getAnnotations(),
                     context.getMediaType(), context.getHeaders(), context.getOutputStream());
         }
     }
-
 }
@@ -41,6 +41,7 @@ package org.glassfish.jersey.uri;
 
 import java.net.URI;
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Deque;
@@ -54,6 +55,8 @@ import java.util.regex.PatternSyntaxException;
 import org.glassfish.jersey.uri.internal.UriTemplateParser;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 /**
  * A URI template.
@@ -135,6 +138,16 @@ public class UriTemplate {
      * The regular expression for matching URI templates and names.
      */
     private static final Pattern TEMPLATE_NAMES_PATTERN = Pattern.compile("\\{(\\w[-\\w\\.]*)\\}");
+    /**
+     * Maximum number of {@link ComponentTemplate parsed URI component templates} kept in the
+     * {@link #COMPONENT_TEMPLATES cache}.
+     */
+    private static final int MAX_CACHED_COMPONENT_TEMPLATES = 1000;
+    /**
+     * Cache of parsed URI component templates keyed by the raw (not normalized) template string.
+     */
+    private static final Cache<String, ComponentTemplate> COMPONENT_TEMPLATES =
+            CacheBuilder.newBuilder().maximumSize(MAX_CACHED_COMPONENT_TEMPLATES).build();
     /**
      * The empty URI template that matches the null or empty URI path.
      */
@@ -803,7 +816,8 @@ public class UriTemplate {
             final String path, final String query, final String fragment, final String[] values, final boolean encode,
             final boolean encodeSlashInPath, final Map<String, ?> mapValues) {
 
-        final StringBuilder sb = new StringBuilder();
+        final StringBuilder sb = new StringBuilder(estimateLength(scheme, authority, userInfo, host, port, path, query,
+                fragment));
         int offset = 0;
 
         if (scheme != null) {
@@ -880,13 +894,12 @@ public class UriTemplate {
         }
 
         // Find all template variables
-        template = new UriTemplateParser(template).getNormalizedTemplate();
-        final Matcher m = TEMPLATE_NAMES_PATTERN.matcher(template);
+        final ComponentTemplate componentTemplate = getComponentTemplate(template);
+        final String[] names = componentTemplate.names;
         int v = offset;
-        int i = 0;
-        while (m.find()) {
-            b.append(template, i, m.start());
-            final String tVariable = m.group(1);
+        for (int i = 0; i < names.length; i++) {
+            b.append(componentTemplate.literals[i]);
+            final String tVariable = names[i];
             // Check if a template variable has already occurred
             // If so use the value to ensure that two or more declarations of
             // a template variable have the same value
@@ -905,9 +918,8 @@ public class UriTemplate {
             } else {
                 throw templateVariableHasNoValue(tVariable);
             }
-            i = m.end();
         }
-        b.append(template, i, template.length());
+        b.append(componentTemplate.literals[names.length]);
         return v;
     }
 
@@ -934,16 +946,14 @@ public class UriTemplate {
         }
 
         Map<String, Object> mapValues = (Map<String, Object>) _mapValues;
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = new StringBuilder(template.length());
 
         // Find all template variables
-        template = new UriTemplateParser(template).getNormalizedTemplate();
-        final Matcher m = TEMPLATE_NAMES_PATTERN.matcher(template);
-
-        int i = 0;
-        while (m.find()) {
-            sb.append(template, i, m.start());
-            final String tVariable = m.group(1);
+        final ComponentTemplate componentTemplate = getComponentTemplate(template);
+        final String[] names = componentTemplate.names;
+        for (int i = 0; i < names.length; i++) {
+            sb.append(componentTemplate.literals[i]);
+            final String tVariable = names[i];
             Object tValue = mapValues.get(tVariable);
 
             if (tValue != null) {
@@ -959,16 +969,73 @@ public class UriTemplate {
                             + " is null.");
                 }
 
-                sb.append(m.group());
+                sb.append('{').append(tVariable).append('}');
             }
-            i = m.end();
         }
-        sb.append(template, i, template.length());
+        sb.append(componentTemplate.literals[names.length]);
         return sb.toString();
     }
 
+    /**
+     * Get the (possibly cached) parsed form of the URI component template.
+     *
+     * @param template URI component template containing template variables.
+     * @return parsed URI component template.
+     * @throws IllegalArgumentException if the template is not a valid URI template.
+     */
+    private static ComponentTemplate getComponentTemplate(final String template) {
+        ComponentTemplate componentTemplate = COMPONENT_TEMPLATES.getIfPresent(template);
+        if (componentTemplate == null) {
+            componentTemplate = new ComponentTemplate(new UriTemplateParser(template).getNormalizedTemplate());
+            COMPONENT_TEMPLATES.put(template, componentTemplate);
+        }
+        return componentTemplate;
+    }
+
+    private static int estimateLength(final String... components) {
+        int length = 16;
+        for (String component : components) {
+            if (component != null) {
+                length += component.length();
+            }
+        }
+        return length;
+    }
+
     private static IllegalArgumentException templateVariableHasNoValue(String tVariable) {
         return new IllegalArgumentException("The template variable, "
                 + tVariable + ", has no value");
     }
+
+    /**
+     * URI component template split into the literal parts and the template variable names, so that
+     * the template does not need to be parsed and matched again each time it is expanded.
+     */
+    private static final class ComponentTemplate {
+        /**
+         * Literal parts of the normalized template; there is always one more literal than template variables.
+         */
+        private final String[] literals;
+        /**
+         * Names of the template variables in the order of their occurrence in the template.
+         */
+        private final String[] names;
+
+        private ComponentTemplate(final String normalizedTemplate) {
+            final List<String> literalList = new ArrayList<String>();
+            final List<String> nameList = new ArrayList<String>();
+
+            final Matcher m = TEMPLATE_NAMES_PATTERN.matcher(normalizedTemplate);
+            int i = 0;
+            while (m.find()) {
+                literalList.add(normalizedTemplate.substring(i, m.start()));
+                nameList.add(m.group(1));
+                i = m.end();
+            }
+            literalList.add(normalizedTemplate.substring(i));
+
+            this.literals = literalList.toArray(new String[literalList.size()]);
+            this.names = nameList.toArray(new String[nameList.size()]);
+        }
+    }
 }
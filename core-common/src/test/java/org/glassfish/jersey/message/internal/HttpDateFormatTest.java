@@ -0,0 +1,103 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.message.internal;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link HttpDateFormat} unit tests.
+ */
+public class HttpDateFormatTest {
+
+    private static final long EXPECTED = 784111777000L;
+
+    @Test
+    public void testReadDateFormats() throws ParseException {
+        assertEquals(EXPECTED, HttpDateFormat.readDate("Sun, 06 Nov 1994 08:49:37 GMT").getTime());
+        assertEquals(EXPECTED, HttpDateFormat.readDate("Sunday, 06-Nov-94 08:49:37 GMT").getTime());
+        assertEquals(EXPECTED, HttpDateFormat.readDate("Sun Nov  6 08:49:37 1994").getTime());
+    }
+
+    @Test
+    public void testReadDateFallback() throws ParseException {
+        // non-GMT zone is handled by the SimpleDateFormat fallback
+        assertEquals(EXPECTED, HttpDateFormat.readDate("Sun, 06 Nov 1994 09:49:37 +0100").getTime());
+    }
+
+    @Test(expected = ParseException.class)
+    public void testReadInvalidDate() throws ParseException {
+        HttpDateFormat.readDate("Sun, 31 Feb 1994 08:49:37 XYZ");
+    }
+
+    @Test
+    public void testFormatDate() {
+        assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", HttpDateFormat.formatDate(new Date(EXPECTED)));
+        // same second -> cached value
+        assertEquals("Sun, 06 Nov 1994 08:49:37 GMT", HttpDateFormat.formatDate(new Date(EXPECTED + 999)));
+        assertEquals("Sun, 06 Nov 1994 08:49:38 GMT", HttpDateFormat.formatDate(new Date(EXPECTED + 1000)));
+    }
+
+    @Test
+    public void testFormatAndReadRoundTrip() throws ParseException {
+        final SimpleDateFormat rfc1123 = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss zzz", Locale.US);
+        rfc1123.setTimeZone(TimeZone.getTimeZone("GMT"));
+        final SimpleDateFormat asctime = new SimpleDateFormat("EEE MMM d HH:mm:ss yyyy", Locale.US);
+        asctime.setTimeZone(TimeZone.getTimeZone("GMT"));
+
+        final Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            final Date date = new Date((random.nextLong() % 4000000000000L) / 1000 * 1000);
+
+            final String formatted = HttpDateFormat.formatDate(date);
+            assertEquals(rfc1123.format(date), formatted);
+            assertEquals(date, HttpDateFormat.readDate(formatted));
+            assertEquals(date, HttpDateFormat.readDate(asctime.format(date)));
+        }
+    }
+}
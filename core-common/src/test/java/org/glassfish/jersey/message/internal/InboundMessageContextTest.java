@@ -44,18 +44,22 @@ import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Link;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.RuntimeDelegate;
 
 import org.glassfish.jersey.internal.TestRuntimeDelegate;
 
 import org.junit.Test;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import junit.framework.Assert;
@@ -214,4 +218,46 @@ public class InboundMessageContextTest {
         Assert.assertTrue(allowedMethods.contains("CCC"));
         Assert.assertTrue(allowedMethods.contains("DDD"));
     }
+
+    @Test
+    public void testParsedAcceptHeaderReused() {
+        final String accept = "text/html, application/xhtml+xml, application/xml;q=0.9, */*;q=0.8";
+
+        InboundMessageContext r = new InboundMessageContext();
+        r.header(HttpHeaders.ACCEPT, accept);
+        final List<AcceptableMediaType> types = r.getQualifiedAcceptableMediaTypes();
+        assertEquals(4, types.size());
+        assertEquals(MediaType.TEXT_HTML_TYPE, types.get(0));
+        assertSame(types, r.getQualifiedAcceptableMediaTypes());
+
+        // the same header value is parsed only once across messages
+        InboundMessageContext other = new InboundMessageContext();
+        other.header(HttpHeaders.ACCEPT, new String(accept));
+        assertSame(types, other.getQualifiedAcceptableMediaTypes());
+
+        // header change is reflected
+        r.getHeaders().putSingle(HttpHeaders.ACCEPT, "text/plain");
+        final List<AcceptableMediaType> changed = r.getQualifiedAcceptableMediaTypes();
+        assertNotSame(types, changed);
+        assertEquals(MediaType.TEXT_PLAIN_TYPE, changed.get(0));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testParsedAcceptHeaderImmutable() {
+        InboundMessageContext r = new InboundMessageContext();
+        r.header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        r.getQualifiedAcceptEncoding().clear();
+    }
+
+    @Test
+    public void testParsedMediaTypeReused() {
+        InboundMessageContext r = new InboundMessageContext();
+        r.header(HttpHeaders.CONTENT_TYPE, "application/json; charset=UTF-8");
+        final MediaType mediaType = r.getMediaType();
+        assertEquals("UTF-8", mediaType.getParameters().get(MediaType.CHARSET_PARAMETER));
+        assertSame(mediaType, r.getMediaType());
+
+        r.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, "text/plain");
+        assertEquals(MediaType.TEXT_PLAIN_TYPE, r.getMediaType());
+    }
 }
@@ -0,0 +1,164 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.message.internal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.glassfish.jersey.internal.util.collection.StringKeyIgnoreCaseMultivaluedMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ReadThroughHeaders} unit tests.
+ */
+public class ReadThroughHeadersTest {
+
+    private static class CountingSource implements ReadThroughHeaders.Source {
+
+        private final MultivaluedMap<String, String> store = new StringKeyIgnoreCaseMultivaluedMap<String>();
+        private int namesRead;
+        private int valuesRead;
+
+        @Override
+        public Iterable<String> getHeaderNames() {
+            namesRead++;
+            return store.keySet();
+        }
+
+        @Override
+        public Iterable<String> getHeaderValues(String name) {
+            valuesRead++;
+            final List<String> values = store.get(name);
+            return values == null ? Collections.<String>emptyList() : values;
+        }
+    }
+
+    private CountingSource source;
+    private ReadThroughHeaders headers;
+
+    @Before
+    public void setUp() {
+        source = new CountingSource();
+        source.store.addAll("Accept", "text/plain", "text/html");
+        source.store.add("Cookie", "a=b");
+        source.store.add("X-Null", null);
+        headers = new ReadThroughHeaders(source);
+    }
+
+    @Test
+    public void testReadThrough() {
+        assertEquals(Arrays.asList("text/plain", "text/html"), headers.get("accept"));
+        assertEquals("a=b", headers.getFirst("COOKIE"));
+        assertTrue(headers.containsKey("Cookie"));
+        assertNull(headers.get("X-Missing"));
+        assertFalse(headers.containsKey("X-Null"));
+
+        // header names are never read and each present header is read only once
+        assertEquals(0, source.namesRead);
+        assertEquals(Arrays.asList("text/plain", "text/html"), headers.get("Accept"));
+        assertEquals(4, source.valuesRead);
+        assertFalse(headers.isMaterialized());
+    }
+
+    @Test
+    public void testMaterializeOnMutation() {
+        headers.get("Accept").add("application/json");
+        headers.add("Cookie", "c=d");
+
+        assertTrue(headers.isMaterialized());
+        assertEquals(Arrays.asList("text/plain", "text/html", "application/json"), headers.get("Accept"));
+        assertEquals(Arrays.asList("a=b", "c=d"), headers.get("Cookie"));
+        assertEquals(2, headers.size());
+    }
+
+    @Test
+    public void testMaterializeOnView() {
+        assertEquals(2, headers.keySet().size());
+        assertTrue(headers.isMaterialized());
+
+        final MultivaluedMap<String, String> expected = new StringKeyIgnoreCaseMultivaluedMap<String>();
+        expected.addAll("Accept", "text/plain", "text/html");
+        expected.add("Cookie", "a=b");
+        for (Map.Entry<String, List<String>> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), headers.get(entry.getKey()));
+        }
+        assertTrue(headers.equalsIgnoreValueOrder(expected));
+    }
+
+    @Test
+    public void testDetach() {
+        final InboundMessageContext context = new InboundMessageContext();
+        context.headers(source);
+        assertEquals("a=b", context.getHeaderString("Cookie"));
+
+        context.detachHeaders();
+        assertTrue(((ReadThroughHeaders) context.getHeaders()).isMaterialized());
+
+        // the source is not accessed anymore
+        source.store.clear();
+        assertEquals(Arrays.asList("text/plain", "text/html"), context.getHeaders().get("Accept"));
+        assertEquals("a=b", context.getHeaderString("Cookie"));
+    }
+
+    @Test
+    public void testInboundMessageContext() {
+        final InboundMessageContext context = new InboundMessageContext();
+        context.headers(source);
+        assertTrue(context.getHeaders() instanceof ReadThroughHeaders);
+        assertEquals("text/plain", context.getHeaderString("Accept").split(",")[0]);
+
+        final InboundMessageContext nonEmpty = new InboundMessageContext();
+        nonEmpty.header("Accept", "application/xml");
+        nonEmpty.headers(source);
+        assertEquals(Arrays.asList("application/xml", "text/plain", "text/html"), nonEmpty.getHeaders().get("Accept"));
+        assertEquals(2, nonEmpty.getHeaders().size());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link SpooledEntityBuffer} tests.
+ */
+public class SpooledEntityBufferTest {
+
+    private static byte[] entity(final int size) {
+        final byte[] entity = new byte[size];
+        for (int i = 0; i < size; i++) {
+            entity[i] = (byte) i;
+        }
+        return entity;
+    }
+
+    private static byte[] read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReaderWriter.writeTo(in, out);
+        in.close();
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testEntityInMemory() throws IOException {
+        final SpooledEntityBuffer buffer = new SpooledEntityBuffer(100);
+        final byte[] entity = entity(100);
+        buffer.write(entity, 0, 60);
+        buffer.write(entity, 60, 40);
+
+        assertFalse(buffer.isSpooled());
+        assertEquals(100, buffer.getMemorySize());
+        assertArrayEquals(entity, read(buffer.getInputStream()));
+    }
+
+    @Test
+    public void testSpooledEntity() throws IOException {
+        final SpooledEntityBuffer buffer = new SpooledEntityBuffer(100);
+        final byte[] entity = entity(100000);
+        for (int i = 0; i < entity.length; i += 1000) {
+            buffer.write(entity, i, 1000);
+        }
+
+        assertTrue(buffer.isSpooled());
+        assertEquals(100, buffer.getMemorySize());
+        assertArrayEquals(entity, read(buffer.getInputStream()));
+
+        // closing the entity stream releases the buffer
+        try {
+            buffer.getInputStream();
+            fail("Released buffer must not be read.");
+        } catch (IOException expected) {
+            // ok
+        }
+    }
+
+    @Test
+    public void testReleasedBuffer() throws IOException {
+        final SpooledEntityBuffer buffer = new SpooledEntityBuffer(10);
+        buffer.write(entity(20), 0, 20);
+        buffer.release();
+
+        try {
+            buffer.write(1);
+            fail("Released buffer must not be written to.");
+        } catch (IOException expected) {
+            // ok
+        }
+    }
+}
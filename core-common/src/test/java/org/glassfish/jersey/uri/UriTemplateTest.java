@@ -446,4 +446,27 @@ public class UriTemplateTest {
 
         assertEquals(uri, t.createURI(variableMap));
     }
+
+    @Test
+    public void testRepeatedCreateURIWithCachedTemplates() {
+        // parsed component templates are cached -> repeated expansion must bind the new values
+        for (String value : new String[]{"fred", "barney", "wilma/betty", "a b"}) {
+            assertEquals("http://example.org/" + UriComponent.encode(value, UriComponent.Type.PATH_SEGMENT) + "/x?q="
+                    + UriComponent.encode(value, UriComponent.Type.QUERY_PARAM),
+                    UriTemplate.createURI("http", null, null, "example.org", null, "/{a: .+}/x", "q={a}", null,
+                            new Object[]{value}, true, true));
+        }
+    }
+
+    @Test
+    public void testResolveTemplateValuesWithCachedTemplates() {
+        final Map<String, Object> values = new HashMap<String, Object>();
+        values.put("a", "fred");
+
+        assertEquals("/fred/{b}", UriTemplate.resolveTemplateValues(UriComponent.Type.PATH, "/{a}/{b: \\d+}", false, values));
+        values.put("a", "barney");
+        assertEquals("/barney/{b}", UriTemplate.resolveTemplateValues(UriComponent.Type.PATH, "/{a}/{b: \\d+}", false, values));
+        values.put("b", "10");
+        assertEquals("/barney/10", UriTemplate.resolveTemplateValues(UriComponent.Type.PATH, "/{a}/{b: \\d+}", false, values));
+    }
 }
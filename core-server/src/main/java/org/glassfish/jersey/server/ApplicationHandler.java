@@ -49,6 +49,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -96,13 +97,16 @@ import org.glassfish.jersey.model.internal.RankedComparator.Order;
 import org.glassfish.jersey.model.internal.RankedProvider;
 import org.glassfish.jersey.process.internal.Stage;
 import org.glassfish.jersey.process.internal.Stages;
+import org.glassfish.jersey.server.internal.AdmissionController;
 import org.glassfish.jersey.server.internal.ConfigHelper;
+import org.glassfish.jersey.server.internal.InitializationExecutor;
 import org.glassfish.jersey.server.internal.JerseyRequestTimeoutHandler;
 import org.glassfish.jersey.server.internal.JerseyResourceContext;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.ProcessingProviders;
 import org.glassfish.jersey.server.internal.monitoring.ApplicationEventImpl;
 import org.glassfish.jersey.server.internal.monitoring.CompositeApplicationEventListener;
+import org.glassfish.jersey.server.internal.monitoring.InitializationPhaseEventImpl;
 import org.glassfish.jersey.server.internal.monitoring.MonitoringContainerListener;
 import org.glassfish.jersey.server.internal.routing.RoutedInflectorExtractorStage;
 import org.glassfish.jersey.server.internal.routing.Router;
@@ -116,6 +120,7 @@ import org.glassfish.jersey.server.model.ResourceModel;
 import org.glassfish.jersey.server.model.internal.ModelErrors;
 import org.glassfish.jersey.server.monitoring.ApplicationEvent;
 import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.InitializationPhaseEvent;
 import org.glassfish.jersey.server.spi.ComponentProvider;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 
@@ -329,6 +334,22 @@ public final class ApplicationHandler {
                 ServerProperties.RESOURCE_VALIDATION_DISABLE,
                 Boolean.FALSE,
                 Boolean.class);
+        final int parallelism = PropertiesHelper.getValue(runtimeConfig.getProperties(),
+                ServerProperties.INITIALIZATION_PARALLELISM,
+                1,
+                Integer.class);
+
+        final InitializationExecutor initializationExecutor = InitializationExecutor.create(parallelism);
+        try {
+            initialize(initializationExecutor, ignoreValidationErrors, disableValidation);
+        } finally {
+            initializationExecutor.shutdown();
+        }
+    }
+
+    private void initialize(final InitializationExecutor initializationExecutor,
+                            final boolean ignoreValidationErrors,
+                            final boolean disableValidation) {
 
         final ResourceBag resourceBag;
         final ProcessingProviders processingProviders;
@@ -336,6 +357,8 @@ public final class ApplicationHandler {
         final ComponentBag componentBag;
         ResourceModel resourceModel;
         CompositeApplicationEventListener compositeListener = null;
+        final long introspectionDuration;
+        final long validationDuration;
 
 
         Errors.mark(); // mark begin of validation phase
@@ -357,29 +380,29 @@ public final class ApplicationHandler {
             }
 
             // Introspecting classes & instances
-            for (Class<?> c : runtimeConfig.getClasses()) {
-                try {
-                    Resource resource = Resource.from(c, disableValidation);
-                    if (resource != null) {
-                        resourceBagBuilder.registerResource(c, resource);
-                    }
-                } catch (IllegalArgumentException ex) {
-                    LOGGER.warning(ex.getMessage());
+            final long introspectionStart = System.nanoTime();
+            final List<Class<?>> classes = Lists.newArrayList(runtimeConfig.getClasses());
+            final List<Resource> classResources = introspect(initializationExecutor, classes, disableValidation);
+            for (int i = 0; i < classes.size(); i++) {
+                if (classResources.get(i) != null) {
+                    resourceBagBuilder.registerResource(classes.get(i), classResources.get(i));
                 }
             }
 
-            for (Object o : runtimeConfig.getSingletons()) {
-                try {
-                    Resource resource = Resource.from(o.getClass(), disableValidation);
-                    if (resource != null) {
-                        resourceBagBuilder.registerResource(o, resource);
-                    }
-                } catch (IllegalArgumentException ex) {
-                    LOGGER.warning(ex.getMessage());
+            final List<Object> singletons = Lists.newArrayList(runtimeConfig.getSingletons());
+            final List<Class<?>> singletonClasses = Lists.newArrayListWithCapacity(singletons.size());
+            for (Object o : singletons) {
+                singletonClasses.add(o.getClass());
+            }
+            final List<Resource> singletonResources = introspect(initializationExecutor, singletonClasses, disableValidation);
+            for (int i = 0; i < singletons.size(); i++) {
+                if (singletonResources.get(i) != null) {
+                    resourceBagBuilder.registerResource(singletons.get(i), singletonResources.get(i));
                 }
             }
 
             resourceBag = resourceBagBuilder.build();
+            introspectionDuration = elapsedMillis(introspectionStart);
 
             runtimeConfig.lock();
 
@@ -405,6 +428,10 @@ public final class ApplicationHandler {
                 compositeListener.onEvent(new ApplicationEventImpl(ApplicationEvent.Type.INITIALIZATION_START,
                         this.runtimeConfig, componentBag.getRegistrations(), resourceBag.classes, resourceBag.instances,
                         null));
+                compositeListener.onEvent(new InitializationPhaseEventImpl(
+                        InitializationPhaseEvent.Phase.RESOURCE_INTROSPECTION, introspectionDuration,
+                        this.runtimeConfig, componentBag.getRegistrations(), resourceBag.classes, resourceBag.instances,
+                        null));
             }
 
             processingProviders = getProcessingProviders(componentBag);
@@ -415,13 +442,15 @@ public final class ApplicationHandler {
             final Ref<ProcessingProviders> refProcessingProvider = locator.getService(refGenericType.getType());
             refProcessingProvider.set(processingProviders);
 
+            final long validationStart = System.nanoTime();
             resourceModel = new ResourceModel.Builder(resourceBag.getRootResources(), false).build();
             resourceModel = processResourceModel(resourceModel);
 
             if (!disableValidation) {
                 final ComponentModelValidator validator = new ComponentModelValidator(locator);
-                validator.validate(resourceModel);
+                validator.validate(resourceModel, initializationExecutor);
             }
+            validationDuration = elapsedMillis(validationStart);
 
             if (Errors.fatalIssuesFound() && !ignoreValidationErrors) {
                 throw new ModelValidationException(LocalizationMessages.RESOURCE_MODEL_VALIDATION_FAILED_AT_INIT(),
@@ -451,7 +480,10 @@ public final class ApplicationHandler {
          * Root hierarchical request matching acceptor.
          * Invoked in a single linear stage as part of the main linear accepting chain.
          */
-        final Router resourceRoutingRoot = runtimeModelBuilder.buildModel(resourceModel.getRuntimeResourceModel(), false);
+        final long routerBuildingStart = System.nanoTime();
+        final Router resourceRoutingRoot = runtimeModelBuilder.buildModel(resourceModel.getRuntimeResourceModel(), false,
+                initializationExecutor);
+        final long routerBuildingDuration = elapsedMillis(routerBuildingStart);
 
         final ContainerFilteringStage preMatchRequestFilteringStage =
                 locator.createAndInitialize(ContainerFilteringStage.Builder.class).build(processingProviders.getPreMatchFilters(),
@@ -463,14 +495,25 @@ public final class ApplicationHandler {
                         .build(processingProviders.getGlobalRequestFilters(), null);
         final RoutedInflectorExtractorStage routedInflectorExtractorStage =
                 locator.createAndInitialize(RoutedInflectorExtractorStage.class);
+        final AdmissionController admissionController = locator.getService(AdmissionController.class);
+        final Function<ContainerRequest, ContainerRequest> globalAdmissionStage =
+                admissionController.getGlobalAdmissionStage();
+        final Function<ContainerRequest, ContainerRequest> resourceMethodAdmissionStage =
+                admissionController.getResourceMethodAdmissionStage();
         /**
          *  Root linear request acceptor. This is the main entry point for the whole request processing.
          */
-        final Stage<ContainerRequest> rootStage = Stages
+        final Stage.Builder<ContainerRequest> rootStageBuilder = Stages
                 .chain(locator.createAndInitialize(ReferencesInitializer.class))
-                .to(locator.createAndInitialize(ContainerMessageBodyWorkersInitializer.class))
-                .to(preMatchRequestFilteringStage)
-                .to(routingStage)
+                .to(locator.createAndInitialize(ContainerMessageBodyWorkersInitializer.class));
+        if (globalAdmissionStage != null) {
+            rootStageBuilder.to(globalAdmissionStage);
+        }
+        rootStageBuilder.to(preMatchRequestFilteringStage).to(routingStage);
+        if (resourceMethodAdmissionStage != null) {
+            rootStageBuilder.to(resourceMethodAdmissionStage);
+        }
+        final Stage<ContainerRequest> rootStage = rootStageBuilder
                 .to(resourceFilteringStage)
                 .build(routedInflectorExtractorStage);
 
@@ -530,6 +573,13 @@ public final class ApplicationHandler {
         }
 
         if (compositeListener != null) {
+            compositeListener.onEvent(new InitializationPhaseEventImpl(
+                    InitializationPhaseEvent.Phase.RESOURCE_MODEL_VALIDATION, validationDuration, runtimeConfig,
+                    componentBag.getRegistrations(), resourceBag.classes, resourceBag.instances, resourceModel));
+            compositeListener.onEvent(new InitializationPhaseEventImpl(
+                    InitializationPhaseEvent.Phase.ROUTER_BUILDING, routerBuildingDuration, runtimeConfig,
+                    componentBag.getRegistrations(), resourceBag.classes, resourceBag.instances, resourceModel));
+
             final ApplicationEventImpl initFinishedEvent = new ApplicationEventImpl(
                     ApplicationEvent.Type.INITIALIZATION_FINISHED, runtimeConfig,
                     componentBag.getRegistrations(), resourceBag.classes, resourceBag.instances, resourceModel);
@@ -541,6 +591,49 @@ public final class ApplicationHandler {
         }
     }
 
+    /**
+     * Introspect the classes and create their resource models.
+     *
+     * @param executor          initialization executor.
+     * @param classes           classes to be introspected.
+     * @param disableValidation {@code true} if the resource validation is disabled.
+     * @return list of resource models in the order of the introspected classes; the list contains {@code null}
+     *         for classes that are not resources.
+     */
+    private static List<Resource> introspect(final InitializationExecutor executor,
+                                             final List<Class<?>> classes,
+                                             final boolean disableValidation) {
+        final List<Callable<Object>> tasks = Lists.newArrayListWithCapacity(classes.size());
+        for (final Class<?> clazz : classes) {
+            tasks.add(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    try {
+                        return Resource.from(clazz, disableValidation);
+                    } catch (IllegalArgumentException ex) {
+                        return ex;
+                    }
+                }
+            });
+        }
+
+        final List<Resource> resources = Lists.newArrayListWithCapacity(classes.size());
+        // warnings are logged in the order of classes
+        for (Object result : executor.invokeAll(tasks)) {
+            if (result instanceof IllegalArgumentException) {
+                LOGGER.warning(((IllegalArgumentException) result).getMessage());
+                resources.add(null);
+            } else {
+                resources.add((Resource) result);
+            }
+        }
+        return resources;
+    }
+
+    private static long elapsedMillis(final long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
     private class WorkersToStringTransform<T> implements Function<T, String> {
         @Override
         public String apply(T t) {
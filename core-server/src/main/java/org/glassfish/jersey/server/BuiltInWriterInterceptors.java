@@ -0,0 +1,145 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.WriterInterceptor;
+
+import org.glassfish.jersey.internal.PropertiesDelegate;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.message.internal.MessageBodyProviderNotFoundException;
+import org.glassfish.jersey.server.internal.JsonWithPaddingInterceptor;
+import org.glassfish.jersey.server.internal.MappableExceptionWrapperInterceptor;
+import org.glassfish.jersey.server.internal.process.MappableException;
+
+/**
+ * Server-side response entity writing utility.
+ * <p>
+ * The writer interceptor chain of a resource method often consists only of the interceptors registered by Jersey
+ * itself ({@link MappableExceptionWrapperInterceptor} and {@link JsonWithPaddingInterceptor}). If the JSONP interceptor
+ * would not wrap the written entity, the entity is written directly by the resolved
+ * {@link javax.ws.rs.ext.MessageBodyWriter message body writer} without executing the interceptor chain. The exceptions
+ * thrown by the message body writer are wrapped the same way as they would be by the
+ * {@link MappableExceptionWrapperInterceptor}.
+ * </p>
+ */
+final class BuiltInWriterInterceptors {
+
+    /**
+     * Write the entity using the given writer interceptors, bypassing the interceptor chain if it consists only
+     * of the Jersey built-in interceptors that would not modify the written entity.
+     *
+     * @param workers            message body workers.
+     * @param entity             entity to be written.
+     * @param rawType            raw Java entity type.
+     * @param type               generic Java entity type.
+     * @param annotations        annotations attached to the entity.
+     * @param mediaType          media type of the HTTP entity.
+     * @param headers            mutable HTTP headers associated with HTTP entity.
+     * @param propertiesDelegate request-scoped properties delegate.
+     * @param entityStream       entity output stream.
+     * @param writerInterceptors writer interceptors in the execution order.
+     * @return Output stream provided by the interceptor chain (or the entity stream if the chain was bypassed).
+     * @throws IOException in case of an I/O error while writing the entity.
+     */
+    static OutputStream writeTo(final MessageBodyWorkers workers, final Object entity, final Class<?> rawType,
+                                final Type type, final Annotation[] annotations, final MediaType mediaType,
+                                final MultivaluedMap<String, Object> headers, final PropertiesDelegate propertiesDelegate,
+                                final OutputStream entityStream, final Iterable<WriterInterceptor> writerInterceptors)
+            throws IOException {
+
+        if (writerInterceptors instanceof List && writerInterceptors instanceof RandomAccess) {
+            final List<WriterInterceptor> interceptors = (List<WriterInterceptor>) writerInterceptors;
+
+            boolean bypass = true;
+            boolean wrapExceptions = false;
+            final int size = interceptors.size();
+            for (int i = 0; bypass && i < size; i++) {
+                final Class<?> interceptorClass = interceptors.get(i).getClass();
+
+                if (interceptorClass == MappableExceptionWrapperInterceptor.class) {
+                    wrapExceptions = true;
+                } else if (interceptorClass == JsonWithPaddingInterceptor.class) {
+                    bypass = !JsonWithPaddingInterceptor.isApplicable(mediaType, annotations);
+                } else {
+                    bypass = false;
+                }
+            }
+
+            if (bypass) {
+                final List<WriterInterceptor> noInterceptors = Collections.emptyList();
+                if (!wrapExceptions) {
+                    return workers.writeTo(entity, rawType, type, annotations, mediaType, headers, propertiesDelegate,
+                            entityStream, noInterceptors);
+                }
+
+                try {
+                    return workers.writeTo(entity, rawType, type, annotations, mediaType, headers, propertiesDelegate,
+                            entityStream, noInterceptors);
+                } catch (WebApplicationException wae) {
+                    throw wae;
+                } catch (MessageBodyProviderNotFoundException nfe) {
+                    throw nfe;
+                } catch (MappableException mappable) {
+                    throw mappable;
+                } catch (Exception e) {
+                    throw new MappableException(e);
+                }
+            }
+        }
+
+        return workers.writeTo(entity, rawType, type, annotations, mediaType, headers, propertiesDelegate,
+                entityStream, writerInterceptors);
+    }
+
+    private BuiltInWriterInterceptors() {
+        // prevents instantiation
+    }
+}
@@ -138,7 +138,8 @@ public class ChunkedOutput<T> extends GenericType<T> implements Closeable {
         try {
             while (t != null) {
                 try {
-                    responseContext.setEntityStream(requestContext.getWorkers().writeTo(
+                    responseContext.setEntityStream(BuiltInWriterInterceptors.writeTo(
+                            requestContext.getWorkers(),
                             t,
                             t.getClass(),
                             getType(),
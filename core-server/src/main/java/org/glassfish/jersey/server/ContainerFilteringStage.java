@@ -39,6 +39,9 @@
  */
 package org.glassfish.jersey.server;
 
+import java.util.Collections;
+import java.util.List;
+
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.container.ContainerRequestFilter;
 import javax.ws.rs.container.ContainerResponseFilter;
@@ -50,17 +53,20 @@ import javax.inject.Provider;
 import org.glassfish.jersey.internal.inject.Providers;
 import org.glassfish.jersey.model.internal.RankedComparator;
 import org.glassfish.jersey.model.internal.RankedProvider;
+import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.process.internal.AbstractChainableStage;
 import org.glassfish.jersey.process.internal.Stages;
 import org.glassfish.jersey.server.internal.process.Endpoint;
 import org.glassfish.jersey.server.internal.process.MappableException;
 import org.glassfish.jersey.server.internal.process.RespondingContext;
 import org.glassfish.jersey.server.internal.routing.RoutingContext;
+import org.glassfish.jersey.server.model.ResourceMethodInvoker;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
 
-import org.glassfish.hk2.api.ServiceLocator;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
+import com.google.common.collect.Lists;
+
 /**
  * Container filtering stage responsible for execution of request and response filters
  * on each request-response message exchange.
@@ -70,17 +76,17 @@ import org.glassfish.hk2.utilities.binding.AbstractBinder;
  */
 class ContainerFilteringStage extends AbstractChainableStage<ContainerRequest> {
 
-    private ServiceLocator locator;
-    private final Iterable<RankedProvider<ContainerRequestFilter>> requestFilters;
-    private final Iterable<RankedProvider<ContainerResponseFilter>> responseFilters;
+    private final Provider<RoutingContext> routingContextProvider;
     private final Provider<RespondingContext> respondingContextFactory;
+    private final List<ContainerRequestFilter> requestFilters;
+    private final List<ContainerResponseFilter> responseFilters;
 
     /**
      * Injectable container filtering stage builder.
      */
     static class Builder {
         @Inject
-        private ServiceLocator locator;
+        private Provider<RoutingContext> routingContextProvider;
 
         @Inject
         private Provider<RespondingContext> respondingContextFactory;
@@ -93,6 +99,10 @@ class ContainerFilteringStage extends AbstractChainableStage<ContainerRequest> {
          * response filters should still be executed. For the post-match filter stage creation, {@code null} is passed
          * to the responseFilters parameter.
          * </p>
+         * <p>
+         * The filters are sorted once when the stage is built. Filters bound to a matched resource method are
+         * merged with the global filters when the {@link ResourceMethodInvoker resource method invoker} is built.
+         * </p>
          *
          * @param requestFilters  list of global (unbound) request filters (either pre or post match - depending on the
          *                        stage being created).
@@ -102,7 +112,7 @@ class ContainerFilteringStage extends AbstractChainableStage<ContainerRequest> {
          */
         public ContainerFilteringStage build(Iterable<RankedProvider<ContainerRequestFilter>> requestFilters,
                                              Iterable<RankedProvider<ContainerResponseFilter>> responseFilters) {
-            return new ContainerFilteringStage(respondingContextFactory, locator,
+            return new ContainerFilteringStage(routingContextProvider, respondingContextFactory,
                     requestFilters, responseFilters);
         }
 
@@ -111,35 +121,37 @@ class ContainerFilteringStage extends AbstractChainableStage<ContainerRequest> {
     /**
      * Injection constructor.
      *
+     * @param routingContextProvider   routing context provider.
      * @param respondingContextFactory responding context factory.
-     * @param locator                  HK2 service locator.
      * @param requestFilters           global request filters (pre or post match).
      * @param responseFilters          global response filters or {@code null}.
      */
     private ContainerFilteringStage(
+            Provider<RoutingContext> routingContextProvider,
             Provider<RespondingContext> respondingContextFactory,
-            ServiceLocator locator,
             Iterable<RankedProvider<ContainerRequestFilter>> requestFilters,
             Iterable<RankedProvider<ContainerResponseFilter>> responseFilters) {
 
+        this.routingContextProvider = routingContextProvider;
         this.respondingContextFactory = respondingContextFactory;
-        this.locator = locator;
-        this.requestFilters = requestFilters;
-        this.responseFilters = responseFilters;
+        this.requestFilters = Collections.unmodifiableList(Lists.newArrayList(
+                Providers.sortRankedProviders(new RankedComparator<ContainerRequestFilter>(), requestFilters)));
+        this.responseFilters = (responseFilters == null) ? null : Collections.unmodifiableList(Lists.newArrayList(
+                Providers.sortRankedProviders(new RankedComparator<ContainerResponseFilter>(RankedComparator.Order.DESCENDING),
+                        responseFilters)));
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Continuation<ContainerRequest> apply(ContainerRequest requestContext) {
-        Iterable<ContainerRequestFilter> sortedRequestFilters;
+        final List<ContainerRequestFilter> sortedRequestFilters;
 
         final boolean postMatching = responseFilters == null;
 
         if (postMatching) {
             // post-matching
-            RoutingContext rc = locator.getService(RoutingContext.class);
-            sortedRequestFilters = Providers.sortRankedProviders(new RankedComparator<ContainerRequestFilter>(), requestFilters,
-                    rc.getBoundRequestFilters());
+            final Inflector<ContainerRequest, ContainerResponse> inflector = routingContextProvider.get().getInflector();
+            sortedRequestFilters = (inflector instanceof ResourceMethodInvoker)
+                    ? ((ResourceMethodInvoker) inflector).getRequestFilterChain() : requestFilters;
 
             requestContext.getRequestEventBuilder().setContainerRequestFilters(sortedRequestFilters);
             requestContext.triggerEvent(RequestEvent.Type.REQUEST_MATCHED);
@@ -147,14 +159,15 @@ class ContainerFilteringStage extends AbstractChainableStage<ContainerRequest> {
         } else {
             // pre-matching (response filter stage is pushed in pre-matching phase, so that if pre-matching filter
             // throws exception, response filters get still invoked)
-            respondingContextFactory.get().push(new ResponseFilterStage(responseFilters, locator));
-            sortedRequestFilters = Providers.sortRankedProviders(new RankedComparator<ContainerRequestFilter>(), requestFilters);
+            respondingContextFactory.get().push(new ResponseFilterStage(responseFilters, routingContextProvider));
+            sortedRequestFilters = requestFilters;
         }
 
         try {
-            for (ContainerRequestFilter filter : sortedRequestFilters) {
+            final int size = sortedRequestFilters.size();
+            for (int i = 0; i < size; i++) {
                 try {
-                    filter.filter(requestContext);
+                    sortedRequestFilters.get(i).filter(requestContext);
                 } catch (WebApplicationException wae) {
                     throw wae;
                 } catch (Exception exception) {
@@ -185,31 +198,28 @@ class ContainerFilteringStage extends AbstractChainableStage<ContainerRequest> {
     }
 
     private static class ResponseFilterStage extends AbstractChainableStage<ContainerResponse> {
-        private final Iterable<RankedProvider<ContainerResponseFilter>> filters;
-        private final ServiceLocator locator;
+        private final List<ContainerResponseFilter> filters;
+        private final Provider<RoutingContext> routingContextProvider;
 
-        private ResponseFilterStage(Iterable<RankedProvider<ContainerResponseFilter>> filters, ServiceLocator locator) {
+        private ResponseFilterStage(List<ContainerResponseFilter> filters, Provider<RoutingContext> routingContextProvider) {
             this.filters = filters;
-            this.locator = locator;
+            this.routingContextProvider = routingContextProvider;
         }
 
         @Override
-        @SuppressWarnings("unchecked")
         public Continuation<ContainerResponse> apply(ContainerResponse responseContext) {
-
-            RoutingContext rc = locator.getService(RoutingContext.class);
-
-            Iterable<ContainerResponseFilter> sortedResponseFilters = Providers.sortRankedProviders(
-                    new RankedComparator<ContainerResponseFilter>(RankedComparator.Order.DESCENDING), filters, rc.getBoundResponseFilters()
-            );
+            final Inflector<ContainerRequest, ContainerResponse> inflector = routingContextProvider.get().getInflector();
+            final List<ContainerResponseFilter> sortedResponseFilters = (inflector instanceof ResourceMethodInvoker)
+                    ? ((ResourceMethodInvoker) inflector).getResponseFilterChain() : filters;
 
             final ContainerRequest request = responseContext.getRequestContext();
             request.getRequestEventBuilder().setContainerResponseFilters(sortedResponseFilters);
             request.triggerEvent(RequestEvent.Type.RESP_FILTERS_START);
             try {
-                for (ContainerResponseFilter filter : sortedResponseFilters) {
+                final int size = sortedResponseFilters.size();
+                for (int i = 0; i < size; i++) {
                     try {
-                        filter.filter(request, responseContext);
+                        sortedResponseFilters.get(i).filter(request, responseContext);
                     } catch (WebApplicationException wae) {
                         throw wae;
                     } catch (Exception ex) {
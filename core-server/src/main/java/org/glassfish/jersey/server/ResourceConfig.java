@@ -44,8 +44,10 @@ import java.security.AccessController;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -64,6 +66,7 @@ import org.glassfish.jersey.model.internal.CommonConfig;
 import org.glassfish.jersey.model.internal.ComponentBag;
 import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.process.internal.RequestScoped;
+import org.glassfish.jersey.server.internal.InitializationExecutor;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.scanning.AnnotationAcceptingListener;
 import org.glassfish.jersey.server.internal.scanning.FilesScanner;
@@ -74,6 +77,7 @@ import org.glassfish.hk2.api.ServiceLocator;
 import org.glassfish.hk2.utilities.Binder;
 
 import com.google.common.base.Predicate;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 
 /**
@@ -109,7 +113,7 @@ public class ResourceConfig extends Application implements Configurable<Resource
             super(RuntimeType.SERVER, ComponentBag.INCLUDE_ALL);
             this.classLoader = AccessController.doPrivileged(ReflectionHelper.getContextClassLoaderPA());
 
-            this.resourceFinders = Sets.newHashSet();
+            this.resourceFinders = Sets.newLinkedHashSet();
 
             this.resources = Sets.newHashSet();
             this.resourcesView = Collections.unmodifiableSet(this.resources);
@@ -123,7 +127,7 @@ public class ResourceConfig extends Application implements Configurable<Resource
             this.resources = Sets.newHashSet(original.resources);
             this.resourcesView = Collections.unmodifiableSet(this.resources);
 
-            this.resourceFinders = Sets.newHashSet(original.resourceFinders);
+            this.resourceFinders = Sets.newLinkedHashSet(original.resourceFinders);
         }
 
         public void setClassLoader(ClassLoader classLoader) {
@@ -638,7 +642,8 @@ public class ResourceConfig extends Application implements Configurable<Resource
     /**
      * Adds array of package names which will be used to scan for components.
      * <p/>
-     * Packages will be scanned recursively, including all nested packages.
+     * Packages will be scanned recursively, including all nested packages. Class path roots containing
+     * an index generated by the {@link ResourceIndexProcessor} are not scanned, only the indexed classes are used.
      *
      * @param packages array of package names.
      * @return updated resource configuration instance.
@@ -662,7 +667,11 @@ public class ResourceConfig extends Application implements Configurable<Resource
         if (packages == null || packages.length == 0) {
             return this;
         }
-        return registerFinder(new PackageNamesScanner(packages, recursive));
+        // one finder per package so that the packages can be scanned concurrently
+        for (String packageName : Tokenizer.tokenize(packages, Tokenizer.COMMON_DELIMITERS)) {
+            registerFinder(new PackageNamesScanner(new String[] {packageName}, recursive));
+        }
+        return this;
     }
 
     /**
@@ -840,10 +849,10 @@ public class ResourceConfig extends Application implements Configurable<Resource
     }
 
     private Set<Class<?>> scanClasses() {
-        Set<Class<?>> result = Sets.newHashSet();
+        Set<Class<?>> result = Sets.newLinkedHashSet();
 
         final ResourceConfig.State _state = state;
-        Set<ResourceFinder> rfs = Sets.newHashSet(_state.getResourceFinders());
+        Set<ResourceFinder> rfs = Sets.newLinkedHashSet(_state.getResourceFinders());
 
         // classes registered via configuration property
         String[] classNames = parsePropertyValue(ServerProperties.PROVIDER_CLASSNAMES);
@@ -861,7 +870,9 @@ public class ResourceConfig extends Application implements Configurable<Resource
         if (packageNames != null) {
             final Object p = getProperty(ServerProperties.PROVIDER_SCANNING_RECURSIVE);
             final boolean recursive = p == null || PropertiesHelper.isProperty(p);
-            rfs.add(new PackageNamesScanner(packageNames, recursive));
+            for (String packageName : packageNames) {
+                rfs.add(new PackageNamesScanner(new String[] {packageName}, recursive));
+            }
         }
 
         String[] classPathElements = parsePropertyValue(ServerProperties.PROVIDER_CLASSPATH);
@@ -869,25 +880,55 @@ public class ResourceConfig extends Application implements Configurable<Resource
             rfs.add(new FilesScanner(classPathElements, true));
         }
 
-        AnnotationAcceptingListener afl =
-                AnnotationAcceptingListener.newJaxrsResourceAndProviderListener(_state.getClassLoader());
-        for (ResourceFinder resourceFinder : rfs) {
-            while (resourceFinder.hasNext()) {
-                final String next = resourceFinder.next();
-                if (afl.accept(next)) {
-                    try {
-                        afl.process(next, resourceFinder.open());
-                    } catch (IOException e) {
-                        LOGGER.log(Level.WARNING, LocalizationMessages.RESOURCE_CONFIG_UNABLE_TO_PROCESS(next));
-                    }
+        // every finder has its own listener so that the classes are merged in the order of the finders
+        final List<AnnotationAcceptingListener> listeners = Lists.newArrayListWithCapacity(rfs.size());
+        final List<Callable<Void>> scans = Lists.newArrayListWithCapacity(rfs.size());
+        for (final ResourceFinder resourceFinder : rfs) {
+            final AnnotationAcceptingListener afl =
+                    AnnotationAcceptingListener.newJaxrsResourceAndProviderListener(_state.getClassLoader());
+            listeners.add(afl);
+            scans.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    scan(resourceFinder, afl);
+                    return null;
                 }
-            }
+            });
+        }
+
+        final InitializationExecutor executor = scans.size() > 1
+                ? InitializationExecutor.create(getScanningParallelism())
+                : InitializationExecutor.sequential();
+        try {
+            executor.invokeAll(scans);
+        } finally {
+            executor.shutdown();
         }
 
-        result.addAll(afl.getAnnotatedClasses());
+        for (final AnnotationAcceptingListener afl : listeners) {
+            result.addAll(afl.getAnnotatedClasses());
+        }
         return result;
     }
 
+    private static void scan(final ResourceFinder resourceFinder, final AnnotationAcceptingListener afl) {
+        while (resourceFinder.hasNext()) {
+            final String next = resourceFinder.next();
+            if (afl.accept(next)) {
+                try {
+                    afl.process(next, resourceFinder.open());
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, LocalizationMessages.RESOURCE_CONFIG_UNABLE_TO_PROCESS(next));
+                }
+            }
+        }
+    }
+
+    private int getScanningParallelism() {
+        return PropertiesHelper.getValue(state.getProperties(), ServerProperties.INITIALIZATION_PARALLELISM,
+                1, Integer.class);
+    }
+
     private String[] parsePropertyValue(String propertyName) {
         String[] classNames = null;
         final Object o = state.getProperties().get(propertyName);
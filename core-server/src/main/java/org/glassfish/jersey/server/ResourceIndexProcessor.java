@@ -0,0 +1,124 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+import org.glassfish.jersey.server.internal.scanning.ResourceIndex;
+
+/**
+ * Annotation processor generating the {@value ResourceIndex#LOCATION} index of resource and provider classes
+ * (classes annotated by {@link javax.ws.rs.Path &#64;Path} or {@link javax.ws.rs.ext.Provider &#64;Provider}).
+ * <p>
+ * When the index is present in a class path root (a directory or a jar file), {@link ResourceConfig#packages(String...)
+ * package scanning} of the class path root does not read and parse all the class files but inspects only the indexed
+ * classes. Class path roots without the index are scanned as usual.
+ * </p>
+ * <p>
+ * The processor is not registered automatically, it has to be enabled in the build of the application, e.g. using the
+ * {@code annotationProcessors} configuration of the {@code maven-compiler-plugin} or the {@code -processor} option
+ * of {@code javac}. The index is merged with an existing index in the class output directory so that incremental
+ * compilation does not drop previously indexed classes. Stale index entries are harmless, indexed classes are still
+ * checked for the annotations and missing classes are skipped.
+ * </p>
+ */
+@SupportedAnnotationTypes({"javax.ws.rs.Path", "javax.ws.rs.ext.Provider"})
+public class ResourceIndexProcessor extends AbstractProcessor {
+
+    private final Set<String> classNames = new TreeSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final TypeElement annotation : annotations) {
+            for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                // only class level annotations make a class a root resource or a provider
+                if (element.getKind().isClass() || element.getKind().isInterface()) {
+                    classNames.add(processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+                }
+            }
+        }
+
+        if (roundEnv.processingOver() && !classNames.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        final Filer filer = processingEnv.getFiler();
+        final Set<String> index = new TreeSet<String>(classNames);
+
+        try {
+            final FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", ResourceIndex.LOCATION);
+            index.addAll(ResourceIndex.read(existing.openInputStream()).getClassNames());
+        } catch (IOException e) {
+            // no existing index
+        } catch (IllegalArgumentException e) {
+            // no existing index
+        }
+
+        try {
+            final FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", ResourceIndex.LOCATION);
+            ResourceIndex.of(index).write(file.openOutputStream());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    LocalizationMessages.RESOURCE_INDEX_WRITE_FAILED(ResourceIndex.LOCATION, e.getMessage()));
+        }
+    }
+}
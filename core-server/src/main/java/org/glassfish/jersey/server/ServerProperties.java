@@ -437,6 +437,65 @@ public final class ServerProperties {
     public static final String RESOURCE_VALIDATION_IGNORE_ERRORS =
             "jersey.config.server.resource.validation.ignoreErrors";
 
+    /**
+     * An integer value that defines the maximum number of sub-resource runtime models (routers) cached per
+     * sub-resource locator.
+     *
+     * Runtime models of sub-resources returned from sub-resource locators are cached by the sub-resource class
+     * or, in case the locator returns a {@link org.glassfish.jersey.server.model.Resource resource} model, by
+     * the identity of the returned resource model. The sub-resource model is therefore processed by
+     * {@link org.glassfish.jersey.server.model.ModelProcessor model processors} and validated only once.
+     * Setting the value to {@code 0} disables the caching. Cached runtime models reference the sub-resource
+     * classes and are released only when evicted from the cache (or together with the application).
+     * <p>
+     * The default value is {@code 64}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #SUBRESOURCE_LOCATOR_CACHE_JERSEY_RESOURCES
+     */
+    public static final String SUBRESOURCE_LOCATOR_CACHE_SIZE = "jersey.config.server.subresource.cache.size";
+
+    /**
+     * If {@code true} then runtime models of {@link org.glassfish.jersey.server.model.Resource resource} models
+     * returned from sub-resource locators are cached (by identity of the returned resource model).
+     *
+     * The property should be set to {@code false} if sub-resource locators build a new
+     * {@code Resource} instance for every request as such entries would never be reused.
+     * The caching of runtime models of sub-resource classes is not affected by this property.
+     * <p>
+     * The default value is {@code true}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #SUBRESOURCE_LOCATOR_CACHE_SIZE
+     */
+    public static final String SUBRESOURCE_LOCATOR_CACHE_JERSEY_RESOURCES =
+            "jersey.config.server.subresource.cache.jersey.resources";
+
+    /**
+     * An integer value that defines the maximum number of threads used to initialize the application.
+     *
+     * Scanning of registered packages and class path elements, introspection of registered resource classes,
+     * validation of the resource model and building of resource routers are executed in parallel by the given
+     * number of threads. The threads are not managed by the container, so the parallel initialization should
+     * be enabled only in environments where spawning unmanaged threads is allowed. Errors found during
+     * the initialization are reported in a deterministic order, grouped by resources in the order of the resource model.
+     * Routers are always built sequentially if any {@link javax.ws.rs.container.DynamicFeature dynamic feature}
+     * is registered. Setting the value to {@code 1} disables the parallel initialization.
+     * <p>
+     * The default value is {@code 1}, i.e. the application is initialized sequentially.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String INITIALIZATION_PARALLELISM = "jersey.config.server.initialization.parallelism";
+
 
     /**
      * If {@code true} then calculation of monitoring statistics will be enabled.
@@ -501,6 +560,130 @@ public final class ServerProperties {
      */
     public static final String APPLICATION_NAME = "jersey.config.server.application.name";
 
+    /**
+     * An integer value that defines the maximum number of requests processed by the application concurrently.
+     *
+     * The limit is checked before the request is matched to a resource method (even before
+     * {@link javax.ws.rs.container.PreMatching pre-matching} filters are executed). A request received when
+     * the limit has been reached is rejected immediately with a {@code 503 Service Unavailable} response containing
+     * the {@link #ADMISSION_RETRY_AFTER Retry-After} header. A request is considered to be processed until the
+     * response is written (or until a suspended asynchronous request is resumed and its response is written).
+     * <p>
+     * If the {@link #ADMISSION_ADAPTIVE_LIMIT_ENABLED adaptive limit} is enabled, the value defines the upper bound
+     * of the adaptive limit.
+     * </p>
+     * <p>
+     * The default value is {@code 0}, i.e. the number of concurrently processed requests is not limited.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String ADMISSION_MAX_CONCURRENT_REQUESTS = "jersey.config.server.admission.maxConcurrentRequests";
+
+    /**
+     * An integer value that defines the maximum number of requests processed concurrently by a single
+     * {@link org.glassfish.jersey.server.model.ResourceMethod resource method}.
+     *
+     * The limit is checked for every resource method separately after the request has been matched to the
+     * resource method and before the {@link javax.ws.rs.container.ContainerRequestFilter request filters}
+     * bound to the resource method are executed. A request exceeding the limit is rejected with
+     * a {@code 503 Service Unavailable} response containing the {@link #ADMISSION_RETRY_AFTER Retry-After} header.
+     * This allows to prevent a slow resource method from occupying all the request processing threads.
+     * <p>
+     * The default value is {@code 0}, i.e. the number of requests processed concurrently by a resource method
+     * is not limited.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String ADMISSION_RESOURCE_METHOD_MAX_CONCURRENT_REQUESTS =
+            "jersey.config.server.admission.resourceMethod.maxConcurrentRequests";
+
+    /**
+     * If {@code true} then the limit of concurrently processed requests defined by
+     * {@link #ADMISSION_MAX_CONCURRENT_REQUESTS} is adapted to the observed request processing latency.
+     *
+     * The limit is decreased when the request processing latency grows over the lowest latency observed recently
+     * (i.e. when requests start to queue in the application) and is increased again up to the configured maximum
+     * when the latency returns back to normal. The limit never drops below one tenth of the configured maximum.
+     * Requests that have been suspended are not taken into account as their latency includes the time spent
+     * waiting for the asynchronous response.
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String ADMISSION_ADAPTIVE_LIMIT_ENABLED = "jersey.config.server.admission.adaptive";
+
+    /**
+     * An integer value that defines the number of seconds sent in the {@code Retry-After} header of
+     * {@code 503 Service Unavailable} responses returned for requests rejected because of the
+     * {@link #ADMISSION_MAX_CONCURRENT_REQUESTS global} or {@link #ADMISSION_RESOURCE_METHOD_MAX_CONCURRENT_REQUESTS
+     * resource method} limit of concurrently processed requests. A value lower than {@code 0} disables the header.
+     * <p>
+     * The default value is {@code 1}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String ADMISSION_RETRY_AFTER = "jersey.config.server.admission.retryAfter";
+
+    /**
+     * An integer value that defines the maximum number of request URIs whose response validators are cached by
+     * the {@link org.glassfish.jersey.server.filter.ValidatorCacheFeature validator cache feature}. Validators of
+     * the least recently used URIs are evicted from the cache when the limit is reached. A value lower than or
+     * equal to {@code 0} disables the feature.
+     * <p>
+     * The default value is {@value #DEFAULT_VALIDATOR_CACHE_SIZE}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String VALIDATOR_CACHE_SIZE = "jersey.config.server.validatorCache.size";
+
+    /**
+     * Default {@link #VALIDATOR_CACHE_SIZE validator cache size}.
+     */
+    public static final int DEFAULT_VALIDATOR_CACHE_SIZE = 10000;
+
+    /**
+     * An integer value that defines the maximum total size (in bytes) of the responses cached by the
+     * {@link org.glassfish.jersey.server.filter.ResponseCacheFeature response cache feature}. The least recently
+     * used responses are evicted from the cache when the limit is reached. Responses larger than one sixteenth of the
+     * limit are not cached. A value lower than or equal to {@code 0} disables the feature.
+     * <p>
+     * The default value is {@value #DEFAULT_RESPONSE_CACHE_SIZE}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String RESPONSE_CACHE_SIZE = "jersey.config.server.responseCache.size";
+
+    /**
+     * Default {@link #RESPONSE_CACHE_SIZE response cache size} (16 MB).
+     */
+    public static final int DEFAULT_RESPONSE_CACHE_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * An integer value that defines the maximum time (in milliseconds) a request waits for an expired cached response
+     * being recomputed by another request for the same URI. Requests that time out are processed by the application
+     * as if the response was not cached.
+     * <p>
+     * The default value is {@code 5000}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String RESPONSE_CACHE_LOCK_TIMEOUT = "jersey.config.server.responseCache.lockTimeout";
+
     private ServerProperties() {
         // prevents instantiation
     }
@@ -87,6 +87,7 @@ import org.glassfish.jersey.process.internal.RequestScope;
 import org.glassfish.jersey.process.internal.Stage;
 import org.glassfish.jersey.process.internal.Stages;
 import org.glassfish.jersey.server.internal.BackgroundScheduler;
+import org.glassfish.jersey.server.internal.InternalServerProperties;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.monitoring.RequestEventBuilder;
 import org.glassfish.jersey.server.internal.monitoring.RequestEventImpl;
@@ -522,7 +523,8 @@ class ServerRuntime {
                 }
 
                 try {
-                    response.setEntityStream(request.getWorkers().writeTo(
+                    response.setEntityStream(BuiltInWriterInterceptors.writeTo(
+                            request.getWorkers(),
                             entity,
                             entity.getClass(),
                             response.getEntityType(),
@@ -702,6 +704,9 @@ class ServerRuntime {
             synchronized (stateLock) {
                 if (state == RUNNING) {
                     state = SUSPENDED;
+                    // the request may be resumed on a different thread, container headers must not be read anymore
+                    responder.request.detachHeaders();
+                    responder.request.setProperty(InternalServerProperties.SUSPENDED_PROPERTY, Boolean.TRUE);
                     responder.request.getResponseWriter().suspend(AsyncResponse.NO_TIMEOUT, TimeUnit.SECONDS, this);
                     return true;
                 }
@@ -0,0 +1,81 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a resource method (or all resource methods of a resource class) whose response validators
+ * ({@code ETag} and {@code Last-Modified} headers) should be cached by the {@link ValidatorCacheFeature}.
+ * <p>
+ * Conditional {@code GET} and {@code HEAD} requests ({@code If-None-Match}, {@code If-Modified-Since}) matching
+ * the cached validators are answered with {@code 304 Not Modified} before the request is routed to the resource
+ * method. The annotation must therefore be used only on resource methods whose representations are either not
+ * modified by the application or whose modifications are followed by an {@link ValidatorCache invalidation}
+ * of the cached validators.
+ * </p>
+ * <p>
+ * The resource method has to declare all the request headers that select the returned representation in the
+ * {@code Vary} response header (e.g. {@code Vary: Authorization} for user-specific representations), otherwise
+ * validators of one representation could be used to answer conditional requests for another one.
+ * </p>
+ * <p>
+ * Conditional requests answered from the cache are not processed by any post-matching or name-bound filters,
+ * in particular not by authorization filters such as the ones registered by {@link RolesAllowedDynamicFeature}.
+ * A {@code 304} response would reveal the existence of the resource and its current entity tag to clients that
+ * are not authorized to access it. Validators of resource methods (or resource classes) annotated with
+ * {@link javax.annotation.security.RolesAllowed &#64;RolesAllowed} or {@link javax.annotation.security.DenyAll
+ * &#64;DenyAll} are therefore never cached; resource methods protected by other post-matching means must not be
+ * annotated with {@code @CacheValidators}. Only {@link javax.ws.rs.container.PreMatching pre-matching} filters
+ * with a lower priority than {@link javax.ws.rs.Priorities#USER} (e.g. authentication filters) are executed
+ * before the cached validators are evaluated.
+ * </p>
+ *
+ * @see ValidatorCacheFeature
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface CacheValidators {
+}
@@ -0,0 +1,332 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.net.URI;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Bounded concurrent {@link ValidatorCache} implementation.
+ * <p>
+ * Validators are cached per request path. Every path keeps a limited number of representation variants
+ * identified by the request query and values of the request headers listed in the {@code Vary} response header.
+ * </p>
+ */
+final class DefaultValidatorCache implements ValidatorCache {
+
+    /**
+     * Maximum number of cached representation variants of a single resource path.
+     */
+    static final int MAX_VARIANTS = 16;
+    /**
+     * Number of stripes of the per-path invalidation counters (a power of two).
+     */
+    private static final int STAMP_STRIPES = 256;
+
+    private final Cache<String, Resource> cache;
+    /**
+     * Number of invalidations of the whole cache performed so far.
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+    /**
+     * Number of invalidations of resource paths performed so far, striped by the path hash. Together with
+     * {@link #invalidations} used to prevent validators computed by a request running concurrently with
+     * an invalidation of the same path from being stored in the cache.
+     */
+    private final AtomicLongArray pathInvalidations = new AtomicLongArray(STAMP_STRIPES);
+    /**
+     * Base URI of the application used to resolve relative URIs passed to {@link #invalidate(URI)}. Set once
+     * the first validators are stored.
+     */
+    private volatile URI baseUri;
+
+    /**
+     * Create new validator cache.
+     *
+     * @param maxSize maximum number of cached resource paths.
+     */
+    DefaultValidatorCache(final int maxSize) {
+        this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+    }
+
+    @Override
+    public void invalidate(final URI uri) {
+        String path = uri.getRawPath();
+        if (!uri.isAbsolute() && (path == null || !path.startsWith("/"))) {
+            final URI base = baseUri;
+            if (base == null) {
+                // no validators have been cached yet, the path cannot be resolved - cancel all pending stores
+                invalidations.incrementAndGet();
+                return;
+            }
+            path = base.resolve(uri).getRawPath();
+        }
+        pathInvalidations.incrementAndGet(stripe(path));
+        cache.invalidate(path);
+    }
+
+    @Override
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Get the current cache stamp of the path of the given request. The stamp has to be obtained before a request
+     * is routed to a resource method and passed to
+     * {@link #store(long, ContainerRequestContext, String[], String, EntityTag, Date, String)} once the resource
+     * method has computed the response validators. The stamp changes only when the whole cache or the request path
+     * (or a path sharing the same stripe) is invalidated.
+     *
+     * @param request request.
+     * @return current cache stamp of the request path.
+     */
+    long stamp(final ContainerRequestContext request) {
+        return stamp(request.getUriInfo().getRequestUri().getRawPath());
+    }
+
+    private long stamp(final String path) {
+        // both counters only grow, the sum changes whenever any of them is incremented
+        return invalidations.get() + pathInvalidations.get(stripe(path));
+    }
+
+    private static int stripe(final String path) {
+        final int hash = path == null ? 0 : path.hashCode();
+        return (hash ^ (hash >>> 16)) & (STAMP_STRIPES - 1);
+    }
+
+    /**
+     * Get cached validators of the representation requested by the given request.
+     *
+     * @param request request.
+     * @return cached validators or {@code null} if no validators are cached for the request.
+     */
+    Variant get(final ContainerRequestContext request) {
+        final URI requestUri = request.getUriInfo().getRequestUri();
+        final Resource resource = cache.getIfPresent(requestUri.getRawPath());
+        if (resource == null) {
+            return null;
+        }
+
+        final String query = requestUri.getRawQuery();
+        for (Variant variant : resource.variants) {
+            if (variant.matches(query, request)) {
+                return variant;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Store validators of the representation returned for the given request.
+     *
+     * @param stamp        cache stamp of the request path obtained before the request was routed to the resource
+     *                     method.
+     * @param request      request.
+     * @param varyHeaders  names of the request headers listed in the {@code Vary} response header.
+     * @param vary         value of the {@code Vary} response header or {@code null}.
+     * @param eTag         entity tag of the representation or {@code null}.
+     * @param lastModified last modification date of the representation or {@code null}.
+     * @param cacheControl value of the {@code Cache-Control} response header or {@code null}.
+     */
+    void store(final long stamp,
+               final ContainerRequestContext request,
+               final String[] varyHeaders,
+               final String vary,
+               final EntityTag eTag,
+               final Date lastModified,
+               final String cacheControl) {
+        final URI requestUri = request.getUriInfo().getRequestUri();
+        final String path = requestUri.getRawPath();
+        if (stamp != stamp(path)) {
+            return;
+        }
+
+        if (baseUri == null) {
+            baseUri = request.getUriInfo().getBaseUri();
+        }
+
+        final String[] varyValues = new String[varyHeaders.length];
+        for (int i = 0; i < varyHeaders.length; i++) {
+            varyValues[i] = request.getHeaderString(varyHeaders[i]);
+        }
+        final Variant variant = new Variant(requestUri.getRawQuery(), varyHeaders, varyValues,
+                vary, eTag, lastModified, cacheControl);
+
+        Resource resource = cache.getIfPresent(path);
+        if (resource == null) {
+            final Resource newResource = new Resource();
+            resource = cache.asMap().putIfAbsent(path, newResource);
+            if (resource == null) {
+                resource = newResource;
+            }
+        }
+        resource.add(variant);
+
+        // an invalidation might have removed the resource from the cache before the variant was added
+        // to it or it might have been executed before the resource has been added to the cache
+        if (stamp != stamp(path)) {
+            cache.asMap().remove(path, resource);
+        }
+    }
+
+    /**
+     * Cached representation variants of a single resource path.
+     */
+    private static final class Resource {
+
+        private volatile Variant[] variants = new Variant[0];
+
+        synchronized void add(final Variant variant) {
+            final Variant[] current = variants;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i].isSameVariant(variant)) {
+                    final Variant[] updated = current.clone();
+                    updated[i] = variant;
+                    variants = updated;
+                    return;
+                }
+            }
+
+            // replace the oldest variant if the limit has been reached
+            final int from = current.length < MAX_VARIANTS ? 0 : 1;
+            final Variant[] updated = new Variant[current.length - from + 1];
+            System.arraycopy(current, from, updated, 0, current.length - from);
+            updated[updated.length - 1] = variant;
+            variants = updated;
+        }
+    }
+
+    /**
+     * Validators of a single representation variant.
+     */
+    static final class Variant {
+
+        private final String query;
+        private final String[] varyHeaders;
+        private final String[] varyValues;
+
+        private final String vary;
+        private final EntityTag eTag;
+        private final Date lastModified;
+        private final String cacheControl;
+
+        private Variant(final String query,
+                        final String[] varyHeaders,
+                        final String[] varyValues,
+                        final String vary,
+                        final EntityTag eTag,
+                        final Date lastModified,
+                        final String cacheControl) {
+            this.query = query;
+            this.varyHeaders = varyHeaders;
+            this.varyValues = varyValues;
+            this.vary = vary;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.cacheControl = cacheControl;
+        }
+
+        private boolean matches(final String query, final ContainerRequestContext request) {
+            if (!Objects.equal(this.query, query)) {
+                return false;
+            }
+            for (int i = 0; i < varyHeaders.length; i++) {
+                if (!Objects.equal(varyValues[i], request.getHeaderString(varyHeaders[i]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean isSameVariant(final Variant other) {
+            if (!Objects.equal(query, other.query) || varyHeaders.length != other.varyHeaders.length) {
+                return false;
+            }
+            for (int i = 0; i < varyHeaders.length; i++) {
+                if (!varyHeaders[i].equalsIgnoreCase(other.varyHeaders[i])
+                        || !Objects.equal(varyValues[i], other.varyValues[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Evaluate request preconditions against the cached validators.
+         *
+         * @param request request.
+         * @return {@code 304 Not Modified} response if the preconditions are not met because the requested
+         *         representation has not been modified, {@code null} otherwise.
+         */
+        Response evaluatePreconditions(final Request request) {
+            final Response.ResponseBuilder builder;
+            if (eTag != null && lastModified != null) {
+                builder = request.evaluatePreconditions(lastModified, eTag);
+            } else if (eTag != null) {
+                builder = request.evaluatePreconditions(eTag);
+            } else {
+                builder = request.evaluatePreconditions(lastModified);
+            }
+
+            if (builder == null) {
+                return null;
+            }
+            // let the resource method handle failed If-Match and If-Unmodified-Since preconditions
+            final Response response = builder.tag(eTag)
+                    .header(HttpHeaders.VARY, vary)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .build();
+            return response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode() ? response : null;
+        }
+    }
+}
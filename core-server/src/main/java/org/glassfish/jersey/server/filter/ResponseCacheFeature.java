@@ -0,0 +1,422 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.internal.util.collection.StringKeyIgnoreCaseMultivaluedMap;
+import org.glassfish.jersey.message.internal.CacheHeaders;
+import org.glassfish.jersey.message.internal.HeadersFactory;
+import org.glassfish.jersey.server.CloseableService;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.internal.ResponseCache;
+import org.glassfish.jersey.server.model.AnnotatedMethod;
+
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+
+/**
+ * Feature enabling the in-process cache of serialized responses.
+ * <p>
+ * Status, headers and serialized entity of successful ({@code 200 OK}) responses to {@code GET} requests are
+ * cached if the responses contain a {@code Cache-Control} header with the {@code public} and {@code max-age}
+ * (or {@code s-maxage}) directives or if they are returned by resource methods annotated with
+ * {@link CacheResponse &#64;CacheResponse}. Responses are cached per normalized request URI and values of the request
+ * headers listed in the {@code Vary} response header; responses with {@code Vary: *} or {@code Set-Cookie} headers are
+ * never cached. Responses to requests containing an {@code Authorization} or a {@code Cookie} header and to requests
+ * authenticated by the application ({@link javax.ws.rs.core.SecurityContext#getUserPrincipal()} is not {@code null})
+ * are cached only if they are explicitly marked as {@code public}.
+ * </p>
+ * <p>
+ * Subsequent {@code GET} and {@code HEAD} requests are answered with the fresh cached responses by
+ * a {@link PreMatching pre-matching} filter, i.e. before the request is routed to the resource method. Requests
+ * containing a {@code Cache-Control: no-cache} (or {@code Pragma: no-cache}) header are always processed by the
+ * application. Cached responses of a request URI are invalidated after any successful unsafe request ({@code PUT},
+ * {@code POST}, {@code DELETE}, ...) to the same URI. When a cached response is missing, expired or invalidated, only
+ * one {@code GET} request recomputes it while other requests for the same URI wait (see
+ * {@link ServerProperties#RESPONSE_CACHE_LOCK_TIMEOUT}); requests for URIs whose responses turned out not to be
+ * cacheable do not wait.
+ * </p>
+ * <p>
+ * As the cached responses are returned before any post-matching filters are executed, responses of resource methods
+ * (or resource classes) restricted by {@link javax.annotation.security.RolesAllowed &#64;RolesAllowed} or
+ * {@link javax.annotation.security.DenyAll &#64;DenyAll} are never cached. Resource methods protected by other
+ * post-matching means must not return {@code public} responses or be annotated with {@code @CacheResponse}.
+ * </p>
+ * <p>
+ * The cache size can be configured using the {@value ServerProperties#RESPONSE_CACHE_SIZE} property. Cache hit and
+ * miss statistics are exposed by the {@link org.glassfish.jersey.server.monitoring.ResponseCacheMXBean} if the
+ * {@link ServerProperties#MONITORING_STATISTICS_MBEANS_ENABLED monitoring MBeans} are enabled.
+ * </p>
+ */
+public class ResponseCacheFeature implements Feature {
+
+    /**
+     * Request property containing the normalized request URI of a cacheable request.
+     */
+    private static final String URI_PROPERTY = ResponseCacheFeature.class.getName() + ".uri";
+    /**
+     * Request property containing the {@link PendingResponse} whose entity should be cached once serialized.
+     */
+    private static final String PENDING_RESPONSE_PROPERTY = ResponseCacheFeature.class.getName() + ".pending";
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        final Map<String, Object> properties = context.getConfiguration().getProperties();
+        final int size = PropertiesHelper.getValue(properties,
+                ServerProperties.RESPONSE_CACHE_SIZE, ServerProperties.DEFAULT_RESPONSE_CACHE_SIZE, Integer.class);
+        if (size <= 0) {
+            return false;
+        }
+        final int lockTimeout = PropertiesHelper.getValue(properties,
+                ServerProperties.RESPONSE_CACHE_LOCK_TIMEOUT, 5000, Integer.class);
+
+        final ResponseCache cache = new ResponseCache(size, lockTimeout);
+
+        context.register(new CachedResponseFilter(cache));
+        context.register(new ResponseCacheDynamicFeature(cache));
+        context.register(new EntityCachingInterceptor(cache));
+        context.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(cache).to(ResponseCache.class);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Answers requests with the fresh cached responses before the requests are routed.
+     */
+    @PreMatching
+    @Priority(Priorities.USER) // should go after any pre-matching authentication and header decorating filters
+    private static final class CachedResponseFilter implements ContainerRequestFilter {
+
+        private final ResponseCache cache;
+
+        @Inject
+        private Provider<CloseableService> closeableService;
+
+        private CachedResponseFilter(final ResponseCache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext request) throws IOException {
+            final String method = request.getMethod();
+            if (!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)) {
+                return;
+            }
+
+            final String cacheControl = request.getHeaderString(HttpHeaders.CACHE_CONTROL);
+            if (CacheHeaders.containsDirective(cacheControl, "no-store")) {
+                return;
+            }
+
+            final String uri = ResponseCache.normalize(request.getUriInfo().getRequestUri());
+            request.setProperty(URI_PROPERTY, uri);
+
+            if (CacheHeaders.containsDirective(cacheControl, "no-cache")
+                    || CacheHeaders.containsDirective(request.getHeaderString("Pragma"), "no-cache")) {
+                return;
+            }
+
+            try {
+                final ResponseCache.CachedResponse response = cache.get(uri, request, closeableService.get());
+                if (response != null) {
+                    request.abortWith(response.toResponse());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Binds the {@link CacheableResponseFilter} to all resource methods.
+     */
+    private static final class ResponseCacheDynamicFeature implements DynamicFeature {
+
+        private final ResponseCache cache;
+
+        private ResponseCacheDynamicFeature(final ResponseCache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public void configure(final ResourceInfo resourceInfo, final FeatureContext context) {
+            final AnnotatedMethod am = new AnnotatedMethod(resourceInfo.getResourceMethod());
+            final Class<?> resourceClass = resourceInfo.getResourceClass();
+            CacheResponse annotation = am.getAnnotation(CacheResponse.class);
+            if (annotation == null) {
+                annotation = resourceClass.getAnnotation(CacheResponse.class);
+            }
+            context.register(new CacheableResponseFilter(cache, annotation == null ? -1 : annotation.maxAge(),
+                    !ValidatorCacheFeature.isAccessRestricted(am, resourceClass)));
+        }
+    }
+
+    /**
+     * Decides whether a response can be cached and invalidates cached responses after successful unsafe requests.
+     */
+    // response filters are executed in the reverse order - must see the Vary headers added by header decorators
+    @Priority(Priorities.HEADER_DECORATOR - 100)
+    private static final class CacheableResponseFilter implements ContainerResponseFilter {
+
+        private final ResponseCache cache;
+        private final int annotatedMaxAge;
+        private final boolean cacheable;
+
+        private CacheableResponseFilter(final ResponseCache cache, final int annotatedMaxAge, final boolean cacheable) {
+            this.cache = cache;
+            this.annotatedMaxAge = annotatedMaxAge;
+            this.cacheable = cacheable;
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext request, final ContainerResponseContext response)
+                throws IOException {
+            final String method = request.getMethod();
+            if (!HttpMethod.GET.equals(method)) {
+                if (!HttpMethod.HEAD.equals(method) && !HttpMethod.OPTIONS.equals(method) && response.getStatus() < 400) {
+                    cache.invalidate(ResponseCache.normalize(request.getUriInfo().getRequestUri()));
+                }
+                return;
+            }
+
+            final String uri = (String) request.getProperty(URI_PROPERTY);
+            if (uri == null) {
+                return;
+            }
+            if (!cacheable || response.getStatus() != Response.Status.OK.getStatusCode() || !response.hasEntity()
+                    || response.getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+                cache.notCacheable(uri);
+                return;
+            }
+
+            int maxAge = annotatedMaxAge;
+            boolean shared = false;
+            final String cacheControlHeader = response.getHeaderString(HttpHeaders.CACHE_CONTROL);
+            if (cacheControlHeader != null) {
+                final CacheControl cacheControl;
+                try {
+                    cacheControl = CacheControl.valueOf(cacheControlHeader);
+                } catch (IllegalArgumentException e) {
+                    cache.notCacheable(uri);
+                    return;
+                }
+                if (cacheControl.isNoStore() || cacheControl.isNoCache() || cacheControl.isPrivate()) {
+                    cache.notCacheable(uri);
+                    return;
+                }
+                for (String directive : cacheControl.getCacheExtension().keySet()) {
+                    shared |= "public".equalsIgnoreCase(directive);
+                }
+
+                final int headerMaxAge = cacheControl.getSMaxAge() >= 0
+                        ? cacheControl.getSMaxAge() : cacheControl.getMaxAge();
+                if (headerMaxAge >= 0 && (shared || annotatedMaxAge >= 0)) {
+                    maxAge = headerMaxAge;
+                }
+            }
+
+            if (maxAge <= 0) {
+                cache.notCacheable(uri);
+                return;
+            }
+            if (!shared && ResponseCache.isPersonalized(request)) {
+                // the response might be cacheable for other requests
+                return;
+            }
+
+            final String[] varyHeaders = CacheHeaders.getVaryHeaders(response.getStringHeaders());
+            if (varyHeaders != null) {
+                request.setProperty(PENDING_RESPONSE_PROPERTY, new PendingResponse(uri, varyHeaders,
+                        ResponseCache.getVaryValues(varyHeaders, request), response.getStatus(), maxAge, shared));
+            } else {
+                cache.notCacheable(uri);
+            }
+        }
+    }
+
+    /**
+     * Captures serialized entities of cacheable responses and stores the responses in the cache.
+     */
+    @Priority(Priorities.USER + 1000) // should be the last interceptor before the entity is serialized
+    private static final class EntityCachingInterceptor implements WriterInterceptor {
+
+        private final ResponseCache cache;
+
+        private EntityCachingInterceptor(final ResponseCache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public void aroundWriteTo(final WriterInterceptorContext context) throws IOException, WebApplicationException {
+            final PendingResponse pending = (PendingResponse) context.getProperty(PENDING_RESPONSE_PROPERTY);
+            if (pending == null) {
+                context.proceed();
+                return;
+            }
+            context.removeProperty(PENDING_RESPONSE_PROPERTY);
+
+            final OutputStream entityStream = context.getOutputStream();
+            final CapturingOutputStream capturingStream = new CapturingOutputStream(entityStream, cache.getMaxEntrySize());
+            context.setOutputStream(capturingStream);
+            try {
+                context.proceed();
+            } finally {
+                context.setOutputStream(entityStream);
+            }
+
+            final byte[] entity = capturingStream.getCapturedBytes();
+            if (entity == null) {
+                cache.notCacheable(pending.uri);
+            } else {
+                final MultivaluedMap<String, String> headers = new StringKeyIgnoreCaseMultivaluedMap<String>();
+                headers.putAll(HeadersFactory.asStringHeaders(context.getHeaders()));
+                // the entity is serialized again (and possibly encoded) when a cached response is written
+                headers.remove(HttpHeaders.CONTENT_LENGTH);
+
+                cache.store(pending.uri, pending.varyHeaders, pending.varyValues, pending.status, headers, entity,
+                        pending.maxAge, pending.shared);
+            }
+        }
+    }
+
+    /**
+     * Output stream that keeps a copy of the written bytes up to the given limit.
+     */
+    private static final class CapturingOutputStream extends FilterOutputStream {
+
+        private final long limit;
+        private ByteArrayOutputStream captured = new ByteArrayOutputStream();
+
+        private CapturingOutputStream(final OutputStream out, final long limit) {
+            super(out);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            capture(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        private void capture(final byte[] b, final int off, final int len) {
+            if (captured != null) {
+                if (captured.size() + len > limit) {
+                    captured = null;
+                } else {
+                    captured.write(b, off, len);
+                }
+            }
+        }
+
+        /**
+         * Get the captured bytes.
+         *
+         * @return captured bytes or {@code null} if the limit has been exceeded.
+         */
+        byte[] getCapturedBytes() {
+            return captured == null ? null : captured.toByteArray();
+        }
+    }
+
+    /**
+     * Response waiting for its entity to be serialized and cached.
+     */
+    private static final class PendingResponse {
+
+        private final String uri;
+        private final String[] varyHeaders;
+        private final String[] varyValues;
+        private final int status;
+        private final int maxAge;
+        private final boolean shared;
+
+        private PendingResponse(final String uri,
+                                final String[] varyHeaders,
+                                final String[] varyValues,
+                                final int status,
+                                final int maxAge,
+                                final boolean shared) {
+            this.uri = uri;
+            this.varyHeaders = varyHeaders;
+            this.varyValues = varyValues;
+            this.status = status;
+            this.maxAge = maxAge;
+            this.shared = shared;
+        }
+    }
+}
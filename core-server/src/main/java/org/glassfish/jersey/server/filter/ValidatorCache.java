@@ -0,0 +1,73 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.net.URI;
+
+/**
+ * Cache of response validators of {@link CacheValidators cacheable} resource methods maintained by
+ * the {@link ValidatorCacheFeature}.
+ * <p>
+ * The cache can be injected into resources and providers (using {@link javax.inject.Inject &#64;Inject} or
+ * {@link javax.ws.rs.core.Context &#64;Context}) in order to invalidate validators of representations modified
+ * by other means than by a successful unsafe ({@code PUT}, {@code POST}, {@code DELETE}, ...) request sent to
+ * the same URI. Validators of the request URI are invalidated automatically after such requests.
+ * </p>
+ */
+public interface ValidatorCache {
+
+    /**
+     * Invalidate cached validators of all representations of the resource identified by the given URI.
+     * <p>
+     * Only the path of the URI is taken into account, i.e. the validators cached for all query parameter
+     * values are invalidated. The URI can be either absolute (for example the URI returned by
+     * {@link javax.ws.rs.core.UriInfo#getAbsolutePath()}), an absolute path including the application context path,
+     * or a relative URI (e.g. {@code items/1}) that is resolved against the base URI of the application.
+     * </p>
+     *
+     * @param uri URI of the resource whose validators should be invalidated.
+     */
+    public void invalidate(URI uri);
+
+    /**
+     * Invalidate all cached validators.
+     */
+    public void invalidateAll();
+}
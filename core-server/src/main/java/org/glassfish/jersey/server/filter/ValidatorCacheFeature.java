@@ -0,0 +1,267 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.io.IOException;
+import java.util.Date;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import javax.annotation.Priority;
+import javax.annotation.security.DenyAll;
+import javax.annotation.security.PermitAll;
+import javax.annotation.security.RolesAllowed;
+
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.message.internal.CacheHeaders;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.model.AnnotatedMethod;
+
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+
+/**
+ * Feature enabling short-circuit processing of conditional requests sent to {@link CacheValidators cacheable}
+ * resource methods.
+ * <p>
+ * Response validators ({@code ETag} and {@code Last-Modified} headers) of successful {@code GET} and
+ * {@code HEAD} requests processed by the resource methods annotated with {@link CacheValidators &#64;CacheValidators}
+ * are stored in a bounded concurrent cache keyed by the request URI and values of the request headers listed in the
+ * {@code Vary} response header. Subsequent requests containing {@code If-None-Match} or {@code If-Modified-Since}
+ * headers that match the cached validators are answered with {@code 304 Not Modified} by a
+ * {@link PreMatching pre-matching} filter, i.e. before the request is routed to the resource method. All other
+ * requests are processed as usual.
+ * </p>
+ * <p>
+ * As the conditional requests are answered before any post-matching filters are executed, validators of resource
+ * methods restricted by {@link javax.annotation.security.RolesAllowed &#64;RolesAllowed} or
+ * {@link javax.annotation.security.DenyAll &#64;DenyAll} are not cached. See {@link CacheValidators} for details.
+ * </p>
+ * <p>
+ * Cached validators of a request URI are invalidated after any successful unsafe request ({@code PUT},
+ * {@code POST}, {@code DELETE}, ...) to the same URI. Validators of representations modified by other means have
+ * to be invalidated using the {@link ValidatorCache} that can be injected into resources.
+ * </p>
+ * <p>
+ * The maximum number of cached resource URIs can be configured using the
+ * {@value ServerProperties#VALIDATOR_CACHE_SIZE} property.
+ * </p>
+ */
+public class ValidatorCacheFeature implements Feature {
+
+    /**
+     * Request property containing the validator cache stamp obtained before the request has been routed.
+     */
+    private static final String STAMP_PROPERTY = ValidatorCacheFeature.class.getName() + ".stamp";
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        final int size = PropertiesHelper.getValue(context.getConfiguration().getProperties(),
+                ServerProperties.VALIDATOR_CACHE_SIZE, ServerProperties.DEFAULT_VALIDATOR_CACHE_SIZE, Integer.class);
+        if (size <= 0) {
+            return false;
+        }
+
+        final DefaultValidatorCache cache = new DefaultValidatorCache(size);
+
+        context.register(new PreconditionsFilter(cache));
+        context.register(new InvalidationFilter(cache));
+        context.register(new ValidatorsDynamicFeature(new StoreValidatorsFilter(cache)));
+        context.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(cache).to(ValidatorCache.class);
+            }
+        });
+        return true;
+    }
+
+    private static boolean isGetOrHead(final ContainerRequestContext request) {
+        final String method = request.getMethod();
+        return HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method);
+    }
+
+    /**
+     * Get information whether the access to the resource method is restricted by the security annotations. The
+     * annotations are resolved the same way the {@link RolesAllowedDynamicFeature} does.
+     *
+     * @param am            resource method.
+     * @param resourceClass resource class.
+     * @return {@code true} if the resource method is annotated with {@link RolesAllowed &#64;RolesAllowed} or
+     *         {@link DenyAll &#64;DenyAll} (directly or through its resource class).
+     */
+    static boolean isAccessRestricted(final AnnotatedMethod am, final Class<?> resourceClass) {
+        if (am.isAnnotationPresent(DenyAll.class) || am.isAnnotationPresent(RolesAllowed.class)) {
+            return true;
+        }
+        if (am.isAnnotationPresent(PermitAll.class)) {
+            return false;
+        }
+        return resourceClass.isAnnotationPresent(DenyAll.class) || resourceClass.isAnnotationPresent(RolesAllowed.class);
+    }
+
+    /**
+     * Answers conditional requests matching the cached validators before the requests are routed.
+     */
+    @PreMatching
+    @Priority(Priorities.USER) // should go after any pre-matching authentication and header decorating filters
+    private static final class PreconditionsFilter implements ContainerRequestFilter {
+
+        private final DefaultValidatorCache cache;
+
+        private PreconditionsFilter(final DefaultValidatorCache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext request) throws IOException {
+            if (!isGetOrHead(request)) {
+                return;
+            }
+            request.setProperty(STAMP_PROPERTY, cache.stamp(request));
+
+            if (request.getHeaderString(HttpHeaders.IF_NONE_MATCH) == null
+                    && request.getHeaderString(HttpHeaders.IF_MODIFIED_SINCE) == null) {
+                return;
+            }
+
+            final DefaultValidatorCache.Variant variant = cache.get(request);
+            if (variant != null) {
+                final Response response = variant.evaluatePreconditions(request.getRequest());
+                if (response != null) {
+                    request.abortWith(response);
+                }
+            }
+        }
+    }
+
+    /**
+     * Binds the {@link StoreValidatorsFilter} to the {@link CacheValidators cacheable} resource methods.
+     */
+    private static final class ValidatorsDynamicFeature implements DynamicFeature {
+
+        private final StoreValidatorsFilter filter;
+
+        private ValidatorsDynamicFeature(final StoreValidatorsFilter filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        public void configure(final ResourceInfo resourceInfo, final FeatureContext context) {
+            final AnnotatedMethod am = new AnnotatedMethod(resourceInfo.getResourceMethod());
+            final Class<?> resourceClass = resourceInfo.getResourceClass();
+            if ((am.isAnnotationPresent(CacheValidators.class) || resourceClass.isAnnotationPresent(CacheValidators.class))
+                    && !isAccessRestricted(am, resourceClass)) {
+                context.register(filter);
+            }
+        }
+    }
+
+    /**
+     * Stores validators of successful responses returned by the {@link CacheValidators cacheable} resource methods.
+     */
+    // response filters are executed in the reverse order - must see the Vary headers added by header decorators
+    @Priority(Priorities.HEADER_DECORATOR - 100)
+    private static final class StoreValidatorsFilter implements ContainerResponseFilter {
+
+        private final DefaultValidatorCache cache;
+
+        private StoreValidatorsFilter(final DefaultValidatorCache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext request, final ContainerResponseContext response)
+                throws IOException {
+            final Object stamp = request.getProperty(STAMP_PROPERTY);
+            if (stamp == null || response.getStatus() != Response.Status.OK.getStatusCode() || !isGetOrHead(request)) {
+                return;
+            }
+
+            final EntityTag eTag = response.getEntityTag();
+            final Date lastModified = response.getLastModified();
+            if (eTag == null && lastModified == null) {
+                return;
+            }
+
+            final String[] varyHeaders = CacheHeaders.getVaryHeaders(response.getStringHeaders());
+            if (varyHeaders == null) {
+                return;
+            }
+
+            cache.store((Long) stamp, request, varyHeaders,
+                    response.getHeaderString(HttpHeaders.VARY), eTag, lastModified,
+                    response.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        }
+    }
+
+    /**
+     * Invalidates validators cached for the request URI after successful unsafe requests.
+     */
+    private static final class InvalidationFilter implements ContainerResponseFilter {
+
+        private final DefaultValidatorCache cache;
+
+        private InvalidationFilter(final DefaultValidatorCache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext request, final ContainerResponseContext response)
+                throws IOException {
+            if (response.getStatus() < 400
+                    && !isGetOrHead(request) && !HttpMethod.OPTIONS.equals(request.getMethod())) {
+                cache.invalidate(request.getUriInfo().getRequestUri());
+            }
+        }
+    }
+}
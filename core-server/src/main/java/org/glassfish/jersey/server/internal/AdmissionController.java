@@ -0,0 +1,289 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal;
+
+import java.io.Closeable;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.ws.rs.ServiceUnavailableException;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.MediaType;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.server.CloseableService;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.model.ResourceMethod;
+
+import com.google.common.base.Function;
+import com.google.common.base.Objects;
+import com.google.common.collect.Maps;
+
+/**
+ * Request admission control.
+ * <p>
+ * The controller provides request processing stages that limit the number of requests processed concurrently by
+ * the whole application ({@link ServerProperties#ADMISSION_MAX_CONCURRENT_REQUESTS}) and by individual resource
+ * methods ({@link ServerProperties#ADMISSION_RESOURCE_METHOD_MAX_CONCURRENT_REQUESTS}). Requests exceeding a limit
+ * are rejected by throwing a {@link ServiceUnavailableException}. An admitted request is released once its
+ * response has been written (the release is registered in the request-scoped {@link CloseableService}).
+ * Processing latency of requests that have been suspended is not used to adapt the global limit.
+ * </p>
+ */
+public class AdmissionController {
+
+    private final Provider<CloseableService> closeableServiceProvider;
+    private final ConcurrencyLimiter globalLimiter;
+    private final int resourceMethodLimit;
+    private final ConcurrentMap<MethodKey, ConcurrencyLimiter> resourceMethodLimiters;
+    private final Long retryAfter;
+
+    /**
+     * Create new admission controller configured by the application configuration.
+     *
+     * @param configuration application configuration.
+     * @param closeableServiceProvider request-scoped closeable service provider.
+     */
+    @Inject
+    public AdmissionController(final Configuration configuration, final Provider<CloseableService> closeableServiceProvider) {
+        this.closeableServiceProvider = closeableServiceProvider;
+
+        final Map<String, Object> properties = configuration.getProperties();
+        final int globalLimit = PropertiesHelper.getValue(properties,
+                ServerProperties.ADMISSION_MAX_CONCURRENT_REQUESTS, 0, Integer.class);
+        final boolean adaptive = PropertiesHelper.isProperty(properties, ServerProperties.ADMISSION_ADAPTIVE_LIMIT_ENABLED);
+        this.globalLimiter = globalLimit > 0 ? new ConcurrencyLimiter(globalLimit, adaptive) : null;
+
+        this.resourceMethodLimit = PropertiesHelper.getValue(properties,
+                ServerProperties.ADMISSION_RESOURCE_METHOD_MAX_CONCURRENT_REQUESTS, 0, Integer.class);
+        this.resourceMethodLimiters = Maps.newConcurrentMap();
+
+        final int retryAfterValue = PropertiesHelper.getValue(properties, ServerProperties.ADMISSION_RETRY_AFTER, 1,
+                Integer.class);
+        this.retryAfter = retryAfterValue >= 0 ? Long.valueOf(retryAfterValue) : null;
+    }
+
+    /**
+     * Get information whether any admission limit is configured.
+     *
+     * @return {@code true} if the admission control is enabled.
+     */
+    public boolean isEnabled() {
+        return globalLimiter != null || resourceMethodLimit > 0;
+    }
+
+    /**
+     * Get the stage limiting the number of requests concurrently processed by the application. The stage is expected
+     * to be executed before the request is matched.
+     *
+     * @return global admission stage or {@code null} if the global limit is not configured.
+     */
+    public Function<ContainerRequest, ContainerRequest> getGlobalAdmissionStage() {
+        if (globalLimiter == null) {
+            return null;
+        }
+
+        return new Function<ContainerRequest, ContainerRequest>() {
+            @Override
+            public ContainerRequest apply(final ContainerRequest request) {
+                admit(globalLimiter, request);
+                return request;
+            }
+        };
+    }
+
+    /**
+     * Get the stage limiting the number of requests concurrently processed by the matched resource method.
+     * The stage is expected to be executed after the request is matched.
+     *
+     * @return resource method admission stage or {@code null} if the resource method limit is not configured.
+     */
+    public Function<ContainerRequest, ContainerRequest> getResourceMethodAdmissionStage() {
+        if (resourceMethodLimit <= 0) {
+            return null;
+        }
+
+        return new Function<ContainerRequest, ContainerRequest>() {
+            @Override
+            public ContainerRequest apply(final ContainerRequest request) {
+                final ResourceMethod method = request.getUriInfo().getMatchedResourceMethod();
+                if (method != null) {
+                    admit(getResourceMethodLimiter(method), request);
+                }
+                return request;
+            }
+        };
+    }
+
+    private ConcurrencyLimiter getResourceMethodLimiter(final ResourceMethod method) {
+        final MethodKey key = new MethodKey(method);
+        ConcurrencyLimiter limiter = resourceMethodLimiters.get(key);
+        if (limiter == null) {
+            final ConcurrencyLimiter newLimiter = new ConcurrencyLimiter(resourceMethodLimit, false);
+            limiter = resourceMethodLimiters.putIfAbsent(key, newLimiter);
+            if (limiter == null) {
+                limiter = newLimiter;
+            }
+        }
+        return limiter;
+    }
+
+    private void admit(final ConcurrencyLimiter limiter, final ContainerRequest request) {
+        if (!limiter.tryAcquire()) {
+            throw new AdmissionRejectedException(retryAfter);
+        }
+
+        final long start = System.nanoTime();
+        closeableServiceProvider.get().add(new Closeable() {
+            @Override
+            public void close() {
+                if (request.getProperty(InternalServerProperties.SUSPENDED_PROPERTY) == null) {
+                    limiter.release(System.nanoTime() - start);
+                } else {
+                    // time spent waiting for the resume does not say anything about the application load
+                    limiter.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * Get the limiter of requests concurrently processed by the application.
+     *
+     * @return global limiter or {@code null} if the global limit is not configured.
+     */
+    public ConcurrencyLimiter getGlobalLimiter() {
+        return globalLimiter;
+    }
+
+    /**
+     * Get the limiters of requests concurrently processed by resource methods. The map contains only resource methods
+     * that have already been invoked and is keyed by a string identifying the handler class and the resource method.
+     *
+     * @return unmodifiable map of resource method limiters.
+     */
+    public Map<String, ConcurrencyLimiter> getResourceMethodLimiters() {
+        final Map<String, ConcurrencyLimiter> limiters = Maps.newHashMap();
+        for (final Map.Entry<MethodKey, ConcurrencyLimiter> entry : resourceMethodLimiters.entrySet()) {
+            limiters.put(entry.getKey().toString(), entry.getValue());
+        }
+        return Collections.unmodifiableMap(limiters);
+    }
+
+    /**
+     * Stable identity of a resource method. Models of sub-resources returned from sub-resource locators may be
+     * rebuilt for every request (or after being evicted from the locator cache), the limiters are therefore not keyed
+     * by the resource method model instances but by the handler class, the handling Java method and the resource
+     * method metadata.
+     */
+    private static final class MethodKey {
+
+        private final Class<?> handlerClass;
+        private final Method handlingMethod;
+        private final String httpMethod;
+        private final String path;
+        private final List<MediaType> producedTypes;
+        private final List<MediaType> consumedTypes;
+        private final int hash;
+
+        MethodKey(final ResourceMethod method) {
+            this.handlerClass = method.getInvocable().getHandler().getHandlerClass();
+            this.handlingMethod = method.getInvocable().getHandlingMethod();
+            this.httpMethod = method.getHttpMethod();
+            this.path = method.getParent() == null ? null : method.getParent().getPath();
+            this.producedTypes = method.getProducedTypes();
+            this.consumedTypes = method.getConsumedTypes();
+            this.hash = Objects.hashCode(handlerClass, handlingMethod, httpMethod, path, producedTypes, consumedTypes);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MethodKey)) {
+                return false;
+            }
+            final MethodKey other = (MethodKey) o;
+            return handlerClass == other.handlerClass
+                    && handlingMethod.equals(other.handlingMethod)
+                    && Objects.equal(httpMethod, other.httpMethod)
+                    && Objects.equal(path, other.path)
+                    && producedTypes.equals(other.producedTypes)
+                    && consumedTypes.equals(other.consumedTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return handlerClass.getName() + "|" + producedTypes + "|" + consumedTypes + "|" + httpMethod + "|" + path
+                    + "|" + handlingMethod.getName();
+        }
+    }
+
+    /**
+     * Exception thrown when a request is rejected. The stack trace is not filled in as the exception is
+     * thrown repeatedly when the application is overloaded.
+     */
+    private static class AdmissionRejectedException extends ServiceUnavailableException {
+
+        private static final long serialVersionUID = -4305869452637532146L;
+
+        AdmissionRejectedException(final Long retryAfter) {
+            super(retryAfter);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limiter of the number of concurrently processed requests used by the {@link AdmissionController admission control}.
+ * <p>
+ * The limit is either fixed or adaptive. The adaptive limit follows the gradient of the request processing latency:
+ * the ratio between the lowest latency observed recently (an estimate of the latency of an idle application)
+ * and the current (smoothed) latency. The limit is reduced proportionally to the gradient once the latency grows,
+ * i.e. once requests start to queue in the application, and grows by a square root of the current limit while
+ * the latency stays low and the application is fully utilized.
+ * </p>
+ * <p>
+ * Releasing a request never blocks: the adaptive limit is updated by a single releasing thread at a time and
+ * latency samples of requests released while an update is in progress are dropped.
+ * </p>
+ */
+public final class ConcurrencyLimiter {
+
+    /**
+     * Latency increase tolerated before the adaptive limit is reduced.
+     */
+    private static final double LATENCY_TOLERANCE = 1.5;
+    /**
+     * Lowest gradient applied to the adaptive limit in a single step.
+     */
+    private static final double MIN_GRADIENT = 0.5;
+    /**
+     * Weight of a new latency sample in the smoothed latency.
+     */
+    private static final double LATENCY_SMOOTHING = 0.1;
+    /**
+     * Weight of a new limit estimate in the adaptive limit.
+     */
+    private static final double LIMIT_SMOOTHING = 0.2;
+    /**
+     * Number of latency samples after which the lowest observed latency is re-evaluated.
+     */
+    private static final int MIN_LATENCY_WINDOW = 1000;
+
+    private final int maxLimit;
+    private final int minLimit;
+    private final boolean adaptive;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile int limit;
+
+    private final AtomicBoolean updating = new AtomicBoolean();
+    // adaptive limit state; guarded by updating
+    private double estimatedLimit;
+    private double smoothedLatency;
+    private long minLatency = Long.MAX_VALUE;
+    private long windowMinLatency = Long.MAX_VALUE;
+    private int windowSamples;
+
+    /**
+     * Create new concurrency limiter.
+     *
+     * @param maxLimit maximum number of concurrently processed requests; must be greater than {@code 0}.
+     * @param adaptive if {@code true}, the limit is adapted to the observed request processing latency.
+     */
+    public ConcurrencyLimiter(final int maxLimit, final boolean adaptive) {
+        if (maxLimit <= 0) {
+            throw new IllegalArgumentException("Concurrency limit must be greater than 0: " + maxLimit);
+        }
+        this.maxLimit = maxLimit;
+        this.minLimit = Math.max(1, maxLimit / 10);
+        this.adaptive = adaptive;
+        this.limit = maxLimit;
+        this.estimatedLimit = maxLimit;
+    }
+
+    /**
+     * Try to admit a new request.
+     *
+     * @return {@code true} if the request has been admitted and has to be {@link #release(long) released}
+     *         once processed, {@code false} if the request has been rejected.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                admitted.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release a previously {@link #tryAcquire() admitted} request.
+     *
+     * @param latency request processing latency in nanoseconds.
+     */
+    public void release(final long latency) {
+        final int current = inFlight.getAndDecrement();
+        if (adaptive && !updating.get() && updating.compareAndSet(false, true)) {
+            try {
+                update(latency, current);
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    /**
+     * Release a previously {@link #tryAcquire() admitted} request without providing a latency sample, e.g. because
+     * the processing latency of the request does not reflect the load of the application.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    private void update(final long latency, final int inFlightRequests) {
+        if (latency < windowMinLatency) {
+            windowMinLatency = latency;
+        }
+        if (latency < minLatency) {
+            minLatency = latency;
+        }
+        if (++windowSamples >= MIN_LATENCY_WINDOW) {
+            // forget old minimum so that the limit follows changes of the application performance
+            minLatency = windowMinLatency;
+            windowMinLatency = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+        smoothedLatency = (smoothedLatency == 0) ? latency
+                : smoothedLatency * (1 - LATENCY_SMOOTHING) + latency * LATENCY_SMOOTHING;
+
+        final double gradient = Math.max(MIN_GRADIENT,
+                Math.min(1.0, LATENCY_TOLERANCE * minLatency / Math.max(1.0, smoothedLatency)));
+        double newLimit = estimatedLimit * gradient;
+        if (gradient >= 1.0 && inFlightRequests * 2 >= estimatedLimit) {
+            // not congested and utilized enough to need a higher limit
+            newLimit += Math.sqrt(estimatedLimit);
+        }
+        estimatedLimit = estimatedLimit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit));
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * Get the current limit of concurrently processed requests.
+     *
+     * @return current limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Get the maximum limit of concurrently processed requests.
+     *
+     * @return maximum limit.
+     */
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    /**
+     * Get information whether the limit is adapted to the observed request processing latency.
+     *
+     * @return {@code true} if the limit is adaptive.
+     */
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Get the number of requests being currently processed.
+     *
+     * @return number of in-flight requests.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Get the total number of admitted requests.
+     *
+     * @return number of admitted requests.
+     */
+    public long getAdmitted() {
+        return admitted.get();
+    }
+
+    /**
+     * Get the total number of rejected requests.
+     *
+     * @return number of rejected requests.
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.ws.rs.ProcessingException;
+
+import org.glassfish.jersey.internal.Errors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Executor of application initialization tasks (resource introspection, resource model validation
+ * and router building).
+ * <p>
+ * Tasks are executed in parallel if the executor has been created with parallelism greater than {@code 1}
+ * (see {@link org.glassfish.jersey.server.ServerProperties#INITIALIZATION_PARALLELISM}),
+ * otherwise they are executed sequentially in the calling thread. In both cases the results as well as all
+ * the {@link Errors errors} reported by the tasks are returned and reported in the order the tasks have been
+ * submitted in, i.e. the outcome of the initialization does not depend on the thread scheduling.
+ * </p>
+ */
+public final class InitializationExecutor {
+
+    private static final InitializationExecutor SEQUENTIAL = new InitializationExecutor(null);
+
+    private final ExecutorService executor;
+
+    private InitializationExecutor(final ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Get an executor running all the tasks sequentially in the calling thread.
+     *
+     * @return sequential initialization executor.
+     */
+    public static InitializationExecutor sequential() {
+        return SEQUENTIAL;
+    }
+
+    /**
+     * Create a new initialization executor.
+     *
+     * @param parallelism maximum number of tasks executed in parallel. If the value is lower than {@code 2},
+     *                    the {@link #sequential() sequential} executor is returned.
+     * @return new initialization executor. The executor should be {@link #shutdown() shut down} once the
+     *         initialization is finished.
+     */
+    public static InitializationExecutor create(final int parallelism) {
+        if (parallelism < 2) {
+            return SEQUENTIAL;
+        }
+        return new InitializationExecutor(Executors.newFixedThreadPool(parallelism,
+                new ThreadFactoryBuilder().setNameFormat("jersey-server-initialization-%d").setDaemon(true).build()));
+    }
+
+    /**
+     * Check whether the tasks are executed in parallel.
+     *
+     * @return {@code true} if the tasks are executed in parallel, {@code false} if they are executed
+     *         sequentially in the calling thread.
+     */
+    public boolean isParallel() {
+        return executor != null;
+    }
+
+    /**
+     * Execute the tasks and wait for all of them to finish.
+     * <p>
+     * When executed in parallel, errors reported by the tasks are gathered in separate error processing scopes
+     * and once all the tasks are finished, they are reported to the error processing scope of the calling thread
+     * in the order of the tasks. If any of the tasks fails, the exception of the first failed task (in the order
+     * of the tasks) is re-thrown.
+     * </p>
+     *
+     * @param tasks tasks to be executed.
+     * @param <T>   type of the task result.
+     * @return list of task results in the order of the tasks.
+     */
+    public <T> List<T> invokeAll(final List<? extends Callable<T>> tasks) {
+        final List<T> results = new ArrayList<T>(tasks.size());
+
+        if (executor == null || tasks.size() < 2) {
+            for (final Callable<T> task : tasks) {
+                results.add(call(task));
+            }
+            return results;
+        }
+
+        final List<List<Errors.ErrorMessage>> issues = new ArrayList<List<Errors.ErrorMessage>>(tasks.size());
+        final List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+        for (final Callable<T> task : tasks) {
+            final List<Errors.ErrorMessage> taskIssues = new ArrayList<Errors.ErrorMessage>(0);
+            issues.add(taskIssues);
+            futures.add(executor.submit(new Callable<T>() {
+                @Override
+                public T call() throws Exception {
+                    return Errors.collect(task, taskIssues);
+                }
+            }));
+        }
+
+        Throwable failure = null;
+        for (final Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (final ExecutionException e) {
+                results.add(null);
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ProcessingException(e);
+            }
+        }
+
+        for (final List<Errors.ErrorMessage> taskIssues : issues) {
+            if (!taskIssues.isEmpty()) {
+                Errors.reportAll(taskIssues);
+            }
+        }
+
+        if (failure != null) {
+            throw propagate(failure);
+        }
+        return results;
+    }
+
+    /**
+     * Shut down the underlying thread pool (if any).
+     */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> T call(final Callable<T> task) {
+        try {
+            return task.call();
+        } catch (final Exception e) {
+            throw propagate(e);
+        }
+    }
+
+    private static RuntimeException propagate(final Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            return (RuntimeException) failure;
+        } else if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        return new ProcessingException(failure);
+    }
+}
@@ -59,6 +59,12 @@ public final class InternalServerProperties {
      */
     public static final String FORM_DECODED_PROPERTY = "jersey.config.server.representation.decoded.form";
 
+    /**
+     * Used internally for marking {@link org.glassfish.jersey.server.ContainerRequest} whose processing has been
+     * {@link javax.ws.rs.container.AsyncResponse suspended}.
+     */
+    public static final String SUSPENDED_PROPERTY = "jersey.config.server.processing.suspended";
+
     private InternalServerProperties() {
         // prevents instantiation
     }
@@ -88,10 +88,9 @@ public class JsonWithPaddingInterceptor implements WriterInterceptor {
 
     @Override
     public void aroundWriteTo(final WriterInterceptorContext context) throws IOException, WebApplicationException {
-        final boolean isJavascript = isJavascript(context.getMediaType());
-        final JSONP jsonp = getJsonpAnnotation(context);
+        final JSONP jsonp = isJavascript(context.getMediaType()) ? getJsonpAnnotation(context.getAnnotations()) : null;
 
-        final boolean wrapIntoCallback = isJavascript && jsonp != null;
+        final boolean wrapIntoCallback = jsonp != null;
 
         if (wrapIntoCallback) {
             context.setMediaType(MediaType.APPLICATION_JSON_TYPE);
@@ -107,6 +106,18 @@ public class JsonWithPaddingInterceptor implements WriterInterceptor {
         }
     }
 
+    /**
+     * Returns a flag whether an entity of the given {@link MediaType media type} written with the given annotations would be
+     * wrapped into a JavaScript callback function by this interceptor.
+     *
+     * @param mediaType   media type of the written entity.
+     * @param annotations annotations attached to the written entity.
+     * @return {@code true} if the entity would be wrapped into a callback function, {@code false} otherwise.
+     */
+    public static boolean isApplicable(final MediaType mediaType, final Annotation[] annotations) {
+        return isJavascript(mediaType) && getJsonpAnnotation(annotations) != null;
+    }
+
     /**
      * Returns a flag whether the given {@link MediaType media type} belongs to the group of JavaScript media types.
      *
@@ -114,7 +125,7 @@ public class JsonWithPaddingInterceptor implements WriterInterceptor {
      * @return {@code true} if the given media type is a JavaScript type, {@code false} otherwise (or if the media type is
      *         {@code null}}
      */
-    private boolean isJavascript(MediaType mediaType) {
+    private static boolean isJavascript(MediaType mediaType) {
         if (mediaType == null) {
             return false;
         }
@@ -148,13 +159,11 @@ public class JsonWithPaddingInterceptor implements WriterInterceptor {
     /**
      * Returns a {@link JSONP} annotation of the resource method responsible for handling the current request.
      *
-     * @param context an {@link InterceptorContext interceptor context} to obtain the annotation from.
+     * @param annotations {@link InterceptorContext#getAnnotations() annotations} to obtain the annotation from.
      * @return {@link JSONP} annotation or {@code null} if the resource method is not annotated with this annotation.
      * @see javax.ws.rs.ext.InterceptorContext#getAnnotations()
      */
-    private JSONP getJsonpAnnotation(final InterceptorContext context) {
-        final Annotation[] annotations = context.getAnnotations();
-
+    private static JSONP getJsonpAnnotation(final Annotation[] annotations) {
         if (annotations != null && annotations.length > 0) {
             for (Annotation annotation : annotations) {
                 if (annotation instanceof JSONP) {
@@ -41,6 +41,7 @@
 package org.glassfish.jersey.server.internal;
 
 import java.lang.annotation.Annotation;
+import java.util.Collections;
 import java.util.List;
 
 import javax.ws.rs.container.ContainerRequestFilter;
@@ -64,6 +65,8 @@ import org.glassfish.hk2.api.PerLookup;
 import org.glassfish.hk2.api.TypeLiteral;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
+import com.google.common.collect.Lists;
+
 /**
  * Injectable encapsulating class containing processing providers like filters, interceptors,
  * name bound providers, dynamic features.
@@ -141,10 +144,10 @@ public class ProcessingProviders {
         this.globalReaderInterceptors = globalReaderInterceptors;
         this.globalWriterInterceptors = globalWriterInterceptors;
         this.dynamicFeatures = dynamicFeatures;
-        this.sortedGlobalReaderInterceptors = Providers.sortRankedProviders(new RankedComparator<ReaderInterceptor>(),
-                globalReaderInterceptors);
-        this.sortedGlobalWriterInterceptors = Providers.sortRankedProviders(new RankedComparator<WriterInterceptor>(),
-                globalWriterInterceptors);
+        this.sortedGlobalReaderInterceptors = Collections.unmodifiableList(Lists.newArrayList(Providers.sortRankedProviders(
+                new RankedComparator<ReaderInterceptor>(), globalReaderInterceptors)));
+        this.sortedGlobalWriterInterceptors = Collections.unmodifiableList(Lists.newArrayList(Providers.sortRankedProviders(
+                new RankedComparator<WriterInterceptor>(), globalWriterInterceptors)));
 
         this.sortedGlobalRequestFilters = Providers.sortRankedProviders(new RankedComparator<ContainerRequestFilter>(),
                 globalRequestFilters);
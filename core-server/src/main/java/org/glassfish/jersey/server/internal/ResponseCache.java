@@ -0,0 +1,479 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+
+import org.glassfish.jersey.internal.util.collection.StringKeyIgnoreCaseMultivaluedMap;
+import org.glassfish.jersey.server.CloseableService;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.Maps;
+
+/**
+ * In-process cache of serialized responses used by the
+ * {@link org.glassfish.jersey.server.filter.ResponseCacheFeature response cache feature}.
+ * <p>
+ * Responses are cached per normalized request URI and values of the request headers listed in the {@code Vary}
+ * response header. The total size of the cached responses is bounded; the least recently used responses are
+ * evicted first. Only one request at a time recomputes a missing or expired response for a given request URI and
+ * representation variant; other requests for the same variant wait (for a limited time) until the response is
+ * cached again. While the representation variants of a request URI are not known (before a response has been
+ * cached for the URI or after the URI has been invalidated), only one request at a time computes a response for
+ * the request URI.
+ * </p>
+ */
+public final class ResponseCache {
+
+    /**
+     * Maximum number of request URIs the cache keeps {@code Vary} header names for.
+     */
+    private static final int MAX_URIS = 10000;
+
+    private final long maxEntrySize;
+    private final long lockTimeout;
+
+    private final Cache<String, VaryHeaders> varyHeaders;
+    /**
+     * Request URIs whose last computed response could not be cached. Requests for such URIs do not wait for each
+     * other while the {@code Vary} header names of the URI are not known.
+     */
+    private final Cache<String, Boolean> notCacheable;
+    private final Cache<Key, CachedResponse> responses;
+    /**
+     * Requests computing responses, keyed by the representation variant {@link Key key} or by the normalized request
+     * URI if the {@code Vary} header names of the request URI are not known.
+     */
+    private final ConcurrentMap<Object, CountDownLatch> loading = Maps.newConcurrentMap();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Create new response cache.
+     *
+     * @param maxSize     maximum total size (in bytes) of cached responses.
+     * @param lockTimeout maximum time (in milliseconds) a request waits for a response computed by another request.
+     */
+    public ResponseCache(final long maxSize, final long lockTimeout) {
+        // an entry must not take more than a fraction of a cache segment
+        this.maxEntrySize = Math.max(1, maxSize / 16);
+        this.lockTimeout = lockTimeout;
+
+        this.varyHeaders = CacheBuilder.newBuilder().maximumSize(MAX_URIS).build();
+        this.notCacheable = CacheBuilder.newBuilder().maximumSize(MAX_URIS).build();
+        this.responses = CacheBuilder.newBuilder()
+                .maximumWeight(maxSize)
+                .weigher(new Weigher<Key, CachedResponse>() {
+                    @Override
+                    public int weigh(final Key key, final CachedResponse value) {
+                        return value.size;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get normalized form of the request URI used as a cache key.
+     * <p>
+     * Dot segments are removed from the URI path and the query parameters are sorted.
+     * </p>
+     *
+     * @param requestUri request URI.
+     * @return normalized request URI.
+     */
+    public static String normalize(final URI requestUri) {
+        final URI uri = requestUri.normalize();
+        final String query = uri.getRawQuery();
+        if (query == null || query.indexOf('&') < 0) {
+            return uri.toString();
+        }
+
+        final String[] parameters = query.split("&");
+        Arrays.sort(parameters);
+
+        final StringBuilder sb = new StringBuilder();
+        final String string = uri.toString();
+        sb.append(string, 0, string.indexOf('?') + 1);
+        for (int i = 0; i < parameters.length; i++) {
+            if (i > 0) {
+                sb.append('&');
+            }
+            sb.append(parameters[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Get a fresh cached response for the given request.
+     * <p>
+     * If the cached response is missing or expired and no other request is computing the response of the same
+     * representation variant (or of the same request URI if its representation variants are not known), the given
+     * {@code GET} request becomes responsible for computing it. {@code HEAD} requests and requests that are
+     * {@link #isPersonalized(ContainerRequestContext) personalized} never make other requests wait, since their
+     * responses are not cached; personalized requests also never wait for responses computed by other requests.
+     * Requests for a URI whose last response has been {@link #notCacheable(String) found not cacheable} do not
+     * wait for each other either, until a response for the URI is cached. The
+     * responsibility is released when the request-scoped {@link CloseableService closeable service} is closed,
+     * i.e. after the response has been written. If the response is being computed by another request, the method
+     * waits until the response is computed (or the lock timeout expires) and tries to find the response again.
+     * </p>
+     *
+     * @param uri         {@link #normalize(URI) normalized} request URI.
+     * @param request     request.
+     * @param closeables  request-scoped closeable service.
+     * @return cached response or {@code null} if no fresh response is cached.
+     * @throws InterruptedException if interrupted while waiting for another request computing the response.
+     */
+    public CachedResponse get(final String uri,
+                              final ContainerRequestContext request,
+                              final CloseableService closeables) throws InterruptedException {
+        final Key key = getKey(uri, request);
+        CachedResponse response = key == null ? null : find(key, request);
+        if (response == null && !isPersonalized(request)) {
+            // the Vary headers are not known for a URI that has not been cached yet or has just been invalidated
+            final Object lockKey = key == null ? uri : key;
+            final CountDownLatch current;
+            if (HttpMethod.GET.equals(request.getMethod()) && (key != null || notCacheable.getIfPresent(uri) == null)) {
+                final CountDownLatch latch = new CountDownLatch(1);
+                current = loading.putIfAbsent(lockKey, latch);
+                if (current == null) {
+                    closeables.add(new Closeable() {
+                        @Override
+                        public void close() {
+                            loading.remove(lockKey, latch);
+                            latch.countDown();
+                        }
+                    });
+                }
+            } else {
+                current = loading.get(lockKey);
+            }
+            if (current != null && current.await(lockTimeout, TimeUnit.MILLISECONDS)) {
+                // the Vary headers might have changed in the meantime
+                final Key computedKey = getKey(uri, request);
+                response = computedKey == null ? null : find(computedKey, request);
+            }
+        }
+
+        if (response == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return response;
+    }
+
+    private Key getKey(final String uri, final ContainerRequestContext request) {
+        final VaryHeaders vary = varyHeaders.getIfPresent(uri);
+        return vary == null ? null : new Key(vary, getVaryValues(vary.names, request));
+    }
+
+    private CachedResponse find(final Key key, final ContainerRequestContext request) {
+        final CachedResponse response = responses.getIfPresent(key);
+        if (response == null) {
+            return null;
+        }
+        if (response.isExpired()) {
+            responses.asMap().remove(key, response);
+            return null;
+        }
+        if (!response.shared && isPersonalized(request)) {
+            // response to an anonymous request cannot be used for an authenticated one
+            return null;
+        }
+        return response;
+    }
+
+    /**
+     * Get information whether the response to the given request may be specific to the user sending the request,
+     * i.e. whether the request contains an {@code Authorization} or a {@code Cookie} header or has been authenticated
+     * by the application. Responses to such requests are cached (and cached responses are used for such requests)
+     * only if the responses are explicitly marked as {@code public}.
+     *
+     * @param request request.
+     * @return {@code true} if the request is personalized.
+     */
+    public static boolean isPersonalized(final ContainerRequestContext request) {
+        if (request.getHeaderString(HttpHeaders.AUTHORIZATION) != null
+                || request.getHeaderString(HttpHeaders.COOKIE) != null) {
+            return true;
+        }
+        final SecurityContext securityContext = request.getSecurityContext();
+        return securityContext != null && securityContext.getUserPrincipal() != null;
+    }
+
+    /**
+     * Get values of the given request headers.
+     *
+     * @param names   request header names.
+     * @param request request.
+     * @return request header values.
+     */
+    public static String[] getVaryValues(final String[] names, final ContainerRequestContext request) {
+        final String[] values = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            values[i] = request.getHeaderString(names[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Get the maximum size of a serialized response entity that can be cached.
+     *
+     * @return maximum entity size in bytes.
+     */
+    public long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    /**
+     * Store a serialized response.
+     *
+     * @param uri         {@link #normalize(URI) normalized} request URI.
+     * @param varyHeaders names of the request headers listed in the {@code Vary} response header.
+     * @param varyValues  {@link #getVaryValues(String[], ContainerRequestContext) values} of the request headers
+     *                    listed in the {@code Vary} response header.
+     * @param status      response status code.
+     * @param headers     response headers.
+     * @param entity      serialized response entity.
+     * @param maxAge      number of seconds the response is fresh for.
+     * @param shared      {@code true} if the response can be used also for
+     *                    {@link #isPersonalized(ContainerRequestContext) personalized} requests.
+     */
+    public void store(final String uri,
+                      final String[] varyHeaders,
+                      final String[] varyValues,
+                      final int status,
+                      final MultivaluedMap<String, String> headers,
+                      final byte[] entity,
+                      final int maxAge,
+                      final boolean shared) {
+        if (entity.length > maxEntrySize) {
+            notCacheable(uri);
+            return;
+        }
+
+        notCacheable.invalidate(uri);
+        VaryHeaders vary = this.varyHeaders.getIfPresent(uri);
+        if (vary == null || !Arrays.equals(vary.names, varyHeaders)) {
+            vary = new VaryHeaders(varyHeaders);
+            this.varyHeaders.put(uri, vary);
+        }
+        responses.put(new Key(vary, varyValues), new CachedResponse(status, headers, entity, maxAge, shared));
+    }
+
+    /**
+     * Record that the response computed for the given request URI cannot be cached, e.g. because of its status,
+     * {@code Cache-Control} or {@code Vary} headers. Until a response for the URI is {@link #store stored}, requests
+     * for the URI do not wait for each other when its {@code Vary} header names are not known.
+     *
+     * @param uri {@link #normalize(URI) normalized} request URI.
+     */
+    public void notCacheable(final String uri) {
+        notCacheable.put(uri, Boolean.TRUE);
+    }
+
+    /**
+     * Invalidate all cached responses for the given request URI.
+     *
+     * @param uri {@link #normalize(URI) normalized} request URI.
+     */
+    public void invalidate(final String uri) {
+        // responses cached for the URI become unreachable and are evicted eventually
+        varyHeaders.invalidate(uri);
+    }
+
+    /**
+     * Get the number of requests answered from the cache.
+     *
+     * @return number of cache hits.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Get the number of requests not answered from the cache.
+     *
+     * @return number of cache misses.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Get the number of responses evicted from the cache because of the cache size limit.
+     *
+     * @return number of evicted responses.
+     */
+    public long getEvictionCount() {
+        return responses.stats().evictionCount();
+    }
+
+    /**
+     * Get the number of cached responses.
+     *
+     * @return number of cached responses.
+     */
+    public long getSize() {
+        return responses.size();
+    }
+
+    /**
+     * Names of the request headers that select a representation of a resource. An instance is created whenever
+     * the names change or the cached responses for a request URI are invalidated; since instances are compared
+     * by identity, previously cached responses become unreachable.
+     */
+    private static final class VaryHeaders {
+
+        private final String[] names;
+
+        private VaryHeaders(final String[] names) {
+            this.names = names;
+        }
+    }
+
+    private static final class Key {
+
+        private final VaryHeaders vary;
+        private final String[] values;
+        private final int hashCode;
+
+        private Key(final VaryHeaders vary, final String[] values) {
+            this.vary = vary;
+            this.values = values;
+            this.hashCode = 31 * System.identityHashCode(vary) + Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return vary == other.vary && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Cached serialized response.
+     */
+    public static final class CachedResponse {
+
+        private final int status;
+        private final MultivaluedMap<String, String> headers;
+        private final byte[] entity;
+        private final boolean shared;
+
+        private final long created;
+        private final long expires;
+        private final int size;
+
+        private CachedResponse(final int status,
+                               final MultivaluedMap<String, String> headers,
+                               final byte[] entity,
+                               final int maxAge,
+                               final boolean shared) {
+            this.status = status;
+            this.headers = new StringKeyIgnoreCaseMultivaluedMap<String>();
+            int headersSize = 0;
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                for (String value : header.getValue()) {
+                    this.headers.add(header.getKey(), value);
+                    headersSize += header.getKey().length() + value.length();
+                }
+            }
+            this.entity = entity;
+            this.shared = shared;
+
+            this.created = System.currentTimeMillis();
+            this.expires = created + TimeUnit.SECONDS.toMillis(maxAge);
+            // rough estimate of the memory occupied by the entry
+            this.size = entity.length + 2 * headersSize + 128;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expires;
+        }
+
+        /**
+         * Create a response containing the cached status, headers and serialized entity.
+         *
+         * @return new response.
+         */
+        public Response toResponse() {
+            final Response.ResponseBuilder builder = Response.status(status);
+            for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+                for (String value : header.getValue()) {
+                    builder.header(header.getKey(), value);
+                }
+            }
+            final long age = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - created);
+            return builder.header("Age", age).entity(entity).build();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.monitoring.jmx;
+
+import java.util.Map;
+
+import org.glassfish.jersey.server.internal.AdmissionController;
+import org.glassfish.jersey.server.internal.ConcurrencyLimiter;
+import org.glassfish.jersey.server.monitoring.AdmissionMXBean;
+
+import com.google.common.collect.Maps;
+
+/**
+ * MXBean implementing the {@link AdmissionMXBean} MXBean interface. The statistics are read directly from
+ * the {@link AdmissionController admission controller}.
+ */
+public class AdmissionMXBeanImpl implements AdmissionMXBean {
+    private final AdmissionController admissionController;
+
+    /**
+     * Create a new MXBean and register it into mbean server using {@code mBeanExposer}.
+     *
+     * @param admissionController Admission controller whose statistics should be exposed.
+     * @param mBeanExposer Mbean exposer.
+     * @param parentName Object name prefix of the parent mbeans.
+     */
+    public AdmissionMXBeanImpl(AdmissionController admissionController, MBeanExposer mBeanExposer, String parentName) {
+        this.admissionController = admissionController;
+        mBeanExposer.registerMBean(this, parentName + ",global=Admission");
+    }
+
+    @Override
+    public int getConcurrencyLimit() {
+        final ConcurrencyLimiter limiter = admissionController.getGlobalLimiter();
+        return limiter == null ? 0 : limiter.getLimit();
+    }
+
+    @Override
+    public int getMaxConcurrencyLimit() {
+        final ConcurrencyLimiter limiter = admissionController.getGlobalLimiter();
+        return limiter == null ? 0 : limiter.getMaxLimit();
+    }
+
+    @Override
+    public boolean isAdaptive() {
+        final ConcurrencyLimiter limiter = admissionController.getGlobalLimiter();
+        return limiter != null && limiter.isAdaptive();
+    }
+
+    @Override
+    public int getInFlightRequests() {
+        final ConcurrencyLimiter limiter = admissionController.getGlobalLimiter();
+        return limiter == null ? 0 : limiter.getInFlight();
+    }
+
+    @Override
+    public long getAdmittedRequests() {
+        final ConcurrencyLimiter limiter = admissionController.getGlobalLimiter();
+        return limiter == null ? 0 : limiter.getAdmitted();
+    }
+
+    @Override
+    public long getRejectedRequests() {
+        final ConcurrencyLimiter limiter = admissionController.getGlobalLimiter();
+        return limiter == null ? 0 : limiter.getRejected();
+    }
+
+    @Override
+    public Map<String, Integer> getResourceMethodInFlightRequests() {
+        final Map<String, Integer> result = Maps.newHashMap();
+        for (Map.Entry<String, ConcurrencyLimiter> entry : admissionController.getResourceMethodLimiters().entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getInFlight());
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getResourceMethodRejectedRequests() {
+        final Map<String, Long> result = Maps.newHashMap();
+        for (Map.Entry<String, ConcurrencyLimiter> entry : admissionController.getResourceMethodLimiters().entrySet()) {
+            result.put(entry.getKey(), entry.getValue().getRejected());
+        }
+        return result;
+    }
+}
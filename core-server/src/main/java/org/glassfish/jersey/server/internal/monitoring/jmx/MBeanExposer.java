@@ -47,17 +47,22 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.inject.Inject;
 import javax.management.JMException;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 import javax.ws.rs.ProcessingException;
 
+import org.glassfish.jersey.server.internal.AdmissionController;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
+import org.glassfish.jersey.server.internal.ResponseCache;
 import org.glassfish.jersey.server.monitoring.ApplicationStatistics;
 import org.glassfish.jersey.server.monitoring.MonitoringStatistics;
 import org.glassfish.jersey.server.monitoring.MonitoringStatisticsListener;
 import org.glassfish.jersey.server.monitoring.ResourceStatistics;
 
+import org.jvnet.hk2.annotations.Optional;
+
 import com.google.common.collect.Maps;
 
 /**
@@ -78,6 +83,12 @@ public class MBeanExposer implements MonitoringStatisticsListener {
     private volatile ResourcesMBeanGroup resourceClassStatsGroup;
     private volatile ExceptionMapperMXBeanImpl exceptionMapperMXBean;
 
+    @Inject
+    private AdmissionController admissionController;
+    @Inject
+    @Optional
+    private ResponseCache responseCache;
+
     private final AtomicBoolean exposed = new AtomicBoolean(false);
     private volatile String domain;
 
@@ -159,6 +170,14 @@ public class MBeanExposer implements MonitoringStatisticsListener {
                     globalSubType);
 
             new ApplicationMXBeanImpl(appStats, this, globalSubType);
+
+            if (admissionController != null && admissionController.isEnabled()) {
+                new AdmissionMXBeanImpl(admissionController, this, globalSubType);
+            }
+
+            if (responseCache != null) {
+                new ResponseCacheMXBeanImpl(responseCache, this, globalSubType);
+            }
         }
 
         if (statistics.getApplicationStatistics().getDestroyTime() != null) {
@@ -40,6 +40,8 @@
 package org.glassfish.jersey.server.internal.routing;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 import javax.inject.Inject;
 
@@ -47,6 +49,7 @@ import org.glassfish.jersey.message.MessageBodyWorkers;
 import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.internal.InitializationExecutor;
 import org.glassfish.jersey.server.internal.ProcessingProviders;
 import org.glassfish.jersey.server.internal.routing.RouterBinder.RootRouteBuilder;
 import org.glassfish.jersey.server.internal.routing.RouterBinder.RouteBuilder;
@@ -62,7 +65,9 @@ import org.glassfish.jersey.uri.UriTemplate;
 import org.glassfish.hk2.api.ServiceLocator;
 
 import com.google.common.base.Function;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 /**
  * This is a common base for root resource and sub-resource runtime model
@@ -197,8 +202,33 @@ public final class RuntimeModelBuilder {
      * @return Root router of the router structure representing the resource model.
      */
     public Router buildModel(RuntimeResourceModel resourceModel, final boolean subResourceMode) {
+        return buildModel(resourceModel, subResourceMode, InitializationExecutor.sequential());
+    }
+
+    /**
+     * Build a runtime model of routers based on the {@code resourceModel}.
+     * <p>
+     * Routers of resource methods and sub-resource locators are created in parallel if supported by the
+     * {@code executor} and if no {@link javax.ws.rs.container.DynamicFeature dynamic feature} (which would be
+     * invoked concurrently) is registered. The resulting router structure does not depend on the parallelism.
+     * </p>
+     *
+     * @param resourceModel   Resource model from which the runtime model should be built.
+     * @param subResourceMode True if the {@code resourceModel} is a sub resource model returned from sub resource locator.
+     * @param executor        Initialization executor used to create the method routers.
+     * @return Root router of the router structure representing the resource model.
+     */
+    public Router buildModel(RuntimeResourceModel resourceModel, final boolean subResourceMode,
+                             final InitializationExecutor executor) {
         final List<RuntimeResource> runtimeResources = resourceModel.getRuntimeResources();
 
+        final Map<RuntimeResource, List<MethodAcceptorPair>> acceptors = Maps.newIdentityHashMap();
+        final Map<ResourceMethod, Router> locatorAcceptors = Maps.newIdentityHashMap();
+        if (executor.isParallel()
+                && (processingProviders == null || Iterables.isEmpty(processingProviders.getDynamicFeatures()))) {
+            createAcceptors(runtimeResources, subResourceMode, executor, acceptors, locatorAcceptors);
+        }
+
         final PushMatchedUriRouter uriPushingRouter = locator.createAndInitialize(PushMatchedUriRouter.class);
         RouteToPathBuilder<PathPattern> lastRoutedBuilder = null;
 
@@ -208,7 +238,7 @@ public final class RuntimeModelBuilder {
 
             // resource methods
             if (resource.getResourceMethods().size() > 0) {
-                final List<MethodAcceptorPair> methodAcceptors = createAcceptors(resource, subResourceMode);
+                final List<MethodAcceptorPair> methodAcceptors = getAcceptors(acceptors, resource, subResourceMode);
                 final PathPattern resourceClosedPattern =
                         (subResourceMode) ? PathPattern.END_OF_PATH_PATTERN : PathPattern.asClosed(resource.getPathPattern());
 
@@ -230,7 +260,8 @@ public final class RuntimeModelBuilder {
 
                     // sub resource methods
                     if (child.getResourceMethods().size() > 0) {
-                        final List<MethodAcceptorPair> childMethodAcceptors = createAcceptors(child, subResourceMode);
+                        final List<MethodAcceptorPair> childMethodAcceptors =
+                                getAcceptors(acceptors, child, subResourceMode);
 
                         srRoutedBuilder = routedBuilder(srRoutedBuilder)
                                 .route(childClosedPattern)
@@ -249,7 +280,7 @@ public final class RuntimeModelBuilder {
                                 .to(locTemplateRouter)
                                 .to(childResourcePushingRouter)
                                 .to(pushedMatchedMethodBuilder.build(child.getResourceLocator()))
-                                .to(createMethodAcceptor(child.getResourceLocator()));
+                                .to(getLocatorAcceptor(locatorAcceptors, child.getResourceLocator()));
                     }
                 }
             }
@@ -265,7 +296,7 @@ public final class RuntimeModelBuilder {
                         .to(uriPushingRouter)
                         .to(resourceTemplateRouter)
                         .to(pushedMatchedMethodBuilder.build(resource.getResourceLocator()))
-                        .to(createMethodAcceptor(resource.getResourceLocator()));
+                        .to(getLocatorAcceptor(locatorAcceptors, resource.getResourceLocator()));
             }
 
             if (srRoutedBuilder != null) {
@@ -280,6 +311,72 @@ public final class RuntimeModelBuilder {
         return createRootTreeAcceptor(lastRoutedBuilder, subResourceMode);
     }
 
+    private void createAcceptors(final List<RuntimeResource> runtimeResources,
+                                 final boolean subResourceMode,
+                                 final InitializationExecutor executor,
+                                 final Map<RuntimeResource, List<MethodAcceptorPair>> acceptors,
+                                 final Map<ResourceMethod, Router> locatorAcceptors) {
+        final List<RuntimeResource> resources = Lists.newArrayList();
+        final List<ResourceMethod> locators = Lists.newArrayList();
+        for (RuntimeResource resource : runtimeResources) {
+            collectRoutedComponents(resource, resources, locators);
+            for (RuntimeResource child : resource.getChildRuntimeResources()) {
+                collectRoutedComponents(child, resources, locators);
+            }
+        }
+
+        final List<Callable<List<MethodAcceptorPair>>> acceptorTasks = Lists.newArrayListWithCapacity(resources.size());
+        for (final RuntimeResource resource : resources) {
+            acceptorTasks.add(new Callable<List<MethodAcceptorPair>>() {
+                @Override
+                public List<MethodAcceptorPair> call() {
+                    return createAcceptors(resource, subResourceMode);
+                }
+            });
+        }
+        final List<Callable<Router>> locatorTasks = Lists.newArrayListWithCapacity(locators.size());
+        for (final ResourceMethod locator : locators) {
+            locatorTasks.add(new Callable<Router>() {
+                @Override
+                public Router call() {
+                    return createMethodAcceptor(locator);
+                }
+            });
+        }
+
+        final List<List<MethodAcceptorPair>> acceptorResults = executor.invokeAll(acceptorTasks);
+        for (int i = 0; i < resources.size(); i++) {
+            acceptors.put(resources.get(i), acceptorResults.get(i));
+        }
+        final List<Router> locatorResults = executor.invokeAll(locatorTasks);
+        for (int i = 0; i < locators.size(); i++) {
+            locatorAcceptors.put(locators.get(i), locatorResults.get(i));
+        }
+    }
+
+    private static void collectRoutedComponents(final RuntimeResource resource,
+                                                final List<RuntimeResource> resources,
+                                                final List<ResourceMethod> locators) {
+        if (resource.getResourceMethods().size() > 0) {
+            resources.add(resource);
+        }
+        if (resource.getResourceLocator() != null) {
+            locators.add(resource.getResourceLocator());
+        }
+    }
+
+    private List<MethodAcceptorPair> getAcceptors(final Map<RuntimeResource, List<MethodAcceptorPair>> acceptors,
+                                                  final RuntimeResource resource,
+                                                  final boolean subResourceMode) {
+        final List<MethodAcceptorPair> resourceAcceptors = acceptors.get(resource);
+        return resourceAcceptors != null ? resourceAcceptors : createAcceptors(resource, subResourceMode);
+    }
+
+    private Router getLocatorAcceptor(final Map<ResourceMethod, Router> locatorAcceptors, final ResourceMethod locator) {
+        final Router locatorAcceptor = locatorAcceptors.get(locator);
+        return locatorAcceptor != null ? locatorAcceptor : createMethodAcceptor(locator);
+    }
+
     private PushMatchedTemplateRouter getTemplateRouterForChildLocator(boolean subResourceMode, RuntimeResource child) {
         int i = 0;
         for (Resource res : child.getResources()) {
@@ -76,18 +76,26 @@ import org.glassfish.jersey.server.spi.internal.ParameterValueHelper;
 import org.glassfish.hk2.api.Factory;
 import org.glassfish.hk2.api.ServiceLocator;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
  * An methodAcceptorPair to accept sub-resource requests.
  * It first retrieves the sub-resource instance by invoking the given model method.
  * Then the {@link RuntimeModelBuilder} is used to generate corresponding methodAcceptorPair.
  * Finally the generated methodAcceptorPair is invoked to return the request methodAcceptorPair chain.
  * <p/>
+ * Generated sub-resource routers are cached by the sub-resource class (or by identity of the returned
+ * {@link Resource resource} model) so that the sub-resource model is processed, validated and
+ * compiled only once (see {@link ServerProperties#SUBRESOURCE_LOCATOR_CACHE_SIZE}).
  *
  * @author Jakub Podlesak (jakub.podlesak at oracle.com)
  * @author Miroslav Fuksa (miroslav.fuksa at oracle.com)
  */
 class SubResourceLocatorRouter implements Router {
 
+    private static final int DEFAULT_CACHE_SIZE = 64;
+
     private final ServiceLocator locator;
     private final ResourceMethod locatorModel;
     private final List<Factory<?>> valueProviders;
@@ -95,7 +103,22 @@ class SubResourceLocatorRouter implements Router {
     private final JerseyResourceContext resourceContext;
     private final boolean disableValidation;
     private final boolean ignoreValidationErrors;
+    private final boolean cacheResources;
+    private final Cache<Object, RoutingInfo> routerCache;
+
+    /**
+     * Processed sub-resource model together with the generated sub-resource router.
+     */
+    private static class RoutingInfo {
+
+        private final Resource resource;
+        private final Router router;
 
+        private RoutingInfo(final Resource resource, final Router router) {
+            this.resource = resource;
+            this.router = router;
+        }
+    }
 
     /**
      * Create a new sub-resource locator router.
@@ -123,6 +146,19 @@ class SubResourceLocatorRouter implements Router {
                 ServerProperties.RESOURCE_VALIDATION_IGNORE_ERRORS,
                 Boolean.FALSE,
                 Boolean.class);
+        this.cacheResources = PropertiesHelper.getValue(config.getProperties(),
+                ServerProperties.SUBRESOURCE_LOCATOR_CACHE_JERSEY_RESOURCES,
+                Boolean.TRUE,
+                Boolean.class);
+
+        final int cacheSize = PropertiesHelper.getValue(config.getProperties(),
+                ServerProperties.SUBRESOURCE_LOCATOR_CACHE_SIZE,
+                DEFAULT_CACHE_SIZE,
+                Integer.class);
+        // weak keys: identity comparison is required for resource models; note that the cached routing info
+        // references the key (resource model or class), the entries are therefore released by size eviction only
+        this.routerCache = cacheSize <= 0 ? null
+                : CacheBuilder.newBuilder().maximumSize(cacheSize).weakKeys().<Object, RoutingInfo>build();
     }
 
     @Override
@@ -135,9 +171,9 @@ class SubResourceLocatorRouter implements Router {
             throw new NotFoundException();
         }
 
-        Resource subResource;
+        final Object cacheKey;
         if (subResourceInstance.getClass().isAssignableFrom(Resource.class)) {
-            subResource = (Resource) subResourceInstance;
+            cacheKey = cacheResources ? subResourceInstance : null;
         } else {
             if (subResourceInstance.getClass().isAssignableFrom(Class.class)) {
                 final Class<?> clazz = (Class<?>) subResourceInstance;
@@ -146,7 +182,34 @@ class SubResourceLocatorRouter implements Router {
                 routingCtx.pushMatchedResource(subResourceInstance);
                 resourceContext.bindResourceIfSingleton(subResourceInstance);
             }
+            cacheKey = subResourceInstance.getClass();
+        }
+
+        RoutingInfo routingInfo = (routerCache == null || cacheKey == null) ? null : routerCache.getIfPresent(cacheKey);
+        if (routingInfo == null) {
+            routingInfo = createRoutingInfo(subResourceInstance);
+            if (routerCache != null && cacheKey != null) {
+                routerCache.put(cacheKey, routingInfo);
+            }
+        }
+
+        routingCtx.pushLocatorSubResource(routingInfo.resource);
+        request.triggerEvent(RequestEvent.Type.SUBRESOURCE_LOCATED);
+
+        return Continuation.of(request, routingInfo.router);
+    }
 
+    /**
+     * Build, process and validate the model of the sub-resource and generate the sub-resource router.
+     *
+     * @param subResourceInstance sub-resource instance or {@link Resource resource} model returned by the locator.
+     * @return processed sub-resource model with the generated router.
+     */
+    private RoutingInfo createRoutingInfo(final Object subResourceInstance) {
+        Resource subResource;
+        if (subResourceInstance.getClass().isAssignableFrom(Resource.class)) {
+            subResource = (Resource) subResourceInstance;
+        } else {
             Resource.Builder builder = Resource.builder(subResourceInstance.getClass());
             if (builder == null) {
                 // resource is empty - do not throw 404, wait if ModelProcessors add any method
@@ -162,18 +225,13 @@ class SubResourceLocatorRouter implements Router {
         }
 
         subResource = resourceModel.getResources().get(0);
-        routingCtx.pushLocatorSubResource(subResource);
-        request.triggerEvent(RequestEvent.Type.SUBRESOURCE_LOCATED);
-
 
         for (Class<?> handlerClass : subResource.getHandlerClasses()) {
             resourceContext.bindResource(handlerClass);
         }
 
-        // TODO: implement generated sub-resource methodAcceptorPair caching
-        Router subResourceAcceptor = runtimeModelBuilder.buildModel(resourceModel.getRuntimeResourceModel(), true);
-
-        return Continuation.of(request, subResourceAcceptor);
+        return new RoutingInfo(subResource,
+                runtimeModelBuilder.buildModel(resourceModel.getRuntimeResourceModel(), true));
     }
 
     private ResourceModel processSubResource(ResourceModel subResourceModel) {
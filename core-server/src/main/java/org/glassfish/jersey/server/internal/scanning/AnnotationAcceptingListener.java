@@ -45,6 +45,7 @@ import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
@@ -63,6 +64,9 @@ import org.objectweb.asm.FieldVisitor;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 
+import com.google.common.base.Charsets;
+import com.google.common.io.ByteStreams;
+
 /**
  * A scanner listener that processes Java class files (resource names
  * ending in ".class") annotated with one or more of a set of declared
@@ -74,6 +78,14 @@ import org.objectweb.asm.Opcodes;
  * <p>
  * Such an annotated Java class of a Java class file is loaded if the class
  * is public or is an inner class that is static and public.
+ * <p>
+ * Before a class file is parsed, its bytes are checked for the presence of at least one
+ * of the declared annotation type descriptors (e.g. {@code Ljavax/ws/rs/Path;}). A class
+ * annotated with a declared annotation must reference the descriptor in its constant pool,
+ * so class files that do not contain any of the descriptors are skipped without being parsed.
+ * <p>
+ * The listener is thread-safe, i.e. class files may be {@link #process(String, java.io.InputStream) processed}
+ * concurrently from multiple threads.
  *
  * @author Paul Sandoz
  */
@@ -85,7 +97,7 @@ public final class AnnotationAcceptingListener implements ResourceProcessor {
 
     private final Set<String> annotations;
 
-    private final AnnotatedClassVisitor classVisitor;
+    private final byte[][] annotationDescriptors;
 
     /**
      * Create a scanning listener to check for Java classes in Java
@@ -137,9 +149,9 @@ public final class AnnotationAcceptingListener implements ResourceProcessor {
     public AnnotationAcceptingListener(ClassLoader classloader,
                                        Class<? extends Annotation>... annotations) {
         this.classloader = classloader;
-        this.classes = new LinkedHashSet<Class<?>>();
+        this.classes = Collections.synchronizedSet(new LinkedHashSet<Class<?>>());
         this.annotations = getAnnotationSet(annotations);
-        this.classVisitor = new AnnotatedClassVisitor();
+        this.annotationDescriptors = getAnnotationDescriptors(this.annotations);
     }
 
     /**
@@ -159,6 +171,17 @@ public final class AnnotationAcceptingListener implements ResourceProcessor {
         return a;
     }
 
+    private static byte[][] getAnnotationDescriptors(Set<String> annotations) {
+        final byte[][] descriptors = new byte[annotations.size()][];
+        int i = 0;
+        for (String annotation : annotations) {
+            // Class names are stored in the constant pool in modified UTF-8 encoding which is
+            // identical to UTF-8 for all characters except NUL and supplementary characters.
+            descriptors[i++] = annotation.getBytes(Charsets.UTF_8);
+        }
+        return descriptors;
+    }
+
     // ScannerListener
     public boolean accept(String name) {
         return !(name == null || name.isEmpty()) && name.endsWith(".class");
@@ -166,7 +189,45 @@ public final class AnnotationAcceptingListener implements ResourceProcessor {
     }
 
     public void process(String name, InputStream in) throws IOException {
-        new ClassReader(in).accept(classVisitor, 0);
+        final byte[] classFile = ByteStreams.toByteArray(in);
+        if (mayBeAnnotated(classFile)) {
+            new ClassReader(classFile).accept(new AnnotatedClassVisitor(), 0);
+        }
+    }
+
+    /**
+     * Check whether the class file references any of the declared annotations.
+     *
+     * @param classFile class file bytes.
+     * @return {@code true} if the class file contains a descriptor of any of the declared annotations,
+     *         {@code false} if the class file cannot be annotated with any of the declared annotations.
+     */
+    boolean mayBeAnnotated(final byte[] classFile) {
+        for (byte[] descriptor : annotationDescriptors) {
+            if (indexOf(classFile, descriptor) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int indexOf(final byte[] data, final byte[] pattern) {
+        final int last = data.length - pattern.length;
+        final byte first = pattern[0];
+
+        outer:
+        for (int i = 0; i <= last; i++) {
+            if (data[i] != first) {
+                continue;
+            }
+            for (int j = 1; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
     }
 
     //
@@ -0,0 +1,118 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.scanning;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.glassfish.jersey.server.ResourceFinder;
+
+/**
+ * A resource finder iterating over class files of classes listed in a {@link ResourceIndex resource index}.
+ * <p>
+ * Class files are located using the class loader. Indexed classes whose class files cannot be found (e.g.
+ * because the index is stale) are skipped.
+ * </p>
+ */
+public class IndexedResourceFinder implements ResourceFinder {
+
+    private final ClassLoader classLoader;
+    private final List<String> classNames;
+
+    private int position;
+    private URL current;
+    private URL next;
+    private String nextName;
+
+    /**
+     * Create a new indexed resource finder.
+     *
+     * @param classLoader class loader used to locate class files.
+     * @param classNames  fully qualified (binary) names of the indexed classes.
+     */
+    public IndexedResourceFinder(final ClassLoader classLoader, final List<String> classNames) {
+        this.classLoader = classLoader;
+        this.classNames = classNames;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null && position < classNames.size()) {
+            final String name = classNames.get(position++).replace('.', '/') + ".class";
+            next = classLoader.getResource(name);
+            nextName = name;
+        }
+        return next != null;
+    }
+
+    @Override
+    public String next() {
+        if (next != null || hasNext()) {
+            current = next;
+            next = null;
+            return nextName;
+        }
+        throw new NoSuchElementException();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public InputStream open() {
+        try {
+            return current.openStream();
+        } catch (IOException e) {
+            throw new ResourceFinderException(e);
+        }
+    }
+
+    @Override
+    public void reset() {
+        position = 0;
+        current = null;
+        next = null;
+    }
+}
@@ -39,6 +39,7 @@
  */
 package org.glassfish.jersey.server.internal.scanning;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -75,12 +76,16 @@ class JarZipSchemeResourceFinderFactory implements UriSchemeResourceFinderFactor
     }
 
     @Override
-    public JarZipSchemeScanner create(final URI uri, boolean recursive) {
+    public ResourceFinder create(final URI uri, boolean recursive) {
         final String ssp = uri.getRawSchemeSpecificPart();
         final String jarUrlString = ssp.substring(0, ssp.lastIndexOf('!'));
         final String parent = ssp.substring(ssp.lastIndexOf('!') + 2);
 
         try {
+            final File file = getFile(jarUrlString);
+            if (file != null) {
+                return new ZipFileScanner(file, parent, recursive);
+            }
             return new JarZipSchemeScanner(getInputStream(jarUrlString), parent, recursive);
         } catch (IOException e) {
             throw new ResourceFinderException(e);
@@ -133,6 +138,28 @@ class JarZipSchemeResourceFinderFactory implements UriSchemeResourceFinderFactor
         }
     }
 
+    /**
+     * Get the jar file if it is located on the local file system. Local jar files are scanned
+     * using the {@link ZipFileScanner} that reads only the entries of the scanned package instead of
+     * inflating the whole jar file.
+     *
+     * @param jarUrlString the raw scheme specific part of a URI minus the jar entry.
+     * @return local jar file or {@code null} if the jar file is not a readable local file.
+     */
+    private File getFile(String jarUrlString) {
+        File file;
+        try {
+            final URL url = new URL(jarUrlString);
+            if (!"file".equals(url.getProtocol())) {
+                return null;
+            }
+            file = new File(UriComponent.decode(url.getPath(), UriComponent.Type.PATH));
+        } catch (MalformedURLException e) {
+            file = new File(UriComponent.decode(jarUrlString, UriComponent.Type.PATH));
+        }
+        return file.isFile() && file.canRead() ? file : null;
+    }
+
     /**
      * Obtain a {@link InputStream} of the jar file.
      * <p>
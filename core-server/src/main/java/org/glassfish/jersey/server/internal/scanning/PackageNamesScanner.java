@@ -66,7 +66,9 @@ import org.glassfish.jersey.uri.UriComponent;
  * is the package name with "." replaced by "/".
  * <p>
  * Each URI is then scanned using a registered {@link UriSchemeResourceFinderFactory} that
- * supports the URI scheme.
+ * supports the URI scheme. If the class path root (a directory or a jar file) of the URI contains
+ * a {@link ResourceIndex resource index}, the URI is not scanned and only the classes listed in the
+ * index are returned.
  * <p>
  * The following are registered by default.
  * The {@link FileSchemeResourceFinderFactory} for "file" URI schemes.
@@ -188,12 +190,21 @@ public class PackageNamesScanner implements ResourceFinder {
         resourceFinderStack = new ResourceFinderStack();
 
         for (final String p : packages) {
+            final String packagePath = p.replace('.', '/');
             try {
                 final Enumeration<URL> urls =
-                        ResourcesProvider.getInstance().getResources(p.replace('.', '/'), classloader);
+                        ResourcesProvider.getInstance().getResources(packagePath, classloader);
                 while (urls.hasMoreElements()) {
                     try {
-                        addResourceFinder(toURI(urls.nextElement()));
+                        final URI uri = toURI(urls.nextElement());
+                        final ResourceIndex index = ResourceIndex.find(uri, packagePath);
+                        if (index != null) {
+                            // build-time index available - do not scan the class path root
+                            resourceFinderStack.push(new IndexedResourceFinder(classloader,
+                                    index.getClassNames(p, recursive)));
+                        } else {
+                            addResourceFinder(uri);
+                        }
                     } catch (URISyntaxException e) {
                         throw new ResourceFinderException("Error when converting a URL to a URI", e);
                     }
@@ -0,0 +1,218 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.scanning;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Index of resource and provider classes of a class path root (a directory or a jar file).
+ * <p>
+ * The index is stored in the {@value #LOCATION} file of the class path root, typically generated at build time
+ * by the {@link org.glassfish.jersey.server.ResourceIndexProcessor resource index annotation processor}. The index file contains fully qualified
+ * (binary) names of classes annotated by {@link javax.ws.rs.Path &#64;Path} or {@link javax.ws.rs.ext.Provider
+ * &#64;Provider}, one class name per line, sorted by name (i.e. grouped by packages). Empty lines and lines
+ * starting with {@code '#'} are ignored.
+ * </p>
+ * <p>
+ * If the index is present, {@link PackageNamesScanner package scanning} of the class path root is replaced by
+ * a lookup in the index and only the indexed classes are inspected.
+ * </p>
+ */
+public final class ResourceIndex {
+
+    /**
+     * Location of the index file relative to a class path root.
+     */
+    public static final String LOCATION = "META-INF/jersey/resources.idx";
+
+    private static final String CHARSET = "UTF-8";
+    private static final String HEADER = "# Jersey resource and provider class index";
+
+    private final List<String> classNames;
+
+    private ResourceIndex(final Collection<String> classNames) {
+        this.classNames = Collections.unmodifiableList(Lists.newArrayList(new TreeSet<String>(classNames)));
+    }
+
+    /**
+     * Create a new index containing given class names.
+     *
+     * @param classNames fully qualified (binary) class names.
+     * @return new resource index.
+     */
+    public static ResourceIndex of(final Collection<String> classNames) {
+        return new ResourceIndex(classNames);
+    }
+
+    /**
+     * Read the index from the input stream. The stream is closed after the index is read.
+     *
+     * @param in input stream of the index file.
+     * @return resource index.
+     * @throws IOException in case of an I/O error.
+     */
+    public static ResourceIndex read(final InputStream in) throws IOException {
+        final SortedSet<String> classNames = new TreeSet<String>();
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(in, CHARSET));
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && line.charAt(0) != '#') {
+                    classNames.add(line);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return new ResourceIndex(classNames);
+    }
+
+    /**
+     * Find the index of a class path root containing the package represented by the {@code packageUri}.
+     *
+     * @param packageUri  URI of the package directory as returned by a class loader.
+     * @param packagePath package path (package name with {@code '/'} separators).
+     * @return resource index or {@code null} if the class path root does not contain any index or the class path root
+     *         cannot be determined from the package URI.
+     */
+    public static ResourceIndex find(final URI packageUri, final String packagePath) {
+        final String root = getRoot(packageUri.toString(), packagePath);
+        if (root == null) {
+            return null;
+        }
+
+        try {
+            return read(new URL(root + LOCATION).openStream());
+        } catch (IOException e) {
+            // no (readable) index - the class path root will be scanned
+            return null;
+        }
+    }
+
+    /**
+     * Get the class path root of the package directory.
+     *
+     * @param packageUri  package directory URI.
+     * @param packagePath package path.
+     * @return class path root URI ending with {@code '/'} or {@code null} if the root cannot be determined.
+     */
+    static String getRoot(final String packageUri, final String packagePath) {
+        String uri = packageUri;
+        while (uri.endsWith("/")) {
+            uri = uri.substring(0, uri.length() - 1);
+        }
+
+        String path = packagePath;
+        while (path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+
+        if (path.isEmpty() || !uri.endsWith("/" + path)) {
+            return null;
+        }
+        final String root = uri.substring(0, uri.length() - path.length());
+        return (root.startsWith("file:") || root.startsWith("jar:")) ? root : null;
+    }
+
+    /**
+     * Get all indexed class names.
+     *
+     * @return sorted list of indexed class names.
+     */
+    public List<String> getClassNames() {
+        return classNames;
+    }
+
+    /**
+     * Get names of indexed classes from the given package.
+     *
+     * @param packageName package name.
+     * @param recursive   if {@code true}, classes from nested packages are returned too.
+     * @return sorted list of indexed class names from the package.
+     */
+    public List<String> getClassNames(final String packageName, final boolean recursive) {
+        final List<String> result = Lists.newArrayList();
+        final String prefix = packageName.isEmpty() ? "" : packageName + '.';
+
+        for (final String className : classNames) {
+            if (className.startsWith(prefix)
+                    && (recursive || className.indexOf('.', prefix.length()) < 0)) {
+                result.add(className);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Write the index to the output stream. The stream is closed after the index is written.
+     *
+     * @param out output stream of the index file.
+     * @throws IOException in case of an I/O error.
+     */
+    public void write(final OutputStream out) throws IOException {
+        final Writer writer = new OutputStreamWriter(out, CHARSET);
+        try {
+            writer.write(HEADER);
+            writer.write('\n');
+            for (final String className : classNames) {
+                writer.write(className);
+                writer.write('\n');
+            }
+        } finally {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server.internal.scanning;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.glassfish.jersey.server.ResourceFinder;
+
+/**
+ * A scanner for a JAR or ZIP file located on the local file system.
+ * <p>
+ * Unlike {@link JarFileScanner} that inflates the whole archive as a stream, this scanner
+ * uses the central directory of the archive (via {@link ZipFile}) to select the entries
+ * under the given parent path and inflates only the entries that are actually
+ * {@link #open() opened}. Streams returned by {@link #open()} may still be consumed after the scanner
+ * moved to the next entry, but not once all the entries have been iterated: the archive (and with it
+ * any stream that has not been read yet) is closed as soon as {@link #hasNext()} returns {@code false}.
+ * </p>
+ */
+final class ZipFileScanner implements ResourceFinder {
+
+    private static final Logger LOGGER = Logger.getLogger(ZipFileScanner.class.getName());
+
+    private final File file;
+    private final String parent;
+    private final boolean recursive;
+
+    private ZipFile zipFile;
+    private List<ZipEntry> entries;
+    private int position;
+    private ZipEntry current;
+
+    /**
+     * Create new ZIP file scanner.
+     *
+     * @param file      ZIP (JAR) file.
+     * @param parent    ZIP file entry prefix.
+     * @param recursive if ({@code true} the packages will be scanned recursively together with
+     *                  any nested packages, if {@code false} only the explicitly listed packages
+     *                  will be scanned.
+     * @throws IOException in case the file cannot be opened as a ZIP file.
+     */
+    ZipFileScanner(final File file, final String parent, final boolean recursive) throws IOException {
+        this.file = file;
+        this.parent = parent.isEmpty() || parent.endsWith("/") ? parent : parent + '/';
+        this.recursive = recursive;
+
+        init();
+    }
+
+    private void init() throws IOException {
+        zipFile = new ZipFile(file);
+        entries = new ArrayList<ZipEntry>();
+        position = 0;
+        current = null;
+
+        final Enumeration<? extends ZipEntry> e = zipFile.entries();
+        while (e.hasMoreElements()) {
+            final ZipEntry entry = e.nextElement();
+            final String name = entry.getName();
+            if (entry.isDirectory() || !name.startsWith(parent)) {
+                continue;
+            }
+            // accept any entries with the prefix when recursive, only entries directly in the folder otherwise.
+            if (recursive || name.indexOf('/', parent.length()) < 0) {
+                entries.add(entry);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (position < entries.size()) {
+            return true;
+        }
+        close();
+        return false;
+    }
+
+    @Override
+    public String next() {
+        if (hasNext()) {
+            current = entries.get(position++);
+            return current.getName();
+        }
+
+        throw new NoSuchElementException();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public InputStream open() {
+        if (current == null || zipFile == null) {
+            throw new IllegalStateException();
+        }
+        try {
+            return zipFile.getInputStream(current);
+        } catch (IOException e) {
+            throw new ResourceFinderException(e);
+        }
+    }
+
+    @Override
+    public void reset() {
+        close();
+        try {
+            init();
+        } catch (IOException e) {
+            throw new ResourceFinderException(e);
+        }
+    }
+
+    private void close() {
+        if (zipFile != null) {
+            try {
+                zipFile.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Unable to close zip file.", e);
+            }
+            zipFile = null;
+        }
+    }
+}
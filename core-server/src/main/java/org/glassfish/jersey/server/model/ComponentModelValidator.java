@@ -51,10 +51,12 @@
 package org.glassfish.jersey.server.model;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.glassfish.jersey.Severity;
 import org.glassfish.jersey.internal.Errors;
 import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.server.internal.InitializationExecutor;
 import org.glassfish.jersey.server.model.internal.ModelErrors;
 
 import org.glassfish.hk2.api.ServiceLocator;
@@ -151,7 +153,7 @@ public final class ComponentModelValidator {
             public void run() {
                 Errors.mark();
 
-                validateWithErrors(component);
+                validateWithErrors(component, validators);
                 issueList.addAll(ModelErrors.getErrorsAsResourceModelIssues(true));
 
                 Errors.unmark();
@@ -159,15 +161,90 @@ public final class ComponentModelValidator {
         });
     }
 
-    private void validateWithErrors(final ResourceModelComponent component) {
-        for (ResourceModelVisitor validator : validators) {
+    /**
+     * Validate a component using the given executor. Direct sub-components of the component are validated
+     * in parallel if supported by the executor. Issues found are added to the list of issues grouped by
+     * the sub-components in their declaration order, regardless of the parallelism.
+     *
+     * @param component resource model component.
+     * @param executor  initialization executor used to validate the sub-components.
+     */
+    public void validate(final ResourceModelComponent component, final InitializationExecutor executor) {
+        if (!executor.isParallel()) {
+            validate(component);
+            return;
+        }
+
+        Errors.process(new Runnable() {
+            @Override
+            public void run() {
+                Errors.mark();
+
+                // validators keeping track of already validated components are not thread-safe
+                final List<ResourceModelVisitor> statefulValidators = Lists.newArrayList();
+                final List<ResourceModelVisitor> statelessValidators = Lists.newArrayList();
+                for (ResourceModelVisitor validator : validators) {
+                    component.accept(validator);
+                    if (validator instanceof InvocableValidator) {
+                        statefulValidators.add(validator);
+                    } else {
+                        statelessValidators.add(validator);
+                    }
+                }
+
+                final List<? extends ResourceModelComponent> componentList = component.getComponents();
+                if (null != componentList) {
+                    final List<List<Errors.ErrorMessage>> statefulIssues = InitializationExecutor.sequential()
+                            .invokeAll(createValidationTasks(componentList, statefulValidators));
+                    final List<List<Errors.ErrorMessage>> statelessIssues = executor
+                            .invokeAll(createValidationTasks(componentList, statelessValidators));
+
+                    // merge the issues in the declaration order of the sub-components
+                    for (int i = 0; i < componentList.size(); i++) {
+                        Errors.reportAll(statelessIssues.get(i));
+                        Errors.reportAll(statefulIssues.get(i));
+                    }
+                }
+                issueList.addAll(ModelErrors.getErrorsAsResourceModelIssues(true));
+
+                Errors.unmark();
+            }
+        });
+    }
+
+    private List<Callable<List<Errors.ErrorMessage>>> createValidationTasks(
+            final List<? extends ResourceModelComponent> components,
+            final List<ResourceModelVisitor> componentValidators) {
+        final List<Callable<List<Errors.ErrorMessage>>> tasks = Lists.newArrayListWithCapacity(components.size());
+        for (final ResourceModelComponent component : components) {
+            tasks.add(new Callable<List<Errors.ErrorMessage>>() {
+                @Override
+                public List<Errors.ErrorMessage> call() throws Exception {
+                    final List<Errors.ErrorMessage> issues = Lists.newArrayList();
+                    Errors.collect(new Callable<Void>() {
+                        @Override
+                        public Void call() {
+                            validateWithErrors(component, componentValidators);
+                            return null;
+                        }
+                    }, issues);
+                    return issues;
+                }
+            });
+        }
+        return tasks;
+    }
+
+    private void validateWithErrors(final ResourceModelComponent component,
+                                    final List<ResourceModelVisitor> componentValidators) {
+        for (ResourceModelVisitor validator : componentValidators) {
             component.accept(validator);
         }
 
         final List<? extends ResourceModelComponent> componentList = component.getComponents();
         if (null != componentList) {
             for (ResourceModelComponent subComponent : componentList) {
-                validateWithErrors(subComponent);
+                validateWithErrors(subComponent, componentValidators);
             }
         }
     }
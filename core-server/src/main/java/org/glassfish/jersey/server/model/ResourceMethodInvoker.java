@@ -112,6 +112,8 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
     private final List<RankedProvider<ContainerResponseFilter>> responseFilters = Lists.newArrayList();
     private final Iterable<ReaderInterceptor> readerInterceptors;
     private final Iterable<WriterInterceptor> writerInterceptors;
+    private final List<ContainerRequestFilter> requestFilterChain;
+    private final List<ContainerResponseFilter> responseFilterChain;
 
     /**
      * Resource method invoker "assisted" injection helper.
@@ -261,6 +263,15 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
                 new RankedComparator<WriterInterceptor>(), _writerInterceptors)));
         this.requestFilters.addAll(_requestFilters);
         this.responseFilters.addAll(_responseFilters);
+
+        // Global and bound filters are merged and ranked once here so that the filtering stages do not need
+        // to sort the filters for every request.
+        this.requestFilterChain = Collections.unmodifiableList(Lists.newArrayList(Providers.sortRankedProviders(
+                new RankedComparator<ContainerRequestFilter>(),
+                processingProviders.getGlobalRequestFilters(), _requestFilters)));
+        this.responseFilterChain = Collections.unmodifiableList(Lists.newArrayList(Providers.sortRankedProviders(
+                new RankedComparator<ContainerResponseFilter>(RankedComparator.Order.DESCENDING),
+                processingProviders.getGlobalResponseFilters(), _responseFilters)));
     }
 
     private <T> void addNameBoundProviders(Collection<RankedProvider<T>> targetCollection, final NameBound nameBound,
@@ -419,6 +430,27 @@ public class ResourceMethodInvoker implements Endpoint, ResourceInfo {
         return responseFilters;
     }
 
+    /**
+     * Get all global and bound request filters applicable to the {@link #getResourceMethod() resource method}
+     * wrapped by this invoker, sorted in the order in which they are executed.
+     *
+     * @return Unmodifiable list of post-matching request filters applicable to the {@link #getResourceMethod()
+     *         resource method}.
+     */
+    public List<ContainerRequestFilter> getRequestFilterChain() {
+        return requestFilterChain;
+    }
+
+    /**
+     * Get all global and bound response filters applicable to the {@link #getResourceMethod() resource method}
+     * wrapped by this invoker, sorted in the order in which they are executed.
+     *
+     * @return Unmodifiable list of response filters applicable to the {@link #getResourceMethod() resource method}.
+     */
+    public List<ContainerResponseFilter> getResponseFilterChain() {
+        return responseFilterChain;
+    }
+
     /**
      * Get all reader interceptors applicable to the {@link #getResourceMethod() resource method}
      * wrapped by this invoker.
@@ -0,0 +1,108 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+import java.util.Map;
+
+/**
+ * MXBean interface of the request admission control MXBean. The MXBean is exposed only if a limit of concurrently
+ * processed requests is configured (see {@link org.glassfish.jersey.server.ServerProperties#ADMISSION_MAX_CONCURRENT_REQUESTS}
+ * and {@link org.glassfish.jersey.server.ServerProperties#ADMISSION_RESOURCE_METHOD_MAX_CONCURRENT_REQUESTS}).
+ */
+public interface AdmissionMXBean {
+    /**
+     * Returns the current limit of requests processed concurrently by the application. If the adaptive limit
+     * is enabled the value changes according to the observed request processing latency.
+     *
+     * @return Current global limit or {@code 0} if the global limit is not configured.
+     */
+    public int getConcurrencyLimit();
+
+    /**
+     * Returns the configured maximum limit of requests processed concurrently by the application.
+     *
+     * @return Maximum global limit or {@code 0} if the global limit is not configured.
+     */
+    public int getMaxConcurrencyLimit();
+
+    /**
+     * Returns {@code true} if the global limit is adapted to the observed request processing latency.
+     *
+     * @return {@code true} if the global limit is adaptive.
+     */
+    public boolean isAdaptive();
+
+    /**
+     * Returns the number of requests currently processed by the application.
+     *
+     * @return Number of in-flight requests admitted by the global limit.
+     */
+    public int getInFlightRequests();
+
+    /**
+     * Returns the number of requests admitted by the global limit since the start of the application.
+     *
+     * @return Number of admitted requests.
+     */
+    public long getAdmittedRequests();
+
+    /**
+     * Returns the number of requests rejected by the global limit since the start of the application.
+     *
+     * @return Number of rejected requests.
+     */
+    public long getRejectedRequests();
+
+    /**
+     * Returns the number of requests currently processed by individual resource methods. Keys of the returned map
+     * are unique resource method identifiers.
+     *
+     * @return Map with resource method keys and number of in-flight requests as values.
+     */
+    public Map<String, Integer> getResourceMethodInFlightRequests();
+
+    /**
+     * Returns the number of requests rejected by individual resource method limits since the start of the application.
+     * Keys of the returned map are unique resource method identifiers.
+     *
+     * @return Map with resource method keys and number of rejected requests as values.
+     */
+    public Map<String, Long> getResourceMethodRejectedRequests();
+}
@@ -68,6 +68,13 @@ public interface ApplicationEvent {
          * are initialized yet.
          */
         INITIALIZATION_START,
+        /**
+         * A phase of the application initialization has finished. The event is an instance of
+         * {@link InitializationPhaseEvent} which provides the {@link InitializationPhaseEvent.Phase phase}
+         * and its duration. Events of this type are triggered between the {@link #INITIALIZATION_START}
+         * and {@link #INITIALIZATION_FINISHED} events.
+         */
+        INITIALIZATION_PHASE_FINISHED,
         /**
          * Initialization of the application has finished and application is ready to handle requests now.
          */
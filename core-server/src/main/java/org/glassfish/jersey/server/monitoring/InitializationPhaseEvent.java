@@ -0,0 +1,82 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+/**
+ * An {@link ApplicationEvent application event} of the {@link ApplicationEvent.Type#INITIALIZATION_PHASE_FINISHED}
+ * type informing about a finished phase of the application initialization.
+ * <p/>
+ * The event can be used to measure the duration of the individual application initialization phases.
+ */
+public interface InitializationPhaseEvent extends ApplicationEvent {
+
+    /**
+     * Application initialization phase.
+     */
+    public static enum Phase {
+        /**
+         * Introspection of registered classes and instances and creation of their resource models.
+         */
+        RESOURCE_INTROSPECTION,
+        /**
+         * Processing of the resource model by {@link org.glassfish.jersey.server.model.ModelProcessor model processors}
+         * and validation of the resulting resource model.
+         */
+        RESOURCE_MODEL_VALIDATION,
+        /**
+         * Building of routers from the validated resource model.
+         */
+        ROUTER_BUILDING
+    }
+
+    /**
+     * Get the finished initialization phase.
+     *
+     * @return initialization phase.
+     */
+    public Phase getPhase();
+
+    /**
+     * Get the duration of the initialization phase in milliseconds.
+     *
+     * @return phase duration in milliseconds.
+     */
+    public long getDuration();
+}
@@ -0,0 +1,244 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.HttpHeaders;
+
+import javax.inject.Singleton;
+
+import org.glassfish.jersey.server.internal.AdmissionController;
+import org.glassfish.jersey.server.internal.ConcurrencyLimiter;
+import org.glassfish.jersey.server.model.Resource;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests request {@link AdmissionController admission control}.
+ */
+public class AdmissionControlTest {
+
+    private static final LinkedBlockingQueue<AsyncResponse> SUSPENDED = new LinkedBlockingQueue<AsyncResponse>();
+
+    @Before
+    public void reset() {
+        SUSPENDED.clear();
+    }
+
+    @Path("admission")
+    @Singleton
+    public static class AdmissionResource {
+        @GET
+        @Path("suspend")
+        public void suspend(@Suspended AsyncResponse asyncResponse) {
+            SUSPENDED.add(asyncResponse);
+        }
+
+        @GET
+        @Path("sync")
+        public String sync() {
+            return "sync";
+        }
+    }
+
+    public static class SuspendingResource {
+        @GET
+        public void suspend(@Suspended AsyncResponse asyncResponse) {
+            SUSPENDED.add(asyncResponse);
+        }
+    }
+
+    @Path("locator")
+    public static class LocatorResource {
+        @Path("sub")
+        public Resource getSubResource() {
+            // a new model is built for every request
+            return Resource.from(SuspendingResource.class);
+        }
+    }
+
+    private static Future<ContainerResponse> apply(final ApplicationHandler app, final String path) {
+        return app.apply(RequestContextBuilder.from(path, "GET").build());
+    }
+
+    @Test
+    public void testGlobalLimit() throws ExecutionException, InterruptedException {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(AdmissionResource.class)
+                .property(ServerProperties.ADMISSION_MAX_CONCURRENT_REQUESTS, 1)
+                .property(ServerProperties.ADMISSION_RETRY_AFTER, 5));
+
+        final Future<ContainerResponse> suspended = apply(app, "/admission/suspend");
+        assertFalse(suspended.isDone());
+
+        ContainerResponse response = apply(app, "/admission/sync").get();
+        assertEquals(503, response.getStatus());
+        assertEquals("5", response.getHeaderString(HttpHeaders.RETRY_AFTER));
+
+        SUSPENDED.take().resume("resumed");
+        assertEquals("resumed", suspended.get().getEntity());
+
+        response = apply(app, "/admission/sync").get();
+        assertEquals(200, response.getStatus());
+
+        final ConcurrencyLimiter limiter = app.getServiceLocator().getService(AdmissionController.class).getGlobalLimiter();
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(2, limiter.getAdmitted());
+        assertEquals(1, limiter.getRejected());
+    }
+
+    @Test
+    public void testResourceMethodLimit() throws ExecutionException, InterruptedException {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(AdmissionResource.class)
+                .property(ServerProperties.ADMISSION_RESOURCE_METHOD_MAX_CONCURRENT_REQUESTS, 1)
+                .property(ServerProperties.ADMISSION_RETRY_AFTER, -1));
+
+        final Future<ContainerResponse> suspended = apply(app, "/admission/suspend");
+        assertFalse(suspended.isDone());
+
+        // other resource methods are not affected
+        assertEquals(200, apply(app, "/admission/sync").get().getStatus());
+
+        final ContainerResponse response = apply(app, "/admission/suspend").get();
+        assertEquals(503, response.getStatus());
+        assertNull(response.getHeaderString(HttpHeaders.RETRY_AFTER));
+
+        SUSPENDED.take().resume("resumed");
+        assertEquals(200, suspended.get().getStatus());
+
+        assertFalse(apply(app, "/admission/suspend").isDone());
+        SUSPENDED.take().resume("resumed");
+    }
+
+    @Test
+    public void testResourceMethodLimitOfRebuiltSubResource() throws ExecutionException, InterruptedException {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(LocatorResource.class)
+                .property(ServerProperties.ADMISSION_RESOURCE_METHOD_MAX_CONCURRENT_REQUESTS, 1));
+
+        final Future<ContainerResponse> suspended = apply(app, "/locator/sub");
+        assertFalse(suspended.isDone());
+
+        assertEquals(503, apply(app, "/locator/sub").get().getStatus());
+
+        SUSPENDED.take().resume("resumed");
+        assertEquals(200, suspended.get().getStatus());
+
+        assertFalse(apply(app, "/locator/sub").isDone());
+        SUSPENDED.take().resume("resumed");
+
+        final AdmissionController controller = app.getServiceLocator().getService(AdmissionController.class);
+        assertEquals(1, controller.getResourceMethodLimiters().size());
+        assertEquals(2, controller.getResourceMethodLimiters().values().iterator().next().getAdmitted());
+    }
+
+    @Test
+    public void testDisabledByDefault() throws ExecutionException, InterruptedException {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(AdmissionResource.class));
+
+        assertFalse(app.getServiceLocator().getService(AdmissionController.class).isEnabled());
+        assertFalse(apply(app, "/admission/suspend").isDone());
+        assertEquals(200, apply(app, "/admission/sync").get().getStatus());
+        SUSPENDED.take().resume("resumed");
+    }
+
+    @Test
+    public void testSuspendedRequestsDoNotAdaptLimit() throws ExecutionException, InterruptedException {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(AdmissionResource.class)
+                .property(ServerProperties.ADMISSION_MAX_CONCURRENT_REQUESTS, 100)
+                .property(ServerProperties.ADMISSION_ADAPTIVE_LIMIT_ENABLED, true));
+        final ConcurrencyLimiter limiter = app.getServiceLocator().getService(AdmissionController.class).getGlobalLimiter();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, apply(app, "/admission/sync").get().getStatus());
+        }
+        final int limit = limiter.getLimit();
+
+        // long-polling requests are resumed much later than the synchronous requests complete
+        for (int i = 0; i < 20; i++) {
+            final Future<ContainerResponse> suspended = apply(app, "/admission/suspend");
+            final AsyncResponse asyncResponse = SUSPENDED.take();
+            Thread.sleep(10);
+            asyncResponse.resume("resumed");
+            assertEquals(200, suspended.get().getStatus());
+        }
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(limit, limiter.getLimit());
+    }
+
+    @Test
+    public void testAdaptiveLimit() {
+        final ConcurrencyLimiter limiter = new ConcurrencyLimiter(100, true);
+        assertEquals(100, limiter.getLimit());
+
+        // latency grows 10 times - the limit is reduced
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(1000000L);
+        }
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(10000000L);
+        }
+        final int reduced = limiter.getLimit();
+        assertTrue("Limit not reduced: " + reduced, reduced < 50);
+        assertTrue("Limit reduced under minimum: " + reduced, reduced >= 10);
+
+        // latency back to normal under full load - the limit grows again
+        for (int i = 0; i < 200; i++) {
+            while (limiter.getInFlight() < limiter.getLimit()) {
+                assertTrue(limiter.tryAcquire());
+            }
+            assertFalse(limiter.tryAcquire());
+            limiter.release(1000000L);
+        }
+        assertTrue("Limit not increased: " + limiter.getLimit(), limiter.getLimit() > reduced);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.Path;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.Suspended;
+
+import org.glassfish.jersey.internal.util.collection.StringKeyIgnoreCaseMultivaluedMap;
+import org.glassfish.jersey.message.internal.ReadThroughHeaders;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests that request headers read lazily from a container are still available once the request processing
+ * has been suspended and resumed on a different thread.
+ */
+public class AsyncRequestHeadersTest {
+
+    private static final BlockingQueue<AsyncResponse> SUSPENDED = new LinkedBlockingQueue<AsyncResponse>();
+
+    @Path("headers")
+    public static class HeadersResource {
+
+        @GET
+        @Path("suspended")
+        public void suspended(@Suspended final AsyncResponse asyncResponse) {
+            SUSPENDED.add(asyncResponse);
+        }
+
+        @GET
+        @Path("managed")
+        @ManagedAsync
+        public String managed(@HeaderParam("X-Test") final String value) {
+            return value;
+        }
+    }
+
+    public static class EchoHeaderFilter implements ContainerResponseFilter {
+
+        @Override
+        public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+                throws IOException {
+            responseContext.getHeaders().putSingle("X-Echo", requestContext.getHeaderString("X-Test"));
+        }
+    }
+
+    /**
+     * Header source that may be accessed only from the container thread that created it.
+     */
+    private static class ContainerThreadSource implements ReadThroughHeaders.Source {
+
+        private final Thread containerThread = Thread.currentThread();
+        private final StringKeyIgnoreCaseMultivaluedMap<String> store =
+                new StringKeyIgnoreCaseMultivaluedMap<String>();
+
+        @Override
+        public Iterable<String> getHeaderNames() {
+            checkThread();
+            return store.keySet();
+        }
+
+        @Override
+        public Iterable<String> getHeaderValues(String name) {
+            checkThread();
+            final List<String> values = store.get(name);
+            return values == null ? Collections.<String>emptyList() : values;
+        }
+
+        private void checkThread() {
+            if (Thread.currentThread() != containerThread) {
+                throw new IllegalStateException("Container request accessed from a different thread.");
+            }
+        }
+    }
+
+    private static ContainerRequest createRequest(final String path) {
+        final ContainerThreadSource source = new ContainerThreadSource();
+        source.store.add("X-Test", "value");
+
+        final ContainerRequest request = RequestContextBuilder.from(path, "GET").build();
+        request.headers(source);
+        return request;
+    }
+
+    @Test
+    public void testHeadersAfterResume() throws Exception {
+        final ApplicationHandler app = new ApplicationHandler(
+                new ResourceConfig(HeadersResource.class, EchoHeaderFilter.class));
+
+        final Future<ContainerResponse> future = app.apply(createRequest("/headers/suspended"));
+        final AsyncResponse asyncResponse = SUSPENDED.poll(5, TimeUnit.SECONDS);
+
+        final Thread resumer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                asyncResponse.resume("resumed");
+            }
+        });
+        resumer.start();
+        resumer.join();
+
+        final ContainerResponse response = future.get(5, TimeUnit.SECONDS);
+        assertEquals(200, response.getStatus());
+        assertEquals("value", response.getHeaderString("X-Echo"));
+    }
+
+    @Test
+    public void testHeadersInManagedAsync() throws Exception {
+        final ApplicationHandler app = new ApplicationHandler(
+                new ResourceConfig(HeadersResource.class, EchoHeaderFilter.class));
+
+        final ContainerResponse response = app.apply(createRequest("/headers/managed")).get(5, TimeUnit.SECONDS);
+        assertEquals(200, response.getStatus());
+        assertEquals("value", response.getEntity());
+        assertEquals("value", response.getHeaderString("X-Echo"));
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests execution of reader and writer interceptor chains with and without user interceptors.
+ */
+public class InterceptorChainTest {
+
+    @Path("resource")
+    public static class Resource {
+        @GET
+        public String get() {
+            return "get";
+        }
+
+        @POST
+        public String post(final String entity) {
+            return entity;
+        }
+
+        @GET
+        @Path("jsonp")
+        @JSONP(callback = "callback")
+        @Produces("application/javascript")
+        public String jsonp() {
+            return "jsonp";
+        }
+
+        @GET
+        @Path("failing")
+        public Failing failing() {
+            return new Failing();
+        }
+    }
+
+    public static class Failing {
+    }
+
+    public static class FailingException extends IOException {
+    }
+
+    public static class FailingWriter implements MessageBodyWriter<Failing> {
+
+        @Override
+        public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                                   final MediaType mediaType) {
+            return type == Failing.class;
+        }
+
+        @Override
+        public long getSize(final Failing failing, final Class<?> type, final Type genericType, final Annotation[] annotations,
+                            final MediaType mediaType) {
+            return -1;
+        }
+
+        @Override
+        public void writeTo(final Failing failing, final Class<?> type, final Type genericType, final Annotation[] annotations,
+                            final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders,
+                            final OutputStream entityStream) throws IOException, WebApplicationException {
+            throw new FailingException();
+        }
+    }
+
+    public static class FailingExceptionMapper implements ExceptionMapper<FailingException> {
+
+        @Override
+        public Response toResponse(final FailingException exception) {
+            return Response.status(409).entity("mapped").build();
+        }
+    }
+
+    public static class UpperCaseInterceptor implements ReaderInterceptor, WriterInterceptor {
+
+        @Override
+        public Object aroundReadFrom(final ReaderInterceptorContext context) throws IOException, WebApplicationException {
+            return context.proceed() + "-read";
+        }
+
+        @Override
+        public void aroundWriteTo(final WriterInterceptorContext context) throws IOException, WebApplicationException {
+            if (context.getEntity() instanceof String) {
+                context.setEntity(((String) context.getEntity()).toUpperCase());
+            }
+            context.proceed();
+        }
+    }
+
+    private static String apply(final ApplicationHandler handler, final RequestContextBuilder request,
+                                final int expectedStatus) throws Exception {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final ContainerResponse response = handler.apply(request.build(), baos).get();
+
+        assertEquals(expectedStatus, response.getStatus());
+        return baos.toString();
+    }
+
+    @Test
+    public void testWithoutUserInterceptors() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(Resource.class));
+
+        assertEquals("get", apply(handler, RequestContextBuilder.from("/resource", "GET"), 200));
+        assertEquals("entity", apply(handler, RequestContextBuilder.from("/resource", "POST").entity("entity"), 200));
+    }
+
+    @Test
+    public void testJsonpWithoutUserInterceptors() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(Resource.class));
+
+        assertEquals("callback(jsonp)", apply(handler, RequestContextBuilder.from("/resource/jsonp", "GET"), 200));
+    }
+
+    @Test
+    public void testWriterExceptionMappedWithoutUserInterceptors() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(Resource.class, FailingWriter.class,
+                FailingExceptionMapper.class));
+
+        assertEquals("mapped", apply(handler, RequestContextBuilder.from("/resource/failing", "GET"), 409));
+    }
+
+    @Test
+    public void testUserInterceptors() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(Resource.class,
+                UpperCaseInterceptor.class));
+
+        assertEquals("GET", apply(handler, RequestContextBuilder.from("/resource", "GET"), 200));
+        assertEquals("ENTITY-READ", apply(handler, RequestContextBuilder.from("/resource", "POST").entity("entity"), 200));
+        assertEquals("callback(JSONP)", apply(handler, RequestContextBuilder.from("/resource/jsonp", "GET"), 200));
+    }
+}
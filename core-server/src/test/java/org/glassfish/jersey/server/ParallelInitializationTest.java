@@ -0,0 +1,222 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+import org.glassfish.jersey.server.model.ModelValidationException;
+import org.glassfish.jersey.server.model.ResourceModelIssue;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.InitializationPhaseEvent;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests parallel initialization of the application (see {@link ServerProperties#INITIALIZATION_PARALLELISM}).
+ */
+public class ParallelInitializationTest {
+
+    @Path("a")
+    public static class ResourceA {
+
+        @GET
+        public String get() {
+            return "a";
+        }
+
+        @Path("sub")
+        public SubResource getSub() {
+            return new SubResource();
+        }
+    }
+
+    @Path("b")
+    public static class ResourceB {
+
+        @GET
+        public String get() {
+            return "b";
+        }
+
+        @GET
+        @Path("child")
+        public String getChild() {
+            return "b-child";
+        }
+    }
+
+    public static class SubResource {
+
+        @GET
+        public String get() {
+            return "sub";
+        }
+    }
+
+    @Path("invalid-1")
+    public static class InvalidResource1 {
+
+        @GET
+        @Produces("text/plain")
+        public String get1() {
+            return "1";
+        }
+
+        @GET
+        @Produces("text/plain")
+        public String get2() {
+            return "2";
+        }
+    }
+
+    @Path("invalid-2")
+    public static class InvalidResource2 {
+
+        @GET
+        @Path("child")
+        public String get1() {
+            return "1";
+        }
+
+        @GET
+        @Path("child")
+        public String get2() {
+            return "2";
+        }
+    }
+
+    public static class PhaseListener implements ApplicationEventListener {
+
+        private final List<InitializationPhaseEvent.Phase> phases =
+                new CopyOnWriteArrayList<InitializationPhaseEvent.Phase>();
+
+        @Override
+        public void onEvent(ApplicationEvent event) {
+            if (event.getType() == ApplicationEvent.Type.INITIALIZATION_PHASE_FINISHED) {
+                final InitializationPhaseEvent phaseEvent = (InitializationPhaseEvent) event;
+                assertTrue(phaseEvent.getDuration() >= 0);
+                phases.add(phaseEvent.getPhase());
+            }
+        }
+
+        @Override
+        public RequestEventListener onRequest(RequestEvent requestEvent) {
+            return null;
+        }
+    }
+
+    private static ResourceConfig createConfig(final int parallelism, final Class<?>... classes) {
+        return new ResourceConfig(classes).property(ServerProperties.INITIALIZATION_PARALLELISM, parallelism);
+    }
+
+    private static void assertResponse(final ApplicationHandler app, final String path, final String entity)
+            throws Exception {
+        final ContainerResponse response = app.apply(RequestContextBuilder.from(path, "GET").build()).get();
+        assertEquals(200, response.getStatus());
+        assertEquals(entity, response.getEntity());
+    }
+
+    @Test
+    public void testParallelInitialization() throws Exception {
+        final PhaseListener listener = new PhaseListener();
+        final ApplicationHandler app = new ApplicationHandler(
+                createConfig(4, ResourceA.class, ResourceB.class).register(listener));
+
+        assertResponse(app, "/a", "a");
+        assertResponse(app, "/a/sub", "sub");
+        assertResponse(app, "/b", "b");
+        assertResponse(app, "/b/child", "b-child");
+
+        assertEquals(3, listener.phases.size());
+        assertEquals(InitializationPhaseEvent.Phase.RESOURCE_INTROSPECTION, listener.phases.get(0));
+        assertEquals(InitializationPhaseEvent.Phase.RESOURCE_MODEL_VALIDATION, listener.phases.get(1));
+        assertEquals(InitializationPhaseEvent.Phase.ROUTER_BUILDING, listener.phases.get(2));
+    }
+
+    private static List<ResourceModelIssue> getValidationIssues(final int parallelism) {
+        try {
+            new ApplicationHandler(createConfig(parallelism,
+                    ResourceA.class, InvalidResource1.class, ResourceB.class, InvalidResource2.class));
+            fail("Model validation exception expected.");
+        } catch (ModelValidationException ex) {
+            return ex.getIssues();
+        }
+        return null;
+    }
+
+    private static String getReportedResource(final ResourceModelIssue issue) {
+        final String message = issue.getMessage();
+        for (Class<?> resource : new Class<?>[] {InvalidResource1.class, InvalidResource2.class}) {
+            if (message.contains(resource.getName())) {
+                return resource.getName();
+            }
+        }
+        return message;
+    }
+
+    @Test
+    public void testDeterministicValidationErrors() {
+        final List<ResourceModelIssue> expected = getValidationIssues(1);
+        assertNotNull(expected);
+        assertTrue(expected.size() >= 2);
+
+        for (int i = 0; i < 10; i++) {
+            final List<ResourceModelIssue> actual = getValidationIssues(4);
+            assertEquals(expected.size(), actual.size());
+            for (int j = 0; j < expected.size(); j++) {
+                // order of the ambiguous methods within a message is not defined, compare the reported resources
+                assertEquals(getReportedResource(expected.get(j)), getReportedResource(actual.get(j)));
+                assertEquals(expected.get(j).getSeverity(), actual.get(j).getSeverity());
+            }
+        }
+    }
+}
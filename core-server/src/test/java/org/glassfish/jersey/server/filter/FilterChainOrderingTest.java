@@ -0,0 +1,195 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.io.IOException;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.NameBinding;
+import javax.ws.rs.Path;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+
+import javax.annotation.Priority;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Tests that global, name bound and dynamically bound container filters are merged and executed
+ * in the order of their priorities.
+ */
+public class FilterChainOrderingTest {
+
+    private static final List<String> ORDER = Collections.synchronizedList(Lists.<String>newArrayList());
+
+    @NameBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    public static @interface Bound {
+    }
+
+    @Path("resource")
+    public static class Resource {
+        @GET
+        @Bound
+        public String bound() {
+            return "bound";
+        }
+
+        @GET
+        @Path("dynamic")
+        public String dynamic() {
+            return "dynamic";
+        }
+
+        @GET
+        @Path("global")
+        public String global() {
+            return "global";
+        }
+    }
+
+    public abstract static class RecordingFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+        private final String name;
+
+        protected RecordingFilter(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext) throws IOException {
+            ORDER.add("req-" + name);
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext,
+                           final ContainerResponseContext responseContext) throws IOException {
+            ORDER.add("res-" + name);
+        }
+    }
+
+    @Priority(100)
+    public static class GlobalFilter100 extends RecordingFilter {
+        public GlobalFilter100() {
+            super("global100");
+        }
+    }
+
+    @Priority(300)
+    public static class GlobalFilter300 extends RecordingFilter {
+        public GlobalFilter300() {
+            super("global300");
+        }
+    }
+
+    @Bound
+    @Priority(200)
+    public static class BoundFilter200 extends RecordingFilter {
+        public BoundFilter200() {
+            super("bound200");
+        }
+    }
+
+    @Priority(250)
+    public static class DynamicFilter250 extends RecordingFilter {
+        public DynamicFilter250() {
+            super("dynamic250");
+        }
+    }
+
+    public static class DynamicBinding implements DynamicFeature {
+        @Override
+        public void configure(final ResourceInfo resourceInfo, final FeatureContext context) {
+            if ("dynamic".equals(resourceInfo.getResourceMethod().getName())) {
+                context.register(DynamicFilter250.class);
+            }
+        }
+    }
+
+    private static String order(final String path, final int expectedStatus) throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(Resource.class, GlobalFilter300.class,
+                GlobalFilter100.class, BoundFilter200.class, DynamicBinding.class));
+
+        ORDER.clear();
+        final ContainerResponse response = handler.apply(RequestContextBuilder.from(path, "GET").build()).get();
+        assertEquals(expectedStatus, response.getStatus());
+        return ORDER.toString();
+    }
+
+    @Test
+    public void testNameBoundFilterOrder() throws Exception {
+        assertEquals("[req-global100, req-bound200, req-global300, res-global300, res-bound200, res-global100]",
+                order("/resource", 200));
+    }
+
+    @Test
+    public void testDynamicallyBoundFilterOrder() throws Exception {
+        assertEquals("[req-global100, req-dynamic250, req-global300, res-global300, res-dynamic250, res-global100]",
+                order("/resource/dynamic", 200));
+    }
+
+    @Test
+    public void testGlobalFilterOrder() throws Exception {
+        assertEquals("[req-global100, req-global300, res-global300, res-global100]",
+                order("/resource/global", 200));
+    }
+
+    @Test
+    public void testUnmatchedRequestFilterOrder() throws Exception {
+        assertEquals("[res-global300, res-global100]", order("/unknown", 404));
+    }
+}
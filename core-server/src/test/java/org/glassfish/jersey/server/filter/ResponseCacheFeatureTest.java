@@ -0,0 +1,512 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.security.Principal;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.CookieParam;
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.Produces;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+
+import javax.annotation.Priority;
+import javax.annotation.security.RolesAllowed;
+
+import org.glassfish.jersey.internal.util.collection.MultivaluedStringMap;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.CloseableService;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.internal.ResponseCache;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.Lists;
+
+/**
+ * {@link ResponseCacheFeature} tests.
+ */
+public class ResponseCacheFeatureTest {
+
+    private static final AtomicInteger invocations = new AtomicInteger();
+    private static volatile CountDownLatch slowResponse = new CountDownLatch(0);
+
+    private ApplicationHandler handler;
+
+    @Path("/resource")
+    @Produces(MediaType.TEXT_PLAIN)
+    public static class Resource {
+
+        @GET
+        @Path("public")
+        public Response getPublic(@HeaderParam(HttpHeaders.ACCEPT_LANGUAGE) final String language) {
+            return Response.ok(language + invocations.incrementAndGet())
+                    .header(HttpHeaders.CACHE_CONTROL, "public, max-age=60")
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE)
+                    .build();
+        }
+
+        @GET
+        @Path("annotated")
+        @CacheResponse(maxAge = 60)
+        public String getAnnotated() {
+            return "annotated" + invocations.incrementAndGet();
+        }
+
+        @GET
+        @Path("no-store")
+        @CacheResponse(maxAge = 60)
+        public Response getNoStore() {
+            return Response.ok("no-store" + invocations.incrementAndGet())
+                    .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                    .build();
+        }
+
+        @GET
+        @Path("not-cached")
+        public Response getNotCached() {
+            return Response.ok("not-cached" + invocations.incrementAndGet())
+                    .header(HttpHeaders.CACHE_CONTROL, "max-age=60")
+                    .build();
+        }
+
+        @GET
+        @Path("personal")
+        @CacheResponse(maxAge = 60)
+        public String getPersonal(@CookieParam("session") final String session) {
+            return (session == null ? "anonymous" : session) + invocations.incrementAndGet();
+        }
+
+        @GET
+        @Path("secured")
+        @RolesAllowed("admin")
+        public Response getSecured() {
+            return Response.ok("secured" + invocations.incrementAndGet())
+                    .header(HttpHeaders.CACHE_CONTROL, "public, max-age=60")
+                    .build();
+        }
+
+        @GET
+        @Path("slow")
+        @CacheResponse(maxAge = 60)
+        public String getSlow() throws InterruptedException {
+            final int invocation = invocations.incrementAndGet();
+            slowResponse.await(5, TimeUnit.SECONDS);
+            return "slow" + invocation;
+        }
+
+        @PUT
+        @Path("annotated")
+        public void put(final String entity) {
+        }
+
+        @PUT
+        @Path("slow")
+        public void putSlow(final String entity) {
+        }
+    }
+
+    /**
+     * Authenticates requests containing the {@code X-User} header.
+     */
+    @PreMatching
+    @Priority(Priorities.AUTHENTICATION)
+    public static class AuthenticationFilter implements ContainerRequestFilter {
+
+        @Override
+        public void filter(final ContainerRequestContext request) throws IOException {
+            final String user = request.getHeaderString("X-User");
+            if (user == null) {
+                return;
+            }
+            request.setSecurityContext(new SecurityContext() {
+                @Override
+                public Principal getUserPrincipal() {
+                    return new Principal() {
+                        @Override
+                        public String getName() {
+                            return user;
+                        }
+                    };
+                }
+
+                @Override
+                public boolean isUserInRole(final String role) {
+                    return "admin".equals(user) && "admin".equals(role);
+                }
+
+                @Override
+                public boolean isSecure() {
+                    return false;
+                }
+
+                @Override
+                public String getAuthenticationScheme() {
+                    return null;
+                }
+            });
+        }
+    }
+
+    @Before
+    public void setUp() {
+        invocations.set(0);
+        slowResponse = new CountDownLatch(0);
+        handler = new ApplicationHandler(new ResourceConfig(Resource.class, ResponseCacheFeature.class));
+    }
+
+    private ContainerResponse get(final String path, final String... headers) throws Exception {
+        final RequestContextBuilder builder = RequestContextBuilder.from("/", path, "GET");
+        for (int i = 0; i < headers.length; i += 2) {
+            builder.header(headers[i], headers[i + 1]);
+        }
+        return handler.apply(builder.build()).get();
+    }
+
+    private static String entity(final ContainerResponse response) {
+        assertEquals(200, response.getStatus());
+        final Object entity = response.getEntity();
+        return entity instanceof byte[] ? new String((byte[]) entity) : (String) entity;
+    }
+
+    @Test
+    public void testPublicResponseIsCached() throws Exception {
+        assertEquals("en1", entity(get("/resource/public", HttpHeaders.ACCEPT_LANGUAGE, "en")));
+
+        final ContainerResponse response = get("/resource/public", HttpHeaders.ACCEPT_LANGUAGE, "en");
+        assertEquals("en1", entity(response));
+        assertEquals(MediaType.TEXT_PLAIN_TYPE, response.getMediaType());
+        assertEquals("public, max-age=60", response.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        assertNotNull(response.getHeaderString("Age"));
+
+        // other representation
+        assertEquals("cs2", entity(get("/resource/public", HttpHeaders.ACCEPT_LANGUAGE, "cs")));
+        assertEquals("cs2", entity(get("/resource/public", HttpHeaders.ACCEPT_LANGUAGE, "cs")));
+        assertEquals("en1", entity(get("/resource/public", HttpHeaders.ACCEPT_LANGUAGE, "en")));
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    public void testAnnotatedResponseIsCached() throws Exception {
+        assertEquals("annotated1", entity(get("/resource/annotated")));
+        assertEquals("annotated1", entity(get("/resource/annotated")));
+        assertEquals(1, invocations.get());
+
+        // not shared response must not be used for authorized requests
+        assertEquals("annotated2", entity(get("/resource/annotated", HttpHeaders.AUTHORIZATION, "Basic Zm9vOmJhcg==")));
+    }
+
+    @Test
+    public void testCookieAuthenticatedResponseIsNotShared() throws Exception {
+        assertEquals("alice1", entity(get("/resource/personal", HttpHeaders.COOKIE, "session=alice")));
+
+        // the response to the cookie-authenticated request must not be served to an anonymous request
+        assertEquals("anonymous2", entity(get("/resource/personal")));
+        assertEquals("anonymous2", entity(get("/resource/personal")));
+
+        // and the response to the anonymous request must not be served to a cookie-authenticated one
+        assertEquals("bob3", entity(get("/resource/personal", HttpHeaders.COOKIE, "session=bob")));
+    }
+
+    @Test
+    public void testPrincipalResponseIsNotShared() throws Exception {
+        handler = new ApplicationHandler(new ResourceConfig(Resource.class, ResponseCacheFeature.class,
+                AuthenticationFilter.class));
+
+        assertEquals("anonymous1", entity(get("/resource/personal", "X-User", "alice")));
+        assertEquals("anonymous2", entity(get("/resource/personal")));
+        assertEquals("anonymous3", entity(get("/resource/personal", "X-User", "alice")));
+        assertEquals("anonymous2", entity(get("/resource/personal")));
+    }
+
+    @Test
+    public void testRestrictedResponseIsNotCached() throws Exception {
+        handler = new ApplicationHandler(new ResourceConfig(Resource.class, ResponseCacheFeature.class,
+                RolesAllowedDynamicFeature.class, AuthenticationFilter.class));
+
+        assertEquals("secured1", entity(get("/resource/secured", "X-User", "admin")));
+        assertEquals("secured2", entity(get("/resource/secured", "X-User", "admin")));
+        assertEquals(403, get("/resource/secured").getStatus());
+        assertEquals(403, get("/resource/secured", "X-User", "guest").getStatus());
+    }
+
+    @Test
+    public void testNotCacheableResponses() throws Exception {
+        assertEquals("no-store1", entity(get("/resource/no-store")));
+        assertEquals("no-store2", entity(get("/resource/no-store")));
+        assertEquals("not-cached3", entity(get("/resource/not-cached")));
+        assertEquals("not-cached4", entity(get("/resource/not-cached")));
+    }
+
+    @Test
+    public void testNoCacheRequest() throws Exception {
+        assertEquals("annotated1", entity(get("/resource/annotated")));
+        assertEquals("annotated2", entity(get("/resource/annotated", HttpHeaders.CACHE_CONTROL, "no-cache")));
+        assertEquals("annotated2", entity(get("/resource/annotated")));
+    }
+
+    @Test
+    public void testUnsafeRequestInvalidatesCache() throws Exception {
+        assertEquals("annotated1", entity(get("/resource/annotated")));
+
+        final ContainerResponse response = handler.apply(
+                RequestContextBuilder.from("/", "/resource/annotated", "PUT").entity("entity").build()).get();
+        assertEquals(204, response.getStatus());
+
+        assertEquals("annotated2", entity(get("/resource/annotated")));
+        assertEquals("annotated2", entity(get("/resource/annotated")));
+    }
+
+    @Test
+    public void testInvalidatedResponseIsRecomputedOnce() throws Exception {
+        assertEquals("slow1", entity(get("/resource/slow")));
+        assertEquals(204, handler.apply(
+                RequestContextBuilder.from("/", "/resource/slow", "PUT").entity("entity").build()).get().getStatus());
+
+        slowResponse = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            final List<Future<ContainerResponse>> responses = Lists.newArrayList();
+            for (int i = 0; i < 5; i++) {
+                responses.add(executor.submit(new Callable<ContainerResponse>() {
+                    @Override
+                    public ContainerResponse call() throws Exception {
+                        return get("/resource/slow");
+                    }
+                }));
+            }
+            // let the concurrent requests reach the cache while the first one is computing the response
+            Thread.sleep(500);
+            slowResponse.countDown();
+
+            for (Future<ContainerResponse> response : responses) {
+                assertEquals("slow2", entity(response.get(5, TimeUnit.SECONDS)));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    public void testFeatureDisabled() throws Exception {
+        handler = new ApplicationHandler(new ResourceConfig(Resource.class, ResponseCacheFeature.class)
+                .property(ServerProperties.RESPONSE_CACHE_SIZE, 0));
+
+        assertEquals("annotated1", entity(get("/resource/annotated")));
+        assertEquals("annotated2", entity(get("/resource/annotated")));
+    }
+
+    @Test
+    public void testNormalizedUri() {
+        assertEquals("http://localhost/a/c?a=1&b=2",
+                ResponseCache.normalize(URI.create("http://localhost/a/b/../c?b=2&a=1")));
+    }
+
+    @Test
+    public void testExpiredResponseIsRecomputedOnce() throws Exception {
+        final ResponseCache cache = new ResponseCache(1024 * 1024, 10000);
+        final String uri = "http://localhost/resource";
+        final ContainerRequest request = RequestContextBuilder.from(uri, "GET").build();
+        final MultivaluedMap<String, String> headers = new MultivaluedStringMap();
+
+        // expired immediately
+        cache.store(uri, new String[0], new String[0], 200, headers, "old".getBytes(), 0, true);
+
+        final List<Closeable> closeables = Lists.newArrayList();
+        final CloseableService closeableService = new CloseableService() {
+            @Override
+            public void add(final Closeable c) {
+                closeables.add(c);
+            }
+
+            @Override
+            public void close() {
+                for (Closeable closeable : closeables) {
+                    try {
+                        closeable.close();
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            }
+        };
+
+        // the first request recomputes the response
+        assertNull(cache.get(uri, request, closeableService));
+        assertEquals(1, closeables.size());
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<ResponseCache.CachedResponse> waiting = executor.submit(
+                    new Callable<ResponseCache.CachedResponse>() {
+                        @Override
+                        public ResponseCache.CachedResponse call() throws Exception {
+                            return cache.get(uri, request, closeableService);
+                        }
+                    });
+
+            cache.store(uri, new String[0], new String[0], 200, headers, "new".getBytes(), 60, true);
+            closeableService.close();
+
+            final ResponseCache.CachedResponse response = waiting.get(5, TimeUnit.SECONDS);
+            assertNotNull(response);
+            assertEquals("new", new String((byte[]) response.toResponse().getEntity()));
+            assertEquals(1, closeables.size());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testExpiredVariantDoesNotBlockOtherVariants() throws Exception {
+        final ResponseCache cache = new ResponseCache(1024 * 1024, 10000);
+        final String uri = "http://localhost/resource";
+        final String[] vary = new String[] {HttpHeaders.ACCEPT_LANGUAGE};
+        final ContainerRequest en = RequestContextBuilder.from(uri, "GET")
+                .header(HttpHeaders.ACCEPT_LANGUAGE, "en").build();
+        final ContainerRequest cs = RequestContextBuilder.from(uri, "GET")
+                .header(HttpHeaders.ACCEPT_LANGUAGE, "cs").build();
+        final MultivaluedMap<String, String> headers = new MultivaluedStringMap();
+
+        // expired immediately
+        cache.store(uri, vary, new String[] {"en"}, 200, headers, "en".getBytes(), 0, true);
+
+        final List<Closeable> closeables = Lists.newArrayList();
+        final CloseableService closeableService = new CloseableService() {
+            @Override
+            public void add(final Closeable c) {
+                closeables.add(c);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        // the request recomputing the English representation must not block requests for other representations
+        assertNull(cache.get(uri, en, closeableService));
+        assertEquals(1, closeables.size());
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<ResponseCache.CachedResponse> other = executor.submit(
+                    new Callable<ResponseCache.CachedResponse>() {
+                        @Override
+                        public ResponseCache.CachedResponse call() throws Exception {
+                            return cache.get(uri, cs, closeableService);
+                        }
+                    });
+            try {
+                assertNull(other.get(5, TimeUnit.SECONDS));
+            } catch (TimeoutException e) {
+                fail("Request for another representation is waiting for the expired representation.");
+            }
+            assertEquals(2, closeables.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUnknownUriLocking() throws Exception {
+        final ResponseCache cache = new ResponseCache(1024 * 1024, 10000);
+        final String uri = "http://localhost/resource";
+        final List<Closeable> closeables = Lists.newArrayList();
+        final CloseableService closeableService = new CloseableService() {
+            @Override
+            public void add(final Closeable c) {
+                closeables.add(c);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        // HEAD responses are not cached - HEAD requests must not make GET requests wait
+        assertNull(cache.get(uri, RequestContextBuilder.from(uri, "HEAD").build(), closeableService));
+        assertEquals(0, closeables.size());
+
+        // responses of a URI without cached responses are computed by one GET request at a time
+        assertNull(cache.get(uri, RequestContextBuilder.from(uri, "GET").build(), closeableService));
+        assertEquals(1, closeables.size());
+        closeables.get(0).close();
+
+        // requests for a URI whose responses are not cacheable do not wait for each other
+        cache.notCacheable(uri);
+        assertNull(cache.get(uri, RequestContextBuilder.from(uri, "GET").build(), closeableService));
+        assertNull(cache.get(uri, RequestContextBuilder.from(uri, "GET").build(), closeableService));
+        assertEquals(1, closeables.size());
+    }
+}
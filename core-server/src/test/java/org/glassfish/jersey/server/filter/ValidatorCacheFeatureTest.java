@@ -0,0 +1,331 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.security.Principal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.UriInfo;
+
+import javax.annotation.Priority;
+import javax.annotation.security.RolesAllowed;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * {@link ValidatorCacheFeature} tests.
+ */
+public class ValidatorCacheFeatureTest {
+
+    private static final AtomicInteger invocations = new AtomicInteger();
+    private static volatile String version = "1";
+
+    private ApplicationHandler handler;
+
+    @Path("/resource")
+    public static class Resource {
+
+        @Context
+        private ValidatorCache validatorCache;
+
+        @GET
+        @CacheValidators
+        public Response get() {
+            invocations.incrementAndGet();
+            return Response.ok("v" + version).tag(version).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_LANGUAGE).build();
+        }
+
+        @GET
+        @Path("not-cached")
+        public Response getNotCached() {
+            invocations.incrementAndGet();
+            return Response.ok("v" + version).tag(version).build();
+        }
+
+        @PUT
+        public void put(final String entity) {
+            version = entity;
+        }
+
+        @PUT
+        @Path("silent")
+        public void putSilently(final String entity) {
+            version = entity;
+        }
+
+        @PUT
+        @Path("invalidate")
+        public void invalidate(@Context final UriInfo uriInfo) {
+            validatorCache.invalidate(uriInfo.getBaseUriBuilder().path("resource").build());
+        }
+
+        @PUT
+        @Path("invalidate-relative")
+        public void invalidateRelative() {
+            validatorCache.invalidate(URI.create("resource"));
+        }
+
+        @GET
+        @Path("concurrent")
+        @CacheValidators
+        public Response getConcurrentlyInvalidated(@QueryParam("invalidate") final String path) {
+            invocations.incrementAndGet();
+            // simulates an unsafe request processed while the validators are computed
+            validatorCache.invalidate(URI.create(path));
+            return Response.ok("v" + version).tag(version).build();
+        }
+
+        @GET
+        @Path("secured")
+        @CacheValidators
+        @RolesAllowed("admin")
+        public Response getSecured() {
+            invocations.incrementAndGet();
+            return Response.ok("v" + version).tag(version).build();
+        }
+    }
+
+    /**
+     * Authenticates requests containing the {@code X-Role} header as a user in the role.
+     */
+    @PreMatching
+    @Priority(Priorities.AUTHENTICATION)
+    public static class AuthenticationFilter implements ContainerRequestFilter {
+
+        @Override
+        public void filter(final ContainerRequestContext request) throws IOException {
+            final String role = request.getHeaderString("X-Role");
+            request.setSecurityContext(new SecurityContext() {
+                @Override
+                public Principal getUserPrincipal() {
+                    return role == null ? null : new Principal() {
+                        @Override
+                        public String getName() {
+                            return "user";
+                        }
+                    };
+                }
+
+                @Override
+                public boolean isUserInRole(final String name) {
+                    return name.equals(role);
+                }
+
+                @Override
+                public boolean isSecure() {
+                    return false;
+                }
+
+                @Override
+                public String getAuthenticationScheme() {
+                    return null;
+                }
+            });
+        }
+    }
+
+    @Before
+    public void setUp() {
+        invocations.set(0);
+        version = "1";
+        handler = new ApplicationHandler(new ResourceConfig(Resource.class, ValidatorCacheFeature.class));
+    }
+
+    private ContainerResponse get(final String path, final String eTag, final String language) throws Exception {
+        return get(path, eTag, language, null);
+    }
+
+    private ContainerResponse get(final String path, final String eTag, final String language, final String role)
+            throws Exception {
+        final RequestContextBuilder builder = RequestContextBuilder.from("/", path, "GET");
+        if (eTag != null) {
+            builder.header(HttpHeaders.IF_NONE_MATCH, new EntityTag(eTag));
+        }
+        if (language != null) {
+            builder.header(HttpHeaders.ACCEPT_LANGUAGE, language);
+        }
+        if (role != null) {
+            builder.header("X-Role", role);
+        }
+        return handler.apply(builder.build()).get();
+    }
+
+    private void put(final String path, final String entity) throws Exception {
+        final ContainerResponse response = handler.apply(
+                RequestContextBuilder.from("/", path, "PUT").entity(entity).build()).get();
+        assertEquals(204, response.getStatus());
+    }
+
+    @Test
+    public void testConditionalRequestIsAnsweredFromCache() throws Exception {
+        assertEquals(200, get("/resource", null, null).getStatus());
+        assertEquals(1, invocations.get());
+
+        final ContainerResponse response = get("/resource", "1", null);
+        assertEquals(304, response.getStatus());
+        assertEquals(new EntityTag("1"), response.getEntityTag());
+        assertEquals(HttpHeaders.ACCEPT_LANGUAGE, response.getHeaderString(HttpHeaders.VARY));
+        assertEquals(1, invocations.get());
+
+        // not matching entity tag
+        assertEquals(200, get("/resource", "0", null).getStatus());
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    public void testVaryHeaders() throws Exception {
+        assertEquals(200, get("/resource", null, "en").getStatus());
+
+        assertEquals(304, get("/resource", "1", "en").getStatus());
+        assertEquals(1, invocations.get());
+
+        // validators of the other representation are not cached yet
+        assertEquals(200, get("/resource", "1", "cs").getStatus());
+        assertEquals(2, invocations.get());
+        assertEquals(304, get("/resource", "1", "cs").getStatus());
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    public void testNotAnnotatedMethodIsNotCached() throws Exception {
+        assertEquals(200, get("/resource/not-cached", null, null).getStatus());
+        assertEquals(200, get("/resource/not-cached", "1", null).getStatus());
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    public void testUnsafeRequestInvalidatesCache() throws Exception {
+        assertEquals(200, get("/resource", null, null).getStatus());
+        put("/resource", "2");
+
+        final ContainerResponse response = get("/resource", "1", null);
+        assertEquals(200, response.getStatus());
+        assertEquals("v2", response.getEntity());
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    public void testInjectedInvalidationApi() throws Exception {
+        assertEquals(200, get("/resource", null, null).getStatus());
+        put("/resource/silent", "2");
+
+        // the modification has not been announced yet
+        assertEquals(304, get("/resource", "1", null).getStatus());
+        assertEquals(1, invocations.get());
+
+        put("/resource/invalidate", "");
+        final ContainerResponse response = get("/resource", "1", null);
+        assertEquals(200, response.getStatus());
+        assertEquals(new EntityTag("2"), response.getEntityTag());
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    public void testInvalidationOfRelativeUri() throws Exception {
+        assertEquals(200, get("/resource", null, null).getStatus());
+        put("/resource/silent", "2");
+
+        put("/resource/invalidate-relative", "");
+        final ContainerResponse response = get("/resource", "1", null);
+        assertEquals(200, response.getStatus());
+        assertEquals(new EntityTag("2"), response.getEntityTag());
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    public void testConcurrentInvalidation() throws Exception {
+        // invalidation of an unrelated path does not prevent the validators from being cached
+        assertEquals(200, get("/resource/concurrent?invalidate=/resource/other", null, null).getStatus());
+        assertEquals(304, get("/resource/concurrent?invalidate=/resource/other", "1", null).getStatus());
+        assertEquals(1, invocations.get());
+
+        // validators computed concurrently with an invalidation of the same path are not cached
+        assertEquals(200, get("/resource/concurrent?invalidate=/resource/concurrent", null, null).getStatus());
+        assertEquals(200, get("/resource/concurrent?invalidate=/resource/concurrent", "1", null).getStatus());
+        assertEquals(3, invocations.get());
+    }
+
+    @Test
+    public void testRestrictedMethodIsNotCached() throws Exception {
+        handler = new ApplicationHandler(new ResourceConfig(Resource.class, ValidatorCacheFeature.class,
+                RolesAllowedDynamicFeature.class, AuthenticationFilter.class));
+
+        assertEquals(200, get("/resource/secured", null, null, "admin").getStatus());
+        assertEquals(200, get("/resource/secured", "1", null, "admin").getStatus());
+        assertEquals(2, invocations.get());
+
+        // unauthorized clients must not learn the current entity tag
+        assertEquals(403, get("/resource/secured", "1", null, "guest").getStatus());
+        assertEquals(403, get("/resource/secured", "1", null).getStatus());
+    }
+
+    @Test
+    public void testFeatureDisabled() throws Exception {
+        handler = new ApplicationHandler(new ResourceConfig(Resource.class, ValidatorCacheFeature.class)
+                .property(ServerProperties.VALIDATOR_CACHE_SIZE, 0));
+
+        assertEquals(200, get("/resource", null, null).getStatus());
+        assertEquals(200, get("/resource", "1", null).getStatus());
+        assertEquals(2, invocations.get());
+    }
+}
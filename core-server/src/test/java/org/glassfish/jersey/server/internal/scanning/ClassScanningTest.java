@@ -0,0 +1,248 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server.internal.scanning;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ResourceFinder;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.io.ByteStreams;
+
+/**
+ * Tests of the class file pre-check in {@link AnnotationAcceptingListener} and of the {@link ZipFileScanner}.
+ */
+public class ClassScanningTest {
+
+    @Path("annotated")
+    public static class AnnotatedResource {
+
+        @GET
+        public String get() {
+            return "annotated";
+        }
+    }
+
+    @Path("other")
+    public static class OtherAnnotatedResource {
+
+        @GET
+        public String get() {
+            return "other";
+        }
+    }
+
+    public static class NotAnnotatedClass {
+
+        public String get() {
+            return "not-annotated";
+        }
+    }
+
+    @Test
+    public void testPreCheck() throws IOException {
+        final AnnotationAcceptingListener listener = AnnotationAcceptingListener.newJaxrsResourceAndProviderListener();
+
+        assertTrue(listener.mayBeAnnotated(classFile(AnnotatedResource.class)));
+        assertFalse(listener.mayBeAnnotated(classFile(NotAnnotatedClass.class)));
+        assertFalse(listener.mayBeAnnotated(new byte[0]));
+    }
+
+    @Test
+    public void testProcess() throws IOException {
+        final AnnotationAcceptingListener listener = AnnotationAcceptingListener.newJaxrsResourceAndProviderListener();
+
+        for (Class<?> clazz : Arrays.asList(AnnotatedResource.class, NotAnnotatedClass.class, ClassScanningTest.class)) {
+            final String name = clazz.getName().replace('.', '/') + ".class";
+            assertTrue(listener.accept(name));
+            listener.process(name, clazz.getClassLoader().getResourceAsStream(name));
+        }
+
+        assertEquals(Collections.<Class<?>>singleton(AnnotatedResource.class), listener.getAnnotatedClasses());
+    }
+
+    @Test
+    public void testParallelScanningKeepsFinderOrder() {
+        for (int i = 0; i < 10; i++) {
+            final ResourceConfig config = new ResourceConfig()
+                    .registerFinder(new ClassFinder(OtherAnnotatedResource.class, NotAnnotatedClass.class))
+                    .registerFinder(new ClassFinder(AnnotatedResource.class))
+                    .property(ServerProperties.INITIALIZATION_PARALLELISM, 4);
+
+            final Iterator<Class<?>> classes = config.getClasses().iterator();
+            assertEquals(OtherAnnotatedResource.class, classes.next());
+            assertEquals(AnnotatedResource.class, classes.next());
+            assertFalse(classes.hasNext());
+        }
+    }
+
+    @Test
+    public void testZipFileScanner() throws IOException {
+        final File jar = createJar("a/A.class", "a/b/B.class", "a/b/", "ab/C.class", "D.class");
+
+        assertEquals(Arrays.asList("a/A.class"), names(new ZipFileScanner(jar, "a", false)));
+        assertEquals(Arrays.asList("a/A.class", "a/b/B.class"), names(new ZipFileScanner(jar, "a", true)));
+        assertEquals(Arrays.asList("a/b/B.class"), names(new ZipFileScanner(jar, "a/b", true)));
+    }
+
+    @Test
+    public void testZipFileScannerOpen() throws IOException {
+        final File jar = createJar("a/A.class", "a/B.class");
+        final ZipFileScanner scanner = new ZipFileScanner(jar, "a", true);
+
+        final List<InputStream> streams = new ArrayList<InputStream>();
+        scanner.next();
+        streams.add(scanner.open());
+        scanner.next();
+        streams.add(scanner.open());
+
+        // streams can be consumed after the scanner moved to the next entry
+        assertEquals("a/A.class", new String(ByteStreams.toByteArray(streams.get(0)), "UTF-8"));
+        assertEquals("a/B.class", new String(ByteStreams.toByteArray(streams.get(1)), "UTF-8"));
+        assertFalse(scanner.hasNext());
+
+        scanner.reset();
+        assertEquals(Arrays.asList("a/A.class", "a/B.class"), names(scanner));
+    }
+
+    @Test
+    public void testLocalJarUsesZipFileScanner() throws IOException {
+        final File jar = createJar("a/A.class");
+        final URI uri = URI.create("jar:" + jar.toURI() + "!/a");
+
+        final ResourceFinder finder = new JarZipSchemeResourceFinderFactory().create(uri, true);
+        assertTrue(finder instanceof ZipFileScanner);
+        assertEquals(Arrays.asList("a/A.class"), names(finder));
+    }
+
+    private static class ClassFinder implements ResourceFinder {
+
+        private final List<String> names = new ArrayList<String>();
+        private int position;
+
+        ClassFinder(final Class<?>... classes) {
+            for (Class<?> clazz : classes) {
+                names.add(clazz.getName().replace('.', '/') + ".class");
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < names.size();
+        }
+
+        @Override
+        public String next() {
+            return names.get(position++);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public InputStream open() {
+            return ClassScanningTest.class.getClassLoader().getResourceAsStream(names.get(position - 1));
+        }
+
+        @Override
+        public void reset() {
+            position = 0;
+        }
+    }
+
+    private static byte[] classFile(final Class<?> clazz) throws IOException {
+        final InputStream in = clazz.getClassLoader().getResourceAsStream(clazz.getName().replace('.', '/') + ".class");
+        try {
+            return ByteStreams.toByteArray(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static List<String> names(final ResourceFinder finder) {
+        final List<String> names = new ArrayList<String>();
+        while (finder.hasNext()) {
+            names.add(finder.next());
+        }
+        return names;
+    }
+
+    private static File createJar(final String... entries) throws IOException {
+        final File jar = File.createTempFile("jersey-scanning", ".jar");
+        jar.deleteOnExit();
+
+        final ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar));
+        try {
+            for (String entry : entries) {
+                out.putNextEntry(new ZipEntry(entry));
+                if (!entry.endsWith("/")) {
+                    out.write(entry.getBytes("UTF-8"));
+                }
+                out.closeEntry();
+            }
+        } finally {
+            out.close();
+        }
+        return jar;
+    }
+}
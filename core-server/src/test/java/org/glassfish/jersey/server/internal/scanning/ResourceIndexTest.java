@@ -0,0 +1,171 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.scanning;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * {@link ResourceIndex} and indexed package scanning tests.
+ */
+public class ResourceIndexTest {
+
+    private static final String PACKAGE = ResourceIndexTest.class.getPackage().getName();
+
+    @Path("indexed")
+    public static class IndexedResource {
+
+        @GET
+        public String get() {
+            return "indexed";
+        }
+    }
+
+    @Path("not-indexed")
+    public static class NotIndexedResource {
+
+        @GET
+        public String get() {
+            return "not-indexed";
+        }
+    }
+
+    @Test
+    public void testReadWrite() throws IOException {
+        final ResourceIndex index = ResourceIndex.of(Arrays.asList("b.B", "a.A", "a.b.C"));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.write(out);
+        final ResourceIndex read = ResourceIndex.read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(Arrays.asList("a.A", "a.b.C", "b.B"), read.getClassNames());
+    }
+
+    @Test
+    public void testPackageClassNames() {
+        final ResourceIndex index = ResourceIndex.of(Arrays.asList("a.A", "a.b.C", "a.b.c.D", "ab.E", "F"));
+
+        assertEquals(Arrays.asList("a.A", "a.b.C", "a.b.c.D"), index.getClassNames("a", true));
+        assertEquals(Arrays.asList("a.A"), index.getClassNames("a", false));
+        assertEquals(Arrays.asList("a.b.C"), index.getClassNames("a.b", false));
+        assertEquals(Collections.<String>emptyList(), index.getClassNames("c", true));
+    }
+
+    @Test
+    public void testRoot() {
+        assertEquals("file:/tmp/classes/", ResourceIndex.getRoot("file:/tmp/classes/a/b/", "a/b"));
+        assertEquals("file:/tmp/classes/", ResourceIndex.getRoot("file:/tmp/classes/a/b", "a/b"));
+        assertEquals("jar:file:/tmp/app.jar!/", ResourceIndex.getRoot("jar:file:/tmp/app.jar!/a/b/", "a/b"));
+        assertNull(ResourceIndex.getRoot("file:/tmp/classes/a/c/", "a/b"));
+        assertNull(ResourceIndex.getRoot("bundle://1.0:1/a/b/", "a/b"));
+    }
+
+    @Test
+    public void testIndexedPackageScanning() throws IOException {
+        final File root = createIndexedRoot(IndexedResource.class.getName(), PACKAGE + ".Missing");
+        final ClassLoader classLoader = new PackageClassLoader(root);
+
+        final PackageNamesScanner scanner = new PackageNamesScanner(classLoader, new String[] {PACKAGE}, false);
+        final AnnotationAcceptingListener listener =
+                AnnotationAcceptingListener.newJaxrsResourceAndProviderListener(classLoader);
+
+        int count = 0;
+        while (scanner.hasNext()) {
+            final String name = scanner.next();
+            count++;
+            assertEquals(IndexedResource.class.getName().replace('.', '/') + ".class", name);
+            if (listener.accept(name)) {
+                listener.process(name, scanner.open());
+            }
+        }
+
+        assertEquals(1, count);
+        assertEquals(Collections.<Class<?>>singleton(IndexedResource.class), listener.getAnnotatedClasses());
+        assertFalse(listener.getAnnotatedClasses().contains(NotIndexedResource.class));
+    }
+
+    private static File createIndexedRoot(final String... classNames) throws IOException {
+        final File root = File.createTempFile("jersey-index", "");
+        root.delete();
+        new File(root, PACKAGE.replace('.', '/')).mkdirs();
+
+        final File indexFile = new File(root, ResourceIndex.LOCATION);
+        indexFile.getParentFile().mkdirs();
+        ResourceIndex.of(Arrays.asList(classNames)).write(new FileOutputStream(indexFile));
+
+        root.deleteOnExit();
+        return root;
+    }
+
+    /**
+     * Class loader resolving package directories to the indexed class path root only.
+     */
+    private static class PackageClassLoader extends ClassLoader {
+
+        private final File root;
+
+        private PackageClassLoader(final File root) {
+            super(ResourceIndexTest.class.getClassLoader());
+            this.root = root;
+        }
+
+        @Override
+        public Enumeration<URL> getResources(final String name) throws IOException {
+            final List<URL> urls = Collections.singletonList(new File(root, name).toURI().toURL());
+            return Collections.enumeration(urls);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.core.Configuration;
+
+import org.glassfish.jersey.process.Inflector;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests caching of sub-resource routers built for resources returned from sub-resource locators.
+ */
+public class SubResourceLocatorCacheTest {
+
+    private static final Resource PROGRAMMATIC = createProgrammaticResource();
+
+    private static Resource createProgrammaticResource() {
+        final Resource.Builder builder = Resource.builder();
+        builder.addMethod("GET").handledBy(new Inflector<ContainerRequestContext, String>() {
+            @Override
+            public String apply(ContainerRequestContext requestContext) {
+                return "programmatic";
+            }
+        });
+        return builder.build();
+    }
+
+    @Path("root")
+    public static class RootResource {
+
+        @Path("class")
+        public SubResource getSubResource() {
+            return new SubResource();
+        }
+
+        @Path("resource")
+        public Resource getResource() {
+            return PROGRAMMATIC;
+        }
+    }
+
+    public static class SubResource {
+
+        @GET
+        public String get() {
+            return "sub";
+        }
+    }
+
+    /**
+     * Counts processed sub-resource models (one per sub-resource router built).
+     */
+    public static class CountingModelProcessor implements ModelProcessor {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public ResourceModel processResourceModel(ResourceModel resourceModel, Configuration configuration) {
+            return resourceModel;
+        }
+
+        @Override
+        public ResourceModel processSubResource(ResourceModel subResourceModel, Configuration configuration) {
+            counter.incrementAndGet();
+            return subResourceModel;
+        }
+    }
+
+    private int invoke(final ResourceConfig resourceConfig, final String path, final String expected) throws Exception {
+        final CountingModelProcessor processor = new CountingModelProcessor();
+        final ApplicationHandler app = new ApplicationHandler(resourceConfig.register(processor));
+
+        for (int i = 0; i < 5; i++) {
+            final ContainerResponse response = app.apply(RequestContextBuilder.from(path, "GET").build()).get();
+            assertEquals(200, response.getStatus());
+            assertEquals(expected, response.getEntity());
+        }
+        return processor.counter.get();
+    }
+
+    @Test
+    public void testSubResourceClassCached() throws Exception {
+        assertEquals(1, invoke(new ResourceConfig(RootResource.class), "/root/class", "sub"));
+    }
+
+    @Test
+    public void testResourceModelCached() throws Exception {
+        assertEquals(1, invoke(new ResourceConfig(RootResource.class), "/root/resource", "programmatic"));
+    }
+
+    @Test
+    public void testCacheDisabled() throws Exception {
+        final ResourceConfig resourceConfig = new ResourceConfig(RootResource.class)
+                .property(ServerProperties.SUBRESOURCE_LOCATOR_CACHE_SIZE, 0);
+
+        assertEquals(5, invoke(resourceConfig, "/root/class", "sub"));
+    }
+
+    @Test
+    public void testResourceModelCacheDisabled() throws Exception {
+        final ResourceConfig resourceConfig = new ResourceConfig(RootResource.class)
+                .property(ServerProperties.SUBRESOURCE_LOCATOR_CACHE_JERSEY_RESOURCES, false);
+
+        assertEquals(5, invoke(resourceConfig, "/root/resource", "programmatic"));
+        assertEquals(1, invoke(new ResourceConfig(RootResource.class)
+                .property(ServerProperties.SUBRESOURCE_LOCATOR_CACHE_JERSEY_RESOURCES, false), "/root/class", "sub"));
+    }
+}
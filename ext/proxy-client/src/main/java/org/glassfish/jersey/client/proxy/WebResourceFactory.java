@@ -48,10 +48,11 @@ import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
 import java.security.AccessController;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.CookieParam;
@@ -81,6 +82,12 @@ import org.glassfish.jersey.internal.util.ReflectionHelper;
  * Factory for client-side representation of a resource.
  * See the <a href="package-summary.html">package overview</a>
  * for an example on how to use this class.
+ * <p>
+ * Each resource interface method is analyzed only once, the first time it is invoked on a proxy instance.
+ * The result of the analysis (HTTP method, path, media types and parameter bindings) is cached and shared
+ * with all the sub-resource proxies created from the proxy instance, so that subsequent invocations only bind
+ * the method arguments and invoke the request. Proxy instances should therefore be reused where possible.
+ * </p>
  *
  * @author Martin Matula (martin.matula at oracle.com)
  */
@@ -90,6 +97,15 @@ public final class WebResourceFactory implements InvocationHandler {
     private final List<Cookie> cookies;
     private final Form form;
 
+    /**
+     * Invocation plans of the resource interface methods (shared with the sub-resource proxies).
+     */
+    private final ConcurrentMap<Method, MethodPlan> plans;
+    /**
+     * Targets with the method {@link Path @Path} already applied.
+     */
+    private final ConcurrentMap<Method, WebTarget> methodTargets = new ConcurrentHashMap<Method, WebTarget>();
+
     private static final MultivaluedMap<String, Object> EMPTY_HEADERS = new MultivaluedHashMap<String, Object>();
     private static final Form EMPTY_FORM = new Form();
 
@@ -126,138 +142,106 @@ public final class WebResourceFactory implements InvocationHandler {
      * @return Instance of a class implementing the resource interface that can
      * be used for making requests to the server.
      */
-    @SuppressWarnings("unchecked")
     public static <C> C newResource(Class<C> resourceInterface, WebTarget target, boolean ignoreResourcePath,
                                     MultivaluedMap<String, Object> headers, List<Cookie> cookies, Form form) {
+        return newResource(resourceInterface, target, ignoreResourcePath, headers, cookies, form,
+                new ConcurrentHashMap<Method, MethodPlan>());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <C> C newResource(Class<C> resourceInterface, WebTarget target, boolean ignoreResourcePath,
+                                     MultivaluedMap<String, Object> headers, List<Cookie> cookies, Form form,
+                                     ConcurrentMap<Method, MethodPlan> plans) {
         return (C) Proxy.newProxyInstance(AccessController.doPrivileged(ReflectionHelper.getClassLoaderPA(resourceInterface)),
                 new Class[]{resourceInterface},
                 new WebResourceFactory(ignoreResourcePath ? target : addPathFromAnnotation(resourceInterface, target),
-                        headers, cookies, form));
+                        headers, cookies, form, plans));
     }
 
     private WebResourceFactory(WebTarget target, MultivaluedMap<String, Object> headers, List<Cookie> cookies,
-                               Form form) {
+                               Form form, ConcurrentMap<Method, MethodPlan> plans) {
         this.target = target;
         this.headers = headers;
         this.cookies = cookies;
         this.form = form;
+        this.plans = plans;
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
-        // get the interface describing the resource
-        Class<?> proxyIfc = proxy.getClass().getInterfaces()[0];
-
-        // response type
-        Class<?> responseType = method.getReturnType();
-
-        // determine method name
-        String httpMethod = getHttpMethodName(method);
-        if (httpMethod == null) {
-            for (Annotation ann : method.getAnnotations()) {
-                httpMethod = getHttpMethodName(ann.annotationType());
-                if (httpMethod != null) {
-                    break;
-                }
-            }
-        }
+        final MethodPlan plan = getPlan(proxy, method);
 
-        // create a new UriBuilder appending the @Path attached to the method
-        WebTarget newTarget = addPathFromAnnotation(method, target);
-
-        if (httpMethod == null) {
-            if (newTarget == target) {
-                // no path annotation on the method -> fail
-                throw new UnsupportedOperationException("Not a resource method.");
-            } else if (!responseType.isInterface()) {
-                // the method is a subresource locator, but returns class,
-                // not interface - can't help here
-                throw new UnsupportedOperationException("Return type not an interface");
-            }
-        }
+        WebTarget newTarget = getTarget(method, plan);
 
-        // process method params (build maps of (Path|Form|Cookie|Matrix|Header..)Params
-        // and extract entity type
-        MultivaluedHashMap<String, Object> headers = new MultivaluedHashMap<String, Object>(this.headers);
-        LinkedList<Cookie> cookies = new LinkedList<Cookie>(this.cookies);
-        Form form = new Form();
-        form.asMap().putAll(this.form.asMap());
-        Annotation[][] paramAnns = method.getParameterAnnotations();
+        // bind method params (Path|Form|Cookie|Matrix|Header..)Params and extract entity;
+        // collected headers, cookies and form params are copied only if the method adds to them
+        MultivaluedMap<String, Object> headers = this.headers;
+        List<Cookie> cookies = this.cookies;
+        Form form = this.form;
         Object entity = null;
         Type entityType = null;
-        for (int i = 0; i < paramAnns.length; i++) {
-            Map<Class, Annotation> anns = new HashMap<Class, Annotation>();
-            for (Annotation ann : paramAnns[i]) {
-                anns.put(ann.annotationType(), ann);
-            }
-            Annotation ann;
-            Object value = args[i];
-            if (anns.isEmpty()) {
-                entityType = method.getGenericParameterTypes()[i];
+        for (ParamBinder param : plan.params) {
+            Object value = args[param.index];
+            if (param.source == ParamSource.ENTITY) {
+                entityType = param.entityType;
                 entity = value;
-            } else {
-                if (value == null && (ann = anns.get(DefaultValue.class)) != null) {
-                    value = ((DefaultValue) ann).value();
-                }
+                continue;
+            }
 
-                if (value != null) {
-                    if ((ann = anns.get(PathParam.class)) != null) {
-                        newTarget = newTarget.resolveTemplate(((PathParam) ann).value(), value);
-                    } else if ((ann = anns.get((QueryParam.class))) != null) {
-                        newTarget = newTarget.queryParam(((QueryParam) ann).value(), value);
-                    } else if ((ann = anns.get((HeaderParam.class))) != null) {
-                        headers.addAll(((HeaderParam) ann).value(), value);
-                    } else if ((ann = anns.get((CookieParam.class))) != null) {
-                        String name = ((CookieParam) ann).value();
-                        Cookie c;
-                        if (!(value instanceof Cookie)) {
-                            c = new Cookie(name, value.toString());
-                        } else {
-                            c = (Cookie) value;
-                            if (!name.equals(((Cookie) value).getName())) {
-                                // is this the right thing to do? or should I fail? or ignore the difference?
-                                c = new Cookie(name, c.getValue(), c.getPath(), c.getDomain(), c.getVersion());
-                            }
-                        }
-                        cookies.add(c);
-                    } else if ((ann = anns.get((MatrixParam.class))) != null) {
-                        newTarget = newTarget.matrixParam(((MatrixParam) ann).value(), value);
-                    } else if ((ann = anns.get((FormParam.class))) != null) {
-                        form.param(((FormParam) ann).value(), value.toString());
+            if (value == null) {
+                value = param.defaultValue;
+            }
+            if (value == null) {
+                continue;
+            }
+
+            switch (param.source) {
+                case PATH:
+                    newTarget = newTarget.resolveTemplate(param.name, value);
+                    break;
+                case QUERY:
+                    newTarget = newTarget.queryParam(param.name, value);
+                    break;
+                case HEADER:
+                    if (headers == this.headers) {
+                        headers = new MultivaluedHashMap<String, Object>(this.headers);
                     }
-                }
+                    headers.addAll(param.name, value);
+                    break;
+                case COOKIE:
+                    if (cookies == this.cookies) {
+                        cookies = new LinkedList<Cookie>(this.cookies);
+                    }
+                    cookies.add(toCookie(param.name, value));
+                    break;
+                case MATRIX:
+                    newTarget = newTarget.matrixParam(param.name, value);
+                    break;
+                case FORM:
+                    if (form == this.form) {
+                        form = new Form();
+                        form.asMap().putAll(this.form.asMap());
+                    }
+                    form.param(param.name, value.toString());
+                    break;
+                default:
+                    break;
             }
         }
 
-        if (httpMethod == null) {
+        if (plan.httpMethod == null) {
             // the method is a subresource locator
-            return WebResourceFactory.newResource(responseType, newTarget, true, headers, cookies, form);
-        }
-
-        // accepted media types
-        Produces produces = method.getAnnotation(Produces.class);
-        if (produces == null) {
-            produces = proxyIfc.getAnnotation(Produces.class);
+            return WebResourceFactory.newResource(plan.responseType, newTarget, true, headers, cookies, form,
+                    plan.subResourcePlans);
         }
-        String[] accepts = produces == null ? null : produces.value();
 
         // determine content type
-        String contentType = null;
-        if (entity != null) {
-            Consumes consumes = method.getAnnotation(Consumes.class);
-            if (consumes == null) {
-                consumes = proxyIfc.getAnnotation(Consumes.class);
-            }
-            if (consumes != null && consumes.value().length > 0) {
-                // TODO: should consider q/qs instead of picking the first one
-                contentType = consumes.value()[0];
-            }
-        }
+        String contentType = entity != null ? plan.contentType : null;
 
         Invocation.Builder b;
-        if (accepts != null) {
-            b = newTarget.request(accepts);
+        if (plan.accepts != null) {
+            b = newTarget.request(plan.accepts);
         } else {
             b = newTarget.request();
         }
@@ -291,19 +275,69 @@ public final class WebResourceFactory implements InvocationHandler {
             }
         }
 
-        GenericType responseGenericType = new GenericType(method.getGenericReturnType());
         if (entity != null) {
             if (entityType instanceof ParameterizedType) {
                 entity = new GenericEntity(entity, entityType);
             }
-            result = b.method(httpMethod, Entity.entity(entity, contentType), responseGenericType);
+            result = b.method(plan.httpMethod, Entity.entity(entity, contentType), plan.responseGenericType);
         } else {
-            result = b.method(httpMethod, responseGenericType);
+            result = b.method(plan.httpMethod, plan.responseGenericType);
         }
 
         return result;
     }
 
+    /**
+     * Get the cached invocation plan of the method or analyze the method and cache the plan.
+     *
+     * @param proxy proxy instance the method is invoked on.
+     * @param method invoked resource interface method.
+     * @return method invocation plan.
+     */
+    private MethodPlan getPlan(Object proxy, Method method) {
+        MethodPlan plan = plans.get(method);
+        if (plan == null) {
+            // get the interface describing the resource
+            plan = new MethodPlan(proxy.getClass().getInterfaces()[0], method);
+            final MethodPlan existing = plans.putIfAbsent(method, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Get the target of this resource with the method {@link Path @Path} applied.
+     *
+     * @param method invoked resource interface method.
+     * @param plan method invocation plan.
+     * @return method target.
+     */
+    private WebTarget getTarget(Method method, MethodPlan plan) {
+        if (plan.path == null) {
+            return target;
+        }
+        WebTarget methodTarget = methodTargets.get(method);
+        if (methodTarget == null) {
+            methodTarget = target.path(plan.path);
+            methodTargets.putIfAbsent(method, methodTarget);
+        }
+        return methodTarget;
+    }
+
+    private static Cookie toCookie(String name, Object value) {
+        if (!(value instanceof Cookie)) {
+            return new Cookie(name, value.toString());
+        }
+        Cookie c = (Cookie) value;
+        if (!name.equals(c.getName())) {
+            // is this the right thing to do? or should I fail? or ignore the difference?
+            c = new Cookie(name, c.getValue(), c.getPath(), c.getDomain(), c.getVersion());
+        }
+        return c;
+    }
+
     private static WebTarget addPathFromAnnotation(AnnotatedElement ae, WebTarget target) {
         Path p = ae.getAnnotation(Path.class);
         if (p != null) {
@@ -316,4 +350,175 @@ public final class WebResourceFactory implements InvocationHandler {
         HttpMethod a = ae.getAnnotation(HttpMethod.class);
         return a == null ? null : a.value();
     }
+
+    /**
+     * Source of a resource method parameter value. The order of the constants defines the precedence
+     * of the param annotations if a parameter is annotated with more of them.
+     */
+    private static enum ParamSource {
+        ENTITY, PATH, QUERY, HEADER, COOKIE, MATRIX, FORM, NONE
+    }
+
+    /**
+     * Pre-resolved binding of a single resource method parameter.
+     */
+    private static final class ParamBinder {
+        private final int index;
+        private final ParamSource source;
+        private final String name;
+        private final String defaultValue;
+        private final Type entityType;
+
+        private ParamBinder(int index, ParamSource source, String name, String defaultValue, Type entityType) {
+            this.index = index;
+            this.source = source;
+            this.name = name;
+            this.defaultValue = defaultValue;
+            this.entityType = entityType;
+        }
+    }
+
+    /**
+     * Result of the analysis of a resource interface method that is needed to invoke the method.
+     */
+    private static final class MethodPlan {
+        private final String httpMethod;
+        private final String path;
+        private final Class<?> responseType;
+        private final GenericType<?> responseGenericType;
+        private final String[] accepts;
+        private final String contentType;
+        private final ParamBinder[] params;
+        /**
+         * Plans of the sub-resource interface methods if the method is a sub-resource locator.
+         */
+        private final ConcurrentMap<Method, MethodPlan> subResourcePlans;
+
+        private MethodPlan(Class<?> proxyIfc, Method method) {
+            // response type
+            this.responseType = method.getReturnType();
+
+            // determine method name
+            String httpMethod = getHttpMethodName(method);
+            if (httpMethod == null) {
+                for (Annotation ann : method.getAnnotations()) {
+                    httpMethod = getHttpMethodName(ann.annotationType());
+                    if (httpMethod != null) {
+                        break;
+                    }
+                }
+            }
+            this.httpMethod = httpMethod;
+
+            // @Path attached to the method
+            final Path p = method.getAnnotation(Path.class);
+            this.path = p == null ? null : p.value();
+
+            if (httpMethod == null) {
+                if (path == null) {
+                    // no path annotation on the method -> fail
+                    throw new UnsupportedOperationException("Not a resource method.");
+                } else if (!responseType.isInterface()) {
+                    // the method is a subresource locator, but returns class,
+                    // not interface - can't help here
+                    throw new UnsupportedOperationException("Return type not an interface");
+                }
+            }
+
+            // process method params (build bindings of (Path|Form|Cookie|Matrix|Header..)Params
+            // and extract entity type
+            final Annotation[][] paramAnns = method.getParameterAnnotations();
+            final Type[] paramTypes = method.getGenericParameterTypes();
+            this.params = new ParamBinder[paramAnns.length];
+            for (int i = 0; i < paramAnns.length; i++) {
+                params[i] = createBinder(i, paramAnns[i], paramTypes[i]);
+            }
+
+            if (httpMethod == null) {
+                this.subResourcePlans = new ConcurrentHashMap<Method, MethodPlan>();
+                this.responseGenericType = null;
+                this.accepts = null;
+                this.contentType = null;
+                return;
+            }
+            this.subResourcePlans = null;
+            this.responseGenericType = new GenericType(method.getGenericReturnType());
+
+            // accepted media types
+            Produces produces = method.getAnnotation(Produces.class);
+            if (produces == null) {
+                produces = proxyIfc.getAnnotation(Produces.class);
+            }
+            this.accepts = produces == null ? null : produces.value();
+
+            // content type of the entity
+            String contentType = null;
+            Consumes consumes = method.getAnnotation(Consumes.class);
+            if (consumes == null) {
+                consumes = proxyIfc.getAnnotation(Consumes.class);
+            }
+            if (consumes != null && consumes.value().length > 0) {
+                // TODO: should consider q/qs instead of picking the first one
+                contentType = consumes.value()[0];
+            }
+            this.contentType = contentType;
+        }
+
+        private static ParamBinder createBinder(int index, Annotation[] anns, Type type) {
+            if (anns.length == 0) {
+                return new ParamBinder(index, ParamSource.ENTITY, null, null, type);
+            }
+
+            String defaultValue = null;
+            ParamSource source = ParamSource.NONE;
+            String name = null;
+            for (Annotation ann : anns) {
+                if (ann instanceof DefaultValue) {
+                    defaultValue = ((DefaultValue) ann).value();
+                    continue;
+                }
+                // if there are more param annotations, the one declared first in ParamSource takes precedence
+                final ParamSource annSource = getParamSource(ann);
+                if (annSource.ordinal() < source.ordinal()) {
+                    source = annSource;
+                    name = getParamName(ann);
+                }
+            }
+            return new ParamBinder(index, source, name, defaultValue, null);
+        }
+
+        private static ParamSource getParamSource(Annotation ann) {
+            if (ann instanceof PathParam) {
+                return ParamSource.PATH;
+            } else if (ann instanceof QueryParam) {
+                return ParamSource.QUERY;
+            } else if (ann instanceof HeaderParam) {
+                return ParamSource.HEADER;
+            } else if (ann instanceof CookieParam) {
+                return ParamSource.COOKIE;
+            } else if (ann instanceof MatrixParam) {
+                return ParamSource.MATRIX;
+            } else if (ann instanceof FormParam) {
+                return ParamSource.FORM;
+            }
+            return ParamSource.NONE;
+        }
+
+        private static String getParamName(Annotation ann) {
+            if (ann instanceof PathParam) {
+                return ((PathParam) ann).value();
+            } else if (ann instanceof QueryParam) {
+                return ((QueryParam) ann).value();
+            } else if (ann instanceof HeaderParam) {
+                return ((HeaderParam) ann).value();
+            } else if (ann instanceof CookieParam) {
+                return ((CookieParam) ann).value();
+            } else if (ann instanceof MatrixParam) {
+                return ((MatrixParam) ann).value();
+            } else if (ann instanceof FormParam) {
+                return ((FormParam) ann).value();
+            }
+            return null;
+        }
+    }
 }
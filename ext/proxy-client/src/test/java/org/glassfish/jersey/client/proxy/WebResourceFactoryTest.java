@@ -94,4 +94,15 @@ public class WebResourceFactoryTest extends JerseyTest {
     public void testSubResource() {
         assertEquals("Got it!", resource.getSubResource().getMyBean().name);
     }
+
+    @Test
+    public void testRepeatedInvocation() {
+        // invocation plans are cached after the first call -> arguments of later calls must still be bound
+        assertEquals("jouda", resource.getId("jouda"));
+        assertEquals("pepa", resource.getId("pepa"));
+        assertEquals("jiri", resource.getByName("jiri"));
+        assertEquals("karel", resource.getByName("karel"));
+        assertEquals("Got it!", resource.getSubResource().getMyBean().name);
+        assertEquals("Got it!", resource.getSubResource().getMyBean().name);
+    }
 }
@@ -45,11 +45,15 @@ import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
 
 import org.glassfish.jersey.CommonProperties;
-
-import org.codehaus.jackson.jaxrs.JacksonJaxbJsonProvider;
+import org.glassfish.jersey.jackson.internal.JerseyJacksonJsonProvider;
 
 /**
  * Feature used to register Jackson JSON providers.
+ * <p>
+ * The feature registers {@link JerseyJacksonJsonProvider} that caches Jackson object readers and writers.
+ * Applications that depend on Jackson's own {@code JacksonJaxbJsonProvider} can register it directly instead
+ * of this feature.
+ * </p>
  *
  * @author Stepan Kopriva (stepan.kopriva at oracle.com)
  */
@@ -61,7 +65,7 @@ public class JacksonFeature implements Feature {
                 + context.getConfiguration().getRuntimeType().name().toLowerCase();
         context.property(disableMoxy, true);
 
-        context.register(JacksonJaxbJsonProvider.class, MessageBodyReader.class, MessageBodyWriter.class);
+        context.register(JerseyJacksonJsonProvider.class, MessageBodyReader.class, MessageBodyWriter.class);
         return true;
     }
 }
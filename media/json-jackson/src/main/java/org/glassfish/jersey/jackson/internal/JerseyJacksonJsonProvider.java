@@ -0,0 +1,306 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.jackson.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+
+import javax.inject.Singleton;
+
+import org.glassfish.jersey.internal.util.collection.Value;
+import org.glassfish.jersey.internal.util.collection.Values;
+
+import org.codehaus.jackson.JsonEncoding;
+import org.codehaus.jackson.JsonGenerator;
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.jaxrs.Annotations;
+import org.codehaus.jackson.jaxrs.MapperConfigurator;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.map.ObjectReader;
+import org.codehaus.jackson.map.ObjectWriter;
+import org.codehaus.jackson.map.annotate.JsonView;
+
+import com.google.common.base.Objects;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Maps;
+
+/**
+ * Jersey JSON entity provider based on Jackson {@link ObjectMapper}.
+ * <p>
+ * The provider resolves the object mapper the same way as Jackson's {@code JacksonJaxbJsonProvider} does, i.e. using
+ * a {@code ContextResolver<ObjectMapper>} if available, or a default mapper that supports both Jackson and JAXB
+ * annotations otherwise. Unlike the Jackson provider, the {@link ObjectReader object readers} and
+ * {@link ObjectWriter object writers} are cached per object mapper and per entity type (and {@link JsonView view}
+ * in case of writers), so that the serializers and deserializers are not looked up for every processed entity.
+ * </p>
+ * <p>
+ * Entities are written directly into the entity output stream. The JSON generators and parsers are created by
+ * the mapper's JSON factory which recycles their internal buffers per thread.
+ * </p>
+ */
+@Singleton
+@Consumes(MediaType.WILDCARD)
+@Produces(MediaType.WILDCARD)
+public class JerseyJacksonJsonProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+    private static final Class<?>[] UNTOUCHABLE_TYPES = new Class<?>[] {
+            String.class, byte[].class, char[].class
+    };
+    private static final Class<?>[] UNREADABLE_TYPES = new Class<?>[] {
+            InputStream.class, Reader.class
+    };
+    private static final Class<?>[] UNWRITABLE_TYPES = new Class<?>[] {
+            OutputStream.class, Writer.class, StreamingOutput.class, Response.class
+    };
+
+    @Context
+    private Providers providers;
+
+    private final Value<ObjectMapper> defaultMapper = Values.lazy(new Value<ObjectMapper>() {
+        @Override
+        public ObjectMapper get() {
+            return new MapperConfigurator(null, new Annotations[] {Annotations.JACKSON, Annotations.JAXB})
+                    .getDefaultMapper();
+        }
+    });
+
+    /**
+     * Caches of object mappers. The cached readers and writers reference the mapper (through its JSON factory), so
+     * the values are held softly to let a mapper that is no longer used by the application be garbage collected
+     * together with its cache.
+     */
+    private final LoadingCache<ObjectMapper, MapperCache> mapperCaches = CacheBuilder.newBuilder()
+            .weakKeys()
+            .softValues()
+            .build(new CacheLoader<ObjectMapper, MapperCache>() {
+                @Override
+                public MapperCache load(final ObjectMapper mapper) {
+                    return new MapperCache(mapper);
+                }
+            });
+
+    /**
+     * Object readers and writers cached for a single object mapper.
+     */
+    private static final class MapperCache {
+
+        private final ObjectMapper mapper;
+        private final ConcurrentMap<Type, ObjectReader> readers = Maps.newConcurrentMap();
+        private final ConcurrentMap<WriterKey, ObjectWriter> writers = Maps.newConcurrentMap();
+
+        private MapperCache(final ObjectMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        ObjectReader getReader(final Type type) {
+            ObjectReader reader = readers.get(type);
+            if (reader == null) {
+                reader = mapper.reader(mapper.getTypeFactory().constructType(type));
+                final ObjectReader existing = readers.putIfAbsent(type, reader);
+                if (existing != null) {
+                    reader = existing;
+                }
+            }
+            return reader;
+        }
+
+        ObjectWriter getWriter(final Type rootType, final Class<?> view) {
+            final WriterKey key = new WriterKey(rootType, view);
+            ObjectWriter writer = writers.get(key);
+            if (writer == null) {
+                writer = (view == null) ? mapper.writer() : mapper.writerWithView(view);
+                if (rootType != null) {
+                    writer = writer.withType(mapper.getTypeFactory().constructType(rootType));
+                }
+                final ObjectWriter existing = writers.putIfAbsent(key, writer);
+                if (existing != null) {
+                    writer = existing;
+                }
+            }
+            return writer;
+        }
+    }
+
+    /**
+     * Object writer cache key.
+     */
+    private static final class WriterKey {
+
+        private final Type rootType;
+        private final Class<?> view;
+        private final int hash;
+
+        private WriterKey(final Type rootType, final Class<?> view) {
+            this.rootType = rootType;
+            this.view = view;
+            this.hash = Objects.hashCode(rootType, view);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof WriterKey)) {
+                return false;
+            }
+            final WriterKey other = (WriterKey) o;
+            return Objects.equal(rootType, other.rootType) && view == other.view;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    @Override
+    public boolean isReadable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                              final MediaType mediaType) {
+        return isJsonType(mediaType) && !isAssignableToAny(type, UNTOUCHABLE_TYPES)
+                && !isAssignableToAny(type, UNREADABLE_TYPES);
+    }
+
+    @Override
+    public Object readFrom(final Class<Object> type, final Type genericType, final Annotation[] annotations,
+                           final MediaType mediaType, final MultivaluedMap<String, String> httpHeaders,
+                           final InputStream entityStream) throws IOException, WebApplicationException {
+        final ObjectMapper mapper = getMapper(type, mediaType);
+        final MapperCache cache = mapperCaches.getUnchecked(mapper);
+
+        final JsonParser parser = mapper.getJsonFactory().createJsonParser(entityStream);
+        parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+        return cache.getReader(genericType == null ? type : genericType).readValue(parser);
+    }
+
+    @Override
+    public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                               final MediaType mediaType) {
+        return isJsonType(mediaType) && !isAssignableToAny(type, UNTOUCHABLE_TYPES)
+                && !isAssignableToAny(type, UNWRITABLE_TYPES);
+    }
+
+    @Override
+    public long getSize(final Object o, final Class<?> type, final Type genericType, final Annotation[] annotations,
+                        final MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(final Object o, final Class<?> type, final Type genericType, final Annotation[] annotations,
+                        final MediaType mediaType, final MultivaluedMap<String, Object> httpHeaders,
+                        final OutputStream entityStream) throws IOException, WebApplicationException {
+        final ObjectMapper mapper = getMapper(type, mediaType);
+
+        // plain classes are not used as root types so that the runtime type of the entity is serialized
+        final Type rootType = (genericType == null || genericType instanceof Class || o == null) ? null : genericType;
+        final ObjectWriter writer = mapperCaches.getUnchecked(mapper).getWriter(rootType, getView(annotations));
+
+        final JsonGenerator generator = mapper.getJsonFactory().createJsonGenerator(entityStream, JsonEncoding.UTF8);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        writer.writeValue(generator, o);
+        // flushes the generator buffer into the entity stream and releases the buffer for reuse
+        generator.close();
+    }
+
+    private ObjectMapper getMapper(final Class<?> type, final MediaType mediaType) {
+        if (providers != null) {
+            final ContextResolver<ObjectMapper> resolver = providers.getContextResolver(ObjectMapper.class, mediaType);
+            if (resolver != null) {
+                final ObjectMapper mapper = resolver.getContext(type);
+                if (mapper != null) {
+                    return mapper;
+                }
+            }
+        }
+        return defaultMapper.get();
+    }
+
+    private static Class<?> getView(final Annotation[] annotations) {
+        if (annotations != null) {
+            for (final Annotation annotation : annotations) {
+                if (annotation.annotationType() == JsonView.class) {
+                    final Class<?>[] views = ((JsonView) annotation).value();
+                    return views.length > 0 ? views[0] : null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isJsonType(final MediaType mediaType) {
+        if (mediaType == null) {
+            return true;
+        }
+        final String subtype = mediaType.getSubtype();
+        return "json".equalsIgnoreCase(subtype) || subtype.endsWith("+json");
+    }
+
+    private static boolean isAssignableToAny(final Class<?> type, final Class<?>[] types) {
+        for (final Class<?> clazz : types) {
+            if (clazz.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
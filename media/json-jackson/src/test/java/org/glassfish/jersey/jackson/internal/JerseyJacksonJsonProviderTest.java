@@ -0,0 +1,191 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.jackson.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.ContextResolver;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.jackson.JacksonFeature;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.map.DeserializationConfig;
+import org.codehaus.jackson.map.DeserializationContext;
+import org.codehaus.jackson.map.JsonDeserializer;
+import org.codehaus.jackson.map.ObjectMapper;
+import org.codehaus.jackson.map.annotate.JsonDeserialize;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Round-trip tests of the {@link JerseyJacksonJsonProvider}.
+ */
+public class JerseyJacksonJsonProviderTest {
+
+    public static class Person {
+
+        public int age;
+        public String name;
+    }
+
+    /**
+     * Entity deserialized by a custom deserializer from a JSON string.
+     */
+    @JsonDeserialize(using = TagDeserializer.class)
+    public static class Tag {
+
+        public String value;
+    }
+
+    public static class TagDeserializer extends JsonDeserializer<Tag> {
+
+        @Override
+        public Tag deserialize(final JsonParser parser, final DeserializationContext context) throws IOException {
+            final Tag tag = new Tag();
+            tag.value = parser.getText().toUpperCase();
+            return tag;
+        }
+    }
+
+    public static class LenientMapperResolver implements ContextResolver<ObjectMapper> {
+
+        @Override
+        public ObjectMapper getContext(final Class<?> type) {
+            final ObjectMapper mapper = new ObjectMapper();
+            mapper.configure(DeserializationConfig.Feature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+            return mapper;
+        }
+    }
+
+    @Path("/")
+    @Consumes(MediaType.APPLICATION_JSON)
+    public static class Resource {
+
+        @POST
+        @Path("person")
+        @Produces(MediaType.APPLICATION_JSON)
+        public Person person(final Person person) {
+            person.age++;
+            return person;
+        }
+
+        @POST
+        @Path("people")
+        @Produces(MediaType.APPLICATION_JSON)
+        public List<Person> people(final List<Person> people) {
+            for (final Person person : people) {
+                person.age++;
+            }
+            return people;
+        }
+
+        @POST
+        @Path("tags")
+        @Produces(MediaType.TEXT_PLAIN)
+        public String tags(final List<Tag> tags) {
+            final StringBuilder sb = new StringBuilder();
+            for (final Tag tag : tags) {
+                sb.append(tag.value).append(';');
+            }
+            return sb.toString();
+        }
+    }
+
+    private static String post(final ApplicationHandler app, final String path, final String entity) throws Exception {
+        final URI baseUri = URI.create("/");
+        final ContainerRequest request = new ContainerRequest(baseUri, URI.create(path), "POST", null,
+                new MapPropertiesDelegate());
+        request.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON);
+        request.setEntityStream(new ByteArrayInputStream(entity.getBytes("UTF-8")));
+
+        final ByteArrayOutputStream entityStream = new ByteArrayOutputStream();
+        assertEquals(200, app.apply(request, entityStream).get().getStatus());
+        return entityStream.toString("UTF-8");
+    }
+
+    @Test
+    public void testPojo() throws Exception {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(Resource.class, JacksonFeature.class));
+
+        assertEquals("{\"age\":43,\"name\":\"Bob\"}", post(app, "/person", "{\"name\":\"Bob\",\"age\":42}"));
+    }
+
+    @Test
+    public void testGenericList() throws Exception {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(Resource.class, JacksonFeature.class));
+
+        // the elements have to be bound to Person instances for the resource method to succeed
+        assertEquals("[{\"age\":43,\"name\":\"Bob\"},{\"age\":31,\"name\":\"Alice\"}]",
+                post(app, "/people", "[{\"name\":\"Bob\",\"age\":42},{\"name\":\"Alice\",\"age\":30}]"));
+        assertEquals("[]", post(app, "/people", "[]"));
+    }
+
+    @Test
+    public void testCustomDeserializerOfListElements() throws Exception {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(Resource.class, JacksonFeature.class));
+
+        assertEquals("A;B;", post(app, "/tags", "[\"a\",\"b\"]"));
+    }
+
+    @Test
+    public void testContextResolverMapper() throws Exception {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(Resource.class, JacksonFeature.class,
+                LenientMapperResolver.class));
+
+        // unknown properties are ignored only by the mapper provided by the context resolver
+        assertEquals("{\"age\":43,\"name\":\"Bob\"}", post(app, "/person", "{\"name\":\"Bob\",\"age\":42,\"x\":true}"));
+        assertEquals("[{\"age\":43,\"name\":\"Bob\"}]", post(app, "/people", "[{\"name\":\"Bob\",\"age\":42,\"x\":1}]"));
+    }
+}
@@ -40,23 +40,41 @@
 
 package org.glassfish.jersey.jsonp;
 
+import java.util.Map;
+
 import javax.ws.rs.Priorities;
 import javax.ws.rs.core.Feature;
 import javax.ws.rs.core.FeatureContext;
 
+import javax.json.spi.JsonProvider;
+
 import org.glassfish.jersey.CommonProperties;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.jsonp.internal.JsonParserBodyReader;
+import org.glassfish.jersey.jsonp.internal.JsonStreamingOutputBodyWriter;
+import org.glassfish.jersey.jsonp.internal.JsonStructureBodyProvider;
 
-import org.glassfish.json.jaxrs.JsonStructureBodyReader;
-import org.glassfish.json.jaxrs.JsonStructureBodyWriter;
+import com.google.common.collect.Maps;
 
 /**
  * {@link Feature} used to register JSON-P providers.
+ * <p>
+ * Besides {@link javax.json.JsonStructure JSON structures}, the registered providers support reading
+ * a streaming {@link javax.json.stream.JsonParser} and writing a {@link JsonStreamingOutput}. The JSON-P reader,
+ * writer, parser and generator factories are created once, when the feature is configured. All configuration
+ * properties with names starting with {@value #JSON_PROCESSING_PROPERTY_PREFIX} (e.g.
+ * {@link javax.json.stream.JsonGenerator#PRETTY_PRINTING}) are passed to the factories as their configuration.
+ * </p>
  *
  * @author Michal Gajdos (michal.gajdos at oracle.com)
  */
 public class JsonProcessingFeature implements Feature {
 
+    /**
+     * Prefix of the configuration properties passed to the JSON-P factories.
+     */
+    public static final String JSON_PROCESSING_PROPERTY_PREFIX = "javax.json.";
+
     @Override
     public boolean configure(final FeatureContext context) {
         if (PropertiesHelper.getValue(context.getConfiguration().getProperties(), context.getConfiguration().getRuntimeType(),
@@ -64,11 +82,26 @@ public class JsonProcessingFeature implements Feature {
             return false;
         }
 
+        final JsonProvider provider = JsonProvider.provider();
+        final Map<String, Object> config = getFactoryConfig(context.getConfiguration().getProperties());
+
         // Make sure JSON-P workers have higher priority than other Json providers (in case there is a need to use JSON-P and some
         // other provider in an application).
-        context.register(JsonStructureBodyReader.class, Priorities.USER + 1000);
-        context.register(JsonStructureBodyWriter.class, Priorities.USER + 1000);
+
+        context.register(new JsonStructureBodyProvider(provider, config), Priorities.USER + 1000);
+        context.register(new JsonParserBodyReader(provider, config), Priorities.USER + 1000);
+        context.register(new JsonStreamingOutputBodyWriter(provider, config), Priorities.USER + 1000);
 
         return true;
     }
+
+    private static Map<String, Object> getFactoryConfig(final Map<String, Object> properties) {
+        final Map<String, Object> config = Maps.newHashMap();
+        for (final Map.Entry<String, Object> property : properties.entrySet()) {
+            if (property.getKey().startsWith(JSON_PROCESSING_PROPERTY_PREFIX)) {
+                config.put(property.getKey(), property.getValue());
+            }
+        }
+        return config;
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.jsonp;
+
+import java.io.IOException;
+
+import javax.ws.rs.WebApplicationException;
+
+import javax.json.stream.JsonGenerator;
+
+/**
+ * A type that may be used as a resource method return value or as the entity in a {@link javax.ws.rs.core.Response}
+ * when the application wishes to stream a JSON document event by event using a JSON-P {@link JsonGenerator},
+ * e.g. to produce a large JSON document without building the whole {@link javax.json.JsonStructure} first.
+ * <p>
+ * The generator passed to the {@link #write(JsonGenerator)} method is created by a JSON generator factory
+ * configured by the {@link JsonProcessingFeature}. The generator is flushed and closed once the method returns,
+ * the implementation is not required to close it.
+ * </p>
+ *
+ * @see javax.ws.rs.core.StreamingOutput
+ */
+public interface JsonStreamingOutput {
+
+    /**
+     * Called to write the JSON message entity.
+     *
+     * @param generator JSON generator writing into the entity stream.
+     * @throws IOException             if an IO error is encountered.
+     * @throws WebApplicationException if a specific HTTP error response needs to be produced. Only effective
+     *                                 if thrown prior to any bytes being written to the generator.
+     */
+    public void write(JsonGenerator generator) throws IOException, WebApplicationException;
+}
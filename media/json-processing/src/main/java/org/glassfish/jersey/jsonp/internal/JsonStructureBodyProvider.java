@@ -0,0 +1,137 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.jsonp.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Map;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonReaderFactory;
+import javax.json.JsonStructure;
+import javax.json.JsonWriter;
+import javax.json.JsonWriterFactory;
+import javax.json.spi.JsonProvider;
+
+import org.glassfish.jersey.message.internal.ReaderWriter;
+
+/**
+ * Message body reader and writer of {@link JsonStructure JSON-P structures} using pre-configured
+ * {@link JsonReaderFactory} and {@link JsonWriterFactory} instances.
+ */
+@Consumes({"application/json", "text/json", "*/*"})
+@Produces({"application/json", "text/json", "*/*"})
+public class JsonStructureBodyProvider implements MessageBodyReader<JsonStructure>, MessageBodyWriter<JsonStructure> {
+
+    private final JsonReaderFactory readerFactory;
+    private final JsonWriterFactory writerFactory;
+
+    /**
+     * Create new JSON structure provider.
+     *
+     * @param provider JSON-P provider.
+     * @param config   JSON-P factory configuration.
+     */
+    public JsonStructureBodyProvider(final JsonProvider provider, final Map<String, ?> config) {
+        this.readerFactory = provider.createReaderFactory(config);
+        this.writerFactory = provider.createWriterFactory(config);
+    }
+
+    @Override
+    public boolean isReadable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                              final MediaType mediaType) {
+        return JsonStructure.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public JsonStructure readFrom(final Class<JsonStructure> type, final Type genericType,
+                                  final Annotation[] annotations, final MediaType mediaType,
+                                  final MultivaluedMap<String, String> httpHeaders, final InputStream entityStream)
+            throws IOException, WebApplicationException {
+        final JsonReader reader = readerFactory.createReader(entityStream, ReaderWriter.getCharset(mediaType));
+        try {
+            if (JsonObject.class.isAssignableFrom(type)) {
+                return reader.readObject();
+            } else if (JsonArray.class.isAssignableFrom(type)) {
+                return reader.readArray();
+            } else {
+                return reader.read();
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Override
+    public boolean isWriteable(final Class<?> type, final Type genericType, final Annotation[] annotations,
+                               final MediaType mediaType) {
+        return JsonStructure.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public long getSize(final JsonStructure structure, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(final JsonStructure structure, final Class<?> type, final Type genericType,
+                        final Annotation[] annotations, final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders, final OutputStream entityStream)
+            throws IOException, WebApplicationException {
+        final JsonWriter writer = writerFactory.createWriter(
+                new NonClosingOutputStream(entityStream), ReaderWriter.getCharset(mediaType));
+        writer.write(structure);
+        writer.close();
+    }
+}
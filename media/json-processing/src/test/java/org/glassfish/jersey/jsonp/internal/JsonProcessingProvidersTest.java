@@ -0,0 +1,164 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.jsonp.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.Map;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonStructure;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonParser;
+
+import org.glassfish.jersey.jsonp.JsonStreamingOutput;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of the JSON-P entity providers registered by {@link org.glassfish.jersey.jsonp.JsonProcessingFeature}.
+ */
+public class JsonProcessingProvidersTest {
+
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+    private static final Map<String, Object> NO_CONFIG = Collections.emptyMap();
+
+    private static class CloseTrackingOutputStream extends ByteArrayOutputStream {
+
+        private boolean closed;
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+    @Test
+    public void testStreamingOutput() throws Exception {
+        final JsonStreamingOutputBodyWriter writer = new JsonStreamingOutputBodyWriter(JsonProvider.provider(), NO_CONFIG);
+        final JsonStreamingOutput output = new JsonStreamingOutput() {
+            @Override
+            public void write(final JsonGenerator generator) {
+                generator.writeStartArray();
+                for (int i = 0; i < 3; i++) {
+                    generator.write(i);
+                }
+                generator.writeEnd();
+            }
+        };
+
+        assertTrue(writer.isWriteable(output.getClass(), null, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE));
+
+        final CloseTrackingOutputStream entityStream = new CloseTrackingOutputStream();
+        writer.writeTo(output, output.getClass(), null, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE,
+                new MultivaluedHashMap<String, Object>(), entityStream);
+
+        assertEquals("[0,1,2]", entityStream.toString("UTF-8"));
+        assertFalse(entityStream.closed);
+    }
+
+    @Test
+    public void testParser() throws Exception {
+        final JsonParserBodyReader reader = new JsonParserBodyReader(JsonProvider.provider(), NO_CONFIG);
+
+        assertTrue(reader.isReadable(JsonParser.class, null, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE));
+        assertFalse(reader.isReadable(JsonObject.class, null, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE));
+
+        final JsonParser parser = reader.readFrom(JsonParser.class, null, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE,
+                new MultivaluedHashMap<String, String>(), new ByteArrayInputStream("{\"a\":[1,2]}".getBytes("UTF-8")));
+
+        int events = 0;
+        while (parser.hasNext()) {
+            parser.next();
+            events++;
+        }
+        parser.close();
+
+        // START_OBJECT, KEY_NAME, START_ARRAY, VALUE_NUMBER, VALUE_NUMBER, END_ARRAY, END_OBJECT
+        assertEquals(7, events);
+    }
+
+    @Test
+    public void testStructure() throws Exception {
+        final JsonStructureBodyProvider provider = new JsonStructureBodyProvider(JsonProvider.provider(), NO_CONFIG);
+        final JsonObject object = Json.createObjectBuilder().add("name", "value").build();
+
+        final CloseTrackingOutputStream entityStream = new CloseTrackingOutputStream();
+        provider.writeTo(object, object.getClass(), null, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE,
+                new MultivaluedHashMap<String, Object>(), entityStream);
+        assertFalse(entityStream.closed);
+
+        @SuppressWarnings("unchecked")
+        final Class<JsonStructure> type = (Class<JsonStructure>) (Class<?>) JsonObject.class;
+        final JsonStructure read = provider.readFrom(type, null, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE,
+                new MultivaluedHashMap<String, String>(), new ByteArrayInputStream(entityStream.toByteArray()));
+
+        assertEquals(object, read);
+    }
+
+    @Test
+    public void testFactoryConfiguration() throws Exception {
+        final JsonStreamingOutputBodyWriter writer = new JsonStreamingOutputBodyWriter(JsonProvider.provider(),
+                Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, true));
+
+        final ByteArrayOutputStream entityStream = new ByteArrayOutputStream();
+        writer.writeTo(new JsonStreamingOutput() {
+            @Override
+            public void write(final JsonGenerator generator) {
+                generator.writeStartObject().write("name", "value").writeEnd();
+            }
+        }, JsonStreamingOutput.class, null, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE,
+                new MultivaluedHashMap<String, Object>(), entityStream);
+
+        assertTrue(entityStream.toString("UTF-8").contains("\n"));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.moxy.internal;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.security.AccessController;
+import java.util.Set;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Configuration;
+
+import org.glassfish.jersey.internal.util.ReflectionHelper;
+
+import com.google.common.collect.Sets;
+
+/**
+ * Utility collecting the Java classes of entities produced and consumed by resource methods of the resource classes
+ * registered in a {@link Configuration}. The classes are used to create MOXy {@code JAXBContext}s eagerly, when
+ * the application is initialized, instead of when the first request is processed.
+ * <p>
+ * Only classes that do not belong to the {@code java.*} and {@code javax.*} packages are collected. Collection and
+ * array types are represented by the classes of their elements.
+ * </p>
+ */
+public final class ResourceEntityClasses {
+
+    /**
+     * Get entity classes of resource methods (and sub-resource methods) of the resource classes registered
+     * in the given configuration.
+     *
+     * @param config configuration.
+     * @return set of entity classes.
+     */
+    public static Set<Class<?>> collect(final Configuration config) {
+        final Set<Class<?>> resourceClasses = Sets.newHashSet(config.getClasses());
+        for (final Object instance : config.getInstances()) {
+            resourceClasses.add(instance.getClass());
+        }
+
+        final Set<Class<?>> entityClasses = Sets.newLinkedHashSet();
+        for (final Class<?> resourceClass : resourceClasses) {
+            if (!resourceClass.isAnnotationPresent(Path.class)) {
+                continue;
+            }
+
+            for (final Method method : AccessController.doPrivileged(ReflectionHelper.getMethodsPA(resourceClass))) {
+                if (!isResourceMethod(method)) {
+                    continue;
+                }
+
+                addEntityClass(method.getGenericReturnType(), entityClasses);
+
+                final Type[] parameterTypes = method.getGenericParameterTypes();
+                final Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    if (isEntityParameter(parameterAnnotations[i])) {
+                        addEntityClass(parameterTypes[i], entityClasses);
+                    }
+                }
+            }
+        }
+        return entityClasses;
+    }
+
+    private static boolean isResourceMethod(final Method method) {
+        for (final Annotation annotation : method.getAnnotations()) {
+            if (annotation.annotationType().isAnnotationPresent(HttpMethod.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * An entity parameter is not annotated with any of the JAX-RS (parameter injection) annotations.
+     */
+    private static boolean isEntityParameter(final Annotation[] annotations) {
+        for (final Annotation annotation : annotations) {
+            if (annotation.annotationType().getName().startsWith("javax.ws.rs.")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addEntityClass(final Type type, final Set<Class<?>> entityClasses) {
+        if (type instanceof Class) {
+            final Class<?> clazz = (Class<?>) type;
+            if (clazz.isArray()) {
+                addEntityClass(clazz.getComponentType(), entityClasses);
+            } else if (!clazz.isPrimitive() && !isPlatformClass(clazz)) {
+                entityClasses.add(clazz);
+            }
+        } else if (type instanceof ParameterizedType) {
+            // collections and other generic containers - collect their type arguments
+            for (final Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                addEntityClass(argument, entityClasses);
+            }
+        } else if (type instanceof GenericArrayType) {
+            addEntityClass(((GenericArrayType) type).getGenericComponentType(), entityClasses);
+        }
+    }
+
+    private static boolean isPlatformClass(final Class<?> clazz) {
+        final String name = clazz.getName();
+        return name.startsWith("java.") || name.startsWith("javax.");
+    }
+
+    private ResourceEntityClasses() {
+        // prevents instantiation
+    }
+}
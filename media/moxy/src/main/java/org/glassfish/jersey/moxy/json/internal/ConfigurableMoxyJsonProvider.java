@@ -44,9 +44,14 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.security.AccessController;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import javax.ws.rs.RuntimeType;
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
@@ -54,13 +59,16 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.ContextResolver;
 import javax.ws.rs.ext.Providers;
 
+import javax.annotation.PostConstruct;
 import javax.inject.Singleton;
+import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.PropertyException;
 import javax.xml.bind.Unmarshaller;
 
 import org.glassfish.jersey.internal.util.ReflectionHelper;
+import org.glassfish.jersey.moxy.internal.ResourceEntityClasses;
 import org.glassfish.jersey.moxy.json.MoxyJsonConfig;
 
 import org.eclipse.persistence.internal.core.helper.CoreClassConstants;
@@ -73,12 +81,21 @@ import com.google.common.collect.Sets;
 
 /**
  * Jersey specific {@link MOXyJsonProvider} that can be configured via {@code ContextResolver<JsonMoxyConfiguration>} instance.
+ * <p>
+ * The marshaller and unmarshaller properties are resolved once and then applied to every created marshaller and
+ * unmarshaller. MOXy {@link JAXBContext JAXB contexts} are kept in a concurrent registry unless an application
+ * {@code ContextResolver<JAXBContext>} provides them; on the server side the contexts of entity types used by
+ * the registered resource classes are created when the provider is initialized.
+ * </p>
  *
  * @author Michal Gajdos (michal.gajdos at oracle.com)
  */
 @Singleton
 public class ConfigurableMoxyJsonProvider extends MOXyJsonProvider {
 
+    private static final Logger LOGGER = Logger.getLogger(ConfigurableMoxyJsonProvider.class.getName());
+    private static final Annotation[] EMPTY_ANNOTATIONS = new Annotation[0];
+
     private final static Set<String> MARSHALLER_PROPERTY_NAMES;
     private final static Set<String> UNMARSHALLER_PROPERTY_NAMES;
 
@@ -112,6 +129,51 @@ public class ConfigurableMoxyJsonProvider extends MOXyJsonProvider {
 
     private MoxyJsonConfig globalConfig;
 
+    private volatile Map<String, Object> marshallerProperties;
+    private volatile Map<String, Object> unmarshallerProperties;
+
+    private final ConcurrentMap<Set<Class<?>>, JAXBContext> contexts = Maps.newConcurrentMap();
+
+    /**
+     * Create JAXB contexts of the entity types used by the resource classes registered in the server
+     * configuration. Invoked once the provider is injected.
+     */
+    @PostConstruct
+    public void initContexts() {
+        if (config == null || config.getRuntimeType() != RuntimeType.SERVER) {
+            return;
+        }
+
+        for (final Class<?> entityClass : ResourceEntityClasses.collect(config)) {
+            try {
+                getJAXBContext(Collections.<Class<?>>singleton(entityClass), EMPTY_ANNOTATIONS,
+                        MediaType.APPLICATION_JSON_TYPE, null);
+            } catch (final JAXBException e) {
+                LOGGER.log(Level.FINE, "Unable to create JAXB context for " + entityClass + ".", e);
+            }
+        }
+    }
+
+    @Override
+    protected JAXBContext getJAXBContext(final Set<Class<?>> domainClasses, final Annotation[] annotations,
+                                         final MediaType mediaType, final MultivaluedMap<String, ?> httpHeaders)
+            throws JAXBException {
+        if (providers != null && providers.getContextResolver(JAXBContext.class, mediaType) != null) {
+            // the context resolver is responsible for the contexts it provides, they may depend on the media type
+            return super.getJAXBContext(domainClasses, annotations, mediaType, httpHeaders);
+        }
+
+        JAXBContext context = contexts.get(domainClasses);
+        if (context == null) {
+            context = super.getJAXBContext(domainClasses, annotations, mediaType, httpHeaders);
+            final JAXBContext existing = contexts.putIfAbsent(domainClasses, context);
+            if (existing != null) {
+                context = existing;
+            }
+        }
+        return context;
+    }
+
     private MoxyJsonConfig getGlobalConfig() {
         if (globalConfig == null) {
             globalConfig = new MoxyJsonConfig()
@@ -153,13 +215,23 @@ public class ConfigurableMoxyJsonProvider extends MOXyJsonProvider {
     }
 
     private void initializeUnmarshaller(final Unmarshaller unmarshaller) throws PropertyException {
-        for (final Map.Entry<String, Object> property : getProperties(false).entrySet()) {
+        Map<String, Object> properties = unmarshallerProperties;
+        if (properties == null) {
+            unmarshallerProperties = properties = getProperties(false);
+        }
+
+        for (final Map.Entry<String, Object> property : properties.entrySet()) {
             unmarshaller.setProperty(property.getKey(), property.getValue());
         }
     }
 
     private void initializeMarshaller(final Marshaller marshaller) throws PropertyException {
-        for (final Map.Entry<String, Object> property : getProperties(true).entrySet()) {
+        Map<String, Object> properties = marshallerProperties;
+        if (properties == null) {
+            marshallerProperties = properties = getProperties(true);
+        }
+
+        for (final Map.Entry<String, Object> property : properties.entrySet()) {
             marshaller.setProperty(property.getKey(), property.getValue());
         }
     }
@@ -179,7 +251,7 @@ public class ConfigurableMoxyJsonProvider extends MOXyJsonProvider {
             }
         }
 
-        return properties;
+        return Collections.unmodifiableMap(properties);
     }
 
     public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
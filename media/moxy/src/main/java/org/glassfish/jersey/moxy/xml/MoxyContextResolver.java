@@ -43,6 +43,7 @@ import java.io.InputStream;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -54,8 +55,15 @@ import javax.xml.bind.JAXBException;
 import org.eclipse.persistence.jaxb.JAXBContextFactory;
 import org.eclipse.persistence.jaxb.JAXBContextProperties;
 
+import com.google.common.base.Optional;
+import com.google.common.collect.Maps;
+
 /**
  * {@link ContextResolver} implementation which creates MOXy {@link JAXBContext}.
+ * <p>
+ * Contexts are created once per type and cached. The contexts of known entity types can be
+ * {@link #init(Iterable) created eagerly}.
+ * </p>
  *
  * TODO: deal with classes NOT annotated with @XmlRootElement/@XmlType
  *
@@ -71,6 +79,8 @@ class MoxyContextResolver implements ContextResolver<JAXBContext> {
     private final ClassLoader classLoader;
     private final Class[] classes;
 
+    // absent value marks a type for which the JAXB context could not be created
+    private final ConcurrentMap<Class<?>, Optional<JAXBContext>> contexts = Maps.newConcurrentMap();
 
     /**
      * Default constructor creates standard {@link JAXBContext} without any activated features
@@ -100,8 +110,31 @@ class MoxyContextResolver implements ContextResolver<JAXBContext> {
         this.classes = classes;
     }
 
+    /**
+     * Eagerly create JAXB contexts for the given types.
+     *
+     * @param types types to create JAXB contexts for.
+     */
+    void init(final Iterable<Class<?>> types) {
+        for (final Class<?> type : types) {
+            getContext(type);
+        }
+    }
+
     @Override
     public JAXBContext getContext(Class<?> type) {
+        Optional<JAXBContext> context = contexts.get(type);
+        if (context == null) {
+            context = Optional.fromNullable(createContext(type));
+            final Optional<JAXBContext> existing = contexts.putIfAbsent(type, context);
+            if (existing != null) {
+                context = existing;
+            }
+        }
+        return context.orNull();
+    }
+
+    private JAXBContext createContext(final Class<?> type) {
         Map<String, Object> propertiesCopy = new HashMap<String, Object>(properties);
 
         if (oxmMappingLookup) {
@@ -42,6 +42,7 @@ package org.glassfish.jersey.moxy.xml;
 import java.util.Collections;
 import java.util.Map;
 
+import javax.ws.rs.RuntimeType;
 import javax.ws.rs.core.Feature;
 import javax.ws.rs.core.FeatureContext;
 
@@ -93,7 +94,12 @@ public class MoxyXmlFeature implements Feature {
 
     @Override
     public boolean configure(FeatureContext context) {
-        context.register(new MoxyContextResolver(properties, classLoader, oxmMappingLookup, classes));
+        final MoxyContextResolver resolver = new MoxyContextResolver(properties, classLoader, oxmMappingLookup, classes);
+        if (context.getConfiguration().getRuntimeType() == RuntimeType.SERVER) {
+            // create contexts of the resource entity types once the application is initialized
+            context.register(new MoxyContextsInitializer(resolver));
+        }
+        context.register(resolver);
         return true;
     }
 }
@@ -0,0 +1,137 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.moxy.internal;
+
+import java.util.List;
+import java.util.Set;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.QueryParam;
+
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link ResourceEntityClasses}.
+ */
+public class ResourceEntityClassesTest {
+
+    public static class Returned {
+    }
+
+    public static class Consumed {
+    }
+
+    public static class Element {
+    }
+
+    public static class ArrayElement {
+    }
+
+    public static class Unused {
+    }
+
+    @Path("resource")
+    public static class Resource {
+
+        @GET
+        public Returned get(@QueryParam("q") final Unused query) {
+            return null;
+        }
+
+        @POST
+        public List<Element> post(final Consumed entity) {
+            return null;
+        }
+
+        @GET
+        @Path("array")
+        public ArrayElement[] getArray() {
+            return null;
+        }
+
+        @GET
+        @Path("string")
+        public String getString() {
+            return null;
+        }
+
+        @Path("locator")
+        public Unused getLocator() {
+            return null;
+        }
+
+        public Unused notResourceMethod() {
+            return null;
+        }
+    }
+
+    public static class NotResource {
+
+        @GET
+        public Unused get() {
+            return null;
+        }
+    }
+
+    @Test
+    public void testCollect() {
+        final Set<Class<?>> classes = ResourceEntityClasses.collect(
+                new ResourceConfig(Resource.class, NotResource.class));
+
+        assertEquals(4, classes.size());
+        assertTrue(classes.contains(Returned.class));
+        assertTrue(classes.contains(Consumed.class));
+        assertTrue(classes.contains(Element.class));
+        assertTrue(classes.contains(ArrayElement.class));
+    }
+
+    @Test
+    public void testCollectRegisteredInstance() {
+        final Set<Class<?>> classes = ResourceEntityClasses.collect(new ResourceConfig().registerInstances(new Resource()));
+
+        assertEquals(4, classes.size());
+    }
+}
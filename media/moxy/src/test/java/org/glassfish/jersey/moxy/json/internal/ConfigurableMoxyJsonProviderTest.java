@@ -0,0 +1,133 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.moxy.json.internal;
+
+import java.lang.annotation.Annotation;
+import java.net.URI;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.ContextResolver;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.moxy.json.MoxyJsonFeature;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.eclipse.persistence.jaxb.JAXBContextFactory;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests caching of JAXB contexts by {@link ConfigurableMoxyJsonProvider}.
+ */
+public class ConfigurableMoxyJsonProviderTest {
+
+    private static final AtomicInteger RESOLVED = new AtomicInteger();
+
+    @XmlRootElement
+    public static class Bean {
+
+        public String value;
+    }
+
+    @Path("bean")
+    public static class Resource {
+
+        @GET
+        @Produces(MediaType.APPLICATION_JSON)
+        public Bean get() {
+            final Bean bean = new Bean();
+            bean.value = "value";
+            return bean;
+        }
+    }
+
+    public static class CountingResolver implements ContextResolver<JAXBContext> {
+
+        @Override
+        public JAXBContext getContext(final Class<?> type) {
+            RESOLVED.incrementAndGet();
+            try {
+                return JAXBContextFactory.createContext(new Class[] {type}, null);
+            } catch (final JAXBException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    @Test
+    public void testContextCached() throws Exception {
+        final ConfigurableMoxyJsonProvider provider = new ConfigurableMoxyJsonProvider();
+
+        final JAXBContext context = provider.getJAXBContext(Collections.<Class<?>>singleton(Bean.class),
+                new Annotation[0], MediaType.APPLICATION_JSON_TYPE, null);
+        assertNotNull(context);
+        assertSame(context, provider.getJAXBContext(Collections.<Class<?>>singleton(Bean.class),
+                new Annotation[0], MediaType.APPLICATION_JSON_TYPE, null));
+    }
+
+    @Test
+    public void testResolvedContextNotCached() throws Exception {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(Resource.class, MoxyJsonFeature.class,
+                CountingResolver.class));
+        final URI baseUri = URI.create("/");
+
+        assertEquals(200, app.apply(new ContainerRequest(baseUri, URI.create("/bean"), "GET", null,
+                new MapPropertiesDelegate())).get().getStatus());
+        final int resolved = RESOLVED.get();
+
+        assertEquals(200, app.apply(new ContainerRequest(baseUri, URI.create("/bean"), "GET", null,
+                new MapPropertiesDelegate())).get().getStatus());
+        assertTrue(RESOLVED.get() > resolved);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2013 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.moxy.xml;
+
+import java.util.Set;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.Test;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Sets;
+
+/**
+ * Tests caching and eager creation of JAXB contexts by {@link MoxyContextResolver}.
+ */
+public class MoxyContextResolverTest {
+
+    @XmlRootElement
+    public static class Bean {
+
+        public String value;
+    }
+
+    @Path("bean")
+    public static class Resource {
+
+        @GET
+        public Bean get() {
+            return new Bean();
+        }
+    }
+
+    private static class RecordingResolver extends MoxyContextResolver {
+
+        private final Set<Class<?>> types = Sets.newHashSet();
+
+        @Override
+        public JAXBContext getContext(final Class<?> type) {
+            types.add(type);
+            return super.getContext(type);
+        }
+    }
+
+    @Test
+    public void testContextCached() {
+        final MoxyContextResolver resolver = new MoxyContextResolver();
+
+        final JAXBContext context = resolver.getContext(Bean.class);
+        assertNotNull(context);
+        assertSame(context, resolver.getContext(Bean.class));
+    }
+
+    @Test
+    public void testContextsCreatedOnApplicationInitialization() {
+        final RecordingResolver resolver = new RecordingResolver();
+
+        // the resource is registered after the initializer
+        final ResourceConfig resourceConfig = new ResourceConfig()
+                .registerInstances(new MoxyContextsInitializer(resolver))
+                .registerClasses(Resource.class);
+        new ApplicationHandler(resourceConfig);
+
+        assertTrue(resolver.types.contains(Bean.class));
+    }
+}
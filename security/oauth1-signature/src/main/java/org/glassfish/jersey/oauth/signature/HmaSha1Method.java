@@ -49,9 +49,18 @@ import javax.crypto.spec.SecretKeySpec;
 
 import org.glassfish.jersey.uri.UriComponent;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 
 /**
  * An OAuth signature method that implements HMAC-SHA1.
+ * <p>
+ * {@link Mac} instances are not thread-safe and are expensive to look up, hence every thread
+ * keeps its own instance. Secret key specifications derived from the consumer and token
+ * secrets are kept in a bounded cache so that the secrets do not need to be re-encoded
+ * for every signed request.
+ * </p>
  *
  * @author Hubert A. Le Van Gong <hubert.levangong at Sun.COM>
  * @author Paul C. Bryan <pbryan@sun.com>
@@ -62,6 +71,25 @@ public final class HmaSha1Method implements OAuthSignatureMethod {
 
     private static final String SIGNATURE_ALGORITHM = "HmacSHA1";
 
+    /**
+     * Maximum number of secret key specifications kept in the {@link #keys key cache}.
+     */
+    private static final int MAX_CACHED_KEYS = 1024;
+
+    private static final ThreadLocal<Mac> MAC = new ThreadLocal<Mac>() {
+        @Override
+        protected Mac initialValue() {
+            try {
+                return Mac.getInstance(SIGNATURE_ALGORITHM);
+            } catch (NoSuchAlgorithmException nsae) {
+                throw new IllegalStateException(nsae);
+            }
+        }
+    };
+
+    private final Cache<String, SecretKeySpec> keys =
+            CacheBuilder.newBuilder().maximumSize(MAX_CACHED_KEYS).build();
+
     @Override
     public String name() {
         return NAME;
@@ -77,27 +105,50 @@ public final class HmaSha1Method implements OAuthSignatureMethod {
     @Override
     public String sign(String baseString, OAuthSecrets secrets) {
 
-        Mac mac;
+        final Mac mac = MAC.get();
 
         try {
-            mac = Mac.getInstance(SIGNATURE_ALGORITHM);
-        } catch (NoSuchAlgorithmException nsae) {
-            throw new IllegalStateException(nsae);
+            mac.init(getKey(secrets.getConsumerSecret(), secrets.getTokenSecret()));
+        } catch (InvalidKeyException ike) {
+            throw new IllegalStateException(ike);
+        }
+
+        return Base64.encode(mac.doFinal(baseString.getBytes()));
+    }
+
+    /**
+     * Get the (possibly cached) secret key specification for the given pair of secrets.
+     *
+     * @param consumerSecret consumer secret, may be {@code null}.
+     * @param tokenSecret token secret, may be {@code null}.
+     * @return secret key specification used to initialize the {@link Mac}.
+     */
+    private SecretKeySpec getKey(final String consumerSecret, final String tokenSecret) {
+        // the length prefix makes the key unambiguous even if the secrets contain the delimiter
+        final String cacheKey = consumerSecret == null
+                ? "&" + (tokenSecret == null ? "" : tokenSecret)
+                : consumerSecret.length() + ":" + consumerSecret + "&" + (tokenSecret == null ? "" : tokenSecret);
+
+        SecretKeySpec spec = keys.getIfPresent(cacheKey);
+        if (spec == null) {
+            spec = createKey(consumerSecret, tokenSecret);
+            keys.put(cacheKey, spec);
         }
+        return spec;
+    }
 
+    private static SecretKeySpec createKey(final String consumerSecret, final String tokenSecret) {
         StringBuilder buf = new StringBuilder();
 
         // null secrets are interpreted as blank per OAuth specification
-        String secret = secrets.getConsumerSecret();
-        if (secret != null) {
-            buf.append(UriComponent.encode(secret, UriComponent.Type.UNRESERVED));
+        if (consumerSecret != null) {
+            buf.append(UriComponent.encode(consumerSecret, UriComponent.Type.UNRESERVED));
         }
 
         buf.append('&');
 
-        secret = secrets.getTokenSecret();
-        if (secret != null) {
-            buf.append(UriComponent.encode(secret, UriComponent.Type.UNRESERVED));
+        if (tokenSecret != null) {
+            buf.append(UriComponent.encode(tokenSecret, UriComponent.Type.UNRESERVED));
         }
 
         byte[] key;
@@ -108,15 +159,7 @@ public final class HmaSha1Method implements OAuthSignatureMethod {
             throw new IllegalStateException(uee);
         }
 
-        SecretKeySpec spec = new SecretKeySpec(key, SIGNATURE_ALGORITHM);
-
-        try {
-            mac.init(spec);
-        } catch (InvalidKeyException ike) {
-            throw new IllegalStateException(ike);
-        }
-
-        return Base64.encode(mac.doFinal(baseString.getBytes()));
+        return new SecretKeySpec(key, SIGNATURE_ALGORITHM);
     }
 
     /**
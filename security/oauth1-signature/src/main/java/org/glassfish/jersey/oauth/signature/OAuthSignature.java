@@ -90,6 +90,17 @@ import com.google.common.collect.Maps;
  */
 public class OAuthSignature {
 
+    /**
+     * Orders encoded name-value pairs by name and then by value.
+     */
+    private static final Comparator<String[]> PARAM_COMPARATOR = new Comparator<String[]>() {
+        @Override
+        public int compare(String[] t, String[] t1) {
+            int c = t[0].compareTo(t1[0]);
+            return c == 0 ? t[1].compareTo(t1[1]) : c;
+        }
+    };
+
     private final HashMap<String, OAuthSignatureMethod> methods;
 
     /**
@@ -200,13 +211,7 @@ public class OAuthSignature {
         }
 
         // sort name-value pairs by name
-        Collections.sort(list, new Comparator<String[]>() {
-            @Override
-            public int compare(String[] t, String[] t1) {
-                int c = t[0].compareTo(t1[0]);
-                return c == 0 ? t[1].compareTo(t1[1]) : c;
-            }
-        });
+        Collections.sort(list, PARAM_COMPARATOR);
 
         StringBuilder buf = new StringBuilder();
 
@@ -234,7 +239,7 @@ public class OAuthSignature {
             URL url = request.getRequestURL();
             if (url == null)
                 throw new OAuthSignatureException();
-            StringBuffer buf = new StringBuffer(url.getProtocol()).append("://").append(url.getHost().toLowerCase());
+            StringBuilder buf = new StringBuilder(url.getProtocol()).append("://").append(url.getHost().toLowerCase());
             int port = url.getPort();
             if (port > 0 && port != url.getDefaultPort()) {
                 buf.append(':').append(port);
@@ -59,11 +59,17 @@ import java.security.spec.PKCS8EncodedKeySpec;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 
 /**
  * An OAuth signature method that implements RSA-SHA1.
+ * <p>
+ * {@link Signature} instances are kept per thread and the private keys and certificate public keys
+ * decoded from the consumer secrets are kept in bounded caches, so that the key material does not
+ * need to be parsed for every signed or verified request.
+ * </p>
  *
  * @author Hubert A. Le Van Gong <hubert.levangong at Sun.COM>
  * @author Paul C. Bryan <pbryan@sun.com>
@@ -78,6 +84,27 @@ public final class RsaSha1Method implements OAuthSignatureMethod {
 
     private static final String BEGIN_CERT = "-----BEGIN CERTIFICATE";
 
+    /**
+     * Maximum number of decoded keys kept in each of the key caches.
+     */
+    private static final int MAX_CACHED_KEYS = 1024;
+
+    private static final ThreadLocal<Signature> SIGNATURE = new ThreadLocal<Signature>() {
+        @Override
+        protected Signature initialValue() {
+            try {
+                return Signature.getInstance(SIGNATURE_ALGORITHM);
+            } catch (NoSuchAlgorithmException nsae) {
+                throw new IllegalStateException(nsae);
+            }
+        }
+    };
+
+    private final Cache<String, RSAPrivateKey> privateKeys =
+            CacheBuilder.newBuilder().maximumSize(MAX_CACHED_KEYS).build();
+
+    private final Cache<String, RSAPublicKey> publicKeys =
+            CacheBuilder.newBuilder().maximumSize(MAX_CACHED_KEYS).build();
 
     @Override
     public String name() {
@@ -95,44 +122,10 @@ public final class RsaSha1Method implements OAuthSignatureMethod {
     @Override
     public String sign(String baseString, OAuthSecrets secrets) throws InvalidSecretException {
 
-        Signature sig;
-
-        try {
-            sig = Signature.getInstance(SIGNATURE_ALGORITHM);
-        }
-        catch (NoSuchAlgorithmException nsae) {
-            throw new IllegalStateException(nsae);
-        }
-
-        byte[] decodedPrivKey;
-        try {
-            decodedPrivKey = Base64.decode(secrets.getConsumerSecret());
-        } catch (IOException e) {
-            throw new InvalidSecretException("invalid consumer secret");
-        }
-
-        KeyFactory keyf;
+        final Signature sig = SIGNATURE.get();
 
         try {
-            keyf = KeyFactory.getInstance(KEY_TYPE);
-        }
-        catch (NoSuchAlgorithmException nsae) {
-            throw new IllegalStateException(nsae);
-        }
-
-        EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(decodedPrivKey);
-
-        RSAPrivateKey rsaPrivKey;
-
-        try {
-            rsaPrivKey = (RSAPrivateKey) keyf.generatePrivate(keySpec);
-        }
-        catch (InvalidKeySpecException ikse) {
-            throw new IllegalStateException(ikse);
-        }
-
-        try {
-            sig.initSign(rsaPrivKey);
+            sig.initSign(getPrivateKey(secrets.getConsumerSecret()));
         }
         catch (InvalidKeyException ike) {
             throw new IllegalStateException(ike);
@@ -168,35 +161,9 @@ public final class RsaSha1Method implements OAuthSignatureMethod {
     @Override
     public boolean verify(String elements, OAuthSecrets secrets, String signature) throws InvalidSecretException {
 
-        Signature sig;
-
-        try {
-            sig = Signature.getInstance(SIGNATURE_ALGORITHM);
-        }
-        catch (NoSuchAlgorithmException nsae) {
-            throw new IllegalStateException(nsae);
-        }
-
-        RSAPublicKey rsaPubKey = null;
+        final Signature sig = SIGNATURE.get();
 
-        String tmpkey = secrets.getConsumerSecret();
-        if (tmpkey.startsWith(BEGIN_CERT)) {
-            try {
-                Certificate cert = null;
-                ByteArrayInputStream bais = new ByteArrayInputStream(tmpkey.getBytes());
-                BufferedInputStream bis = new BufferedInputStream(bais);
-                CertificateFactory certfac = CertificateFactory.getInstance("X.509");
-                while (bis.available() > 0) {
-                    cert = certfac.generateCertificate(bis);
-                }
-                rsaPubKey = (RSAPublicKey) cert.getPublicKey();
-            } catch (IOException ex) {
-                Logger.getLogger(RsaSha1Method.class.getName()).log(Level.SEVERE, null, ex);
-            } catch (CertificateException ex) {
-                Logger.getLogger(RsaSha1Method.class.getName()).log(Level.SEVERE, null, ex);
-            }
-
-        }
+        final RSAPublicKey rsaPubKey = getPublicKey(secrets.getConsumerSecret());
 
         byte[] decodedSignature;
         try {
@@ -226,4 +193,79 @@ public final class RsaSha1Method implements OAuthSignatureMethod {
             throw new IllegalStateException(se);
         }
     }
+
+    /**
+     * Get the (possibly cached) RSA private key decoded from the base64-encoded PKCS#8 consumer secret.
+     *
+     * @param secret base64-encoded private key.
+     * @return decoded private key.
+     * @throws InvalidSecretException if the secret cannot be decoded.
+     */
+    private RSAPrivateKey getPrivateKey(final String secret) throws InvalidSecretException {
+        RSAPrivateKey rsaPrivKey = secret == null ? null : privateKeys.getIfPresent(secret);
+        if (rsaPrivKey != null) {
+            return rsaPrivKey;
+        }
+
+        byte[] decodedPrivKey;
+        try {
+            decodedPrivKey = Base64.decode(secret);
+        } catch (IOException e) {
+            throw new InvalidSecretException("invalid consumer secret");
+        }
+
+        KeyFactory keyf;
+
+        try {
+            keyf = KeyFactory.getInstance(KEY_TYPE);
+        }
+        catch (NoSuchAlgorithmException nsae) {
+            throw new IllegalStateException(nsae);
+        }
+
+        EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(decodedPrivKey);
+
+        try {
+            rsaPrivKey = (RSAPrivateKey) keyf.generatePrivate(keySpec);
+        }
+        catch (InvalidKeySpecException ikse) {
+            throw new IllegalStateException(ikse);
+        }
+
+        privateKeys.put(secret, rsaPrivKey);
+        return rsaPrivKey;
+    }
+
+    /**
+     * Get the (possibly cached) RSA public key of the X.509 certificate supplied as the consumer secret.
+     *
+     * @param secret PEM-encoded X.509 certificate.
+     * @return public key of the certificate or {@code null} if the secret is not a valid certificate.
+     */
+    private RSAPublicKey getPublicKey(final String secret) {
+        RSAPublicKey rsaPubKey = publicKeys.getIfPresent(secret);
+        if (rsaPubKey != null || !secret.startsWith(BEGIN_CERT)) {
+            return rsaPubKey;
+        }
+
+        try {
+            Certificate cert = null;
+            ByteArrayInputStream bais = new ByteArrayInputStream(secret.getBytes());
+            BufferedInputStream bis = new BufferedInputStream(bais);
+            CertificateFactory certfac = CertificateFactory.getInstance("X.509");
+            while (bis.available() > 0) {
+                cert = certfac.generateCertificate(bis);
+            }
+            rsaPubKey = (RSAPublicKey) cert.getPublicKey();
+        } catch (IOException ex) {
+            Logger.getLogger(RsaSha1Method.class.getName()).log(Level.SEVERE, null, ex);
+        } catch (CertificateException ex) {
+            Logger.getLogger(RsaSha1Method.class.getName()).log(Level.SEVERE, null, ex);
+        }
+
+        if (rsaPubKey != null) {
+            publicKeys.put(secret, rsaPubKey);
+        }
+        return rsaPubKey;
+    }
 }
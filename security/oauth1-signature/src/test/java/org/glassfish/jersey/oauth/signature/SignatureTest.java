@@ -240,6 +240,46 @@ public class SignatureTest {
     }
 
 
+    /**
+     * Test that cached secret keys are not confused for different pairs of secrets.
+     */
+    @Test
+    public void testHMACSHA1KeyCache() throws OAuthSignatureException {
+        final HmaSha1Method method = new HmaSha1Method();
+        final String baseString = "GET&http%3A%2F%2Fphotos.example.net%2Fphotos&file%3Dvacation.jpg";
+
+        final OAuthSecrets first = new OAuthSecrets().consumerSecret("a&b").tokenSecret("");
+        final OAuthSecrets second = new OAuthSecrets().consumerSecret("a").tokenSecret("b&");
+
+        final String firstSignature = method.sign(baseString, first);
+        final String secondSignature = method.sign(baseString, second);
+
+        assertTrue(!firstSignature.equals(secondSignature));
+        assertEquals(new HmaSha1Method().sign(baseString, first), method.sign(baseString, first));
+        assertEquals(new HmaSha1Method().sign(baseString, second), method.sign(baseString, second));
+        assertTrue(method.verify(baseString, first, firstSignature));
+        assertTrue(!method.verify(baseString, second, firstSignature));
+    }
+
+    /**
+     * Test that repeated signing and verification with cached RSA keys produces the same results.
+     */
+    @Test
+    public void testRSASHA1KeyCache() throws OAuthSignatureException {
+        final RsaSha1Method method = new RsaSha1Method();
+        final String baseString = "GET&http%3A%2F%2Fphotos.example.net%2Fphotos&file%3Dvacation.jpg";
+
+        final OAuthSecrets privateSecrets = new OAuthSecrets().consumerSecret(RSA_PRIVKEY);
+        final OAuthSecrets publicSecrets = new OAuthSecrets().consumerSecret(RSA_CERTIFICATE);
+
+        final String signature = method.sign(baseString, privateSecrets);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(signature, method.sign(baseString, privateSecrets));
+            assertTrue(method.verify(baseString, publicSecrets, signature));
+            assertTrue(!method.verify(baseString + "&", publicSecrets, signature));
+        }
+    }
+
     /**
      * Test a Twitter status update.
      *
@@ -49,6 +49,7 @@ import javax.ws.rs.core.MediaType;
 import com.yammer.metrics.Metrics;
 import com.yammer.metrics.core.TimerContext;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
@@ -69,6 +70,8 @@ public class JsonEntityResource {
             Metrics.newTimer(JsonEntityResource.class, "gets", TimeUnit.MILLISECONDS, TimeUnit.SECONDS);
     private static final com.yammer.metrics.core.Timer putTimer =
             Metrics.newTimer(JsonEntityResource.class, "puts", TimeUnit.MILLISECONDS, TimeUnit.SECONDS);
+    private static final com.yammer.metrics.core.Timer listTimer =
+            Metrics.newTimer(JsonEntityResource.class, "lists", TimeUnit.MILLISECONDS, TimeUnit.SECONDS);
 
     @POST
     public Person echo(final Person person) {
@@ -95,4 +98,15 @@ public class JsonEntityResource {
             timer.stop();
         }
     }
+
+    @POST
+    @Path("list")
+    public List<Person> echoList(final List<Person> persons) {
+        final TimerContext timer = listTimer.time();
+        try {
+            return persons;
+        } finally {
+            timer.stop();
+        }
+    }
 }